@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.benchmark.impl.statistic.subsingle.constraintstreamnodeprofile;
+
+import org.optaplanner.benchmark.impl.statistic.StatisticPoint;
+
+public class ConstraintStreamNodeProfileStatisticPoint extends StatisticPoint {
+
+    private final long timeMillisSpent;
+    private final int nodeIndex;
+    private final String nodeLabel;
+    private final String constraintId;
+    private final long createdTupleCount;
+    private final long updatedTupleCount;
+    private final long retractedTupleCount;
+    private final long indexLookupCount;
+    private final long nodeTimeNanosSpent;
+
+    public ConstraintStreamNodeProfileStatisticPoint(long timeMillisSpent,
+            int nodeIndex, String nodeLabel, String constraintId,
+            long createdTupleCount, long updatedTupleCount, long retractedTupleCount,
+            long indexLookupCount, long nodeTimeNanosSpent) {
+        this.timeMillisSpent = timeMillisSpent;
+        this.nodeIndex = nodeIndex;
+        this.nodeLabel = nodeLabel;
+        this.constraintId = constraintId;
+        this.createdTupleCount = createdTupleCount;
+        this.updatedTupleCount = updatedTupleCount;
+        this.retractedTupleCount = retractedTupleCount;
+        this.indexLookupCount = indexLookupCount;
+        this.nodeTimeNanosSpent = nodeTimeNanosSpent;
+    }
+
+    public long getTimeMillisSpent() {
+        return timeMillisSpent;
+    }
+
+    public int getNodeIndex() {
+        return nodeIndex;
+    }
+
+    public String getNodeLabel() {
+        return nodeLabel;
+    }
+
+    /**
+     * @return empty unless the node is the scoring node of a constraint
+     */
+    public String getConstraintId() {
+        return constraintId;
+    }
+
+    public long getCreatedTupleCount() {
+        return createdTupleCount;
+    }
+
+    public long getUpdatedTupleCount() {
+        return updatedTupleCount;
+    }
+
+    public long getRetractedTupleCount() {
+        return retractedTupleCount;
+    }
+
+    public long getIndexLookupCount() {
+        return indexLookupCount;
+    }
+
+    public long getNodeTimeNanosSpent() {
+        return nodeTimeNanosSpent;
+    }
+
+    @Override
+    public String toCsvLine() {
+        return buildCsvLineWithStrings(timeMillisSpent, Integer.toString(nodeIndex), nodeLabel, constraintId,
+                Long.toString(createdTupleCount), Long.toString(updatedTupleCount),
+                Long.toString(retractedTupleCount), Long.toString(indexLookupCount),
+                Long.toString(nodeTimeNanosSpent));
+    }
+
+}
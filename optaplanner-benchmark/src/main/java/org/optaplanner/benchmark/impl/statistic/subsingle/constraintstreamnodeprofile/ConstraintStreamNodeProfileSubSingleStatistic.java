@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.benchmark.impl.statistic.subsingle.constraintstreamnodeprofile;
+
+import java.io.File;
+import java.text.NumberFormat;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.xml.bind.annotation.XmlTransient;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.CategoryAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.renderer.category.BarRenderer;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.optaplanner.benchmark.config.statistic.SingleStatisticType;
+import org.optaplanner.benchmark.impl.report.BenchmarkReport;
+import org.optaplanner.benchmark.impl.result.SubSingleBenchmarkResult;
+import org.optaplanner.benchmark.impl.statistic.PureSubSingleStatistic;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.score.definition.ScoreDefinition;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.director.stream.ConstraintStreamScoreDirector;
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfile;
+import org.optaplanner.core.impl.solver.DefaultSolver;
+
+public class ConstraintStreamNodeProfileSubSingleStatistic<Solution_>
+        extends PureSubSingleStatistic<Solution_, ConstraintStreamNodeProfileStatisticPoint> {
+
+    @XmlTransient
+    private ConstraintStreamNodeProfileSubSingleStatisticListener listener;
+
+    @XmlTransient
+    protected List<File> graphFileList = null;
+
+    public ConstraintStreamNodeProfileSubSingleStatistic(SubSingleBenchmarkResult subSingleBenchmarkResult) {
+        super(subSingleBenchmarkResult, SingleStatisticType.CONSTRAINT_STREAM_NODE_PROFILE);
+        listener = new ConstraintStreamNodeProfileSubSingleStatisticListener();
+    }
+
+    /**
+     * @return never null
+     */
+    @Override
+    public List<File> getGraphFileList() {
+        return graphFileList;
+    }
+
+    // ************************************************************************
+    // Lifecycle methods
+    // ************************************************************************
+
+    @Override
+    public void open(Solver<Solution_> solver) {
+        DefaultSolver<Solution_> defaultSolver = (DefaultSolver<Solution_>) solver;
+        InnerScoreDirector<Solution_, ?> scoreDirector = defaultSolver.getSolverScope().getScoreDirector();
+        if (scoreDirector instanceof ConstraintStreamScoreDirector) {
+            ((ConstraintStreamScoreDirector<Solution_, ?>) scoreDirector).overwriteProfilingEnabledPreference(true);
+        }
+        defaultSolver.addPhaseLifecycleListener(listener);
+    }
+
+    @Override
+    public void close(Solver<Solution_> solver) {
+        ((DefaultSolver<Solution_>) solver).removePhaseLifecycleListener(listener);
+    }
+
+    private class ConstraintStreamNodeProfileSubSingleStatisticListener
+            extends PhaseLifecycleListenerAdapter<Solution_> {
+
+        private boolean profilingEnabled;
+
+        @Override
+        public void phaseStarted(AbstractPhaseScope<Solution_> phaseScope) {
+            InnerScoreDirector<Solution_, ?> scoreDirector = phaseScope.getScoreDirector();
+            profilingEnabled = scoreDirector instanceof ConstraintStreamScoreDirector
+                    && ((ConstraintStreamScoreDirector<Solution_, ?>) scoreDirector).isProfilingEnabled();
+            if (!profilingEnabled) {
+                logger.warn("The subSingleStatistic ({}) cannot function properly" +
+                        " because profiling is not supported on the ScoreDirector.", singleStatisticType);
+            }
+        }
+
+        @Override
+        public void phaseEnded(AbstractPhaseScope<Solution_> phaseScope) {
+            if (profilingEnabled) {
+                long timeMillisSpent = phaseScope.calculateSolverTimeMillisSpentUpToNow();
+                ConstraintStreamScoreDirector<Solution_, ?> scoreDirector =
+                        (ConstraintStreamScoreDirector<Solution_, ?>) phaseScope.getScoreDirector();
+                // The profile is cumulative, so every phase adds a snapshot of all nodes
+                for (ConstraintStreamNodeProfile nodeProfile : scoreDirector.getNodeProfileList()) {
+                    String constraintId = nodeProfile.getConstraintId();
+                    pointList.add(new ConstraintStreamNodeProfileStatisticPoint(timeMillisSpent,
+                            nodeProfile.getNodeIndex(), nodeProfile.getNodeLabel(),
+                            constraintId == null ? "" : constraintId,
+                            nodeProfile.getCreatedTupleCount(), nodeProfile.getUpdatedTupleCount(),
+                            nodeProfile.getRetractedTupleCount(), nodeProfile.getIndexLookupCount(),
+                            nodeProfile.getTimeNanosSpent()));
+                }
+            }
+        }
+
+    }
+
+    // ************************************************************************
+    // CSV methods
+    // ************************************************************************
+
+    @Override
+    protected String getCsvHeader() {
+        return ConstraintStreamNodeProfileStatisticPoint.buildCsvLine(
+                "timeMillisSpent", "nodeIndex", "nodeLabel", "constraintId",
+                "createdTupleCount", "updatedTupleCount", "retractedTupleCount",
+                "indexLookupCount", "nodeTimeNanosSpent");
+    }
+
+    @Override
+    protected ConstraintStreamNodeProfileStatisticPoint createPointFromCsvLine(ScoreDefinition scoreDefinition,
+            List<String> csvLine) {
+        return new ConstraintStreamNodeProfileStatisticPoint(Long.parseLong(csvLine.get(0)),
+                Integer.parseInt(csvLine.get(1)), csvLine.get(2), csvLine.get(3),
+                Long.parseLong(csvLine.get(4)), Long.parseLong(csvLine.get(5)), Long.parseLong(csvLine.get(6)),
+                Long.parseLong(csvLine.get(7)), Long.parseLong(csvLine.get(8)));
+    }
+
+    // ************************************************************************
+    // Write methods
+    // ************************************************************************
+
+    @Override
+    public void writeGraphFiles(BenchmarkReport benchmarkReport) {
+        // Only the last snapshot matters, because the profile is cumulative
+        long lastTimeMillisSpent = Long.MIN_VALUE;
+        for (ConstraintStreamNodeProfileStatisticPoint point : getPointList()) {
+            lastTimeMillisSpent = Math.max(lastTimeMillisSpent, point.getTimeMillisSpent());
+        }
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        for (ConstraintStreamNodeProfileStatisticPoint point : getPointList()) {
+            if (point.getTimeMillisSpent() != lastTimeMillisSpent) {
+                continue;
+            }
+            String nodeName = point.getNodeIndex() + " " + point.getNodeLabel()
+                    + (point.getConstraintId().isEmpty() ? "" : " (" + point.getConstraintId() + ")");
+            dataset.addValue(point.getNodeTimeNanosSpent() / 1_000_000.0, "Time spent", nodeName);
+        }
+        CategoryPlot plot = createPlot(benchmarkReport, dataset);
+        JFreeChart chart = new JFreeChart(subSingleBenchmarkResult.getName()
+                + " constraint stream node profile statistic", JFreeChart.DEFAULT_TITLE_FONT, plot, true);
+        graphFileList = Collections.singletonList(writeChartToImageFile(chart, "ConstraintStreamNodeProfileStatistic"));
+    }
+
+    private CategoryPlot createPlot(BenchmarkReport benchmarkReport, DefaultCategoryDataset dataset) {
+        Locale locale = benchmarkReport.getLocale();
+        CategoryAxis xAxis = new CategoryAxis("Node");
+        NumberAxis yAxis = new NumberAxis("Time spent (ms)");
+        yAxis.setNumberFormatOverride(NumberFormat.getInstance(locale));
+        CategoryPlot plot = new CategoryPlot(dataset, xAxis, yAxis, new BarRenderer());
+        // Horizontal bars, because there are often many nodes with long labels
+        plot.setOrientation(PlotOrientation.HORIZONTAL);
+        return plot;
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.solver;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+
+/**
+ * A {@link ProblemFactChange} that can be merged with a later change that targets the same problem fact,
+ * so the {@link Solver} does 1 change instead of 2 when both are queued at the same time.
+ * <p>
+ * The merged change is done at the position of the earliest of the 2 changes,
+ * so it moves ahead of any other change added in between.
+ * Only implement this interface if that doesn't matter for those changes.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public interface CoalescingProblemFactChange<Solution_> extends ProblemFactChange<Solution_> {
+
+    /**
+     * 2 queued changes with an equal coalescing key are merged with {@link #coalesce(CoalescingProblemFactChange)}.
+     *
+     * @return never null, for example the planning id of the problem fact that this change targets
+     */
+    Object getCoalescingKey();
+
+    /**
+     * @param laterChange never null, added after this change, with an equal {@link #getCoalescingKey()}
+     * @return never null, a change that has the same effect as this change followed by the laterChange,
+     *         with the same {@link #getCoalescingKey()}
+     */
+    CoalescingProblemFactChange<Solution_> coalesce(CoalescingProblemFactChange<Solution_> laterChange);
+
+}
@@ -16,6 +16,8 @@
 
 package org.optaplanner.core.config.heuristic.selector.common.nearby;
 
+import java.io.File;
+
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlType;
 
@@ -37,7 +39,10 @@ import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistance
         "linearDistributionSizeMaximum",
         "parabolicDistributionSizeMaximum",
         "betaDistributionAlpha",
-        "betaDistributionBeta"
+        "betaDistributionBeta",
+        "nearbyDistanceMatrixSizeMaximum",
+        "nearbyDistanceMatrixCacheDirectory",
+        "nearbyDistanceMatrixIncremental"
 })
 public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig> {
 
@@ -59,6 +64,10 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
     protected Double betaDistributionAlpha = null;
     protected Double betaDistributionBeta = null;
 
+    protected Integer nearbyDistanceMatrixSizeMaximum = null;
+    protected File nearbyDistanceMatrixCacheDirectory = null;
+    protected Boolean nearbyDistanceMatrixIncremental = null;
+
     public EntitySelectorConfig getOriginEntitySelectorConfig() {
         return originEntitySelectorConfig;
     }
@@ -147,6 +156,30 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
         this.betaDistributionBeta = betaDistributionBeta;
     }
 
+    public Integer getNearbyDistanceMatrixSizeMaximum() {
+        return nearbyDistanceMatrixSizeMaximum;
+    }
+
+    public void setNearbyDistanceMatrixSizeMaximum(Integer nearbyDistanceMatrixSizeMaximum) {
+        this.nearbyDistanceMatrixSizeMaximum = nearbyDistanceMatrixSizeMaximum;
+    }
+
+    public File getNearbyDistanceMatrixCacheDirectory() {
+        return nearbyDistanceMatrixCacheDirectory;
+    }
+
+    public void setNearbyDistanceMatrixCacheDirectory(File nearbyDistanceMatrixCacheDirectory) {
+        this.nearbyDistanceMatrixCacheDirectory = nearbyDistanceMatrixCacheDirectory;
+    }
+
+    public Boolean getNearbyDistanceMatrixIncremental() {
+        return nearbyDistanceMatrixIncremental;
+    }
+
+    public void setNearbyDistanceMatrixIncremental(Boolean nearbyDistanceMatrixIncremental) {
+        this.nearbyDistanceMatrixIncremental = nearbyDistanceMatrixIncremental;
+    }
+
     public void validateNearby(SelectionCacheType resolvedCacheType, SelectionOrder resolvedSelectionOrder) {
         if (originEntitySelectorConfig == null) {
             throw new IllegalArgumentException("The nearbySelectorConfig (" + this
@@ -178,6 +211,11 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
                     + ") has a resolvedCacheType (" + resolvedCacheType
                     + ") that is cached.");
         }
+        if (nearbyDistanceMatrixSizeMaximum != null && nearbyDistanceMatrixSizeMaximum < 1) {
+            throw new IllegalArgumentException("The nearbySelectorConfig (" + this
+                    + ") has a nearbyDistanceMatrixSizeMaximum (" + nearbyDistanceMatrixSizeMaximum
+                    + ") which is lower than 1.");
+        }
     }
 
     @Override
@@ -205,6 +243,12 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
                 inheritedConfig.getBetaDistributionAlpha());
         betaDistributionBeta = ConfigUtils.inheritOverwritableProperty(betaDistributionBeta,
                 inheritedConfig.getBetaDistributionBeta());
+        nearbyDistanceMatrixSizeMaximum = ConfigUtils.inheritOverwritableProperty(nearbyDistanceMatrixSizeMaximum,
+                inheritedConfig.getNearbyDistanceMatrixSizeMaximum());
+        nearbyDistanceMatrixCacheDirectory = ConfigUtils.inheritOverwritableProperty(nearbyDistanceMatrixCacheDirectory,
+                inheritedConfig.getNearbyDistanceMatrixCacheDirectory());
+        nearbyDistanceMatrixIncremental = ConfigUtils.inheritOverwritableProperty(nearbyDistanceMatrixIncremental,
+                inheritedConfig.getNearbyDistanceMatrixIncremental());
         return this;
     }
 
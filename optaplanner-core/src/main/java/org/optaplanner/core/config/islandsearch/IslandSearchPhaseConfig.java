@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.config.islandsearch;
+
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElements;
+import javax.xml.bind.annotation.XmlType;
+
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.exhaustivesearch.ExhaustiveSearchPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.partitionedsearch.PartitionedSearchPhaseConfig;
+import org.optaplanner.core.config.phase.NoChangePhaseConfig;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.config.phase.custom.CustomPhaseConfig;
+import org.optaplanner.core.config.util.ConfigUtils;
+
+@XmlType(propOrder = {
+        "islandCount",
+        "millisecondsBetweenMigrations",
+        "phaseConfigList"
+})
+public class IslandSearchPhaseConfig extends PhaseConfig<IslandSearchPhaseConfig> {
+
+    public static final String XML_ELEMENT_NAME = "islandSearch";
+    public static final String ISLAND_COUNT_AUTO = "AUTO";
+
+    // Warning: all fields are null (and not defaulted) because they can be inherited
+    // and also because the input config file should match the output config file
+
+    protected String islandCount = null;
+    protected Long millisecondsBetweenMigrations = null;
+
+    @XmlElements({
+            @XmlElement(name = ConstructionHeuristicPhaseConfig.XML_ELEMENT_NAME,
+                    type = ConstructionHeuristicPhaseConfig.class),
+            @XmlElement(name = CustomPhaseConfig.XML_ELEMENT_NAME, type = CustomPhaseConfig.class),
+            @XmlElement(name = ExhaustiveSearchPhaseConfig.XML_ELEMENT_NAME, type = ExhaustiveSearchPhaseConfig.class),
+            @XmlElement(name = LocalSearchPhaseConfig.XML_ELEMENT_NAME, type = LocalSearchPhaseConfig.class),
+            @XmlElement(name = NoChangePhaseConfig.XML_ELEMENT_NAME, type = NoChangePhaseConfig.class),
+            @XmlElement(name = PartitionedSearchPhaseConfig.XML_ELEMENT_NAME, type = PartitionedSearchPhaseConfig.class)
+    })
+    protected List<PhaseConfig> phaseConfigList = null;
+
+    // ************************************************************************
+    // Constructors and simple getters/setters
+    // ************************************************************************
+
+    /**
+     * The number of islands, each solved by its own child solver on its own {@link Thread},
+     * starting from the same solution but with a different random seed.
+     * <p>
+     * Defaults to {@value #ISLAND_COUNT_AUTO} which uses the majority
+     * but not all of the CPU cores on multi-core machines.
+     *
+     * @return null, a number or {@value #ISLAND_COUNT_AUTO}
+     */
+    public String getIslandCount() {
+        return islandCount;
+    }
+
+    public void setIslandCount(String islandCount) {
+        this.islandCount = islandCount;
+    }
+
+    /**
+     * How often the islands restart their {@link #getPhaseConfigList() phases}
+     * from the best solution of all islands, if that's better than their own best solution.
+     * <p>
+     * Defaults to 1000 milliseconds.
+     *
+     * @return null or at least 1
+     */
+    public Long getMillisecondsBetweenMigrations() {
+        return millisecondsBetweenMigrations;
+    }
+
+    public void setMillisecondsBetweenMigrations(Long millisecondsBetweenMigrations) {
+        this.millisecondsBetweenMigrations = millisecondsBetweenMigrations;
+    }
+
+    public List<PhaseConfig> getPhaseConfigList() {
+        return phaseConfigList;
+    }
+
+    public void setPhaseConfigList(List<PhaseConfig> phaseConfigList) {
+        this.phaseConfigList = phaseConfigList;
+    }
+
+    // ************************************************************************
+    // With methods
+    // ************************************************************************
+
+    public IslandSearchPhaseConfig withIslandCount(String islandCount) {
+        this.islandCount = islandCount;
+        return this;
+    }
+
+    public IslandSearchPhaseConfig withMillisecondsBetweenMigrations(Long millisecondsBetweenMigrations) {
+        this.millisecondsBetweenMigrations = millisecondsBetweenMigrations;
+        return this;
+    }
+
+    public IslandSearchPhaseConfig withPhaseConfigList(List<PhaseConfig> phaseConfigList) {
+        this.phaseConfigList = phaseConfigList;
+        return this;
+    }
+
+    @Override
+    public IslandSearchPhaseConfig inherit(IslandSearchPhaseConfig inheritedConfig) {
+        super.inherit(inheritedConfig);
+        islandCount = ConfigUtils.inheritOverwritableProperty(islandCount, inheritedConfig.getIslandCount());
+        millisecondsBetweenMigrations = ConfigUtils.inheritOverwritableProperty(millisecondsBetweenMigrations,
+                inheritedConfig.getMillisecondsBetweenMigrations());
+        phaseConfigList = ConfigUtils.inheritMergeableListConfig(
+                phaseConfigList, inheritedConfig.getPhaseConfigList());
+        return this;
+    }
+
+    @Override
+    public IslandSearchPhaseConfig copyConfig() {
+        return new IslandSearchPhaseConfig().inherit(this);
+    }
+
+}
@@ -41,7 +41,9 @@ import org.optaplanner.core.config.util.ConfigUtils;
         "localSearchType",
         "moveSelectorConfig",
         "acceptorConfig",
-        "foragerConfig"
+        "foragerConfig",
+        "speculativeStepCountLimit",
+        "liveProblemFactChanges"
 })
 public class LocalSearchPhaseConfig extends PhaseConfig<LocalSearchPhaseConfig> {
 
@@ -76,6 +78,9 @@ public class LocalSearchPhaseConfig extends PhaseConfig<LocalSearchPhaseConfig>
     @XmlElement(name = "forager")
     private LocalSearchForagerConfig foragerConfig = null;
 
+    protected Integer speculativeStepCountLimit = null;
+    protected Boolean liveProblemFactChanges = null;
+
     // ************************************************************************
     // Constructors and simple getters/setters
     // ************************************************************************
@@ -112,6 +117,35 @@ public class LocalSearchPhaseConfig extends PhaseConfig<LocalSearchPhaseConfig>
         this.foragerConfig = foragerConfig;
     }
 
+    /**
+     * Only used by multithreaded solving.
+     *
+     * @return sometimes null, the maximum number of accepted moves of 1 step, that touch none of the planning entities
+     *         and planning values of that step and each other, to try as the next steps before selecting new moves.
+     *         Defaults to 0, which disables speculative steps.
+     */
+    public Integer getSpeculativeStepCountLimit() {
+        return speculativeStepCountLimit;
+    }
+
+    public void setSpeculativeStepCountLimit(Integer speculativeStepCountLimit) {
+        this.speculativeStepCountLimit = speculativeStepCountLimit;
+    }
+
+    /**
+     * @return sometimes null, true to apply the {@link org.optaplanner.core.api.solver.ProblemFactChange}s
+     *         between 2 steps of this phase, instead of restarting the solver from the best solution.
+     *         The changed working solution then becomes the new best solution.
+     *         Defaults to false.
+     */
+    public Boolean getLiveProblemFactChanges() {
+        return liveProblemFactChanges;
+    }
+
+    public void setLiveProblemFactChanges(Boolean liveProblemFactChanges) {
+        this.liveProblemFactChanges = liveProblemFactChanges;
+    }
+
     // ************************************************************************
     // With methods
     // ************************************************************************
@@ -136,6 +170,16 @@ public class LocalSearchPhaseConfig extends PhaseConfig<LocalSearchPhaseConfig>
         return this;
     }
 
+    public LocalSearchPhaseConfig withSpeculativeStepCountLimit(Integer speculativeStepCountLimit) {
+        this.speculativeStepCountLimit = speculativeStepCountLimit;
+        return this;
+    }
+
+    public LocalSearchPhaseConfig withLiveProblemFactChanges(Boolean liveProblemFactChanges) {
+        this.liveProblemFactChanges = liveProblemFactChanges;
+        return this;
+    }
+
     @Override
     public LocalSearchPhaseConfig inherit(LocalSearchPhaseConfig inheritedConfig) {
         super.inherit(inheritedConfig);
@@ -145,6 +189,10 @@ public class LocalSearchPhaseConfig extends PhaseConfig<LocalSearchPhaseConfig>
                 getMoveSelectorConfig(), inheritedConfig.getMoveSelectorConfig()));
         acceptorConfig = ConfigUtils.inheritConfig(acceptorConfig, inheritedConfig.getAcceptorConfig());
         foragerConfig = ConfigUtils.inheritConfig(foragerConfig, inheritedConfig.getForagerConfig());
+        speculativeStepCountLimit = ConfigUtils.inheritOverwritableProperty(speculativeStepCountLimit,
+                inheritedConfig.getSpeculativeStepCountLimit());
+        liveProblemFactChanges = ConfigUtils.inheritOverwritableProperty(liveProblemFactChanges,
+                inheritedConfig.getLiveProblemFactChanges());
         return this;
     }
 
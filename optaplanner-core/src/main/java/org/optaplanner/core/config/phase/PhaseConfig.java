@@ -23,6 +23,7 @@ import javax.xml.bind.annotation.XmlType;
 import org.optaplanner.core.config.AbstractConfig;
 import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
 import org.optaplanner.core.config.exhaustivesearch.ExhaustiveSearchPhaseConfig;
+import org.optaplanner.core.config.islandsearch.IslandSearchPhaseConfig;
 import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
 import org.optaplanner.core.config.partitionedsearch.PartitionedSearchPhaseConfig;
 import org.optaplanner.core.config.phase.custom.CustomPhaseConfig;
@@ -33,6 +34,7 @@ import org.optaplanner.core.config.util.ConfigUtils;
         ConstructionHeuristicPhaseConfig.class,
         CustomPhaseConfig.class,
         ExhaustiveSearchPhaseConfig.class,
+        IslandSearchPhaseConfig.class,
         LocalSearchPhaseConfig.class,
         NoChangePhaseConfig.class,
         PartitionedSearchPhaseConfig.class
@@ -31,7 +31,6 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ThreadFactory;
-
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElements;
 import javax.xml.bind.annotation.XmlRootElement;
@@ -46,6 +45,7 @@ import org.optaplanner.core.api.solver.SolverFactory;
 import org.optaplanner.core.config.AbstractConfig;
 import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
 import org.optaplanner.core.config.exhaustivesearch.ExhaustiveSearchPhaseConfig;
+import org.optaplanner.core.config.islandsearch.IslandSearchPhaseConfig;
 import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
 import org.optaplanner.core.config.partitionedsearch.PartitionedSearchPhaseConfig;
 import org.optaplanner.core.config.phase.NoChangePhaseConfig;
@@ -67,11 +67,13 @@ import org.optaplanner.core.impl.solver.random.RandomFactory;
 @XmlType(name = SolverConfig.XML_TYPE_NAME, propOrder = {
         "environmentMode",
         "daemon",
+        "problemFactChangeBatching",
         "randomType",
         "randomSeed",
         "randomFactoryClass",
         "moveThreadCount",
         "moveThreadBufferSize",
+        "moveThreadBatchSize",
         "threadFactoryClass",
         "solutionClass",
         "entityClassList",
@@ -232,11 +234,13 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
 
     protected EnvironmentMode environmentMode = null;
     protected Boolean daemon = null;
+    protected Boolean problemFactChangeBatching = null;
     protected RandomType randomType = null;
     protected Long randomSeed = null;
     protected Class<? extends RandomFactory> randomFactoryClass = null;
     protected String moveThreadCount = null;
     protected Integer moveThreadBufferSize = null;
+    protected Integer moveThreadBatchSize = null;
     protected Class<? extends ThreadFactory> threadFactoryClass = null;
 
     protected Class<?> solutionClass = null;
@@ -256,6 +260,7 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
                     type = ConstructionHeuristicPhaseConfig.class),
             @XmlElement(name = CustomPhaseConfig.XML_ELEMENT_NAME, type = CustomPhaseConfig.class),
             @XmlElement(name = ExhaustiveSearchPhaseConfig.XML_ELEMENT_NAME, type = ExhaustiveSearchPhaseConfig.class),
+            @XmlElement(name = IslandSearchPhaseConfig.XML_ELEMENT_NAME, type = IslandSearchPhaseConfig.class),
             @XmlElement(name = LocalSearchPhaseConfig.XML_ELEMENT_NAME, type = LocalSearchPhaseConfig.class),
             @XmlElement(name = NoChangePhaseConfig.XML_ELEMENT_NAME, type = NoChangePhaseConfig.class),
             @XmlElement(name = PartitionedSearchPhaseConfig.XML_ELEMENT_NAME, type = PartitionedSearchPhaseConfig.class)
@@ -315,6 +320,19 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         this.daemon = daemon;
     }
 
+    /**
+     * @return sometimes null, true to calculate the score only once
+     *         after all the queued {@link org.optaplanner.core.api.solver.ProblemFactChange}s,
+     *         instead of after each one. Defaults to false.
+     */
+    public Boolean getProblemFactChangeBatching() {
+        return problemFactChangeBatching;
+    }
+
+    public void setProblemFactChangeBatching(Boolean problemFactChangeBatching) {
+        this.problemFactChangeBatching = problemFactChangeBatching;
+    }
+
     public RandomType getRandomType() {
         return randomType;
     }
@@ -355,6 +373,14 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         this.moveThreadBufferSize = moveThreadBufferSize;
     }
 
+    public Integer getMoveThreadBatchSize() {
+        return moveThreadBatchSize;
+    }
+
+    public void setMoveThreadBatchSize(Integer moveThreadBatchSize) {
+        this.moveThreadBatchSize = moveThreadBatchSize;
+    }
+
     public Class<? extends ThreadFactory> getThreadFactoryClass() {
         return threadFactoryClass;
     }
@@ -425,6 +451,11 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         return this;
     }
 
+    public SolverConfig withProblemFactChangeBatching(Boolean problemFactChangeBatching) {
+        this.problemFactChangeBatching = problemFactChangeBatching;
+        return this;
+    }
+
     public SolverConfig withRandomType(RandomType randomType) {
         this.randomType = randomType;
         return this;
@@ -450,6 +481,11 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         return this;
     }
 
+    public SolverConfig withMoveThreadBatchSize(Integer moveThreadBatchSize) {
+        this.moveThreadBatchSize = moveThreadBatchSize;
+        return this;
+    }
+
     public SolverConfig withThreadFactoryClass(Class<? extends ThreadFactory> threadFactoryClass) {
         this.threadFactoryClass = threadFactoryClass;
         return this;
@@ -572,6 +608,8 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         classLoader = ConfigUtils.inheritOverwritableProperty(classLoader, inheritedConfig.getClassLoader());
         environmentMode = ConfigUtils.inheritOverwritableProperty(environmentMode, inheritedConfig.getEnvironmentMode());
         daemon = ConfigUtils.inheritOverwritableProperty(daemon, inheritedConfig.getDaemon());
+        problemFactChangeBatching = ConfigUtils.inheritOverwritableProperty(problemFactChangeBatching,
+                inheritedConfig.getProblemFactChangeBatching());
         randomType = ConfigUtils.inheritOverwritableProperty(randomType, inheritedConfig.getRandomType());
         randomSeed = ConfigUtils.inheritOverwritableProperty(randomSeed, inheritedConfig.getRandomSeed());
         randomFactoryClass = ConfigUtils.inheritOverwritableProperty(randomFactoryClass,
@@ -580,6 +618,8 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
                 inheritedConfig.getMoveThreadCount());
         moveThreadBufferSize = ConfigUtils.inheritOverwritableProperty(moveThreadBufferSize,
                 inheritedConfig.getMoveThreadBufferSize());
+        moveThreadBatchSize = ConfigUtils.inheritOverwritableProperty(moveThreadBatchSize,
+                inheritedConfig.getMoveThreadBatchSize());
         threadFactoryClass = ConfigUtils.inheritOverwritableProperty(threadFactoryClass,
                 inheritedConfig.getThreadFactoryClass());
         solutionClass = ConfigUtils.inheritOverwritableProperty(solutionClass, inheritedConfig.getSolutionClass());
@@ -16,18 +16,22 @@
 
 package org.optaplanner.core.config.solver;
 
+import java.time.Duration;
 import java.util.concurrent.ThreadFactory;
 
 import javax.xml.bind.annotation.XmlType;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 import org.optaplanner.core.config.AbstractConfig;
 import org.optaplanner.core.config.util.ConfigUtils;
+import org.optaplanner.core.impl.io.jaxb.adapter.JaxbDurationAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @XmlType(propOrder = {
         "parallelSolverCount",
-        "threadFactoryClass"
+        "threadFactoryClass",
+        "throttlingDelay"
 })
 public class SolverManagerConfig extends AbstractConfig<SolverManagerConfig> {
 
@@ -37,9 +41,10 @@ public class SolverManagerConfig extends AbstractConfig<SolverManagerConfig> {
 
     protected String parallelSolverCount = null;
     protected Class<? extends ThreadFactory> threadFactoryClass = null;
+    @XmlJavaTypeAdapter(JaxbDurationAdapter.class)
+    protected Duration throttlingDelay = null;
 
     // Future features:
-    // throttlingDelay
     // congestionStrategy
 
     // ************************************************************************
@@ -65,6 +70,24 @@ public class SolverManagerConfig extends AbstractConfig<SolverManagerConfig> {
         this.threadFactoryClass = threadFactoryClass;
     }
 
+    /**
+     * The minimum time between the start of 2 calls to the {@code bestSolutionConsumer} of the same solver job,
+     * which limits the rate at which a slow consumer (such as one that writes to a database) is called.
+     * Any best solution found in the meantime replaces the one that is waiting,
+     * so the {@code bestSolutionConsumer} always ends with the final best solution.
+     * <p>
+     * Defaults to {@link Duration#ZERO} which only skips ahead while the {@code bestSolutionConsumer} is busy.
+     *
+     * @return null or not negative
+     */
+    public Duration getThrottlingDelay() {
+        return throttlingDelay;
+    }
+
+    public void setThrottlingDelay(Duration throttlingDelay) {
+        this.throttlingDelay = throttlingDelay;
+    }
+
     // ************************************************************************
     // With methods
     // ************************************************************************
@@ -79,6 +102,11 @@ public class SolverManagerConfig extends AbstractConfig<SolverManagerConfig> {
         return this;
     }
 
+    public SolverManagerConfig withThrottlingDelay(Duration throttlingDelay) {
+        this.throttlingDelay = throttlingDelay;
+        return this;
+    }
+
     // ************************************************************************
     // Builder methods
     // ************************************************************************
@@ -110,6 +138,16 @@ public class SolverManagerConfig extends AbstractConfig<SolverManagerConfig> {
         return Runtime.getRuntime().availableProcessors();
     }
 
+    public long resolveThrottlingDelayMillis() {
+        if (throttlingDelay == null) {
+            return 0L;
+        }
+        if (throttlingDelay.isNegative()) {
+            throw new IllegalArgumentException("The throttlingDelay (" + throttlingDelay + ") cannot be negative.");
+        }
+        return throttlingDelay.toMillis();
+    }
+
     protected int resolveParallelSolverCountAutomatically(int availableProcessorCount) {
         // Tweaked based on experience
         if (availableProcessorCount < 2) {
@@ -125,6 +163,8 @@ public class SolverManagerConfig extends AbstractConfig<SolverManagerConfig> {
                 inheritedConfig.getParallelSolverCount());
         threadFactoryClass = ConfigUtils.inheritOverwritableProperty(threadFactoryClass,
                 inheritedConfig.getThreadFactoryClass());
+        throttlingDelay = ConfigUtils.inheritOverwritableProperty(throttlingDelay,
+                inheritedConfig.getThrottlingDelay());
         return this;
     }
 
@@ -123,11 +123,19 @@ public class DefaultConstructionHeuristicPhaseFactory<Solution_>
                 // If it's too high, more moves are selected that aren't foraged
                 moveThreadBufferSize = 10;
             }
+            Integer moveThreadBatchSize = configPolicy.getMoveThreadBatchSize();
+            if (moveThreadBatchSize == null) {
+                // Batching only pays off if evaluating a move is cheap compared to relaying it to a move thread
+                moveThreadBatchSize = 1;
+            } else if (moveThreadBatchSize < 1) {
+                throw new IllegalArgumentException("The moveThreadBatchSize (" + moveThreadBatchSize
+                        + ") must be at least 1.");
+            }
             ThreadFactory threadFactory = configPolicy.buildThreadFactory(ChildThreadType.MOVE_THREAD);
             int selectedMoveBufferSize = moveThreadCount * moveThreadBufferSize;
             MultiThreadedConstructionHeuristicDecider<Solution_> multiThreadedDecider =
                     new MultiThreadedConstructionHeuristicDecider<>(configPolicy.getLogIndentation(), termination, forager,
-                            threadFactory, moveThreadCount, selectedMoveBufferSize);
+                            threadFactory, moveThreadCount, selectedMoveBufferSize, moveThreadBatchSize);
             if (environmentMode.isNonIntrusiveFullAsserted()) {
                 multiThreadedDecider.setAssertStepScoreFromScratch(true);
             }
@@ -135,6 +143,7 @@ public class DefaultConstructionHeuristicPhaseFactory<Solution_>
                 multiThreadedDecider.setAssertExpectedStepScore(true);
                 multiThreadedDecider.setAssertShadowVariablesAreNotStaleAfterStep(true);
             }
+            multiThreadedDecider.setMoveThreadCountAdaptive(configPolicy.isMoveThreadCountAdaptive());
             decider = multiThreadedDecider;
         }
         if (environmentMode.isNonIntrusiveFullAsserted()) {
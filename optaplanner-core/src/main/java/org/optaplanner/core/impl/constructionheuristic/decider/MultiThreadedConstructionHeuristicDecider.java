@@ -16,16 +16,12 @@
 
 package org.optaplanner.core.impl.constructionheuristic.decider;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CyclicBarrier;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
@@ -37,14 +33,14 @@ import org.optaplanner.core.impl.constructionheuristic.scope.ConstructionHeurist
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.heuristic.thread.ApplyStepOperation;
 import org.optaplanner.core.impl.heuristic.thread.DestroyOperation;
-import org.optaplanner.core.impl.heuristic.thread.MoveEvaluationOperation;
-import org.optaplanner.core.impl.heuristic.thread.MoveThreadOperation;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadCountTuner;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadOperationQueue;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadPool;
 import org.optaplanner.core.impl.heuristic.thread.MoveThreadRunner;
 import org.optaplanner.core.impl.heuristic.thread.OrderByMoveIndexBlockingQueue;
 import org.optaplanner.core.impl.heuristic.thread.SetupOperation;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.solver.termination.Termination;
-import org.optaplanner.core.impl.solver.thread.ThreadUtils;
 
 /**
  * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
@@ -54,24 +50,33 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
     protected final ThreadFactory threadFactory;
     protected final int moveThreadCount;
     protected final int selectedMoveBufferSize;
+    protected final int moveThreadBatchSize;
 
     protected boolean assertStepScoreFromScratch = false;
     protected boolean assertExpectedStepScore = false;
     protected boolean assertShadowVariablesAreNotStaleAfterStep = false;
+    protected boolean moveThreadCountAdaptive = false;
 
-    protected BlockingQueue<MoveThreadOperation<Solution_>> operationQueue;
+    protected MoveThreadOperationQueue<Solution_> operationQueue;
     protected OrderByMoveIndexBlockingQueue<Solution_> resultQueue;
-    protected CyclicBarrier moveThreadBarrier;
-    protected ExecutorService executor;
+    protected MoveThreadPool<Solution_> moveThreadPool;
     protected List<MoveThreadRunner<Solution_, ?>> moveThreadRunnerList;
+    protected long lastStepWorkingSolutionRevision;
+    protected MoveThreadCountTuner moveThreadCountTuner;
+    protected int activeMoveThreadCount;
+    /**
+     * The selected moves of the current step, if the solver thread evaluates them itself.
+     */
+    protected Deque<Move<Solution_>> solverThreadMoveDeque;
 
     public MultiThreadedConstructionHeuristicDecider(String logIndentation, Termination<Solution_> termination,
             ConstructionHeuristicForager<Solution_> forager, ThreadFactory threadFactory, int moveThreadCount,
-            int selectedMoveBufferSize) {
+            int selectedMoveBufferSize, int moveThreadBatchSize) {
         super(logIndentation, termination, forager);
         this.threadFactory = threadFactory;
         this.moveThreadCount = moveThreadCount;
         this.selectedMoveBufferSize = selectedMoveBufferSize;
+        this.moveThreadBatchSize = moveThreadBatchSize;
     }
 
     public void setAssertStepScoreFromScratch(boolean assertStepScoreFromScratch) {
@@ -86,41 +91,62 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
         this.assertShadowVariablesAreNotStaleAfterStep = assertShadowVariablesAreNotStaleAfterStep;
     }
 
+    public void setMoveThreadCountAdaptive(boolean moveThreadCountAdaptive) {
+        this.moveThreadCountAdaptive = moveThreadCountAdaptive;
+    }
+
     @Override
     public void phaseStarted(ConstructionHeuristicPhaseScope<Solution_> phaseScope) {
         super.phaseStarted(phaseScope);
-        // Capacity: number of moves in circulation + number of setup xor step operations + number of destroy operations
-        operationQueue = new ArrayBlockingQueue<>(selectedMoveBufferSize + moveThreadCount + moveThreadCount);
-        // Capacity: number of moves in circulation + number of exception handling results
-        resultQueue = new OrderByMoveIndexBlockingQueue<>(selectedMoveBufferSize + moveThreadCount);
-        moveThreadBarrier = new CyclicBarrier(moveThreadCount);
+        // The move evaluation operations in circulation (at most 1 per move) are spread round-robin
+        // over the active move threads, which can be just 1 if the moveThreadCount is adaptive
+        int moveThreadShare = moveThreadCountAdaptive ? selectedMoveBufferSize
+                : (selectedMoveBufferSize + moveThreadCount - 1) / moveThreadCount;
+        // Capacity per move thread: share of the moves in circulation of this step and of the cancelled previous step
+        // + setup xor step operation + destroy operation
+        operationQueue = new MoveThreadOperationQueue<>(moveThreadCount, moveThreadBatchSize,
+                moveThreadShare + moveThreadShare + 2);
+        // Capacity: number of moves in circulation + number of moves in a cancelled batch
+        // + number of exception handling results
+        resultQueue = new OrderByMoveIndexBlockingQueue<>(moveThreadCount,
+                selectedMoveBufferSize + moveThreadBatchSize + moveThreadCount);
         InnerScoreDirector<Solution_, ?> scoreDirector = phaseScope.getScoreDirector();
-        executor = createThreadPoolExecutor();
+        moveThreadPool = phaseScope.getSolverScope().getMoveThreadPool(moveThreadCount, threadFactory);
         moveThreadRunnerList = new ArrayList<>(moveThreadCount);
         for (int moveThreadIndex = 0; moveThreadIndex < moveThreadCount; moveThreadIndex++) {
             MoveThreadRunner<Solution_, ?> moveThreadRunner = new MoveThreadRunner<>(
                     logIndentation, moveThreadIndex, false,
-                    operationQueue, resultQueue, moveThreadBarrier,
+                    operationQueue, resultQueue, moveThreadPool,
                     assertMoveScoreFromScratch, assertExpectedUndoMoveScore,
                     assertStepScoreFromScratch, assertExpectedStepScore, assertShadowVariablesAreNotStaleAfterStep);
             moveThreadRunnerList.add(moveThreadRunner);
-            executor.submit(moveThreadRunner);
-            operationQueue.add(new SetupOperation<>(scoreDirector));
         }
+        moveThreadPool.startMoveThreads(scoreDirector, moveThreadRunnerList);
+        operationQueue.addToEveryMoveThread(new SetupOperation<>(scoreDirector));
+        lastStepWorkingSolutionRevision = scoreDirector.getWorkingSolutionRevision();
+        activeMoveThreadCount = moveThreadCount;
+        if (moveThreadCountAdaptive) {
+            moveThreadCountTuner = new MoveThreadCountTuner(logIndentation, moveThreadCount);
+            solverThreadMoveDeque = new ArrayDeque<>(selectedMoveBufferSize);
+        }
+    }
+
+    @Override
+    public void stepEnded(ConstructionHeuristicStepScope<Solution_> stepScope) {
+        super.stepEnded(stepScope);
+        // Every move thread has been told to apply this step too
+        lastStepWorkingSolutionRevision = stepScope.getScoreDirector().getWorkingSolutionRevision();
     }
 
     @Override
     public void phaseEnded(ConstructionHeuristicPhaseScope<Solution_> phaseScope) {
         super.phaseEnded(phaseScope);
         // Tell the move thread runners to stop
-        // Don't clear the operationsQueue to avoid moveThreadBarrier deadlock:
-        // The MoveEvaluationOperations are already cleared and the new ApplyStepOperation isn't added yet.
-        DestroyOperation<Solution_> destroyOperation = new DestroyOperation<>();
-        for (int i = 0; i < moveThreadCount; i++) {
-            operationQueue.add(destroyOperation);
-        }
-        // TODO This should probably be in a finally that spans at least the entire phase, maybe even the entire solve
-        ThreadUtils.shutdownAwaitOrKill(executor, logIndentation, "Multithreaded Local Search");
+        // The MoveEvaluationOperations are already cancelled and the new ApplyStepOperation isn't added yet.
+        operationQueue.addToEveryMoveThread(new DestroyOperation<>());
+        // The move threads stay alive for the next phase, the moveThreadPool is closed when the solver ends
+        moveThreadPool.awaitMoveThreads(phaseScope.getScoreDirector(), lastStepWorkingSolutionRevision,
+                logIndentation, "Multithreaded Construction Heuristic");
         long childThreadsScoreCalculationCount = 0;
         for (MoveThreadRunner<Solution_, ?> moveThreadRunner : moveThreadRunnerList) {
             childThreadsScoreCalculationCount += moveThreadRunner.getCalculationCount();
@@ -128,24 +154,18 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
         phaseScope.addChildThreadsScoreCalculationCount(childThreadsScoreCalculationCount);
         operationQueue = null;
         resultQueue = null;
+        moveThreadPool = null;
         moveThreadRunnerList = null;
-    }
-
-    protected ExecutorService createThreadPoolExecutor() {
-        ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(moveThreadCount,
-                threadFactory);
-        if (threadPoolExecutor.getMaximumPoolSize() < moveThreadCount) {
-            throw new IllegalStateException(
-                    "The threadPoolExecutor's maximumPoolSize (" + threadPoolExecutor.getMaximumPoolSize()
-                            + ") is less than the moveThreadCount (" + moveThreadCount + "), this is unsupported.");
-        }
-        return threadPoolExecutor;
+        moveThreadCountTuner = null;
+        solverThreadMoveDeque = null;
     }
 
     @Override
     public void decideNextStep(ConstructionHeuristicStepScope<Solution_> stepScope, Placement<Solution_> placement) {
         int stepIndex = stepScope.getStepIndex();
         resultQueue.startNextStep(stepIndex);
+        long stepStartNanos = System.nanoTime();
+        boolean solverThreadEvaluation = startMoveEvaluations(stepScope);
         int selectingMoveIndex = 0;
         int foragingMoveIndex = 0;
         Iterator<Move<Solution_>> moveIterator = placement.iterator();
@@ -155,45 +175,93 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
             // For reproducibility, the selectedMoveBufferSize always need to be entirely selected,
             // even if some of those moves won't end up being evaluated or foraged
             if (selectingMoveIndex >= selectedMoveBufferSize || moveIteratorEmpty) {
-                if (forageResult(stepScope, stepIndex)) {
+                operationQueue.ensureMoveEvaluationAdded(foragingMoveIndex);
+                boolean quit = forageResult(stepScope, stepIndex, foragingMoveIndex, solverThreadEvaluation);
+                foragingMoveIndex++;
+                if (quit) {
                     break;
                 }
-                foragingMoveIndex++;
             }
             if (!moveIteratorEmpty) {
                 Move<Solution_> selectingMove = moveIterator.next();
-                operationQueue.add(new MoveEvaluationOperation<>(stepIndex, selectingMoveIndex, selectingMove));
+                if (solverThreadEvaluation) {
+                    solverThreadMoveDeque.add(selectingMove);
+                } else {
+                    operationQueue.addMoveEvaluation(stepIndex, selectingMoveIndex, selectingMove);
+                }
                 selectingMoveIndex++;
             }
         } while (foragingMoveIndex < selectingMoveIndex);
 
         // Do not evaluate the remaining selected moves for this step that haven't started evaluation yet
-        operationQueue.clear();
+        operationQueue.cancelMoveEvaluations(stepIndex);
+        endMoveEvaluations(stepScope, solverThreadEvaluation, System.nanoTime() - stepStartNanos, foragingMoveIndex);
         pickMove(stepScope);
         // Start doing the step on every move thread. Don't wait for the stepEnded() event.
         if (stepScope.getStep() != null) {
             // Increase stepIndex by 1, because it's a preliminary action
             ApplyStepOperation<Solution_, ?> stepOperation = new ApplyStepOperation<>(stepIndex + 1,
                     stepScope.getStep(), (Score) stepScope.getScore());
-            for (int i = 0; i < moveThreadCount; i++) {
-                operationQueue.add(stepOperation);
+            try {
+                operationQueue.addApplyStep(stepOperation);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
     }
 
-    private boolean forageResult(ConstructionHeuristicStepScope<Solution_> stepScope, int stepIndex) {
-        OrderByMoveIndexBlockingQueue.MoveResult<Solution_> result;
-        try {
-            result = resultQueue.take();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    /**
+     * @param stepScope never null
+     * @return true if the solver thread evaluates the moves of this step itself
+     */
+    private boolean startMoveEvaluations(ConstructionHeuristicStepScope<Solution_> stepScope) {
+        if (moveThreadCountTuner == null) {
+            return false;
+        }
+        int tunedMoveThreadCount = moveThreadCountTuner.getActiveMoveThreadCount();
+        if (tunedMoveThreadCount == 0) {
+            stepScope.getScoreDirector().setAllChangesWillBeUndoneBeforeStepEnds(true);
             return true;
         }
-        if (stepIndex != result.getStepIndex()) {
-            throw new IllegalStateException("Impossible situation: the solverThread's stepIndex (" + stepIndex
-                    + ") differs from the result's stepIndex (" + result.getStepIndex() + ").");
+        if (tunedMoveThreadCount != activeMoveThreadCount) {
+            operationQueue.setActiveMoveThreadCount(tunedMoveThreadCount);
+            activeMoveThreadCount = tunedMoveThreadCount;
+        }
+        return false;
+    }
+
+    private void endMoveEvaluations(ConstructionHeuristicStepScope<Solution_> stepScope, boolean solverThreadEvaluation,
+            long stepNanos, int foragedMoveCount) {
+        if (moveThreadCountTuner == null) {
+            return;
+        }
+        if (solverThreadEvaluation) {
+            stepScope.getScoreDirector().setAllChangesWillBeUndoneBeforeStepEnds(false);
+            solverThreadMoveDeque.clear();
+        }
+        moveThreadCountTuner.stepDecided(stepNanos, foragedMoveCount);
+    }
+
+    private boolean forageResult(ConstructionHeuristicStepScope<Solution_> stepScope, int stepIndex, int moveIndex,
+            boolean solverThreadEvaluation) {
+        OrderByMoveIndexBlockingQueue.MoveResult<Solution_> result;
+        Move<Solution_> foragingMove;
+        if (solverThreadEvaluation) {
+            result = evaluateOnSolverThread(stepScope, stepIndex, moveIndex);
+            foragingMove = result.getMove();
+        } else {
+            try {
+                result = resultQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+            if (stepIndex != result.getStepIndex()) {
+                throw new IllegalStateException("Impossible situation: the solverThread's stepIndex (" + stepIndex
+                        + ") differs from the result's stepIndex (" + result.getStepIndex() + ").");
+            }
+            foragingMove = result.getMove().rebase(stepScope.getScoreDirector());
         }
-        Move<Solution_> foragingMove = result.getMove().rebase(stepScope.getScoreDirector());
         int foragingMoveIndex = result.getMoveIndex();
         ConstructionHeuristicMoveScope<Solution_> moveScope = new ConstructionHeuristicMoveScope<>(stepScope, foragingMoveIndex,
                 foragingMove);
@@ -215,4 +283,20 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
         return false;
     }
 
+    /**
+     * Evaluates the next selected move like a move thread would, but on the solver thread.
+     * There's no need to rebase the move, because it was selected on the solver thread's working solution.
+     */
+    private <Score_ extends Score<Score_>> OrderByMoveIndexBlockingQueue.MoveResult<Solution_>
+            evaluateOnSolverThread(ConstructionHeuristicStepScope<Solution_> stepScope, int stepIndex, int moveIndex) {
+        InnerScoreDirector<Solution_, Score_> scoreDirector = stepScope.getScoreDirector();
+        Move<Solution_> move = solverThreadMoveDeque.poll();
+        Score_ score = scoreDirector.doAndProcessMove(move, assertMoveScoreFromScratch);
+        if (assertExpectedUndoMoveScore) {
+            scoreDirector.assertExpectedUndoMoveScore(move,
+                    (Score_) stepScope.getPhaseScope().getLastCompletedStepScope().getScore());
+        }
+        return new OrderByMoveIndexBlockingQueue.MoveResult<>(-1, stepIndex, moveIndex, move, true, score);
+    }
+
 }
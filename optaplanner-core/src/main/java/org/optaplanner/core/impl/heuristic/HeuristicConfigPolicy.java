@@ -23,6 +23,7 @@ import java.util.concurrent.ThreadFactory;
 import org.optaplanner.core.config.heuristic.selector.entity.EntitySorterManner;
 import org.optaplanner.core.config.heuristic.selector.value.ValueSorterManner;
 import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.config.solver.SolverConfig;
 import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
@@ -40,9 +41,11 @@ public class HeuristicConfigPolicy<Solution_> {
     private final String logIndentation;
     private final Integer moveThreadCount;
     private final Integer moveThreadBufferSize;
+    private final Integer moveThreadBatchSize;
     private final Class<? extends ThreadFactory> threadFactoryClass;
     private final InnerScoreDirectorFactory<Solution_, ?> scoreDirectorFactory;
 
+    private boolean moveThreadCountAdaptive = false;
     private EntitySorterManner entitySorterManner = EntitySorterManner.NONE;
     private ValueSorterManner valueSorterManner = ValueSorterManner.NONE;
     private boolean reinitializeVariableFilterEnabled = false;
@@ -52,18 +55,21 @@ public class HeuristicConfigPolicy<Solution_> {
     private Map<String, ValueMimicRecorder<Solution_>> valueMimicRecorderMap = new HashMap<>();
 
     public HeuristicConfigPolicy(EnvironmentMode environmentMode, Integer moveThreadCount, Integer moveThreadBufferSize,
-            Class<? extends ThreadFactory> threadFactoryClass,
+            Integer moveThreadBatchSize, Class<? extends ThreadFactory> threadFactoryClass,
             InnerScoreDirectorFactory<Solution_, ?> scoreDirectorFactory) {
-        this(environmentMode, "", moveThreadCount, moveThreadBufferSize, threadFactoryClass, scoreDirectorFactory);
+        this(environmentMode, "", moveThreadCount, moveThreadBufferSize, moveThreadBatchSize, threadFactoryClass,
+                scoreDirectorFactory);
     }
 
     public HeuristicConfigPolicy(EnvironmentMode environmentMode, String logIndentation, Integer moveThreadCount,
-            Integer moveThreadBufferSize, Class<? extends ThreadFactory> threadFactoryClass,
+            Integer moveThreadBufferSize, Integer moveThreadBatchSize,
+            Class<? extends ThreadFactory> threadFactoryClass,
             InnerScoreDirectorFactory<Solution_, ?> scoreDirectorFactory) {
         this.environmentMode = environmentMode;
         this.logIndentation = logIndentation;
         this.moveThreadCount = moveThreadCount;
         this.moveThreadBufferSize = moveThreadBufferSize;
+        this.moveThreadBatchSize = moveThreadBatchSize;
         this.threadFactoryClass = threadFactoryClass;
         this.scoreDirectorFactory = scoreDirectorFactory;
     }
@@ -80,6 +86,18 @@ public class HeuristicConfigPolicy<Solution_> {
         return moveThreadCount;
     }
 
+    /**
+     * @return true if the moveThreadCount is only the maximum number of active move threads,
+     *         because it was resolved from {@link SolverConfig#MOVE_THREAD_COUNT_AUTO}
+     */
+    public boolean isMoveThreadCountAdaptive() {
+        return moveThreadCountAdaptive;
+    }
+
+    public void setMoveThreadCountAdaptive(boolean moveThreadCountAdaptive) {
+        this.moveThreadCountAdaptive = moveThreadCountAdaptive;
+    }
+
     public Class<? extends ThreadFactory> getThreadFactoryClass() {
         return threadFactoryClass;
     }
@@ -88,6 +106,10 @@ public class HeuristicConfigPolicy<Solution_> {
         return moveThreadBufferSize;
     }
 
+    public Integer getMoveThreadBatchSize() {
+        return moveThreadBatchSize;
+    }
+
     public SolutionDescriptor<Solution_> getSolutionDescriptor() {
         return scoreDirectorFactory.getSolutionDescriptor();
     }
@@ -145,9 +167,11 @@ public class HeuristicConfigPolicy<Solution_> {
     // ************************************************************************
 
     public HeuristicConfigPolicy<Solution_> createPhaseConfigPolicy() {
-        return new HeuristicConfigPolicy<>(environmentMode, logIndentation,
-                moveThreadCount, moveThreadBufferSize, threadFactoryClass,
+        HeuristicConfigPolicy<Solution_> heuristicConfigPolicy = new HeuristicConfigPolicy<>(environmentMode,
+                logIndentation, moveThreadCount, moveThreadBufferSize, moveThreadBatchSize, threadFactoryClass,
                 scoreDirectorFactory);
+        heuristicConfigPolicy.moveThreadCountAdaptive = moveThreadCountAdaptive;
+        return heuristicConfigPolicy;
     }
 
     public HeuristicConfigPolicy<Solution_> createFilteredPhaseConfigPolicy() {
@@ -158,9 +182,11 @@ public class HeuristicConfigPolicy<Solution_> {
     }
 
     public HeuristicConfigPolicy<Solution_> createChildThreadConfigPolicy(ChildThreadType childThreadType) {
-        return new HeuristicConfigPolicy<>(environmentMode, logIndentation + "        ",
-                moveThreadCount, moveThreadBufferSize, threadFactoryClass,
-                scoreDirectorFactory);
+        HeuristicConfigPolicy<Solution_> heuristicConfigPolicy = new HeuristicConfigPolicy<>(environmentMode,
+                logIndentation + "        ", moveThreadCount, moveThreadBufferSize, moveThreadBatchSize,
+                threadFactoryClass, scoreDirectorFactory);
+        heuristicConfigPolicy.moveThreadCountAdaptive = moveThreadCountAdaptive;
+        return heuristicConfigPolicy;
     }
 
     // ************************************************************************
@@ -203,6 +229,9 @@ public class HeuristicConfigPolicy<Solution_> {
                 case PART_THREAD:
                     threadPrefix = "PartThread";
                     break;
+                case ISLAND_THREAD:
+                    threadPrefix = "IslandThread";
+                    break;
                 default:
                     throw new IllegalStateException("Unsupported childThreadType (" + childThreadType + ").");
             }
@@ -65,6 +65,11 @@ public abstract class AbstractSelector<Solution_> implements Selector<Solution_>
         phaseLifecycleSupport.firePhaseEnded(phaseScope);
     }
 
+    @Override
+    public void problemFactsChanged(AbstractPhaseScope<Solution_> phaseScope) {
+        phaseLifecycleSupport.fireProblemFactsChanged(phaseScope);
+    }
+
     @Override
     public void solvingEnded(SolverScope<Solution_> solverScope) {
         phaseLifecycleSupport.fireSolvingEnded(solverScope);
@@ -73,6 +73,16 @@ public class SelectionCacheLifecycleBridge<Solution_> implements PhaseLifecycleL
         }
     }
 
+    @Override
+    public void problemFactsChanged(AbstractPhaseScope<Solution_> phaseScope) {
+        // A STEP cache is already disposed between 2 steps
+        if (cacheType == SelectionCacheType.PHASE || cacheType == SelectionCacheType.SOLVER) {
+            SolverScope<Solution_> solverScope = phaseScope.getSolverScope();
+            selectionCacheLifecycleListener.disposeCache(solverScope);
+            selectionCacheLifecycleListener.constructCache(solverScope);
+        }
+    }
+
     @Override
     public void solvingEnded(SolverScope<Solution_> solverScope) {
         if (cacheType == SelectionCacheType.SOLVER) {
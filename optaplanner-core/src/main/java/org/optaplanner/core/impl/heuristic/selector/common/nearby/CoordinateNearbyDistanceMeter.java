@@ -0,0 +1,48 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.common.nearby;
+
+/**
+ * A {@link NearbyDistanceMeter} that also knows where every origin and destination is,
+ * so nearby selection can find the nearest destinations of an origin with a spatial index
+ * instead of measuring the distance to every destination.
+ * <p>
+ * The spatial index only measures the {@link #getNearbyDistance(Object, Object) nearby distance}
+ * to a few times more destinations than needed, those nearest by the Euclidean distance between the coordinates,
+ * and keeps the nearest of those by the nearby distance.
+ * So the nearby distance should roughly grow with the Euclidean distance between the coordinates,
+ * for example the air distance or the road distance between 2 locations.
+ * A destination that is near by road yet far by air might still not be among the nearest destinations.
+ *
+ * @param <O> the origin type
+ * @param <D> the destination type
+ */
+public interface CoordinateNearbyDistanceMeter<O, D> extends NearbyDistanceMeter<O, D> {
+
+    /**
+     * @param origin never null
+     * @return never null, the same length for every origin and destination, for example latitude and longitude
+     */
+    double[] getOriginCoordinates(O origin);
+
+    /**
+     * @param destination never null
+     * @return never null, the same length for every origin and destination, for example latitude and longitude
+     */
+    double[] getDestinationCoordinates(D destination);
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.common.nearby;
+
+/**
+ * A k-d tree over points, which finds the nearest points to a target in {@code O(log n)} on average,
+ * instead of {@code O(n)}.
+ * It is built in {@code O(n log n)} on average.
+ * <p>
+ * Points at the same distance are ordered by their index, so the result is reproducible.
+ * <p>
+ * Thread-safe after construction: multiple threads can query it at the same time.
+ */
+public final class KdTree {
+
+    private final double[][] points;
+    private final int dimensionCount;
+    /**
+     * A balanced tree in an array: the root of the range {@code [from, to)} is at {@code (from + to) >>> 1},
+     * its left subtree is {@code [from, root)} and its right subtree is {@code [root + 1, to)}.
+     */
+    private final int[] treeIndexes;
+
+    /**
+     * @param points never null, every point has the same number of coordinates
+     */
+    public KdTree(double[][] points) {
+        this.points = points;
+        dimensionCount = points.length == 0 ? 0 : points[0].length;
+        if (points.length > 0 && dimensionCount == 0) {
+            throw new IllegalArgumentException("The points have no coordinates.");
+        }
+        for (int i = 0; i < points.length; i++) {
+            if (points[i].length != dimensionCount) {
+                throw new IllegalArgumentException("The point with index (" + i + ") has a number of coordinates ("
+                        + points[i].length + ") that differs from the first point's (" + dimensionCount + ").");
+            }
+        }
+        treeIndexes = new int[points.length];
+        for (int i = 0; i < treeIndexes.length; i++) {
+            treeIndexes[i] = i;
+        }
+        build(0, treeIndexes.length, 0);
+    }
+
+    public int size() {
+        return points.length;
+    }
+
+    private void build(int from, int to, int depth) {
+        if (to - from <= 1) {
+            return;
+        }
+        int root = (from + to) >>> 1;
+        int axis = depth % dimensionCount;
+        select(from, to - 1, root, axis);
+        build(from, root, depth + 1);
+        build(root + 1, to, depth + 1);
+    }
+
+    /**
+     * Quickselect: partially sorts {@code treeIndexes[left..right]} on the axis,
+     * so the k-th is in place, with no greater one before it and no smaller one after it.
+     */
+    private void select(int left, int right, int k, int axis) {
+        while (left < right) {
+            double pivot = points[treeIndexes[(left + right) >>> 1]][axis];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (points[treeIndexes[i]][axis] < pivot) {
+                    i++;
+                }
+                while (points[treeIndexes[j]][axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = treeIndexes[i];
+                    treeIndexes[i] = treeIndexes[j];
+                    treeIndexes[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param target never null, the same number of coordinates as the points
+     * @param nearestSize {@code 0 <= nearestSize <= } {@link #size()}
+     * @return never null, the indexes of the nearestSize nearest points, in no particular order
+     */
+    public int[] findNearest(double[] target, int nearestSize) {
+        if (target.length != dimensionCount && points.length > 0) {
+            throw new IllegalArgumentException("The target has a number of coordinates (" + target.length
+                    + ") that differs from the points' (" + dimensionCount + ").");
+        }
+        if (nearestSize < 0 || nearestSize > points.length) {
+            throw new IllegalArgumentException("The nearestSize (" + nearestSize
+                    + ") must be between 0 and the size (" + points.length + ").");
+        }
+        NearestHeap nearestHeap = new NearestHeap(nearestSize);
+        if (nearestSize > 0) {
+            findNearest(target, 0, treeIndexes.length, 0, nearestHeap);
+        }
+        return nearestHeap.indexes;
+    }
+
+    private void findNearest(double[] target, int from, int to, int depth, NearestHeap nearestHeap) {
+        if (from >= to) {
+            return;
+        }
+        int root = (from + to) >>> 1;
+        int index = treeIndexes[root];
+        double[] point = points[index];
+        double squaredDistance = 0.0;
+        for (int i = 0; i < dimensionCount; i++) {
+            double difference = target[i] - point[i];
+            squaredDistance += difference * difference;
+        }
+        nearestHeap.offer(index, squaredDistance);
+        int axis = depth % dimensionCount;
+        double axisDifference = target[axis] - point[axis];
+        boolean leftFirst = axisDifference < 0.0;
+        findNearest(target, leftFirst ? from : root + 1, leftFirst ? root : to, depth + 1, nearestHeap);
+        // The other side can only have a nearer point if it's not farther than the splitting plane
+        if (!nearestHeap.isFull() || axisDifference * axisDifference <= nearestHeap.getFarthestSquaredDistance()) {
+            findNearest(target, leftFirst ? root + 1 : from, leftFirst ? to : root, depth + 1, nearestHeap);
+        }
+    }
+
+    /**
+     * A bounded max-heap, so the farthest of the nearest points found so far is at the root.
+     */
+    private static final class NearestHeap {
+
+        private final int[] indexes;
+        private final double[] squaredDistances;
+        private int size = 0;
+
+        private NearestHeap(int capacity) {
+            indexes = new int[capacity];
+            squaredDistances = new double[capacity];
+        }
+
+        private boolean isFull() {
+            return size == indexes.length;
+        }
+
+        private double getFarthestSquaredDistance() {
+            return squaredDistances[0];
+        }
+
+        private void offer(int index, double squaredDistance) {
+            if (!isFull()) {
+                int i = size;
+                size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (!isFarther(index, squaredDistance, indexes[parent], squaredDistances[parent])) {
+                        break;
+                    }
+                    indexes[i] = indexes[parent];
+                    squaredDistances[i] = squaredDistances[parent];
+                    i = parent;
+                }
+                indexes[i] = index;
+                squaredDistances[i] = squaredDistance;
+            } else if (size > 0 && isFarther(indexes[0], squaredDistances[0], index, squaredDistance)) {
+                int i = 0;
+                int child;
+                while ((child = (i << 1) + 1) < size) {
+                    if (child + 1 < size && isFarther(indexes[child + 1], squaredDistances[child + 1],
+                            indexes[child], squaredDistances[child])) {
+                        child++;
+                    }
+                    if (!isFarther(indexes[child], squaredDistances[child], index, squaredDistance)) {
+                        break;
+                    }
+                    indexes[i] = indexes[child];
+                    squaredDistances[i] = squaredDistances[child];
+                    i = child;
+                }
+                indexes[i] = index;
+                squaredDistances[i] = squaredDistance;
+            }
+        }
+
+        private static boolean isFarther(int index, double squaredDistance, int otherIndex,
+                double otherSquaredDistance) {
+            return squaredDistance > otherSquaredDistance
+                    || (squaredDistance == otherSquaredDistance && index > otherIndex);
+        }
+
+    }
+
+}
@@ -16,70 +16,425 @@
 
 package org.optaplanner.core.impl.heuristic.selector.common.nearby;
 
+import java.nio.IntBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.ToIntFunction;
 
+import org.optaplanner.core.impl.solver.thread.ThreadUtils;
+
+/**
+ * Thread-safe: multiple threads can add destinations for different origins at the same time,
+ * as long as the {@link NearbyDistanceMeter} and the destination iterators are thread-safe too.
+ */
 public final class NearbyDistanceMatrix<Origin, Destination> {
 
+    /**
+     * The spatial index finds this many times more candidates than needed by the distance between the coordinates,
+     * so the nearest destinations by {@link NearbyDistanceMeter#getNearbyDistance(Object, Object)}
+     * are still found if that distance differs from the distance between the coordinates, such as a road distance.
+     */
+    private static final int COORDINATE_CANDIDATE_FACTOR = 4;
+
     private final NearbyDistanceMeter<Origin, Destination> nearbyDistanceMeter;
     private final Map<Origin, Destination[]> originToDestinationsMap;
     private final Function<Origin, Iterator<Destination>> destinationIteratorProvider;
     private final ToIntFunction<Origin> destinationSizeFunction;
 
+    // Only measures the distance to the destinations that are near by coordinates
+    private List<Destination> indexedByCoordinatesDestinationList = null;
+    private KdTree destinationKdTree = null;
+
+    // Destinations found by an earlier solver run, see NearbyDistanceMatrixCache
+    private Map<Origin, Integer> originToOrdinalMap = null;
+    private List<Destination> indexedDestinationList = null;
+    private IntBuffer destinationIndexBuffer = null;
+    private int destinationIndexStride = 0;
+
     public NearbyDistanceMatrix(NearbyDistanceMeter<Origin, Destination> nearbyDistanceMeter, int originSize,
             Function<Origin, Iterator<Destination>> destinationIteratorProvider,
             ToIntFunction<Origin> destinationSizeFunction) {
         this.nearbyDistanceMeter = nearbyDistanceMeter;
-        originToDestinationsMap = new HashMap<>(originSize);
+        originToDestinationsMap = new ConcurrentHashMap<>(originSize);
         this.destinationIteratorProvider = destinationIteratorProvider;
         this.destinationSizeFunction = destinationSizeFunction;
     }
 
     public void addAllDestinations(Origin origin) {
         int destinationSize = destinationSizeFunction.applyAsInt(origin);
+        originToDestinationsMap.put(origin, findNearestDestinations(origin, destinationSize));
+    }
+
+    /**
+     * Finds the nearest destinations of an origin with a spatial index from now on,
+     * instead of measuring the distance to every destination.
+     *
+     * @param destinationList never null, every origin has the same destinations, in this order
+     */
+    public void indexDestinationsByCoordinates(List<Destination> destinationList) {
+        if (!(nearbyDistanceMeter instanceof CoordinateNearbyDistanceMeter)) {
+            throw new IllegalStateException("Impossible state: the nearbyDistanceMeter (" + nearbyDistanceMeter
+                    + ") is not a " + CoordinateNearbyDistanceMeter.class.getSimpleName() + ".");
+        }
+        CoordinateNearbyDistanceMeter<Origin, Destination> coordinateNearbyDistanceMeter =
+                (CoordinateNearbyDistanceMeter<Origin, Destination>) nearbyDistanceMeter;
+        double[][] points = new double[destinationList.size()][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = coordinateNearbyDistanceMeter.getDestinationCoordinates(destinationList.get(i));
+        }
+        destinationKdTree = new KdTree(points);
+        indexedByCoordinatesDestinationList = destinationList;
+    }
+
+    /**
+     * Keeps the nearest destinations seen so far in a max-heap,
+     * so every destination costs {@code O(log destinationSize)} instead of an array shift.
+     * Destinations with the same distance keep the order of the destination iterator.
+     *
+     * @param origin never null
+     * @param destinationSize at least 0
+     * @return never null, sorted by distance, of length destinationSize
+     */
+    private Destination[] findNearestDestinations(Origin origin, int destinationSize) {
         Destination[] destinations = (Destination[]) new Object[destinationSize];
         double[] distances = new double[destinationSize];
-        Iterator<Destination> destinationIterator = destinationIteratorProvider.apply(origin);
+        // Breaks ties between equal distances: the destination that came later is farther
+        int[] sequences = new int[destinationSize];
+        Iterator<Destination> destinationIterator;
+        if (destinationKdTree != null
+                && (long) destinationSize * COORDINATE_CANDIDATE_FACTOR < destinationKdTree.size()) {
+            double[] originCoordinates = ((CoordinateNearbyDistanceMeter<Origin, Destination>) nearbyDistanceMeter)
+                    .getOriginCoordinates(origin);
+            // The heap below keeps the nearest candidates by the nearby distance
+            int[] candidateIndexes = destinationKdTree.findNearest(originCoordinates,
+                    destinationSize * COORDINATE_CANDIDATE_FACTOR);
+            // Same order as the destination list, so equal distances are ordered as without the spatial index
+            Arrays.sort(candidateIndexes);
+            destinationIterator = Arrays.stream(candidateIndexes)
+                    .mapToObj(indexedByCoordinatesDestinationList::get).iterator();
+        } else {
+            destinationIterator = destinationIteratorProvider.apply(origin);
+        }
         int size = 0;
-        double highestDistance = Double.MAX_VALUE;
+        int sequence = 0;
         while (destinationIterator.hasNext()) {
             Destination destination = destinationIterator.next();
             double distance = nearbyDistanceMeter.getNearbyDistance(origin, destination);
-            if (distance < highestDistance || size < destinationSize) {
-                int insertIndex = Arrays.binarySearch(distances, 0, size, distance);
-                if (insertIndex < 0) {
-                    insertIndex = -insertIndex - 1;
-                } else {
-                    while (insertIndex < size && distances[insertIndex] == distance) {
-                        insertIndex++;
+            if (size < destinationSize) {
+                // Sift up
+                int index = size;
+                size++;
+                while (index > 0) {
+                    int parentIndex = (index - 1) >>> 1;
+                    if (distances[parentIndex] > distance) {
+                        break;
                     }
+                    destinations[index] = destinations[parentIndex];
+                    distances[index] = distances[parentIndex];
+                    sequences[index] = sequences[parentIndex];
+                    index = parentIndex;
                 }
-                if (size < destinationSize) {
-                    size++;
-                }
-                System.arraycopy(destinations, insertIndex, destinations, insertIndex + 1,
-                        size - insertIndex - 1);
-                System.arraycopy(distances, insertIndex, distances, insertIndex + 1,
-                        size - insertIndex - 1);
-                destinations[insertIndex] = destination;
-                distances[insertIndex] = distance;
-                highestDistance = distances[size - 1];
+                destinations[index] = destination;
+                distances[index] = distance;
+                sequences[index] = sequence;
+            } else if (destinationSize > 0 && distance < distances[0]) {
+                siftDown(destinations, distances, sequences, size, destination, distance, sequence);
             }
+            sequence++;
         }
         if (size != destinationSize) {
             throw new IllegalStateException("The destinationIterator's size (" + size
                     + ") differs from the expected destinationSize (" + destinationSize + ").");
         }
-        originToDestinationsMap.put(origin, destinations);
+        // Heap sort: repeatedly move the farthest remaining destination to the end
+        for (int lastIndex = size - 1; lastIndex > 0; lastIndex--) {
+            Destination farthestDestination = destinations[0];
+            double farthestDistance = distances[0];
+            siftDown(destinations, distances, sequences, lastIndex,
+                    destinations[lastIndex], distances[lastIndex], sequences[lastIndex]);
+            destinations[lastIndex] = farthestDestination;
+            distances[lastIndex] = farthestDistance;
+        }
+        return destinations;
+    }
+
+    /**
+     * Replaces the root of the max-heap and restores the heap order.
+     */
+    private static <Destination> void siftDown(Destination[] destinations, double[] distances, int[] sequences,
+            int size, Destination destination, double distance, int sequence) {
+        int index = 0;
+        int childIndex;
+        while ((childIndex = (index << 1) + 1) < size) {
+            int rightIndex = childIndex + 1;
+            if (rightIndex < size && isFarther(distances[rightIndex], sequences[rightIndex],
+                    distances[childIndex], sequences[childIndex])) {
+                childIndex = rightIndex;
+            }
+            if (!isFarther(distances[childIndex], sequences[childIndex], distance, sequence)) {
+                break;
+            }
+            destinations[index] = destinations[childIndex];
+            distances[index] = distances[childIndex];
+            sequences[index] = sequences[childIndex];
+            index = childIndex;
+        }
+        destinations[index] = destination;
+        distances[index] = distance;
+        sequences[index] = sequence;
+    }
+
+    private static boolean isFarther(double distance, int sequence, double otherDistance, int otherSequence) {
+        return distance > otherDistance || (distance == otherDistance && sequence > otherSequence);
+    }
+
+    /**
+     * Adds all destinations for every origin, spread across multiple threads.
+     * Each thread repeatedly takes the next origin that hasn't been taken yet,
+     * so an origin with many destinations doesn't hold up the others.
+     *
+     * @param originList never null
+     * @param threadFactory never null
+     * @param threadCount at least 1
+     */
+    public void addAllDestinations(List<Origin> originList, ThreadFactory threadFactory, int threadCount) {
+        int originSize = originList.size();
+        int effectiveThreadCount = Math.min(threadCount, originSize);
+        if (effectiveThreadCount <= 1) {
+            originList.forEach(this::addAllDestinations);
+            return;
+        }
+        AtomicInteger nextOriginIndex = new AtomicInteger(0);
+        ExecutorService executor = Executors.newFixedThreadPool(effectiveThreadCount, threadFactory);
+        try {
+            List<Future<?>> futureList = new ArrayList<>(effectiveThreadCount);
+            for (int i = 0; i < effectiveThreadCount; i++) {
+                futureList.add(executor.submit(() -> {
+                    try {
+                        int originIndex;
+                        while ((originIndex = nextOriginIndex.getAndIncrement()) < originSize
+                                && !Thread.currentThread().isInterrupted()) {
+                            addAllDestinations(originList.get(originIndex));
+                        }
+                    } catch (RuntimeException | Error e) {
+                        // Stop the other threads early
+                        nextOriginIndex.set(originSize);
+                        throw e;
+                    }
+                }));
+            }
+            for (Future<?> future : futureList) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("The nearby distance matrix building was interrupted.", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("The nearby distance matrix building failed.", e.getCause());
+                }
+            }
+        } finally {
+            ThreadUtils.shutdownAwaitOrKill(executor, "", "Nearby distance matrix");
+        }
+    }
+
+    /**
+     * Uses the nearest destinations of every origin that were found earlier, instead of measuring them again.
+     * The destinationIndexBuffer is read when a destination is needed, so it can be memory-mapped.
+     *
+     * @param originList never null
+     * @param destinationList never null, every origin has the same destinations
+     * @param destinationIndexBuffer never null, for each origin in order,
+     *        the indexes in destinationList of its destinations, nearest first
+     * @param destinationSize at least 0, the number of destinations per origin
+     */
+    public void putAllDestinationIndexes(List<Origin> originList, List<Destination> destinationList,
+            IntBuffer destinationIndexBuffer, int destinationSize) {
+        originToOrdinalMap = new HashMap<>(originList.size());
+        for (int i = 0; i < originList.size(); i++) {
+            originToOrdinalMap.put(originList.get(i), i);
+        }
+        indexedDestinationList = destinationList;
+        this.destinationIndexBuffer = destinationIndexBuffer;
+        destinationIndexStride = destinationSize;
+    }
+
+    /**
+     * Catches up with origins and destinations that were added or removed, instead of measuring every distance again.
+     * An added destination is measured against every origin and kept by the origins that it is near,
+     * so it costs {@code O(originSize log destinationSize)}.
+     * An origin that loses one of its nearest destinations is returned to be measured again, like an added origin.
+     * <p>
+     * The distance between an origin and a destination that are both kept must not have changed.
+     * Every origin must have the same destinations.
+     * Not thread-safe.
+     *
+     * @param originList never null, the origins from now on
+     * @param previousDestinationList never null, the destinations until now
+     * @param destinationList never null, the destinations from now on
+     * @param workingObjectLookUp never null, returns what an origin or destination until now is from now on,
+     *        for example a planning clone, or null if it was removed
+     * @return never null, the origins of originList without destinations,
+     *         to pass to {@link #addAllDestinations(Object)}
+     */
+    public List<Origin> updateAllDestinations(List<Origin> originList, List<Destination> previousDestinationList,
+            List<Destination> destinationList, Function<Object, Object> workingObjectLookUp) {
+        materializeDestinationIndexes();
+        Map<Object, Object> workingObjectMap = new IdentityHashMap<>(
+                originToDestinationsMap.size() + previousDestinationList.size());
+        boolean rebased = false;
+        for (Origin origin : originToDestinationsMap.keySet()) {
+            Object workingOrigin = workingObjectLookUp.apply(origin);
+            workingObjectMap.put(origin, workingOrigin);
+            rebased |= workingOrigin != origin;
+        }
+        Set<Object> keptDestinationSet = Collections.newSetFromMap(new IdentityHashMap<>(destinationList.size()));
+        for (Destination destination : previousDestinationList) {
+            Object workingDestination = workingObjectLookUp.apply(destination);
+            workingObjectMap.put(destination, workingDestination);
+            rebased |= workingDestination != destination;
+            if (workingDestination != null) {
+                keptDestinationSet.add(workingDestination);
+            }
+        }
+        if (rebased) {
+            rebase(workingObjectMap, previousDestinationList.size());
+        }
+        if (indexedByCoordinatesDestinationList != null
+                && (rebased || keptDestinationSet.size() != destinationList.size())) {
+            indexDestinationsByCoordinates(destinationList);
+        }
+        for (Destination destination : destinationList) {
+            if (!keptDestinationSet.contains(destination)) {
+                originToDestinationsMap.replaceAll((origin, destinations) -> addDestination(origin, destinations,
+                        destination));
+            }
+        }
+        List<Origin> addedOriginList = new ArrayList<>();
+        for (Origin origin : originList) {
+            if (!originToDestinationsMap.containsKey(origin)) {
+                addedOriginList.add(origin);
+            }
+        }
+        return addedOriginList;
+    }
+
+    /**
+     * Moves the cached destination indexes into the map, so they can be changed.
+     */
+    private void materializeDestinationIndexes() {
+        if (originToOrdinalMap == null) {
+            return;
+        }
+        originToOrdinalMap.forEach((origin, ordinal) -> {
+            Destination[] destinations = (Destination[]) new Object[destinationIndexStride];
+            for (int i = 0; i < destinationIndexStride; i++) {
+                int destinationIndex = destinationIndexBuffer.get(ordinal * destinationIndexStride + i);
+                destinations[i] = indexedDestinationList.get(destinationIndex);
+            }
+            originToDestinationsMap.putIfAbsent(origin, destinations);
+        });
+        originToOrdinalMap = null;
+        indexedDestinationList = null;
+        destinationIndexBuffer = null;
+        destinationIndexStride = 0;
+    }
+
+    private void rebase(Map<Object, Object> workingObjectMap, int previousDestinationSize) {
+        Map<Origin, Destination[]> rebasedOriginToDestinationsMap = new HashMap<>(originToDestinationsMap.size());
+        originToDestinationsMap.forEach((origin, destinations) -> {
+            Origin workingOrigin = (Origin) workingObjectMap.get(origin);
+            if (workingOrigin == null) {
+                return;
+            }
+            Destination[] workingDestinations = (Destination[]) new Object[destinations.length];
+            int size = 0;
+            for (Destination destination : destinations) {
+                Destination workingDestination = (Destination) workingObjectMap.get(destination);
+                if (workingDestination != null) {
+                    workingDestinations[size] = workingDestination;
+                    size++;
+                }
+            }
+            int destinationSize = destinationSizeFunction.applyAsInt(workingOrigin);
+            // Unless it kept every destination, the next nearest destination after a removed one is unknown
+            if (size < destinationSize && destinations.length != previousDestinationSize) {
+                return;
+            }
+            rebasedOriginToDestinationsMap.put(workingOrigin,
+                    Arrays.copyOf(workingDestinations, Math.min(size, destinationSize)));
+        });
+        originToDestinationsMap.clear();
+        originToDestinationsMap.putAll(rebasedOriginToDestinationsMap);
+    }
+
+    /**
+     * @param origin never null
+     * @param destinations never null, sorted by distance
+     * @param destination never null, not yet in destinations
+     * @return never null, destinations with the destination if it's near enough, sorted by distance
+     */
+    private Destination[] addDestination(Origin origin, Destination[] destinations, Destination destination) {
+        int size = destinations.length;
+        int destinationSize = destinationSizeFunction.applyAsInt(origin);
+        double distance = nearbyDistanceMeter.getNearbyDistance(origin, destination);
+        if (size >= destinationSize && (size == 0
+                || distance >= nearbyDistanceMeter.getNearbyDistance(origin, destinations[size - 1]))) {
+            return destinations;
+        }
+        // Binary search, after the destinations with the same distance, as if it came last in the destination iterator
+        int lowIndex = 0;
+        int highIndex = size;
+        while (lowIndex < highIndex) {
+            int middleIndex = (lowIndex + highIndex) >>> 1;
+            if (nearbyDistanceMeter.getNearbyDistance(origin, destinations[middleIndex]) <= distance) {
+                lowIndex = middleIndex + 1;
+            } else {
+                highIndex = middleIndex;
+            }
+        }
+        // Drops the farthest destination if it's full
+        Destination[] newDestinations = size < destinationSize ? Arrays.copyOf(destinations, size + 1) : destinations;
+        System.arraycopy(newDestinations, lowIndex, newDestinations, lowIndex + 1,
+                newDestinations.length - lowIndex - 1);
+        newDestinations[lowIndex] = destination;
+        return newDestinations;
+    }
+
+    /**
+     * @param origin never null
+     * @return null if the destinations of the origin haven't been found yet
+     */
+    Destination[] getDestinations(Origin origin) {
+        return originToDestinationsMap.get(origin);
     }
 
     public Object getDestination(Origin origin, int nearbyIndex) {
         Destination[] destinations = originToDestinationsMap.get(origin);
         if (destinations == null) {
+            Integer ordinal = originToOrdinalMap == null ? null : originToOrdinalMap.get(origin);
+            if (ordinal != null) {
+                if (nearbyIndex >= destinationIndexStride) {
+                    return findNearestDestinations(origin, nearbyIndex + 1)[nearbyIndex];
+                }
+                int destinationIndex = destinationIndexBuffer.get(ordinal * destinationIndexStride + nearbyIndex);
+                return indexedDestinationList.get(destinationIndex);
+            }
             /*
              * The item may be missing in the distance matrix due to an underlying filtering selector.
              * In such a case, the distance matrix needs to be updated.
@@ -87,6 +442,10 @@ public final class NearbyDistanceMatrix<Origin, Destination> {
             addAllDestinations(origin);
             destinations = originToDestinationsMap.get(origin);
         }
+        if (nearbyIndex >= destinations.length) {
+            // Only the nearest destinations are kept, so a farther one is found again every time it's needed
+            return findNearestDestinations(origin, nearbyIndex + 1)[nearbyIndex];
+        }
         return destinations[nearbyIndex];
     }
 
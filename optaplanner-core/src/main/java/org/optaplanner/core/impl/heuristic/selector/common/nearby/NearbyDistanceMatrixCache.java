@@ -0,0 +1,269 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.common.nearby;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.optaplanner.core.api.domain.common.DomainAccessType;
+import org.optaplanner.core.api.domain.lookup.PlanningId;
+import org.optaplanner.core.config.util.ConfigUtils;
+import org.optaplanner.core.impl.domain.common.accessor.MemberAccessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the nearest destinations of every origin of a {@link NearbyDistanceMatrix} in a file,
+ * so a later solver run with the same origins and destinations doesn't need to measure all distances again.
+ * The file is memory-mapped when it's loaded, so the destinations aren't copied on the heap.
+ * <p>
+ * The file name is a fingerprint of the {@link NearbyDistanceMeter} class,
+ * the {@link PlanningId planning IDs} of the origins and destinations, in order, and the destination size.
+ * The distances themselves aren't part of the fingerprint: if they change while the planning IDs don't,
+ * the cache directory must be cleared.
+ * <p>
+ * Not thread-safe: only the solver thread uses it.
+ * Multiple solvers can share the same cache directory, because a file is only visible once it's fully written.
+ */
+public final class NearbyDistanceMatrixCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearbyDistanceMatrixCache.class);
+
+    private static final int MAGIC_NUMBER = 0x4E424D31; // "NBM1"
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    private final File directory;
+
+    /**
+     * @param directory never null, created if it doesn't exist yet
+     */
+    public NearbyDistanceMatrixCache(File directory) {
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @param nearbyDistanceMeter never null
+     * @param originList never null
+     * @param destinationList never null, every origin has the same destinations
+     * @param destinationSize at least 0, the number of nearest destinations kept per origin
+     * @param domainAccessType never null
+     * @return never null
+     */
+    public static String fingerprint(NearbyDistanceMeter<?, ?> nearbyDistanceMeter,
+            List<?> originList, List<?> destinationList, int destinationSize, DomainAccessType domainAccessType) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Impossible state: every JVM supports SHA-256.", e);
+        }
+        Map<Class<?>, MemberAccessor> planningIdAccessorMap = new HashMap<>();
+        updateFingerprint(messageDigest, nearbyDistanceMeter.getClass().getName());
+        updateFingerprint(messageDigest, Integer.toString(destinationSize));
+        updateFingerprint(messageDigest, Integer.toString(originList.size()));
+        for (Object origin : originList) {
+            updateFingerprint(messageDigest, origin, planningIdAccessorMap, domainAccessType);
+        }
+        updateFingerprint(messageDigest, Integer.toString(destinationList.size()));
+        for (Object destination : destinationList) {
+            updateFingerprint(messageDigest, destination, planningIdAccessorMap, domainAccessType);
+        }
+        StringBuilder fingerprint = new StringBuilder(64);
+        for (byte b : messageDigest.digest()) {
+            fingerprint.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return fingerprint.toString();
+    }
+
+    private static void updateFingerprint(MessageDigest messageDigest, Object object,
+            Map<Class<?>, MemberAccessor> planningIdAccessorMap, DomainAccessType domainAccessType) {
+        Class<?> objectClass = object.getClass();
+        // Cannot use Map.computeIfAbsent(), as we also want to cache null values.
+        if (!planningIdAccessorMap.containsKey(objectClass)) {
+            planningIdAccessorMap.put(objectClass,
+                    ConfigUtils.findPlanningIdMemberAccessor(objectClass, domainAccessType));
+        }
+        MemberAccessor planningIdAccessor = planningIdAccessorMap.get(objectClass);
+        if (planningIdAccessor == null) {
+            throw new IllegalStateException("The class (" + objectClass
+                    + ") of a nearby origin or destination (" + object
+                    + ") has no " + PlanningId.class.getSimpleName() + " annotation.\n"
+                    + "Maybe add a " + PlanningId.class.getSimpleName() + " annotation on that class.\n"
+                    + "Maybe remove the nearbyDistanceMatrixCacheDirectory.");
+        }
+        Object id = planningIdAccessor.executeGetter(object);
+        if (id == null) {
+            throw new IllegalStateException("The planningId (" + id + ") of the member (" + planningIdAccessor
+                    + ") of the class (" + objectClass + ") on object (" + object + ") must not be null.");
+        }
+        updateFingerprint(messageDigest, objectClass.getName());
+        updateFingerprint(messageDigest, id.toString());
+    }
+
+    private static void updateFingerprint(MessageDigest messageDigest, String value) {
+        messageDigest.update(value.getBytes(StandardCharsets.UTF_8));
+        // Separator, so "ab" + "c" differs from "a" + "bc"
+        messageDigest.update((byte) 0);
+    }
+
+    /**
+     * A file that can't be read or is corrupt is ignored, as if it didn't exist.
+     *
+     * @param nearbyDistanceMatrix never null
+     * @param fingerprint never null, see {@link #fingerprint(NearbyDistanceMeter, List, List, int, DomainAccessType)}
+     * @param originList never null
+     * @param destinationList never null
+     * @param destinationSize at least 0
+     * @param <Origin> the origin type
+     * @param <Destination> the destination type
+     * @return true if the nearbyDistanceMatrix now has the destinations of every origin
+     */
+    public <Origin, Destination> boolean load(NearbyDistanceMatrix<Origin, Destination> nearbyDistanceMatrix,
+            String fingerprint, List<Origin> originList, List<Destination> destinationList, int destinationSize) {
+        Path path = buildPath(fingerprint);
+        if (!Files.exists(path)) {
+            LOGGER.debug("Nearby distance matrix cache file ({}) does not exist yet.", path);
+            return false;
+        }
+        IntBuffer intBuffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long expectedFileSize = HEADER_SIZE + (long) originList.size() * destinationSize * Integer.BYTES;
+            if (channel.size() != expectedFileSize) {
+                LOGGER.warn("Ignoring nearby distance matrix cache file ({}) with a size ({}) that differs from"
+                        + " the expected size ({}).", path, channel.size(), expectedFileSize);
+                return false;
+            }
+            // The mapping stays valid after the channel is closed
+            intBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, expectedFileSize).asIntBuffer();
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring nearby distance matrix cache file ({}) that fails to be read.", path, e);
+            return false;
+        }
+        if (intBuffer.get(0) != MAGIC_NUMBER || intBuffer.get(1) != originList.size()
+                || intBuffer.get(2) != destinationSize) {
+            LOGGER.warn("Ignoring nearby distance matrix cache file ({}) with an unexpected header.", path);
+            return false;
+        }
+        // A corrupt file must not select a destination that doesn't exist
+        int destinationListSize = destinationList.size();
+        for (int i = HEADER_SIZE / Integer.BYTES; i < intBuffer.limit(); i++) {
+            int destinationIndex = intBuffer.get(i);
+            if (destinationIndex < 0 || destinationIndex >= destinationListSize) {
+                LOGGER.warn("Ignoring nearby distance matrix cache file ({}) with a destination index ({})"
+                        + " outside the destinationList size ({}).", path, destinationIndex, destinationListSize);
+                return false;
+            }
+        }
+        intBuffer.position(HEADER_SIZE / Integer.BYTES);
+        nearbyDistanceMatrix.putAllDestinationIndexes(originList, destinationList, intBuffer.slice(), destinationSize);
+        LOGGER.debug("Loaded nearby distance matrix cache file ({}).", path);
+        return true;
+    }
+
+    /**
+     * A file that can't be written, for example because the directory is read-only, is skipped with a warning.
+     *
+     * @param nearbyDistanceMatrix never null, has the destinations of every origin
+     * @param fingerprint never null, see {@link #fingerprint(NearbyDistanceMeter, List, List, int, DomainAccessType)}
+     * @param originList never null
+     * @param destinationList never null
+     * @param destinationSize at least 0
+     * @param <Origin> the origin type
+     * @param <Destination> the destination type
+     */
+    public <Origin, Destination> void store(NearbyDistanceMatrix<Origin, Destination> nearbyDistanceMatrix,
+            String fingerprint, List<Origin> originList, List<Destination> destinationList, int destinationSize) {
+        Path path = buildPath(fingerprint);
+        long fileSize = HEADER_SIZE + (long) originList.size() * destinationSize * Integer.BYTES;
+        if (fileSize > Integer.MAX_VALUE) {
+            // A file can only be memory-mapped up to Integer.MAX_VALUE bytes
+            LOGGER.warn("Not storing nearby distance matrix cache file ({}) with a size ({}) above {} bytes.\n"
+                    + "Maybe set a nearbyDistanceMatrixSizeMaximum.", path, fileSize, Integer.MAX_VALUE);
+            return;
+        }
+        Map<Destination, Integer> destinationToIndexMap = new IdentityHashMap<>(destinationList.size());
+        for (int i = 0; i < destinationList.size(); i++) {
+            destinationToIndexMap.put(destinationList.get(i), i);
+        }
+        Path temporaryPath = null;
+        try {
+            Files.createDirectories(directory.toPath());
+            // Write to a temporary file first, so other solvers never read a partially written file
+            temporaryPath = Files.createTempFile(directory.toPath(), "nearbyDistanceMatrix-", ".tmp");
+            try (FileChannel channel = FileChannel.open(temporaryPath,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer byteBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, fileSize);
+                byteBuffer.putInt(MAGIC_NUMBER);
+                byteBuffer.putInt(originList.size());
+                byteBuffer.putInt(destinationSize);
+                for (Origin origin : originList) {
+                    Destination[] destinations = nearbyDistanceMatrix.getDestinations(origin);
+                    if (destinations == null || destinations.length != destinationSize) {
+                        throw new IllegalStateException("Impossible state: the origin (" + origin
+                                + ") has no destinations or not the expected destinationSize ("
+                                + destinationSize + ").");
+                    }
+                    for (Destination destination : destinations) {
+                        byteBuffer.putInt(destinationToIndexMap.get(destination));
+                    }
+                }
+                byteBuffer.force();
+            }
+            Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("Not storing nearby distance matrix cache file ({}) that fails to be written.", path, e);
+            return;
+        } finally {
+            if (temporaryPath != null) {
+                deleteTemporaryFile(temporaryPath);
+            }
+        }
+        LOGGER.debug("Stored nearby distance matrix cache file ({}).", path);
+    }
+
+    private static void deleteTemporaryFile(Path temporaryPath) {
+        try {
+            // Only still exists if writing or moving it failed
+            Files.deleteIfExists(temporaryPath);
+        } catch (IOException e) {
+            LOGGER.warn("Deleting the temporary nearby distance matrix cache file ({}) fails.", temporaryPath, e);
+        }
+    }
+
+    private Path buildPath(String fingerprint) {
+        return directory.toPath().resolve("nearbyDistanceMatrix-" + fingerprint + ".bin");
+    }
+
+}
@@ -16,6 +16,8 @@
 
 package org.optaplanner.core.impl.heuristic.selector.common.nearby;
 
+import org.optaplanner.core.config.solver.SolverConfig;
+
 public interface NearbyDistanceMeter<O, D> {
 
     /**
@@ -25,6 +27,9 @@ public interface NearbyDistanceMeter<O, D> {
      * <p>
      * Distances can be asymmetrical: the distance from an origin to a destination
      * often differs from the distance from that destination to that origin.
+     * <p>
+     * If the solver is multithreaded (see {@link SolverConfig#getMoveThreadCount()}),
+     * this method is called from multiple threads at the same time, so it must be thread-safe.
      *
      * @param origin never null
      * @param destination never null
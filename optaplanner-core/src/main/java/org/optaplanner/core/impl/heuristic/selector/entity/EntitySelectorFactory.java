@@ -16,10 +16,14 @@
 
 package org.optaplanner.core.impl.heuristic.selector.entity;
 
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
 import java.util.stream.Stream;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
@@ -39,6 +43,7 @@ import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionPr
 import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionSorter;
 import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionSorterWeightFactory;
 import org.optaplanner.core.impl.heuristic.selector.common.decorator.WeightFactorySelectionSorter;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrixCache;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyRandom;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyRandomFactory;
@@ -52,6 +57,7 @@ import org.optaplanner.core.impl.heuristic.selector.entity.mimic.EntityMimicReco
 import org.optaplanner.core.impl.heuristic.selector.entity.mimic.MimicRecordingEntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.entity.mimic.MimicReplayingEntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.entity.nearby.NearEntityNearbyEntitySelector;
+import org.optaplanner.core.impl.solver.thread.ChildThreadType;
 
 public class EntitySelectorFactory<Solution_> extends AbstractSelectorFactory<Solution_, EntitySelectorConfig> {
 
@@ -207,8 +213,25 @@ public class EntitySelectorFactory<Solution_> extends AbstractSelectorFactory<So
                 nearbySelectionConfig.getNearbyDistanceMeterClass());
         // TODO Check nearbyDistanceMeterClass.getGenericInterfaces() to confirm generic type S is an entityClass
         NearbyRandom nearbyRandom = NearbyRandomFactory.create(nearbySelectionConfig).buildNearbyRandom(randomSelection);
+        int nearbyDistanceMatrixSizeMaximum =
+                defaultIfNull(nearbySelectionConfig.getNearbyDistanceMatrixSizeMaximum(), Integer.MAX_VALUE);
+        File nearbyDistanceMatrixCacheDirectory = nearbySelectionConfig.getNearbyDistanceMatrixCacheDirectory();
+        NearbyDistanceMatrixCache nearbyDistanceMatrixCache = nearbyDistanceMatrixCacheDirectory == null ? null
+                : new NearbyDistanceMatrixCache(nearbyDistanceMatrixCacheDirectory);
+        boolean nearbyDistanceMatrixIncremental =
+                defaultIfNull(nearbySelectionConfig.getNearbyDistanceMatrixIncremental(), false);
+        // Multithreaded solving also builds the nearby distance matrix in parallel
+        Integer moveThreadCount = configPolicy.getMoveThreadCount();
+        ThreadFactory matrixThreadFactory = null;
+        int matrixThreadCount = 1;
+        if (moveThreadCount != null) {
+            matrixThreadFactory = configPolicy.buildThreadFactory(ChildThreadType.MOVE_THREAD);
+            matrixThreadCount = moveThreadCount;
+        }
         return new NearEntityNearbyEntitySelector<>(entitySelector, originEntitySelector, nearbyDistanceMeter,
-                nearbyRandom, randomSelection);
+                nearbyRandom, randomSelection,
+                nearbyDistanceMatrixSizeMaximum, nearbyDistanceMatrixCache, nearbyDistanceMatrixIncremental,
+                matrixThreadFactory, matrixThreadCount);
     }
 
     private EntitySelector<Solution_> applyFiltering(EntitySelector<Solution_> entitySelector) {
@@ -90,6 +90,18 @@ public class FromSolutionEntitySelector<Solution_> extends AbstractEntitySelecto
         }
     }
 
+    @Override
+    public void problemFactsChanged(AbstractPhaseScope<Solution_> phaseScope) {
+        super.problemFactsChanged(phaseScope);
+        InnerScoreDirector<Solution_, ?> scoreDirector = phaseScope.getScoreDirector();
+        if (scoreDirector.isWorkingEntityListDirty(cachedEntityListRevision)) {
+            // Even with a PHASE or SOLVER cache, because the phase continues with the changed entity list
+            cachedEntityList = entityDescriptor.extractEntities(scoreDirector.getWorkingSolution());
+            cachedEntityListRevision = scoreDirector.getWorkingEntityListRevision();
+            cachedEntityListIsDirty = false;
+        }
+    }
+
     @Override
     public void phaseEnded(AbstractPhaseScope<Solution_> phaseScope) {
         super.phaseEnded(phaseScope);
@@ -16,12 +16,17 @@
 
 package org.optaplanner.core.impl.heuristic.selector.entity.nearby;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.ThreadFactory;
 
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.heuristic.selector.common.iterator.SelectionIterator;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.CoordinateNearbyDistanceMeter;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrix;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrixCache;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyRandom;
 import org.optaplanner.core.impl.heuristic.selector.entity.AbstractEntitySelector;
@@ -38,11 +43,37 @@ public final class NearEntityNearbyEntitySelector<Solution_> extends AbstractEnt
     protected final boolean randomSelection;
     protected final boolean discardNearbyIndexZero = true; // TODO deactivate me when appropriate
 
+    protected final int nearbyDistanceMatrixSizeMaximum;
+    protected final NearbyDistanceMatrixCache nearbyDistanceMatrixCache;
+    protected final boolean nearbyDistanceMatrixIncremental;
+    protected final ThreadFactory matrixThreadFactory;
+    protected final int matrixThreadCount;
+
     protected NearbyDistanceMatrix nearbyDistanceMatrix = null;
+    // The destinations of the nearbyDistanceMatrix, if it's updated incrementally
+    protected List<Object> nearbyDestinationList = null;
 
     public NearEntityNearbyEntitySelector(EntitySelector<Solution_> childEntitySelector,
             EntitySelector<Solution_> originEntitySelector, NearbyDistanceMeter<?, ?> nearbyDistanceMeter,
             NearbyRandom nearbyRandom, boolean randomSelection) {
+        this(childEntitySelector, originEntitySelector, nearbyDistanceMeter, nearbyRandom, randomSelection,
+                Integer.MAX_VALUE, null, false, null, 1);
+    }
+
+    /**
+     * @param nearbyDistanceMatrixSizeMaximum at least 1, the maximum number of nearest destinations
+     *        that are kept per origin with random selection, {@link Integer#MAX_VALUE} if there is none
+     * @param nearbyDistanceMatrixCache null if the {@link NearbyDistanceMatrix} isn't stored for later solver runs
+     * @param nearbyDistanceMatrixIncremental true if the {@link NearbyDistanceMatrix} is kept across solver restarts
+     *        and only measures the origins and destinations that problem fact changes add
+     * @param matrixThreadFactory null if the {@link NearbyDistanceMatrix} is built on the solver thread
+     * @param matrixThreadCount at least 1, the number of threads that build the {@link NearbyDistanceMatrix}
+     */
+    public NearEntityNearbyEntitySelector(EntitySelector<Solution_> childEntitySelector,
+            EntitySelector<Solution_> originEntitySelector, NearbyDistanceMeter<?, ?> nearbyDistanceMeter,
+            NearbyRandom nearbyRandom, boolean randomSelection,
+            int nearbyDistanceMatrixSizeMaximum, NearbyDistanceMatrixCache nearbyDistanceMatrixCache,
+            boolean nearbyDistanceMatrixIncremental, ThreadFactory matrixThreadFactory, int matrixThreadCount) {
         this.childEntitySelector = childEntitySelector;
         if (!(originEntitySelector instanceof MimicReplayingEntitySelector)) {
             // In order to select a nearby entity, we must first have something to be near by.
@@ -53,6 +84,11 @@ public final class NearEntityNearbyEntitySelector<Solution_> extends AbstractEnt
         this.nearbyDistanceMeter = nearbyDistanceMeter;
         this.nearbyRandom = nearbyRandom;
         this.randomSelection = randomSelection;
+        this.nearbyDistanceMatrixSizeMaximum = nearbyDistanceMatrixSizeMaximum;
+        this.nearbyDistanceMatrixCache = nearbyDistanceMatrixCache;
+        this.nearbyDistanceMatrixIncremental = nearbyDistanceMatrixIncremental;
+        this.matrixThreadFactory = matrixThreadFactory;
+        this.matrixThreadCount = matrixThreadCount;
         if (randomSelection && nearbyRandom == null) {
             throw new IllegalArgumentException("The entitySelector (" + this
                     + ") with randomSelection (" + randomSelection + ") has no nearbyRandom (" + nearbyRandom + ").");
@@ -74,6 +110,69 @@ public final class NearEntityNearbyEntitySelector<Solution_> extends AbstractEnt
     public void phaseStarted(AbstractPhaseScope<Solution_> phaseScope) {
         // Cannot be done during solverStarted because
         super.phaseStarted(phaseScope);
+        // The origins are iterated on the solver thread, even if the distances are measured in parallel
+        List<Object> originList = collectOriginList();
+        if (nearbyDistanceMatrixIncremental && nearbyDistanceMatrix != null
+                && phaseScope.getSolverScope().getStartingSolverCount() > 1) {
+            // The solver restarted after problem fact changes
+            updateNearbyDistanceMatrix(phaseScope, originList);
+            return;
+        }
+        nearbyDistanceMatrix = createNearbyDistanceMatrix();
+        if (nearbyDistanceMatrixIncremental) {
+            nearbyDestinationList = collectDestinationList();
+        }
+        if (nearbyDistanceMatrixCache == null) {
+            addAllDestinations(originList);
+            return;
+        }
+        List<Object> destinationList = collectDestinationList();
+        int destinationSize = computeDestinationSize(childEntitySelector.getSize());
+        String fingerprint = NearbyDistanceMatrixCache.fingerprint(nearbyDistanceMeter, originList, destinationList,
+                destinationSize, phaseScope.getScoreDirector().getSolutionDescriptor().getDomainAccessType());
+        if (!nearbyDistanceMatrixCache.load(nearbyDistanceMatrix, fingerprint, originList, destinationList,
+                destinationSize)) {
+            addAllDestinations(originList);
+            nearbyDistanceMatrixCache.store(nearbyDistanceMatrix, fingerprint, originList, destinationList,
+                    destinationSize);
+        }
+    }
+
+    private void addAllDestinations(List<Object> originList) {
+        if (matrixThreadFactory == null) {
+            originList.forEach(origin -> nearbyDistanceMatrix.addAllDestinations(origin));
+        } else {
+            nearbyDistanceMatrix.addAllDestinations(originList, matrixThreadFactory, matrixThreadCount);
+        }
+    }
+
+    private List<Object> collectOriginList() {
+        List<Object> originList = new ArrayList<>((int) replayingOriginEntitySelector.getSize());
+        replayingOriginEntitySelector.endingIterator().forEachRemaining(originList::add);
+        return originList;
+    }
+
+    private void updateNearbyDistanceMatrix(AbstractPhaseScope<Solution_> phaseScope, List<Object> originList) {
+        List<Object> destinationList = collectDestinationList();
+        List<Object> addedOriginList = nearbyDistanceMatrix.updateAllDestinations(originList, nearbyDestinationList,
+                destinationList, phaseScope.getScoreDirector()::lookUpWorkingObjectOrReturnNull);
+        nearbyDestinationList = destinationList;
+        addAllDestinations(addedOriginList);
+    }
+
+    @Override
+    public void problemFactsChanged(AbstractPhaseScope<Solution_> phaseScope) {
+        super.problemFactsChanged(phaseScope);
+        if (nearbyDistanceMatrixIncremental) {
+            updateNearbyDistanceMatrix(phaseScope, collectOriginList());
+            return;
+        }
+        // The distances might have changed too.
+        // Instead of recalculating every origin now, getDestination() adds each origin again when it's selected.
+        nearbyDistanceMatrix = createNearbyDistanceMatrix();
+    }
+
+    private NearbyDistanceMatrix createNearbyDistanceMatrix() {
         long originSize = replayingOriginEntitySelector.getSize();
         if (originSize > (long) Integer.MAX_VALUE) {
             throw new IllegalStateException("The originEntitySelector (" + replayingOriginEntitySelector
@@ -86,11 +185,19 @@ public final class NearEntityNearbyEntitySelector<Solution_> extends AbstractEnt
                     + ") has an entitySize (" + childSize
                     + ") which is higher than Integer.MAX_VALUE.");
         }
+        NearbyDistanceMatrix matrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize,
+                origin -> childEntitySelector.endingIterator(),
+                origin -> computeDestinationSize(childEntitySelector.getSize()));
+        if (nearbyDistanceMeter instanceof CoordinateNearbyDistanceMeter) {
+            matrix.indexDestinationsByCoordinates(collectDestinationList());
+        }
+        return matrix;
+    }
 
-        nearbyDistanceMatrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize,
-                origin -> childEntitySelector.endingIterator(), origin -> computeDestinationSize(childSize));
-        replayingOriginEntitySelector.endingIterator()
-                .forEachRemaining(origin -> nearbyDistanceMatrix.addAllDestinations(origin));
+    private List<Object> collectDestinationList() {
+        List<Object> destinationList = new ArrayList<>((int) childEntitySelector.getSize());
+        childEntitySelector.endingIterator().forEachRemaining(destinationList::add);
+        return destinationList;
     }
 
     private int computeDestinationSize(long childSize) {
@@ -106,6 +213,10 @@ public final class NearEntityNearbyEntitySelector<Solution_> extends AbstractEnt
             if (destinationSize > overallSizeMaximum) {
                 destinationSize = overallSizeMaximum;
             }
+            // Farther destinations are found on demand
+            if (destinationSize > nearbyDistanceMatrixSizeMaximum) {
+                destinationSize = nearbyDistanceMatrixSizeMaximum;
+            }
         }
         return destinationSize;
     }
@@ -113,7 +224,9 @@ public final class NearEntityNearbyEntitySelector<Solution_> extends AbstractEnt
     @Override
     public void phaseEnded(AbstractPhaseScope<Solution_> phaseScope) {
         super.phaseEnded(phaseScope);
-        nearbyDistanceMatrix = null;
+        if (!nearbyDistanceMatrixIncremental) {
+            nearbyDistanceMatrix = null;
+        }
     }
 
     @Override
@@ -63,6 +63,14 @@ public class MoveIteratorFactoryToMoveSelectorBridge<Solution_> extends Abstract
         scoreDirector = null;
     }
 
+    @Override
+    public void problemFactsChanged(AbstractPhaseScope<Solution_> phaseScope) {
+        super.problemFactsChanged(phaseScope);
+        // Let the moveIteratorFactory rebuild whatever it derived from the problem facts
+        moveIteratorFactory.phaseEnded(scoreDirector);
+        moveIteratorFactory.phaseStarted(scoreDirector);
+    }
+
     @Override
     public boolean isCountable() {
         return true;
@@ -97,6 +97,18 @@ public class FromSolutionPropertyValueSelector<Solution_> extends AbstractValueS
         }
     }
 
+    @Override
+    public void problemFactsChanged(AbstractPhaseScope<Solution_> phaseScope) {
+        super.problemFactsChanged(phaseScope);
+        // The problem facts of the value range might have been added or removed
+        InnerScoreDirector<Solution_, ?> scoreDirector = phaseScope.getScoreDirector();
+        cachedValueRange = (ValueRange<Object>) valueRangeDescriptor.extractValueRange(scoreDirector.getWorkingSolution());
+        if (valueRangeMightContainEntity) {
+            cachedEntityListRevision = scoreDirector.getWorkingEntityListRevision();
+            cachedEntityListIsDirty = false;
+        }
+    }
+
     @Override
     public void phaseEnded(AbstractPhaseScope<Solution_> phaseScope) {
         super.phaseEnded(phaseScope);
@@ -16,9 +16,13 @@
 
 package org.optaplanner.core.impl.heuristic.selector.value;
 
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ThreadFactory;
 
 import org.optaplanner.core.api.domain.valuerange.ValueRangeProvider;
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
@@ -40,6 +44,7 @@ import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionPr
 import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionSorter;
 import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionSorterWeightFactory;
 import org.optaplanner.core.impl.heuristic.selector.common.decorator.WeightFactorySelectionSorter;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrixCache;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyRandom;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyRandomFactory;
@@ -59,6 +64,7 @@ import org.optaplanner.core.impl.heuristic.selector.value.mimic.MimicRecordingVa
 import org.optaplanner.core.impl.heuristic.selector.value.mimic.MimicReplayingValueSelector;
 import org.optaplanner.core.impl.heuristic.selector.value.mimic.ValueMimicRecorder;
 import org.optaplanner.core.impl.heuristic.selector.value.nearby.NearEntityNearbyValueSelector;
+import org.optaplanner.core.impl.solver.thread.ChildThreadType;
 
 public class ValueSelectorFactory<Solution_>
         extends AbstractSelectorFactory<Solution_, ValueSelectorConfig> {
@@ -484,8 +490,25 @@ public class ValueSelectorFactory<Solution_>
         // TODO Check nearbyDistanceMeterClass.getGenericInterfaces() to confirm generic type S is an entityClass
         NearbyRandom nearbyRandom =
                 NearbyRandomFactory.create(config.getNearbySelectionConfig()).buildNearbyRandom(randomSelection);
+        int nearbyDistanceMatrixSizeMaximum =
+                defaultIfNull(nearbySelectionConfig.getNearbyDistanceMatrixSizeMaximum(), Integer.MAX_VALUE);
+        File nearbyDistanceMatrixCacheDirectory = nearbySelectionConfig.getNearbyDistanceMatrixCacheDirectory();
+        NearbyDistanceMatrixCache nearbyDistanceMatrixCache = nearbyDistanceMatrixCacheDirectory == null ? null
+                : new NearbyDistanceMatrixCache(nearbyDistanceMatrixCacheDirectory);
+        boolean nearbyDistanceMatrixIncremental =
+                defaultIfNull(nearbySelectionConfig.getNearbyDistanceMatrixIncremental(), false);
+        // Multithreaded solving also builds the nearby distance matrix in parallel
+        Integer moveThreadCount = configPolicy.getMoveThreadCount();
+        ThreadFactory matrixThreadFactory = null;
+        int matrixThreadCount = 1;
+        if (moveThreadCount != null) {
+            matrixThreadFactory = configPolicy.buildThreadFactory(ChildThreadType.MOVE_THREAD);
+            matrixThreadCount = moveThreadCount;
+        }
         return new NearEntityNearbyValueSelector<>(valueSelector, originEntitySelector, nearbyDistanceMeter,
-                nearbyRandom, randomSelection);
+                nearbyRandom, randomSelection,
+                nearbyDistanceMatrixSizeMaximum, nearbyDistanceMatrixCache, nearbyDistanceMatrixIncremental,
+                matrixThreadFactory, matrixThreadCount);
     }
 
     private ValueSelector<Solution_> applyMimicRecording(HeuristicConfigPolicy<Solution_> configPolicy,
@@ -16,16 +16,23 @@
 
 package org.optaplanner.core.impl.heuristic.selector.value.nearby;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
 
+import org.optaplanner.core.api.domain.valuerange.ValueRangeProvider;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.heuristic.selector.common.iterator.SelectionIterator;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.CoordinateNearbyDistanceMeter;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrix;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrixCache;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyRandom;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.entity.mimic.MimicReplayingEntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.value.AbstractValueSelector;
+import org.optaplanner.core.impl.heuristic.selector.value.EntityIndependentValueSelector;
 import org.optaplanner.core.impl.heuristic.selector.value.ValueSelector;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 
@@ -38,11 +45,37 @@ public final class NearEntityNearbyValueSelector<Solution_> extends AbstractValu
     protected final boolean randomSelection;
     protected final boolean discardNearbyIndexZero;
 
+    protected final int nearbyDistanceMatrixSizeMaximum;
+    protected final NearbyDistanceMatrixCache nearbyDistanceMatrixCache;
+    protected final boolean nearbyDistanceMatrixIncremental;
+    protected final ThreadFactory matrixThreadFactory;
+    protected final int matrixThreadCount;
+
     protected NearbyDistanceMatrix nearbyDistanceMatrix = null;
+    // The destinations of the nearbyDistanceMatrix, if it's updated incrementally
+    protected List<Object> nearbyDestinationList = null;
 
     public NearEntityNearbyValueSelector(ValueSelector<Solution_> childValueSelector,
             EntitySelector<Solution_> originEntitySelector, NearbyDistanceMeter<?, ?> nearbyDistanceMeter,
             NearbyRandom nearbyRandom, boolean randomSelection) {
+        this(childValueSelector, originEntitySelector, nearbyDistanceMeter, nearbyRandom, randomSelection,
+                Integer.MAX_VALUE, null, false, null, 1);
+    }
+
+    /**
+     * @param nearbyDistanceMatrixSizeMaximum at least 1, the maximum number of nearest destinations
+     *        that are kept per origin with random selection, {@link Integer#MAX_VALUE} if there is none
+     * @param nearbyDistanceMatrixCache null if the {@link NearbyDistanceMatrix} isn't stored for later solver runs
+     * @param nearbyDistanceMatrixIncremental true if the {@link NearbyDistanceMatrix} is kept across solver restarts
+     *        and only measures the origins and destinations that problem fact changes add
+     * @param matrixThreadFactory null if the {@link NearbyDistanceMatrix} is built on the solver thread
+     * @param matrixThreadCount at least 1, the number of threads that build the {@link NearbyDistanceMatrix}
+     */
+    public NearEntityNearbyValueSelector(ValueSelector<Solution_> childValueSelector,
+            EntitySelector<Solution_> originEntitySelector, NearbyDistanceMeter<?, ?> nearbyDistanceMeter,
+            NearbyRandom nearbyRandom, boolean randomSelection,
+            int nearbyDistanceMatrixSizeMaximum, NearbyDistanceMatrixCache nearbyDistanceMatrixCache,
+            boolean nearbyDistanceMatrixIncremental, ThreadFactory matrixThreadFactory, int matrixThreadCount) {
         this.childValueSelector = childValueSelector;
         if (!(originEntitySelector instanceof MimicReplayingEntitySelector)) {
             // In order to select a nearby value, we must first have something to be near by.
@@ -53,10 +86,31 @@ public final class NearEntityNearbyValueSelector<Solution_> extends AbstractValu
         this.nearbyDistanceMeter = nearbyDistanceMeter;
         this.nearbyRandom = nearbyRandom;
         this.randomSelection = randomSelection;
+        this.nearbyDistanceMatrixSizeMaximum = nearbyDistanceMatrixSizeMaximum;
+        this.nearbyDistanceMatrixCache = nearbyDistanceMatrixCache;
+        this.nearbyDistanceMatrixIncremental = nearbyDistanceMatrixIncremental;
+        this.matrixThreadFactory = matrixThreadFactory;
+        this.matrixThreadCount = matrixThreadCount;
         if (randomSelection && nearbyRandom == null) {
             throw new IllegalArgumentException("The valueSelector (" + this
                     + ") with randomSelection (" + randomSelection + ") has no nearbyRandom (" + nearbyRandom + ").");
         }
+        if (nearbyDistanceMatrixCache != null && !(childValueSelector instanceof EntityIndependentValueSelector)) {
+            throw new IllegalArgumentException("The valueSelector (" + this
+                    + ") with a nearbyDistanceMatrixCacheDirectory (" + nearbyDistanceMatrixCache.getDirectory()
+                    + ") needs a childValueSelector (" + childValueSelector
+                    + ") with the same values for every entity.\n"
+                    + "Maybe use a " + ValueRangeProvider.class.getSimpleName()
+                    + " on the planning solution instead of on the planning entity.");
+        }
+        if (nearbyDistanceMatrixIncremental && !(childValueSelector instanceof EntityIndependentValueSelector)) {
+            throw new IllegalArgumentException("The valueSelector (" + this
+                    + ") with a nearbyDistanceMatrixIncremental (" + nearbyDistanceMatrixIncremental
+                    + ") needs a childValueSelector (" + childValueSelector
+                    + ") with the same values for every entity.\n"
+                    + "Maybe use a " + ValueRangeProvider.class.getSimpleName()
+                    + " on the planning solution instead of on the planning entity.");
+        }
         discardNearbyIndexZero = childValueSelector.getVariableDescriptor().getVariablePropertyType().isAssignableFrom(
                 originEntitySelector.getEntityDescriptor().getEntityClass());
         phaseLifecycleSupport.addEventListener(childValueSelector);
@@ -72,16 +126,102 @@ public final class NearEntityNearbyValueSelector<Solution_> extends AbstractValu
     public void phaseStarted(AbstractPhaseScope<Solution_> phaseScope) {
         // Cannot be done during solverStarted because
         super.phaseStarted(phaseScope);
+        // The origins are iterated on the solver thread, even if the distances are measured in parallel
+        List<Object> originList = collectOriginList();
+        if (nearbyDistanceMatrixIncremental && nearbyDistanceMatrix != null
+                && phaseScope.getSolverScope().getStartingSolverCount() > 1) {
+            // The solver restarted after problem fact changes
+            updateNearbyDistanceMatrix(phaseScope, originList);
+            return;
+        }
+        nearbyDistanceMatrix = createNearbyDistanceMatrix();
+        if (nearbyDistanceMatrixIncremental) {
+            nearbyDestinationList = collectDestinationList(originList);
+        }
+        if (nearbyDistanceMatrixCache == null || originList.isEmpty()) {
+            addAllDestinations(originList);
+            return;
+        }
+        // The childValueSelector is entity independent, so every origin has the same destinations
+        Object anyOrigin = originList.get(0);
+        List<Object> destinationList = collectDestinationList(anyOrigin);
+        int destinationSize = computeDestinationSize(anyOrigin);
+        String fingerprint = NearbyDistanceMatrixCache.fingerprint(nearbyDistanceMeter, originList, destinationList,
+                destinationSize, phaseScope.getScoreDirector().getSolutionDescriptor().getDomainAccessType());
+        if (!nearbyDistanceMatrixCache.load(nearbyDistanceMatrix, fingerprint, originList, destinationList,
+                destinationSize)) {
+            addAllDestinations(originList);
+            nearbyDistanceMatrixCache.store(nearbyDistanceMatrix, fingerprint, originList, destinationList,
+                    destinationSize);
+        }
+    }
+
+    private void addAllDestinations(List<Object> originList) {
+        if (matrixThreadFactory == null) {
+            originList.forEach(origin -> nearbyDistanceMatrix.addAllDestinations(origin));
+        } else {
+            nearbyDistanceMatrix.addAllDestinations(originList, matrixThreadFactory, matrixThreadCount);
+        }
+    }
+
+    private List<Object> collectOriginList() {
+        List<Object> originList = new ArrayList<>((int) replayingOriginEntitySelector.getSize());
+        replayingOriginEntitySelector.endingIterator().forEachRemaining(originList::add);
+        return originList;
+    }
+
+    private void updateNearbyDistanceMatrix(AbstractPhaseScope<Solution_> phaseScope, List<Object> originList) {
+        List<Object> destinationList = collectDestinationList(originList);
+        List<Object> addedOriginList = nearbyDistanceMatrix.updateAllDestinations(originList, nearbyDestinationList,
+                destinationList, phaseScope.getScoreDirector()::lookUpWorkingObjectOrReturnNull);
+        nearbyDestinationList = destinationList;
+        addAllDestinations(addedOriginList);
+    }
+
+    @Override
+    public void problemFactsChanged(AbstractPhaseScope<Solution_> phaseScope) {
+        super.problemFactsChanged(phaseScope);
+        if (nearbyDistanceMatrixIncremental) {
+            updateNearbyDistanceMatrix(phaseScope, collectOriginList());
+            return;
+        }
+        // The distances might have changed too.
+        // Instead of recalculating every origin now, getDestination() adds each origin again when it's selected.
+        nearbyDistanceMatrix = createNearbyDistanceMatrix();
+    }
+
+    private NearbyDistanceMatrix createNearbyDistanceMatrix() {
         long originSize = replayingOriginEntitySelector.getSize();
         if (originSize > (long) Integer.MAX_VALUE) {
             throw new IllegalStateException("The originEntitySelector (" + replayingOriginEntitySelector
                     + ") has an entitySize (" + originSize
                     + ") which is higher than Integer.MAX_VALUE.");
         }
-        nearbyDistanceMatrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize,
+        NearbyDistanceMatrix matrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize,
                 childValueSelector::endingIterator, this::computeDestinationSize);
-        replayingOriginEntitySelector.endingIterator()
-                .forEachRemaining(origin -> nearbyDistanceMatrix.addAllDestinations(origin));
+        // A spatial index needs the same destinations for every origin
+        if (nearbyDistanceMeter instanceof CoordinateNearbyDistanceMeter
+                && childValueSelector instanceof EntityIndependentValueSelector) {
+            Iterator<Object> originIterator = replayingOriginEntitySelector.endingIterator();
+            if (originIterator.hasNext()) {
+                matrix.indexDestinationsByCoordinates(collectDestinationList(originIterator.next()));
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * @param originList never null
+     * @return never null, empty if there are no origins, because the childValueSelector needs an entity
+     */
+    private List<Object> collectDestinationList(List<Object> originList) {
+        return originList.isEmpty() ? new ArrayList<>(0) : collectDestinationList(originList.get(0));
+    }
+
+    private List<Object> collectDestinationList(Object anyOrigin) {
+        List<Object> destinationList = new ArrayList<>((int) childValueSelector.getSize(anyOrigin));
+        childValueSelector.endingIterator(anyOrigin).forEachRemaining(destinationList::add);
+        return destinationList;
     }
 
     private int computeDestinationSize(Object origin) {
@@ -101,6 +241,10 @@ public final class NearEntityNearbyValueSelector<Solution_> extends AbstractValu
             if (destinationSize > overallSizeMaximum) {
                 destinationSize = overallSizeMaximum;
             }
+            // Farther destinations are found on demand
+            if (destinationSize > nearbyDistanceMatrixSizeMaximum) {
+                destinationSize = nearbyDistanceMatrixSizeMaximum;
+            }
         }
         return destinationSize;
     }
@@ -108,7 +252,9 @@ public final class NearEntityNearbyValueSelector<Solution_> extends AbstractValu
     @Override
     public void phaseEnded(AbstractPhaseScope<Solution_> phaseScope) {
         super.phaseEnded(phaseScope);
-        nearbyDistanceMatrix = null;
+        if (!nearbyDistanceMatrixIncremental) {
+            nearbyDistanceMatrix = null;
+        }
     }
 
     // ************************************************************************
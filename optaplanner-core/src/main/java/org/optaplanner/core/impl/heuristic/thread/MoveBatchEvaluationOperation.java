@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import java.util.List;
+
+import org.optaplanner.core.impl.heuristic.move.Move;
+
+/**
+ * Like a {@link MoveEvaluationOperation}, but for a block of moves with consecutive moveIndexes,
+ * to reduce the traffic between the solver thread and the move threads when evaluating a move is cheap.
+ *
+ * @param <Solution_> the solution type
+ */
+public class MoveBatchEvaluationOperation<Solution_> extends MoveThreadOperation<Solution_> {
+
+    private final int stepIndex;
+    private final int firstMoveIndex;
+    private final List<Move<Solution_>> moveList;
+
+    public MoveBatchEvaluationOperation(int stepIndex, int firstMoveIndex, List<Move<Solution_>> moveList) {
+        this.stepIndex = stepIndex;
+        this.firstMoveIndex = firstMoveIndex;
+        this.moveList = moveList;
+    }
+
+    public int getStepIndex() {
+        return stepIndex;
+    }
+
+    public int getFirstMoveIndex() {
+        return firstMoveIndex;
+    }
+
+    public List<Move<Solution_>> getMoveList() {
+        return moveList;
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Used if the moveThreadCount is {@link SolverConfig#MOVE_THREAD_COUNT_AUTO}.
+ * At the start of a phase, it tries several numbers of active move threads, each for a short while,
+ * and measures how many moves per second get evaluated, including the overhead of relaying them to the move threads.
+ * Then it keeps the fastest number for the rest of the phase.
+ * An active move thread count of 0 means that the solver thread evaluates the moves itself.
+ * <p>
+ * Which number wins doesn't affect the steps taken, so it doesn't break reproducibility.
+ * <p>
+ * Not thread-safe: only the solver thread uses it.
+ */
+public class MoveThreadCountTuner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MoveThreadCountTuner.class);
+
+    /**
+     * The first trial is a warm up (for the JIT compiler and the caches) and isn't measured.
+     */
+    private static final int WARM_UP_TRIAL_INDEX = -1;
+    private static final long TRIAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200L);
+
+    private final String logIndentation;
+    private final int[] candidateCounts;
+    private final double[] evaluationSpeeds;
+
+    private int trialIndex;
+    private long trialNanos = 0L;
+    private long trialMoveCount = 0L;
+    private int activeMoveThreadCount;
+
+    /**
+     * @param logIndentation never null
+     * @param moveThreadCount at least 1, the maximum number of active move threads
+     */
+    public MoveThreadCountTuner(String logIndentation, int moveThreadCount) {
+        this.logIndentation = logIndentation;
+        // From the most move threads down to none, halving each time
+        List<Integer> candidateCountList = new ArrayList<>();
+        for (int candidateCount = moveThreadCount; candidateCount > 0; candidateCount /= 2) {
+            candidateCountList.add(candidateCount);
+        }
+        candidateCountList.add(0);
+        candidateCounts = candidateCountList.stream().mapToInt(Integer::intValue).toArray();
+        evaluationSpeeds = new double[candidateCounts.length];
+        trialIndex = WARM_UP_TRIAL_INDEX;
+        activeMoveThreadCount = moveThreadCount;
+    }
+
+    /**
+     * @return {@code 0 <= activeMoveThreadCount <= moveThreadCount}
+     */
+    public int getActiveMoveThreadCount() {
+        return activeMoveThreadCount;
+    }
+
+    public boolean isTuning() {
+        return trialIndex < candidateCounts.length;
+    }
+
+    /**
+     * @param stepNanos at least 0, the time spent deciding the step
+     * @param moveCount at least 0, the number of moves evaluated to decide the step
+     */
+    public void stepDecided(long stepNanos, long moveCount) {
+        if (!isTuning()) {
+            return;
+        }
+        trialNanos += stepNanos;
+        trialMoveCount += moveCount;
+        if (trialNanos < TRIAL_NANOS) {
+            return;
+        }
+        if (trialIndex != WARM_UP_TRIAL_INDEX) {
+            evaluationSpeeds[trialIndex] = ((double) trialMoveCount) / trialNanos;
+            LOGGER.trace("{}        Move thread count ({}) evaluated {} moves per millisecond.",
+                    logIndentation, candidateCounts[trialIndex],
+                    evaluationSpeeds[trialIndex] * TimeUnit.MILLISECONDS.toNanos(1L));
+        }
+        trialIndex++;
+        trialNanos = 0L;
+        trialMoveCount = 0L;
+        if (trialIndex < candidateCounts.length) {
+            activeMoveThreadCount = candidateCounts[trialIndex];
+            return;
+        }
+        int bestIndex = 0;
+        for (int i = 1; i < candidateCounts.length; i++) {
+            if (evaluationSpeeds[i] > evaluationSpeeds[bestIndex]) {
+                bestIndex = i;
+            }
+        }
+        activeMoveThreadCount = candidateCounts[bestIndex];
+        LOGGER.debug("{}    Move thread count tuned to ({}) active move threads.",
+                logIndentation, activeMoveThreadCount);
+    }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.optaplanner.core.impl.heuristic.move.Move;
+
+/**
+ * Relays {@link MoveThreadOperation}s from the solver thread to the move threads,
+ * through one {@link SpscRingBuffer} per move thread, so the move threads never contend with each other.
+ * <p>
+ * A {@link MoveEvaluationOperation} or a {@link MoveBatchEvaluationOperation} goes to a single move thread,
+ * chosen round-robin.
+ * Every other operation goes to every move thread.
+ * <p>
+ * Every move thread applies a step as soon as it takes the {@link ApplyStepOperation},
+ * without waiting for the other move threads, because its buffer guarantees it can't take a next-step move before.
+ * To bound the buffers, the solver thread only adds a step after every move thread has taken the previous step.
+ *
+ * @param <Solution_> the solution type
+ */
+public class MoveThreadOperationQueue<Solution_> {
+
+    /**
+     * How many times {@link #addApplyStep(ApplyStepOperation)} busy-waits before it parks the solver thread.
+     */
+    private static final int SPIN_COUNT = 256;
+    private static final int FINISHED_STEP_INDEX = Integer.MAX_VALUE;
+
+    private final int moveThreadBatchSize;
+    private final SpscRingBuffer<MoveThreadOperation<Solution_>>[] operationBuffers;
+    /**
+     * The stepIndex of the last {@link SetupOperation} done or {@link ApplyStepOperation} taken per move thread.
+     */
+    private final AtomicIntegerArray takenStepIndexes;
+    private volatile Thread parkedSolverThread = null;
+
+    /**
+     * The move evaluations of this step and earlier steps are skipped.
+     * Only written by the solver thread.
+     */
+    private volatile int cancelledStepIndex = Integer.MIN_VALUE;
+
+    // Only used by the solver thread
+    private int activeMoveThreadCount;
+    private int nextMoveThreadIndex = 0;
+    private int batchStepIndex = -1;
+    private int batchFirstMoveIndex = -1;
+    private List<Move<Solution_>> batchMoveList = null;
+
+    /**
+     * @param moveThreadCount at least 1
+     * @param moveThreadBatchSize at least 1, the maximum number of moves per {@link MoveBatchEvaluationOperation},
+     *        1 to use a {@link MoveEvaluationOperation} per move instead
+     * @param capacity at least the maximum number of operations in circulation per move thread
+     */
+    public MoveThreadOperationQueue(int moveThreadCount, int moveThreadBatchSize, int capacity) {
+        this.moveThreadBatchSize = moveThreadBatchSize;
+        activeMoveThreadCount = moveThreadCount;
+        operationBuffers = new SpscRingBuffer[moveThreadCount];
+        for (int moveThreadIndex = 0; moveThreadIndex < moveThreadCount; moveThreadIndex++) {
+            operationBuffers[moveThreadIndex] = new SpscRingBuffer<>(capacity);
+        }
+        takenStepIndexes = new AtomicIntegerArray(moveThreadCount);
+        for (int moveThreadIndex = 0; moveThreadIndex < moveThreadCount; moveThreadIndex++) {
+            takenStepIndexes.set(moveThreadIndex, -1);
+        }
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread, between steps.
+     * The move evaluations are spread over the first activeMoveThreadCount move threads only.
+     * The other move threads still get every other operation, so they can become active again later.
+     *
+     * @param activeMoveThreadCount {@code 1 <= activeMoveThreadCount <= moveThreadCount}
+     */
+    public void setActiveMoveThreadCount(int activeMoveThreadCount) {
+        if (activeMoveThreadCount < 1 || activeMoveThreadCount > operationBuffers.length) {
+            throw new IllegalArgumentException("The activeMoveThreadCount (" + activeMoveThreadCount
+                    + ") must be at least 1 and at most the moveThreadCount (" + operationBuffers.length + ").");
+        }
+        if (batchMoveList != null) {
+            throw new IllegalStateException("Impossible state: the activeMoveThreadCount (" + activeMoveThreadCount
+                    + ") can't change while a batch is pending.");
+        }
+        this.activeMoveThreadCount = activeMoveThreadCount;
+        nextMoveThreadIndex = 0;
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread.
+     *
+     * @param operation never null, neither a {@link MoveEvaluationOperation} nor an {@link ApplyStepOperation}
+     */
+    public void addToEveryMoveThread(MoveThreadOperation<Solution_> operation) {
+        for (int moveThreadIndex = 0; moveThreadIndex < operationBuffers.length; moveThreadIndex++) {
+            add(moveThreadIndex, operation);
+        }
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread.
+     * Waits until every move thread has taken the previous step (or is done with its setup),
+     * which only happens if a move thread is still evaluating a move of the previous step (or setting up).
+     *
+     * @param operation never null
+     * @throws InterruptedException if interrupted
+     */
+    public void addApplyStep(ApplyStepOperation<Solution_, ?> operation) throws InterruptedException {
+        int previousStepIndex = operation.getStepIndex() - 1;
+        for (int moveThreadIndex = 0; moveThreadIndex < operationBuffers.length; moveThreadIndex++) {
+            awaitStepTaken(moveThreadIndex, previousStepIndex);
+            add(moveThreadIndex, operation);
+        }
+    }
+
+    private void awaitStepTaken(int moveThreadIndex, int stepIndex) throws InterruptedException {
+        int spinCount = 0;
+        while (takenStepIndexes.get(moveThreadIndex) < stepIndex) {
+            if (spinCount < SPIN_COUNT) {
+                spinCount++;
+                Thread.onSpinWait();
+            } else {
+                parkedSolverThread = Thread.currentThread();
+                // Check again after announcing the park, otherwise a take() in between would not unpark us
+                if (takenStepIndexes.get(moveThreadIndex) < stepIndex) {
+                    LockSupport.park(this);
+                }
+                parkedSolverThread = null;
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread.
+     * If the moveThreadBatchSize is more than 1, the move is only added once its batch is full
+     * or {@link #ensureMoveEvaluationAdded(int)} is called for it.
+     *
+     * @param stepIndex at least 0
+     * @param moveIndex at least 0, 1 more than the moveIndex of the previous call in the same step
+     * @param move never null
+     */
+    public void addMoveEvaluation(int stepIndex, int moveIndex, Move<Solution_> move) {
+        if (moveThreadBatchSize == 1) {
+            addToNextMoveThread(new MoveEvaluationOperation<>(stepIndex, moveIndex, move));
+            return;
+        }
+        if (batchMoveList == null) {
+            batchStepIndex = stepIndex;
+            batchFirstMoveIndex = moveIndex;
+            batchMoveList = new ArrayList<>(moveThreadBatchSize);
+        }
+        batchMoveList.add(move);
+        if (batchMoveList.size() >= moveThreadBatchSize) {
+            addMoveBatch();
+        }
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread.
+     * Call this before waiting for the result of a move, otherwise it might never be evaluated.
+     *
+     * @param moveIndex at least 0
+     */
+    public void ensureMoveEvaluationAdded(int moveIndex) {
+        if (batchMoveList != null && moveIndex >= batchFirstMoveIndex) {
+            addMoveBatch();
+        }
+    }
+
+    private void addMoveBatch() {
+        addToNextMoveThread(new MoveBatchEvaluationOperation<>(batchStepIndex, batchFirstMoveIndex, batchMoveList));
+        batchMoveList = null;
+    }
+
+    private void addToNextMoveThread(MoveThreadOperation<Solution_> operation) {
+        add(nextMoveThreadIndex, operation);
+        nextMoveThreadIndex = (nextMoveThreadIndex + 1) % activeMoveThreadCount;
+    }
+
+    private void add(int moveThreadIndex, MoveThreadOperation<Solution_> operation) {
+        // Deliberately fail fast if there is not enough capacity (which is impossible)
+        if (!operationBuffers[moveThreadIndex].offer(operation)) {
+            if (takenStepIndexes.get(moveThreadIndex) == FINISHED_STEP_INDEX) {
+                // The move thread has relayed an exception, which the solver thread will throw soon
+                return;
+            }
+            throw new IllegalStateException("Impossible state: the operation buffer of moveThreadIndex ("
+                    + moveThreadIndex + ") with capacity (" + operationBuffers[moveThreadIndex].getCapacity()
+                    + ") is full.");
+        }
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread.
+     * The move threads skip the move evaluations of that step which they haven't started yet.
+     * Unlike clearing the buffers, this doesn't require the solver thread to consume them.
+     *
+     * @param stepIndex at least 0
+     */
+    public void cancelMoveEvaluations(int stepIndex) {
+        cancelledStepIndex = stepIndex;
+        batchMoveList = null;
+    }
+
+    /**
+     * This method is thread-safe.
+     * A move thread can use this to stop evaluating a {@link MoveBatchEvaluationOperation} early.
+     *
+     * @param stepIndex at least 0
+     * @return true if the move evaluations of that step are cancelled
+     */
+    public boolean isMoveEvaluationCancelled(int stepIndex) {
+        return stepIndex <= cancelledStepIndex;
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the move thread with that moveThreadIndex.
+     *
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @return never null
+     * @throws InterruptedException if interrupted
+     */
+    public MoveThreadOperation<Solution_> take(int moveThreadIndex) throws InterruptedException {
+        SpscRingBuffer<MoveThreadOperation<Solution_>> operationBuffer = operationBuffers[moveThreadIndex];
+        while (true) {
+            MoveThreadOperation<Solution_> operation = operationBuffer.take();
+            if (operation instanceof MoveEvaluationOperation) {
+                if (isMoveEvaluationCancelled(((MoveEvaluationOperation<Solution_>) operation).getStepIndex())) {
+                    continue;
+                }
+            } else if (operation instanceof MoveBatchEvaluationOperation) {
+                if (isMoveEvaluationCancelled(((MoveBatchEvaluationOperation<Solution_>) operation).getStepIndex())) {
+                    continue;
+                }
+            } else if (operation instanceof ApplyStepOperation) {
+                markStepTaken(moveThreadIndex, ((ApplyStepOperation<Solution_, ?>) operation).getStepIndex());
+            }
+            return operation;
+        }
+    }
+
+    /**
+     * Can only be called from the move thread with that moveThreadIndex, when its {@link SetupOperation} is done.
+     * Until then, the solver thread doesn't add an {@link ApplyStepOperation} for it,
+     * because the move thread might still be reading the parent score director that the step changes.
+     *
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param stepIndex at least 0, the stepIndex of the {@link SetupOperation},
+     *        which is more than 0 if the move threads restart during a phase
+     */
+    public void markSetupDone(int moveThreadIndex, int stepIndex) {
+        markStepTaken(moveThreadIndex, stepIndex);
+    }
+
+    /**
+     * Can only be called from the move thread with that moveThreadIndex, when it stops taking operations,
+     * so the solver thread never waits for it.
+     *
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     */
+    public void markFinished(int moveThreadIndex) {
+        markStepTaken(moveThreadIndex, FINISHED_STEP_INDEX);
+    }
+
+    private void markStepTaken(int moveThreadIndex, int stepIndex) {
+        takenStepIndexes.set(moveThreadIndex, stepIndex);
+        Thread solverThread = parkedSolverThread;
+        if (solverThread != null) {
+            LockSupport.unpark(solverThread);
+        }
+    }
+
+}
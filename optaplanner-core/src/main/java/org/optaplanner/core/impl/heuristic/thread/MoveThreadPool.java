@@ -0,0 +1,252 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.thread.ChildThreadType;
+import org.optaplanner.core.impl.solver.thread.ThreadUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The move threads and their child {@link InnerScoreDirector}s of 1 solver,
+ * shared by all its multithreaded phases and kept across its restarts.
+ * <p>
+ * When a phase ends, every move thread hands its child score director back to this pool.
+ * The next phase reuses it as is if the parent score director didn't change in between,
+ * otherwise it only resets its working solution instead of building a new child score director.
+ * <p>
+ * Not thread-safe, unless mentioned otherwise: only the solver thread calls it.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class MoveThreadPool<Solution_> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MoveThreadPool.class);
+
+    private final int moveThreadCount;
+    private final ThreadFactory threadFactory;
+
+    private ExecutorService executor = null;
+    private List<Future<?>> moveThreadFutureList = null;
+    private CountDownLatch runningLatch = null;
+
+    /**
+     * The child score directors that aren't in use by a move thread.
+     * Handed over between the move threads and the solver thread.
+     */
+    private final AtomicReferenceArray<InnerScoreDirector<Solution_, ?>> idleChildScoreDirectors;
+    /**
+     * The working solution and its revision of the parent score director
+     * when the idle child score directors were last in sync with it.
+     */
+    private Solution_ syncedWorkingSolution = null;
+    private long syncedWorkingSolutionRevision = -1L;
+    /**
+     * Written by the solver thread before it starts the move threads, read by the move threads.
+     */
+    private volatile boolean inSync = false;
+
+    public MoveThreadPool(int moveThreadCount, ThreadFactory threadFactory) {
+        this.moveThreadCount = moveThreadCount;
+        this.threadFactory = threadFactory;
+        idleChildScoreDirectors = new AtomicReferenceArray<>(moveThreadCount);
+    }
+
+    public int getMoveThreadCount() {
+        return moveThreadCount;
+    }
+
+    /**
+     * Starts 1 move thread per {@link MoveThreadRunner}.
+     *
+     * @param parentScoreDirector never null, the score director of the solver thread
+     * @param moveThreadRunnerList never null, of size {@link #getMoveThreadCount()}
+     */
+    public void startMoveThreads(InnerScoreDirector<Solution_, ?> parentScoreDirector,
+            List<? extends MoveThreadRunner<Solution_, ?>> moveThreadRunnerList) {
+        if (moveThreadRunnerList.size() != moveThreadCount) {
+            throw new IllegalArgumentException("The moveThreadRunnerList size (" + moveThreadRunnerList.size()
+                    + ") differs from the moveThreadCount (" + moveThreadCount + ").");
+        }
+        if (moveThreadFutureList != null) {
+            throw new IllegalStateException("Impossible state: the move threads are already started.");
+        }
+        if (executor == null) {
+            executor = createThreadPoolExecutor();
+        }
+        inSync = syncedWorkingSolution == parentScoreDirector.getWorkingSolution()
+                && syncedWorkingSolutionRevision == parentScoreDirector.getWorkingSolutionRevision();
+        CountDownLatch latch = new CountDownLatch(moveThreadCount);
+        runningLatch = latch;
+        moveThreadFutureList = new ArrayList<>(moveThreadCount);
+        for (MoveThreadRunner<Solution_, ?> moveThreadRunner : moveThreadRunnerList) {
+            moveThreadFutureList.add(executor.submit(() -> {
+                try {
+                    moveThreadRunner.run();
+                } finally {
+                    latch.countDown();
+                }
+            }));
+        }
+    }
+
+    protected ExecutorService createThreadPoolExecutor() {
+        ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(moveThreadCount,
+                threadFactory);
+        if (threadPoolExecutor.getMaximumPoolSize() < moveThreadCount) {
+            throw new IllegalStateException(
+                    "The threadPoolExecutor's maximumPoolSize (" + threadPoolExecutor.getMaximumPoolSize()
+                            + ") is less than the moveThreadCount (" + moveThreadCount + "), this is unsupported.");
+        }
+        return threadPoolExecutor;
+    }
+
+    /**
+     * Waits until the move threads, which have been told to stop, are finished.
+     * Unlike {@link ThreadUtils#shutdownAwaitOrKill(ExecutorService, String, String)},
+     * this keeps the threads alive for the next phase, unless they refuse to finish.
+     *
+     * @param parentScoreDirector never null, the score director of the solver thread
+     * @param lastStepWorkingSolutionRevision the {@link InnerScoreDirector#getWorkingSolutionRevision()}
+     *        of the parentScoreDirector after the last step that every move thread applied too
+     * @param logIndentation never null
+     * @param name never null
+     */
+    public void awaitMoveThreads(InnerScoreDirector<Solution_, ?> parentScoreDirector,
+            long lastStepWorkingSolutionRevision, String logIndentation, String name) {
+        if (moveThreadFutureList == null) {
+            return;
+        }
+        // Intentionally clearing the interrupted flag so that await() works.
+        boolean interrupted = Thread.interrupted();
+        if (interrupted) {
+            // Propagate the interrupt signal to the move threads
+            moveThreadFutureList.forEach(future -> future.cancel(true));
+        }
+        boolean terminated;
+        try {
+            final int awaitingSeconds = 1;
+            terminated = runningLatch.await(awaitingSeconds, TimeUnit.SECONDS);
+            if (!terminated) {
+                // We're only logging the error instead throwing an exception to prevent eating the original exception.
+                LOGGER.error("{}{}'s move threads didn't terminate within timeout ({} seconds).",
+                        logIndentation, name, awaitingSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            shutdownExecutor(logIndentation, name);
+            // If there is an original exception it will be eaten by this.
+            throw new IllegalStateException("Move thread termination was interrupted.", e);
+        } finally {
+            moveThreadFutureList = null;
+            runningLatch = null;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (!terminated) {
+            // A move thread that refuses to finish still occupies its thread, so start over next time
+            shutdownExecutor(logIndentation, name);
+            syncedWorkingSolution = null;
+            syncedWorkingSolutionRevision = -1L;
+            return;
+        }
+        syncedWorkingSolution = parentScoreDirector.getWorkingSolution();
+        syncedWorkingSolutionRevision = lastStepWorkingSolutionRevision;
+    }
+
+    /**
+     * Can only be called from a move thread, during its setup.
+     *
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param parentScoreDirector never null, not changed by the solver thread until every move thread is set up
+     * @param <Score_> the score type of the parent score director
+     * @return never null, in sync with the parentScoreDirector
+     */
+    public <Score_ extends Score<Score_>> InnerScoreDirector<Solution_, Score_> acquireChildScoreDirector(
+            int moveThreadIndex, InnerScoreDirector<Solution_, Score_> parentScoreDirector) {
+        InnerScoreDirector<Solution_, Score_> childScoreDirector =
+                (InnerScoreDirector<Solution_, Score_>) idleChildScoreDirectors.getAndSet(moveThreadIndex, null);
+        if (childScoreDirector == null) {
+            return parentScoreDirector.createChildThreadScoreDirector(ChildThreadType.MOVE_THREAD);
+        }
+        if (!inSync) {
+            childScoreDirector.setWorkingSolution(parentScoreDirector.cloneWorkingSolution());
+        }
+        childScoreDirector.resetCalculationCount();
+        return childScoreDirector;
+    }
+
+    /**
+     * Can only be called from a move thread, when it finished all the operations of its phase.
+     *
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param childScoreDirector never null
+     */
+    public void releaseChildScoreDirector(int moveThreadIndex, InnerScoreDirector<Solution_, ?> childScoreDirector) {
+        if (!idleChildScoreDirectors.compareAndSet(moveThreadIndex, null, childScoreDirector)) {
+            // A move thread that didn't finish in time released it too late, after the next phase started
+            childScoreDirector.close();
+        }
+    }
+
+    /**
+     * Stops the threads and closes the idle child score directors.
+     * Typically called when the solver ends, even if it failed.
+     */
+    public void close() {
+        if (moveThreadFutureList != null) {
+            // The phase failed before it stopped its move threads
+            moveThreadFutureList.forEach(future -> future.cancel(true));
+            moveThreadFutureList = null;
+            runningLatch = null;
+        }
+        if (executor != null) {
+            shutdownExecutor("", "Move thread pool");
+        }
+        for (int moveThreadIndex = 0; moveThreadIndex < moveThreadCount; moveThreadIndex++) {
+            InnerScoreDirector<Solution_, ?> childScoreDirector = idleChildScoreDirectors.getAndSet(moveThreadIndex,
+                    null);
+            if (childScoreDirector != null) {
+                childScoreDirector.close();
+            }
+        }
+        syncedWorkingSolution = null;
+        syncedWorkingSolutionRevision = -1L;
+    }
+
+    private void shutdownExecutor(String logIndentation, String name) {
+        ExecutorService oldExecutor = executor;
+        executor = null;
+        ThreadUtils.shutdownAwaitOrKill(oldExecutor, logIndentation, name);
+    }
+
+}
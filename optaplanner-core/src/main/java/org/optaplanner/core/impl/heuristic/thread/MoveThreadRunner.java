@@ -16,15 +16,13 @@
 
 package org.optaplanner.core.impl.heuristic.thread;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.BrokenBarrierException;
-import java.util.concurrent.CyclicBarrier;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
-import org.optaplanner.core.impl.solver.thread.ChildThreadType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,9 +34,9 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
     private final int moveThreadIndex;
     private final boolean evaluateDoable;
 
-    private final BlockingQueue<MoveThreadOperation<Solution_>> operationQueue;
+    private final MoveThreadOperationQueue<Solution_> operationQueue;
     private final OrderByMoveIndexBlockingQueue<Solution_> resultQueue;
-    private final CyclicBarrier moveThreadBarrier;
+    private final MoveThreadPool<Solution_> moveThreadPool;
 
     private final boolean assertMoveScoreFromScratch;
     private final boolean assertExpectedUndoMoveScore;
@@ -50,9 +48,8 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
     private AtomicLong calculationCount = new AtomicLong(-1);
 
     public MoveThreadRunner(String logIndentation, int moveThreadIndex, boolean evaluateDoable,
-            BlockingQueue<MoveThreadOperation<Solution_>> operationQueue,
-            OrderByMoveIndexBlockingQueue<Solution_> resultQueue,
-            CyclicBarrier moveThreadBarrier,
+            MoveThreadOperationQueue<Solution_> operationQueue,
+            OrderByMoveIndexBlockingQueue<Solution_> resultQueue, MoveThreadPool<Solution_> moveThreadPool,
             boolean assertMoveScoreFromScratch, boolean assertExpectedUndoMoveScore,
             boolean assertStepScoreFromScratch, boolean assertExpectedStepScore,
             boolean assertShadowVariablesAreNotStaleAfterStep) {
@@ -61,7 +58,7 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
         this.evaluateDoable = evaluateDoable;
         this.operationQueue = operationQueue;
         this.resultQueue = resultQueue;
-        this.moveThreadBarrier = moveThreadBarrier;
+        this.moveThreadPool = moveThreadPool;
         this.assertMoveScoreFromScratch = assertMoveScoreFromScratch;
         this.assertExpectedUndoMoveScore = assertExpectedUndoMoveScore;
         this.assertStepScoreFromScratch = assertStepScoreFromScratch;
@@ -77,7 +74,7 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
             while (true) {
                 MoveThreadOperation<Solution_> operation;
                 try {
-                    operation = operationQueue.take();
+                    operation = operationQueue.take(moveThreadIndex);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     break;
@@ -85,28 +82,25 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
 
                 if (operation instanceof SetupOperation) {
                     SetupOperation<Solution_, Score_> setupOperation = (SetupOperation<Solution_, Score_>) operation;
-                    scoreDirector = setupOperation.getScoreDirector()
-                            .createChildThreadScoreDirector(ChildThreadType.MOVE_THREAD);
-                    stepIndex = 0;
+                    scoreDirector = moveThreadPool.acquireChildScoreDirector(moveThreadIndex,
+                            setupOperation.getScoreDirector());
+                    // From now on, the solver thread can change its score director
+                    stepIndex = setupOperation.getStepIndex();
+                    operationQueue.markSetupDone(moveThreadIndex, stepIndex);
                     lastStepScore = scoreDirector.calculateScore();
                     LOGGER.trace("{}            Move thread ({}) setup: step index ({}), score ({}).",
                             logIndentation, moveThreadIndex, stepIndex, lastStepScore);
-                    try {
-                        // Don't consume another operation until every moveThread took this SetupOperation
-                        moveThreadBarrier.await();
-                    } catch (InterruptedException | BrokenBarrierException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
                 } else if (operation instanceof DestroyOperation) {
                     LOGGER.trace("{}            Move thread ({}) destroy: step index ({}).",
                             logIndentation, moveThreadIndex, stepIndex);
                     calculationCount.set(scoreDirector.getCalculationCount());
+                    // Keep it for the next phase, it's in sync with the solver thread's score director
+                    moveThreadPool.releaseChildScoreDirector(moveThreadIndex, scoreDirector);
+                    scoreDirector = null;
                     break;
                 } else if (operation instanceof ApplyStepOperation) {
-                    // TODO Performance gain with specialized 2-phase cyclic barrier:
-                    // As soon as the last move thread has taken its ApplyStepOperation,
-                    // other move threads can already depart from the moveThreadStepBarrier: no need to wait until the step is done.
+                    // No need to wait for the other move threads:
+                    // this move thread can't take a MoveEvaluationOperation of this step before its ApplyStepOperation.
                     ApplyStepOperation<Solution_, Score_> applyStepOperation =
                             (ApplyStepOperation<Solution_, Score_>) operation;
                     if (stepIndex + 1 != applyStepOperation.getStepIndex()) {
@@ -122,13 +116,6 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
                     lastStepScore = score;
                     LOGGER.trace("{}            Move thread ({}) step: step index ({}), score ({}).",
                             logIndentation, moveThreadIndex, stepIndex, lastStepScore);
-                    try {
-                        // Don't consume an MoveEvaluationOperation until every moveThread took this ApplyStepOperation
-                        moveThreadBarrier.await();
-                    } catch (InterruptedException | BrokenBarrierException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
                 } else if (operation instanceof MoveEvaluationOperation) {
                     MoveEvaluationOperation<Solution_> moveEvaluationOperation = (MoveEvaluationOperation<Solution_>) operation;
                     int moveIndex = moveEvaluationOperation.getMoveIndex();
@@ -153,6 +140,44 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
                         // Deliberately add to fail fast if there is not enough capacity (which is impossible)
                         resultQueue.addMove(moveThreadIndex, stepIndex, moveIndex, move, score);
                     }
+                } else if (operation instanceof MoveBatchEvaluationOperation) {
+                    MoveBatchEvaluationOperation<Solution_> moveBatchEvaluationOperation =
+                            (MoveBatchEvaluationOperation<Solution_>) operation;
+                    if (stepIndex != moveBatchEvaluationOperation.getStepIndex()) {
+                        throw new IllegalStateException("Impossible situation: the moveThread's stepIndex ("
+                                + stepIndex + ") differs from the operation's stepIndex ("
+                                + moveBatchEvaluationOperation.getStepIndex() + ") with firstMoveIndex ("
+                                + moveBatchEvaluationOperation.getFirstMoveIndex() + ").");
+                    }
+                    List<Move<Solution_>> moveList = moveBatchEvaluationOperation.getMoveList();
+                    List<OrderByMoveIndexBlockingQueue.MoveResult<Solution_>> resultList =
+                            new ArrayList<>(moveList.size());
+                    int moveIndex = moveBatchEvaluationOperation.getFirstMoveIndex();
+                    for (Move<Solution_> batchMove : moveList) {
+                        if (operationQueue.isMoveEvaluationCancelled(stepIndex)) {
+                            // The solver thread won't forage the rest of this batch
+                            break;
+                        }
+                        Move<Solution_> move = batchMove.rebase(scoreDirector);
+                        if (evaluateDoable && !move.isMoveDoable(scoreDirector)) {
+                            LOGGER.trace("{}            Move thread ({}) evaluation: step index ({}), move index ({}),"
+                                    + " not doable.", logIndentation, moveThreadIndex, stepIndex, moveIndex);
+                            resultList.add(new OrderByMoveIndexBlockingQueue.MoveResult<>(
+                                    moveThreadIndex, stepIndex, moveIndex, move, false, null));
+                        } else {
+                            Score<?> score = scoreDirector.doAndProcessMove(move, assertMoveScoreFromScratch);
+                            if (assertExpectedUndoMoveScore) {
+                                scoreDirector.assertExpectedUndoMoveScore(move, lastStepScore);
+                            }
+                            LOGGER.trace("{}            Move thread ({}) evaluation: step index ({}), move index ({}),"
+                                    + " score ({}).", logIndentation, moveThreadIndex, stepIndex, moveIndex, score);
+                            resultList.add(new OrderByMoveIndexBlockingQueue.MoveResult<>(
+                                    moveThreadIndex, stepIndex, moveIndex, move, true, score));
+                        }
+                        moveIndex++;
+                    }
+                    // Publish the entire batch at once
+                    resultQueue.addMoveBatch(moveThreadIndex, resultList);
                 } else {
                     throw new IllegalStateException("Unknown operation (" + operation + ").");
                 }
@@ -166,6 +191,7 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
                     logIndentation, moveThreadIndex, throwable);
             resultQueue.addExceptionThrown(moveThreadIndex, throwable);
         } finally {
+            operationQueue.markFinished(moveThreadIndex);
             if (scoreDirector != null) {
                 scoreDirector.close();
             }
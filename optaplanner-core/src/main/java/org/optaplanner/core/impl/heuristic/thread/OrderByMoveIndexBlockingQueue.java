@@ -16,25 +16,49 @@
 
 package org.optaplanner.core.impl.heuristic.thread;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
 
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.heuristic.move.Move;
 
+/**
+ * Relays the {@link MoveResult}s from the move threads to the solver thread in moveIndex order,
+ * regardless of which move thread evaluated a move and when it finished, for reproducibility.
+ * <p>
+ * Every move thread publishes into its own {@link SpscRingBuffer}, so the move threads never contend with each other
+ * nor with the solver thread.
+ * The solver thread drains those buffers into a preallocated array, indexed by moveIndex modulo its length.
+ *
+ * @param <Solution_> the solution type
+ */
 public class OrderByMoveIndexBlockingQueue<Solution_> {
 
-    private final BlockingQueue<MoveResult<Solution_>> innerQueue;
-    private final Map<Integer, MoveResult<Solution_>> backlog;
+    /**
+     * How many times {@link #take()} busy-waits before it parks the solver thread.
+     */
+    private static final int SPIN_COUNT = 256;
+
+    private final SpscRingBuffer<MoveResult<Solution_>>[] resultBuffers;
+    private final MoveResult<Solution_>[] orderedResults;
+    private volatile Thread parkedSolverThread = null;
 
+    // Only used by the solver thread
     private int filterStepIndex = Integer.MIN_VALUE;
     private int nextMoveIndex = Integer.MIN_VALUE;
+    private MoveResult<Solution_> exceptionResult = null;
 
-    public OrderByMoveIndexBlockingQueue(int capacity) {
-        innerQueue = new ArrayBlockingQueue<>(capacity);
-        backlog = new HashMap<>(capacity);
+    /**
+     * @param moveThreadCount at least 1
+     * @param capacity at least the number of moves in circulation + the number of exception handling results
+     */
+    public OrderByMoveIndexBlockingQueue(int moveThreadCount, int capacity) {
+        resultBuffers = new SpscRingBuffer[moveThreadCount];
+        for (int moveThreadIndex = 0; moveThreadIndex < moveThreadCount; moveThreadIndex++) {
+            resultBuffers[moveThreadIndex] = new SpscRingBuffer<>(capacity);
+        }
+        orderedResults = new MoveResult[capacity];
     }
 
     /**
@@ -43,80 +67,92 @@ public class OrderByMoveIndexBlockingQueue<Solution_> {
      * @param stepIndex at least 0
      */
     public void startNextStep(int stepIndex) {
-        synchronized (this) {
-            if (filterStepIndex >= stepIndex) {
-                throw new IllegalStateException("The old filterStepIndex (" + filterStepIndex
-                        + ") must be less than the stepIndex (" + stepIndex + ")");
-            }
-            filterStepIndex = stepIndex;
-            MoveResult<Solution_> exceptionResult = innerQueue.stream().filter(MoveResult::hasThrownException)
-                    .findFirst().orElse(null);
-            if (exceptionResult != null) {
-                throw new IllegalStateException("The move thread with moveThreadIndex ("
-                        + exceptionResult.getMoveThreadIndex() + ") has thrown an exception."
-                        + " Relayed here in the parent thread.",
-                        exceptionResult.getThrowable());
-            }
-            innerQueue.clear();
+        if (filterStepIndex >= stepIndex) {
+            throw new IllegalStateException("The old filterStepIndex (" + filterStepIndex
+                    + ") must be less than the stepIndex (" + stepIndex + ")");
         }
+        filterStepIndex = stepIndex;
+        // Discard the results of the previous step, but don't eat an exception
+        drainResultBuffers();
+        if (exceptionResult != null) {
+            throw createRelayedException(exceptionResult);
+        }
+        Arrays.fill(orderedResults, null);
         nextMoveIndex = 0;
-        backlog.clear();
     }
 
     /**
-     * This method is thread-safe. It can be called from any move thread.
+     * Not thread-safe. Can only be called from the move thread with that moveThreadIndex.
      *
      * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
      * @param stepIndex at least 0
      * @param moveIndex at least 0
      * @param move never null
-     * @see BlockingQueue#add(Object)
      */
     public void addUndoableMove(int moveThreadIndex, int stepIndex, int moveIndex, Move<Solution_> move) {
         MoveResult<Solution_> result = new MoveResult<>(moveThreadIndex, stepIndex, moveIndex, move, false, null);
-        synchronized (this) {
-            if (result.getStepIndex() != filterStepIndex) {
-                // Discard element from previous step
-                return;
-            }
-            innerQueue.add(result);
-        }
+        publish(moveThreadIndex, result);
     }
 
     /**
-     * This method is thread-safe. It can be called from any move thread.
+     * Not thread-safe. Can only be called from the move thread with that moveThreadIndex.
      *
      * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
      * @param stepIndex at least 0
      * @param moveIndex at least 0
      * @param move never null
      * @param score never null
-     * @see BlockingQueue#add(Object)
      */
     public void addMove(int moveThreadIndex, int stepIndex, int moveIndex, Move<Solution_> move, Score score) {
         MoveResult<Solution_> result = new MoveResult<>(moveThreadIndex, stepIndex, moveIndex, move, true, score);
-        synchronized (this) {
-            if (result.getStepIndex() != filterStepIndex) {
-                // Discard element from previous step
-                return;
-            }
-            innerQueue.add(result);
+        publish(moveThreadIndex, result);
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the move thread with that moveThreadIndex.
+     * Publishes the results of a {@link MoveBatchEvaluationOperation} at once.
+     *
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param resultList never null, the results of consecutive moveIndexes
+     */
+    public void addMoveBatch(int moveThreadIndex, List<MoveResult<Solution_>> resultList) {
+        // Deliberately fail fast if there is not enough capacity (which is impossible)
+        if (!resultBuffers[moveThreadIndex].offerAll(resultList)) {
+            throw new IllegalStateException("Impossible state: the result buffer of moveThreadIndex ("
+                    + moveThreadIndex + ") with capacity (" + resultBuffers[moveThreadIndex].getCapacity()
+                    + ") can't fit the result batch of size (" + resultList.size() + ").");
         }
+        unparkSolverThread();
     }
 
     /**
-     * This method is thread-safe. It can be called from any move thread.
-     * Previous results (that haven't been consumed yet), will still be returned during iteration
-     * before the iteration throws an exception,
-     * unless there's a lower moveIndex that isn't in the queue yet.
+     * Not thread-safe. Can only be called from the move thread with that moveThreadIndex.
+     * Fails fast: as soon as the solver thread notices the exception, it relays it,
+     * even if the result of the next moveIndex is already available.
      *
      * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
      * @param throwable never null
      */
     public void addExceptionThrown(int moveThreadIndex, Throwable throwable) {
         MoveResult<Solution_> result = new MoveResult<>(moveThreadIndex, throwable);
-        synchronized (this) {
-            innerQueue.add(result);
+        publish(moveThreadIndex, result);
+    }
+
+    private void publish(int moveThreadIndex, MoveResult<Solution_> result) {
+        // Deliberately fail fast if there is not enough capacity (which is impossible)
+        if (!resultBuffers[moveThreadIndex].offer(result)) {
+            throw new IllegalStateException("Impossible state: the result buffer of moveThreadIndex ("
+                    + moveThreadIndex + ") with capacity (" + resultBuffers[moveThreadIndex].getCapacity()
+                    + ") is full.");
+        }
+        unparkSolverThread();
+    }
+
+    private void unparkSolverThread() {
+        // The offer did a volatile write, so this read can't miss a solver thread that is about to park
+        Thread solverThread = parkedSolverThread;
+        if (solverThread != null) {
+            LockSupport.unpark(solverThread);
         }
     }
 
@@ -125,33 +161,86 @@ public class OrderByMoveIndexBlockingQueue<Solution_> {
      *
      * @return never null
      * @throws InterruptedException if interrupted
-     * @see BlockingQueue#take()
      */
     public MoveResult<Solution_> take() throws InterruptedException {
         int moveIndex = nextMoveIndex;
         nextMoveIndex++;
-        if (!backlog.isEmpty()) {
-            MoveResult<Solution_> result = backlog.remove(moveIndex);
+        int resultIndex = moveIndex % orderedResults.length;
+        int spinCount = 0;
+        while (true) {
+            if (exceptionResult != null) {
+                throw createRelayedException(exceptionResult);
+            }
+            MoveResult<Solution_> result = orderedResults[resultIndex];
             if (result != null) {
+                orderedResults[resultIndex] = null;
                 return result;
             }
-        }
-        while (true) {
-            MoveResult<Solution_> result = innerQueue.take();
-            // If 2 exceptions are added from different threads concurrently, either one could end up first.
-            // This is a known deviation from 100% reproducibility, that never occurs in a success scenario.
-            if (result.hasThrownException()) {
-                throw new IllegalStateException("The move thread with moveThreadIndex ("
-                        + result.getMoveThreadIndex() + ") has thrown an exception."
-                        + " Relayed here in the parent thread.",
-                        result.getThrowable());
+            if (drainResultBuffers()) {
+                continue;
             }
-            if (result.getMoveIndex() == moveIndex) {
-                return result;
+            if (spinCount < SPIN_COUNT) {
+                spinCount++;
+                Thread.onSpinWait();
             } else {
-                backlog.put(result.getMoveIndex(), result);
+                parkedSolverThread = Thread.currentThread();
+                // Check again after announcing the park, otherwise a publish() in between would not unpark us
+                if (areResultBuffersEmpty()) {
+                    LockSupport.park(this);
+                }
+                parkedSolverThread = null;
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if at least one result was drained
+     */
+    private boolean drainResultBuffers() {
+        boolean drained = false;
+        for (SpscRingBuffer<MoveResult<Solution_>> resultBuffer : resultBuffers) {
+            MoveResult<Solution_> result = resultBuffer.poll();
+            while (result != null) {
+                drained = true;
+                if (result.hasThrownException()) {
+                    // If 2 exceptions are added from different threads concurrently, either one could end up first.
+                    // This is a known deviation from 100% reproducibility, that never occurs in a success scenario.
+                    if (exceptionResult == null) {
+                        exceptionResult = result;
+                    }
+                } else if (result.getStepIndex() == filterStepIndex) {
+                    int resultIndex = result.getMoveIndex() % orderedResults.length;
+                    if (orderedResults[resultIndex] != null) {
+                        throw new IllegalStateException("Impossible state: the result with moveIndex ("
+                                + result.getMoveIndex() + ") collides with the result with moveIndex ("
+                                + orderedResults[resultIndex].getMoveIndex() + ").");
+                    }
+                    orderedResults[resultIndex] = result;
+                }
+                // Else discard the result from a previous step
+                result = resultBuffer.poll();
             }
         }
+        return drained;
+    }
+
+    private boolean areResultBuffersEmpty() {
+        for (SpscRingBuffer<MoveResult<Solution_>> resultBuffer : resultBuffers) {
+            if (!resultBuffer.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private IllegalStateException createRelayedException(MoveResult<Solution_> exceptionResult) {
+        return new IllegalStateException("The move thread with moveThreadIndex ("
+                + exceptionResult.getMoveThreadIndex() + ") has thrown an exception."
+                + " Relayed here in the parent thread.",
+                exceptionResult.getThrowable());
     }
 
     public static class MoveResult<Solution_> {
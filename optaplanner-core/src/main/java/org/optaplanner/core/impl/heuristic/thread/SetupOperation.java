@@ -22,13 +22,27 @@ import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 public class SetupOperation<Solution_, Score_ extends Score<Score_>> extends MoveThreadOperation<Solution_> {
 
     private final InnerScoreDirector<Solution_, Score_> innerScoreDirector;
+    private final int stepIndex;
 
     public SetupOperation(InnerScoreDirector<Solution_, Score_> innerScoreDirector) {
+        this(innerScoreDirector, 0);
+    }
+
+    /**
+     * @param innerScoreDirector never null
+     * @param stepIndex at least 0, the index of the next step, higher than 0 if the setup happens during a phase
+     */
+    public SetupOperation(InnerScoreDirector<Solution_, Score_> innerScoreDirector, int stepIndex) {
         this.innerScoreDirector = innerScoreDirector;
+        this.stepIndex = stepIndex;
     }
 
     public InnerScoreDirector<Solution_, Score_> getScoreDirector() {
         return innerScoreDirector;
     }
 
+    public int getStepIndex() {
+        return stepIndex;
+    }
+
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded, lock-free FIFO buffer between exactly one producer thread and exactly one consumer thread.
+ * <p>
+ * Unlike an {@link ArrayBlockingQueue}, neither side takes a lock:
+ * only the producer moves the tail and only the consumer moves the head.
+ * Using it from more than one producer thread or more than one consumer thread corrupts it.
+ *
+ * @param <E> the element type
+ */
+public final class SpscRingBuffer<E> {
+
+    /**
+     * How many times {@link #take()} busy-waits before it parks the consumer thread.
+     * Results and operations typically follow each other within microseconds,
+     * so parking immediately would cost more than it saves.
+     */
+    private static final int SPIN_COUNT = 256;
+
+    private final Object[] elements;
+    private final int mask;
+
+    /** The index of the next element to poll. Only written by the consumer thread. */
+    private final AtomicLong head = new AtomicLong(0L);
+    /** The index of the next element to offer. Only written by the producer thread. */
+    private final AtomicLong tail = new AtomicLong(0L);
+    private volatile Thread parkedConsumerThread = null;
+
+    /**
+     * @param minimumCapacity at least 1, rounded up to a power of 2
+     */
+    public SpscRingBuffer(int minimumCapacity) {
+        if (minimumCapacity < 1) {
+            throw new IllegalArgumentException("The minimumCapacity (" + minimumCapacity + ") must be at least 1.");
+        }
+        int capacity = (minimumCapacity == 1) ? 1 : Integer.highestOneBit(minimumCapacity - 1) << 1;
+        elements = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Can only be called from the producer thread.
+     *
+     * @param element never null
+     * @return false if the buffer is full
+     */
+    public boolean offer(E element) {
+        long tailIndex = tail.get();
+        if (tailIndex - head.get() >= elements.length) {
+            return false;
+        }
+        elements[(int) tailIndex & mask] = element;
+        // A volatile write: it publishes the element and it happens before the read of parkedConsumerThread
+        tail.set(tailIndex + 1L);
+        Thread consumerThread = parkedConsumerThread;
+        if (consumerThread != null) {
+            LockSupport.unpark(consumerThread);
+        }
+        return true;
+    }
+
+    /**
+     * Can only be called from the producer thread.
+     * Publishes all elements at once, so the consumer sees either none or all of them.
+     *
+     * @param elementList never null, without null elements
+     * @return false if the buffer doesn't have room for all elements, in which case none are offered
+     */
+    public boolean offerAll(List<E> elementList) {
+        long tailIndex = tail.get();
+        if (tailIndex + elementList.size() - head.get() > elements.length) {
+            return false;
+        }
+        long index = tailIndex;
+        for (E element : elementList) {
+            elements[(int) index & mask] = element;
+            index++;
+        }
+        // A single volatile write publishes all elements
+        tail.set(index);
+        Thread consumerThread = parkedConsumerThread;
+        if (consumerThread != null) {
+            LockSupport.unpark(consumerThread);
+        }
+        return true;
+    }
+
+    /**
+     * Can only be called from the consumer thread.
+     *
+     * @return null if the buffer is empty
+     */
+    public E poll() {
+        long headIndex = head.get();
+        if (headIndex == tail.get()) {
+            return null;
+        }
+        int index = (int) headIndex & mask;
+        E element = (E) elements[index];
+        elements[index] = null;
+        head.lazySet(headIndex + 1L);
+        return element;
+    }
+
+    /**
+     * Can only be called from the consumer thread.
+     * Busy-waits briefly and then parks until the producer offers an element.
+     *
+     * @return never null
+     * @throws InterruptedException if interrupted
+     */
+    public E take() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        int spinCount = 0;
+        E element = poll();
+        while (element == null) {
+            if (spinCount < SPIN_COUNT) {
+                spinCount++;
+                Thread.onSpinWait();
+            } else {
+                parkedConsumerThread = Thread.currentThread();
+                // Check again after announcing the park, otherwise an offer() in between would not unpark us
+                if (isEmpty()) {
+                    LockSupport.park(this);
+                }
+                parkedConsumerThread = null;
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            element = poll();
+        }
+        return element;
+    }
+
+    /**
+     * This method is thread-safe, but the answer might be outdated by the time it returns.
+     *
+     * @return true if there is nothing to poll
+     */
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    /**
+     * @return at least the minimumCapacity, always a power of 2
+     */
+    public int getCapacity() {
+        return elements.length;
+    }
+
+}
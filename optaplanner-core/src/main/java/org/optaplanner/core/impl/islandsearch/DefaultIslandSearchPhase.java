@@ -0,0 +1,244 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.islandsearch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchType;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.impl.heuristic.HeuristicConfigPolicy;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.islandsearch.event.IslandSearchPhaseLifecycleListener;
+import org.optaplanner.core.impl.islandsearch.scope.IslandSearchPhaseScope;
+import org.optaplanner.core.impl.islandsearch.scope.IslandSearchStepScope;
+import org.optaplanner.core.impl.partitionedsearch.queue.PartitionQueue;
+import org.optaplanner.core.impl.partitionedsearch.scope.PartitionChangeMove;
+import org.optaplanner.core.impl.phase.AbstractPhase;
+import org.optaplanner.core.impl.phase.Phase;
+import org.optaplanner.core.impl.phase.PhaseFactory;
+import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
+import org.optaplanner.core.impl.solver.recaller.BestSolutionRecallerFactory;
+import org.optaplanner.core.impl.solver.scope.SolverScope;
+import org.optaplanner.core.impl.solver.termination.ChildThreadPlumbingTermination;
+import org.optaplanner.core.impl.solver.termination.OrCompositeTermination;
+import org.optaplanner.core.impl.solver.termination.Termination;
+import org.optaplanner.core.impl.solver.thread.ChildThreadType;
+import org.optaplanner.core.impl.solver.thread.ThreadUtils;
+
+/**
+ * Default implementation of {@link IslandSearchPhase}.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class DefaultIslandSearchPhase<Solution_> extends AbstractPhase<Solution_>
+        implements IslandSearchPhase<Solution_>, IslandSearchPhaseLifecycleListener<Solution_> {
+
+    /**
+     * Used round-robin by the islands, for every {@link LocalSearchPhaseConfig} that doesn't configure its algorithm,
+     * so the islands don't all get stuck in the same local optima.
+     */
+    protected static final LocalSearchType[] ISLAND_LOCAL_SEARCH_TYPES = {
+            LocalSearchType.LATE_ACCEPTANCE, LocalSearchType.TABU_SEARCH, LocalSearchType.GREAT_DELUGE};
+
+    protected final ThreadFactory threadFactory;
+    protected final int islandCount;
+    protected final long millisecondsBetweenMigrations;
+
+    protected List<PhaseConfig> phaseConfigList;
+    protected HeuristicConfigPolicy<Solution_> configPolicy;
+
+    public DefaultIslandSearchPhase(int phaseIndex, String logIndentation,
+            BestSolutionRecaller<Solution_> bestSolutionRecaller, Termination<Solution_> termination,
+            ThreadFactory threadFactory, int islandCount, long millisecondsBetweenMigrations) {
+        super(phaseIndex, logIndentation, bestSolutionRecaller, termination);
+        this.threadFactory = threadFactory;
+        this.islandCount = islandCount;
+        this.millisecondsBetweenMigrations = millisecondsBetweenMigrations;
+    }
+
+    public void setPhaseConfigList(List<PhaseConfig> phaseConfigList) {
+        this.phaseConfigList = phaseConfigList;
+    }
+
+    public void setConfigPolicy(HeuristicConfigPolicy<Solution_> configPolicy) {
+        this.configPolicy = configPolicy;
+    }
+
+    @Override
+    public String getPhaseTypeString() {
+        return "Island Search";
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void solve(SolverScope<Solution_> solverScope) {
+        IslandSearchPhaseScope<Solution_> phaseScope = new IslandSearchPhaseScope<>(solverScope);
+        phaseScope.setIslandCount(islandCount);
+        phaseStarted(phaseScope);
+        ExecutorService executor = Executors.newFixedThreadPool(islandCount, threadFactory);
+        ChildThreadPlumbingTermination<Solution_> childThreadPlumbingTermination =
+                new ChildThreadPlumbingTermination<>();
+        // Reused from Partitioned Search: each island is a partition that contains the entire solution
+        PartitionQueue<Solution_> partitionQueue = new PartitionQueue<>(islandCount);
+        IslandExchange<Solution_> islandExchange = new IslandExchange<>(partitionQueue, solverScope.getScoreDirector());
+        List<IslandSolver<Solution_>> islandSolverList = new ArrayList<>(islandCount);
+        try {
+            for (int islandIndex = 0; islandIndex < islandCount; islandIndex++) {
+                int islandIndex_ = islandIndex;
+                Solution_ island = solverScope.getScoreDirector().cloneWorkingSolution();
+                IslandSolver<Solution_> islandSolver = buildIslandSolver(islandIndex, childThreadPlumbingTermination,
+                        islandExchange, solverScope);
+                islandSolverList.add(islandSolver);
+                executor.submit(() -> {
+                    try {
+                        islandSolver.solve(island);
+                        long islandCalculationCount = islandSolver.getScoreCalculationCount();
+                        partitionQueue.addFinish(islandIndex_, islandCalculationCount);
+                    } catch (Throwable throwable) {
+                        // Any Exception or even Error that happens here (on an island thread) must be stored
+                        // in the partitionQueue in order to be propagated to the solver thread.
+                        logger.trace("{}            Island thread ({}) exception that will be propagated to the solver thread.",
+                                logIndentation, islandIndex_, throwable);
+                        partitionQueue.addExceptionThrown(islandIndex_, throwable);
+                    }
+                });
+            }
+            for (PartitionChangeMove<Solution_> step : partitionQueue) {
+                IslandSearchStepScope<Solution_> stepScope = new IslandSearchStepScope<>(phaseScope);
+                stepStarted(stepScope);
+                stepScope.setStep(step);
+                if (logger.isDebugEnabled()) {
+                    stepScope.setStepString(step.toString());
+                }
+                doStep(stepScope);
+                stepEnded(stepScope);
+                phaseScope.setLastCompletedStepScope(stepScope);
+            }
+            phaseScope.addChildThreadsScoreCalculationCount(partitionQueue.getPartsCalculationCount());
+        } finally {
+            // In case one of the island threads threw an Exception, it is propagated here
+            // but the other island threads are not aware of the failure and may continue solving for a long time,
+            // so we need to ask them to terminate. In case no exception was thrown, this does nothing.
+            childThreadPlumbingTermination.terminateChildren();
+            ThreadUtils.shutdownAwaitOrKill(executor, logIndentation, "Island Search");
+        }
+        phaseScope.setMigrationCount(islandSolverList.stream().mapToInt(IslandSolver::getMigrationCount).sum());
+        phaseEnded(phaseScope);
+    }
+
+    public IslandSolver<Solution_> buildIslandSolver(int islandIndex,
+            ChildThreadPlumbingTermination<Solution_> childThreadPlumbingTermination,
+            IslandExchange<Solution_> islandExchange, SolverScope<Solution_> solverScope) {
+        BestSolutionRecaller<Solution_> bestSolutionRecaller =
+                BestSolutionRecallerFactory.create().buildBestSolutionRecaller(configPolicy.getEnvironmentMode());
+        Termination<Solution_> parentTermination = new OrCompositeTermination<>(childThreadPlumbingTermination,
+                termination.createChildThreadTermination(solverScope, ChildThreadType.ISLAND_THREAD));
+        // Each child thread solver scope has its own random seed
+        SolverScope<Solution_> islandSolverScope =
+                solverScope.createChildThreadSolverScope(ChildThreadType.ISLAND_THREAD);
+        IslandMigrationTermination<Solution_> migrationTermination = new IslandMigrationTermination<>(
+                millisecondsBetweenMigrations, islandIndex, islandExchange, islandSolverScope);
+        Termination<Solution_> islandTermination = new OrCompositeTermination<>(parentTermination, migrationTermination);
+        List<Phase<Solution_>> phaseList = new ArrayList<>(phaseConfigList.size());
+        int islandPhaseIndex = 0;
+        for (PhaseConfig phaseConfig : phaseConfigList) {
+            PhaseConfig islandPhaseConfig = diversifyPhaseConfig(islandIndex, phaseConfig);
+            PhaseFactory<Solution_> phaseFactory = PhaseFactory.create(islandPhaseConfig);
+            Phase<Solution_> phase =
+                    phaseFactory.buildPhase(islandPhaseIndex, configPolicy, bestSolutionRecaller, islandTermination);
+            phaseList.add(phase);
+            islandPhaseIndex++;
+        }
+        return new IslandSolver<>(islandIndex, bestSolutionRecaller, parentTermination, migrationTermination,
+                islandTermination, phaseList, islandExchange, islandSolverScope);
+    }
+
+    protected PhaseConfig diversifyPhaseConfig(int islandIndex, PhaseConfig phaseConfig) {
+        if (!(phaseConfig instanceof LocalSearchPhaseConfig)) {
+            return phaseConfig;
+        }
+        LocalSearchPhaseConfig localSearchPhaseConfig = (LocalSearchPhaseConfig) phaseConfig;
+        if (localSearchPhaseConfig.getLocalSearchType() != null
+                || localSearchPhaseConfig.getAcceptorConfig() != null
+                || localSearchPhaseConfig.getForagerConfig() != null) {
+            // The user chose the algorithm, so all islands use it
+            return phaseConfig;
+        }
+        return localSearchPhaseConfig.copyConfig()
+                .withLocalSearchType(ISLAND_LOCAL_SEARCH_TYPES[islandIndex % ISLAND_LOCAL_SEARCH_TYPES.length]);
+    }
+
+    protected void doStep(IslandSearchStepScope<Solution_> stepScope) {
+        Move<Solution_> nextStep = stepScope.getStep();
+        nextStep.doMove(stepScope.getScoreDirector());
+        calculateWorkingStepScore(stepScope, nextStep);
+        bestSolutionRecaller.processWorkingSolutionDuringStep(stepScope);
+    }
+
+    @Override
+    public void phaseStarted(IslandSearchPhaseScope<Solution_> phaseScope) {
+        super.phaseStarted(phaseScope);
+    }
+
+    @Override
+    public void stepStarted(IslandSearchStepScope<Solution_> stepScope) {
+        super.stepStarted(stepScope);
+    }
+
+    @Override
+    public void stepEnded(IslandSearchStepScope<Solution_> stepScope) {
+        super.stepEnded(stepScope);
+        IslandSearchPhaseScope<Solution_> phaseScope = stepScope.getPhaseScope();
+        if (logger.isDebugEnabled()) {
+            logger.debug("{}    IS step ({}), time spent ({}), score ({}), {} best score ({}), picked move ({}).",
+                    logIndentation,
+                    stepScope.getStepIndex(),
+                    phaseScope.calculateSolverTimeMillisSpentUpToNow(),
+                    stepScope.getScore(),
+                    (stepScope.getBestScoreImproved() ? "new" : "   "), phaseScope.getBestScore(),
+                    stepScope.getStepString());
+        }
+    }
+
+    @Override
+    public void phaseEnded(IslandSearchPhaseScope<Solution_> phaseScope) {
+        super.phaseEnded(phaseScope);
+        phaseScope.endingNow();
+        logger.info("{}Island Search phase ({}) ended: time spent ({}), best score ({}),"
+                + " score calculation speed ({}/sec), step total ({}), islandCount ({}),"
+                + " millisecondsBetweenMigrations ({}), migrationCount ({}).",
+                logIndentation,
+                phaseIndex,
+                phaseScope.calculateSolverTimeMillisSpentUpToNow(),
+                phaseScope.getBestScore(),
+                phaseScope.getPhaseScoreCalculationSpeed(),
+                phaseScope.getNextStepIndex(),
+                phaseScope.getIslandCount(),
+                millisecondsBetweenMigrations,
+                phaseScope.getMigrationCount());
+    }
+
+}
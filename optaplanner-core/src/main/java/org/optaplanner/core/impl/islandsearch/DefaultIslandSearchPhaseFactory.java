@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.islandsearch;
+
+import static org.optaplanner.core.config.islandsearch.IslandSearchPhaseConfig.ISLAND_COUNT_AUTO;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.islandsearch.IslandSearchPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.config.util.ConfigUtils;
+import org.optaplanner.core.impl.heuristic.HeuristicConfigPolicy;
+import org.optaplanner.core.impl.phase.AbstractPhaseFactory;
+import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
+import org.optaplanner.core.impl.solver.termination.Termination;
+import org.optaplanner.core.impl.solver.thread.ChildThreadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class DefaultIslandSearchPhaseFactory<Solution_>
+        extends AbstractPhaseFactory<Solution_, IslandSearchPhaseConfig> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultIslandSearchPhaseFactory.class);
+
+    public DefaultIslandSearchPhaseFactory(IslandSearchPhaseConfig phaseConfig) {
+        super(phaseConfig);
+    }
+
+    @Override
+    public IslandSearchPhase<Solution_> buildPhase(int phaseIndex,
+            HeuristicConfigPolicy<Solution_> solverConfigPolicy, BestSolutionRecaller<Solution_> bestSolutionRecaller,
+            Termination<Solution_> solverTermination) {
+        HeuristicConfigPolicy<Solution_> phaseConfigPolicy = solverConfigPolicy.createPhaseConfigPolicy();
+        ThreadFactory threadFactory = solverConfigPolicy.buildThreadFactory(ChildThreadType.ISLAND_THREAD);
+        Termination<Solution_> phaseTermination = buildPhaseTermination(phaseConfigPolicy, solverTermination);
+        int resolvedIslandCount = resolveIslandCount(phaseConfig.getIslandCount());
+        long millisecondsBetweenMigrations_ = resolveMillisecondsBetweenMigrations(
+                phaseConfig.getMillisecondsBetweenMigrations());
+        DefaultIslandSearchPhase<Solution_> phase =
+                new DefaultIslandSearchPhase<>(phaseIndex, solverConfigPolicy.getLogIndentation(), bestSolutionRecaller,
+                        phaseTermination, threadFactory, resolvedIslandCount, millisecondsBetweenMigrations_);
+        List<PhaseConfig> phaseConfigList_ = phaseConfig.getPhaseConfigList();
+        if (ConfigUtils.isEmptyCollection(phaseConfigList_)) {
+            phaseConfigList_ = Arrays.asList(new ConstructionHeuristicPhaseConfig(), new LocalSearchPhaseConfig());
+        }
+        phase.setPhaseConfigList(phaseConfigList_);
+        phase.setConfigPolicy(phaseConfigPolicy.createChildThreadConfigPolicy(ChildThreadType.ISLAND_THREAD));
+        EnvironmentMode environmentMode = phaseConfigPolicy.getEnvironmentMode();
+        if (environmentMode.isNonIntrusiveFullAsserted()) {
+            phase.setAssertStepScoreFromScratch(true);
+        }
+        if (environmentMode.isIntrusiveFastAsserted()) {
+            phase.setAssertExpectedStepScore(true);
+            phase.setAssertShadowVariablesAreNotStaleAfterStep(true);
+        }
+        return phase;
+    }
+
+    protected int resolveIslandCount(String islandCount) {
+        int availableProcessorCount = getAvailableProcessors();
+        int resolvedIslandCount;
+        if (islandCount == null || islandCount.equals(ISLAND_COUNT_AUTO)) {
+            // Leave one for the Operating System and 1 for the solver thread, take the rest
+            resolvedIslandCount = Math.max(1, availableProcessorCount - 2);
+        } else {
+            resolvedIslandCount = ConfigUtils.resolvePoolSize("islandCount", islandCount, ISLAND_COUNT_AUTO);
+            if (resolvedIslandCount < 1) {
+                throw new IllegalArgumentException("The islandCount (" + islandCount
+                        + ") resulted in a resolvedIslandCount (" + resolvedIslandCount
+                        + ") that is lower than 1.");
+            }
+            if (resolvedIslandCount > availableProcessorCount) {
+                LOGGER.debug("The resolvedIslandCount ({}) is higher than "
+                        + "the availableProcessorCount ({}), so the JVM will "
+                        + "round-robin the CPU instead.", resolvedIslandCount, availableProcessorCount);
+            }
+        }
+        return resolvedIslandCount;
+    }
+
+    protected long resolveMillisecondsBetweenMigrations(Long millisecondsBetweenMigrations) {
+        if (millisecondsBetweenMigrations == null) {
+            return 1000L;
+        }
+        if (millisecondsBetweenMigrations < 1L) {
+            throw new IllegalArgumentException("The millisecondsBetweenMigrations (" + millisecondsBetweenMigrations
+                    + ") must be at least 1.");
+        }
+        return millisecondsBetweenMigrations;
+    }
+
+    protected int getAvailableProcessors() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.islandsearch;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.partitionedsearch.queue.PartitionQueue;
+import org.optaplanner.core.impl.partitionedsearch.scope.PartitionChangeMove;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+
+/**
+ * Holds the best solution of all islands, so the other islands can migrate to it,
+ * and relays each new best solution of all islands to the solver thread.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class IslandExchange<Solution_> {
+
+    private final PartitionQueue<Solution_> partitionQueue;
+    private final InnerScoreDirector<Solution_, ?> parentScoreDirector;
+
+    private int bestIslandIndex = -1;
+    private Score bestScore = null;
+    private Solution_ bestSolution = null;
+
+    /**
+     * @param partitionQueue never null, relays the new best solutions of all islands to the solver thread
+     * @param parentScoreDirector never null, the score director of the solver thread
+     */
+    public IslandExchange(PartitionQueue<Solution_> partitionQueue,
+            InnerScoreDirector<Solution_, ?> parentScoreDirector) {
+        this.partitionQueue = partitionQueue;
+        this.parentScoreDirector = parentScoreDirector;
+    }
+
+    /**
+     * Called by an island thread when it found a new best solution.
+     * If it's also the best solution of all islands, it's relayed to the solver thread.
+     *
+     * @param islandIndex {@code 0 <= islandIndex < islandCount}
+     * @param islandScoreDirector never null, its working solution is the new best solution of that island
+     * @param newBestSolution never null, never changed afterwards
+     * @param newBestScore never null
+     * @return true if it's the new best solution of all islands
+     */
+    public synchronized boolean offerBestSolution(int islandIndex, InnerScoreDirector<Solution_, ?> islandScoreDirector,
+            Solution_ newBestSolution, Score newBestScore) {
+        if (bestScore != null && newBestScore.compareTo(bestScore) <= 0) {
+            return false;
+        }
+        bestIslandIndex = islandIndex;
+        bestScore = newBestScore;
+        bestSolution = newBestSolution;
+        // Inside the lock, so the solver thread receives the new best solutions of all islands in order
+        PartitionChangeMove<Solution_> move = PartitionChangeMove.createMove(islandScoreDirector, islandIndex);
+        partitionQueue.addMove(islandIndex, move.rebase(parentScoreDirector));
+        return true;
+    }
+
+    /**
+     * Called by an island thread when it's time to migrate.
+     *
+     * @param islandIndex {@code 0 <= islandIndex < islandCount}
+     * @param islandBestScore never null
+     * @return null if no other island has a better solution than islandBestScore,
+     *         otherwise the best solution of all islands, which must not be changed
+     */
+    public synchronized Solution_ pollBetterSolution(int islandIndex, Score islandBestScore) {
+        if (bestIslandIndex == islandIndex || bestScore == null || bestScore.compareTo(islandBestScore) <= 0) {
+            return null;
+        }
+        return bestSolution;
+    }
+
+    /**
+     * @return null if no island has found a new best solution yet
+     */
+    public synchronized Score getBestScore() {
+        return bestScore;
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.islandsearch;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.solver.scope.SolverScope;
+import org.optaplanner.core.impl.solver.termination.AbstractTermination;
+import org.optaplanner.core.impl.solver.termination.Termination;
+import org.optaplanner.core.impl.solver.thread.ChildThreadType;
+
+/**
+ * Terminates the phases of an {@link IslandSolver} when it's time to migrate
+ * and another island has a better solution, after which they start again from that solution.
+ * If no island has a better solution, the phases continue, so they keep their state
+ * (such as the score history of Late Acceptance or the tabu lists of Tabu Search).
+ * It has no time gradient, because it doesn't end the solving.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class IslandMigrationTermination<Solution_> extends AbstractTermination<Solution_> {
+
+    private final long millisecondsBetweenMigrations;
+    private final int islandIndex;
+    private final IslandExchange<Solution_> islandExchange;
+    private final SolverScope<Solution_> islandSolverScope;
+
+    private volatile long migrationTimeMillis = Long.MAX_VALUE;
+
+    /**
+     * @param millisecondsBetweenMigrations at least 1
+     * @param islandIndex {@code 0 <= islandIndex < islandCount}
+     * @param islandExchange never null
+     * @param islandSolverScope never null, the solver scope of the {@link IslandSolver}, even for its child threads
+     */
+    public IslandMigrationTermination(long millisecondsBetweenMigrations, int islandIndex,
+            IslandExchange<Solution_> islandExchange, SolverScope<Solution_> islandSolverScope) {
+        this.millisecondsBetweenMigrations = millisecondsBetweenMigrations;
+        this.islandIndex = islandIndex;
+        this.islandExchange = islandExchange;
+        this.islandSolverScope = islandSolverScope;
+        if (millisecondsBetweenMigrations < 1L) {
+            throw new IllegalArgumentException("The millisecondsBetweenMigrations (" + millisecondsBetweenMigrations
+                    + ") must be at least 1.");
+        }
+    }
+
+    public long getMillisecondsBetweenMigrations() {
+        return millisecondsBetweenMigrations;
+    }
+
+    // ************************************************************************
+    // Plumbing worker methods
+    // ************************************************************************
+
+    /**
+     * Called by the island thread before its phases start (again),
+     * and when no other island has a better solution at the end of a migration interval.
+     */
+    public void startMigrationInterval() {
+        migrationTimeMillis = System.currentTimeMillis() + millisecondsBetweenMigrations;
+    }
+
+    // ************************************************************************
+    // Termination worker methods
+    // ************************************************************************
+
+    @Override
+    public boolean isSolverTerminated(SolverScope<Solution_> solverScope) {
+        if (System.currentTimeMillis() < migrationTimeMillis) {
+            return false;
+        }
+        // The solverScope can be of a child thread (such as a partition), so it's not used
+        if (islandExchange.pollBetterSolution(islandIndex, islandSolverScope.getBestScore()) == null) {
+            startMigrationInterval();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isPhaseTerminated(AbstractPhaseScope<Solution_> phaseScope) {
+        throw new IllegalStateException(IslandMigrationTermination.class.getSimpleName()
+                + " configured only as solver termination."
+                + " It is always bridged to phase termination.");
+    }
+
+    @Override
+    public double calculateSolverTimeGradient(SolverScope<Solution_> solverScope) {
+        return -1.0; // Not supported
+    }
+
+    @Override
+    public double calculatePhaseTimeGradient(AbstractPhaseScope<Solution_> phaseScope) {
+        throw new IllegalStateException(IslandMigrationTermination.class.getSimpleName()
+                + " configured only as solver termination."
+                + " It is always bridged to phase termination.");
+    }
+
+    // ************************************************************************
+    // Other methods
+    // ************************************************************************
+
+    @Override
+    public Termination<Solution_> createChildThreadTermination(SolverScope<Solution_> solverScope,
+            ChildThreadType childThreadType) {
+        // The child threads of an island (such as partitions) migrate at the same time
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "IslandMigration(" + millisecondsBetweenMigrations + ")";
+    }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.islandsearch;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.phase.AbstractPhase;
+import org.optaplanner.core.impl.phase.Phase;
+
+/**
+ * An {@link IslandSearchPhase} is a {@link Phase} which uses an Island Model algorithm.
+ * It solves the entire {@link PlanningSolution} several times in parallel with other {@link Phase}s,
+ * each island with a different random seed, and periodically migrates the best solution between those islands.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @see Phase
+ * @see AbstractPhase
+ * @see DefaultIslandSearchPhase
+ */
+public interface IslandSearchPhase<Solution_> extends Phase<Solution_> {
+
+}
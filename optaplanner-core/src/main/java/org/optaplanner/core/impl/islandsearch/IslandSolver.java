@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.islandsearch;
+
+import java.util.List;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.ProblemFactChange;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.phase.Phase;
+import org.optaplanner.core.impl.solver.AbstractSolver;
+import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
+import org.optaplanner.core.impl.solver.scope.SolverScope;
+import org.optaplanner.core.impl.solver.termination.Termination;
+
+/**
+ * Solves 1 island of an {@link IslandSearchPhase}.
+ * It runs its {@link Phase}s until it's time to migrate and another island has a better best solution,
+ * and then restarts them from the best solution of all islands.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class IslandSolver<Solution_> extends AbstractSolver<Solution_> {
+
+    protected final int islandIndex;
+    protected final Termination<Solution_> parentTermination;
+    protected final IslandMigrationTermination<Solution_> migrationTermination;
+    protected final IslandExchange<Solution_> islandExchange;
+    protected final SolverScope<Solution_> solverScope;
+
+    protected int migrationCount = 0;
+
+    // ************************************************************************
+    // Constructors and simple getters/setters
+    // ************************************************************************
+
+    /**
+     * @param islandIndex {@code 0 <= islandIndex < islandCount}
+     * @param bestSolutionRecaller never null
+     * @param parentTermination never null, ends the solving
+     * @param migrationTermination never null, ends the phases
+     * @param termination never null, the combination of parentTermination and migrationTermination
+     * @param phaseList never null
+     * @param islandExchange never null
+     * @param solverScope never null
+     */
+    public IslandSolver(int islandIndex, BestSolutionRecaller<Solution_> bestSolutionRecaller,
+            Termination<Solution_> parentTermination, IslandMigrationTermination<Solution_> migrationTermination,
+            Termination<Solution_> termination, List<Phase<Solution_>> phaseList,
+            IslandExchange<Solution_> islandExchange, SolverScope<Solution_> solverScope) {
+        super(bestSolutionRecaller, termination, phaseList);
+        this.islandIndex = islandIndex;
+        this.parentTermination = parentTermination;
+        this.migrationTermination = migrationTermination;
+        this.islandExchange = islandExchange;
+        this.solverScope = solverScope;
+        addEventListener(event -> islandExchange.offerBestSolution(islandIndex, solverScope.getScoreDirector(),
+                event.getNewBestSolution(), event.getNewBestScore()));
+    }
+
+    // ************************************************************************
+    // Complex getters
+    // ************************************************************************
+
+    @Override
+    public boolean isSolving() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean terminateEarly() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isTerminateEarly() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addProblemFactChange(ProblemFactChange<Solution_> problemFactChange) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addProblemFactChanges(List<ProblemFactChange<Solution_>> problemFactChanges) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isEveryProblemFactChangeProcessed() {
+        throw new UnsupportedOperationException();
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public Solution_ solve(Solution_ problem) {
+        solverScope.initializeYielding();
+        try {
+            solverScope.setBestSolution(problem);
+            solvingStarted(solverScope);
+            while (true) {
+                long scoreCalculationCount = solverScope.getScoreCalculationCount();
+                migrationTermination.startMigrationInterval();
+                runPhases(solverScope);
+                if (parentTermination.isSolverTerminated(solverScope)
+                        || !migrationTermination.isSolverTerminated(solverScope)
+                        || solverScope.getScoreCalculationCount() == scoreCalculationCount) {
+                    // The phases ended by themselves (or have nothing left to do), so don't restart them
+                    break;
+                }
+                if (migrate()) {
+                    solverScope.setWorkingSolutionFromBestSolution();
+                }
+            }
+            solvingEnded(solverScope);
+            return solverScope.getBestSolution();
+        } finally {
+            solverScope.closeMoveThreadPool();
+            solverScope.destroyYielding();
+        }
+    }
+
+    /**
+     * @return true if the best solution of all islands is better than the best solution of this island,
+     *         in which case it becomes the best solution of this island
+     */
+    protected boolean migrate() {
+        Solution_ betterSolution = islandExchange.pollBetterSolution(islandIndex, solverScope.getBestScore());
+        if (betterSolution == null) {
+            return false;
+        }
+        SolutionDescriptor<Solution_> solutionDescriptor = solverScope.getSolutionDescriptor();
+        Score<?> betterScore = solutionDescriptor.getScore(betterSolution);
+        logger.debug("        Island ({}) migrated from its best score ({}) to the best score of all islands ({}).",
+                islandIndex, solverScope.getBestScore(), betterScore);
+        // The betterSolution is never changed, because the working solution is a planning clone of it
+        solverScope.setBestSolution(betterSolution);
+        solverScope.setBestScore(betterScore);
+        solverScope.setBestSolutionTimeMillis(System.currentTimeMillis());
+        migrationCount++;
+        return true;
+    }
+
+    @Override
+    public void solvingEnded(SolverScope<Solution_> solverScope) {
+        super.solvingEnded(solverScope);
+        solverScope.getScoreDirector().close();
+    }
+
+    public long getScoreCalculationCount() {
+        return solverScope.getScoreCalculationCount();
+    }
+
+    /**
+     * Only read after the island thread ended.
+     *
+     * @return at least 0, the number of times this island adopted the best solution of all islands
+     */
+    public int getMigrationCount() {
+        return migrationCount;
+    }
+
+}
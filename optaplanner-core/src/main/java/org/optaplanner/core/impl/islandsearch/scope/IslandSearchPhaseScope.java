@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.islandsearch.scope;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.solver.scope.SolverScope;
+
+/**
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class IslandSearchPhaseScope<Solution_> extends AbstractPhaseScope<Solution_> {
+
+    private Integer islandCount;
+    private int migrationCount = 0;
+
+    private IslandSearchStepScope<Solution_> lastCompletedStepScope;
+
+    public IslandSearchPhaseScope(SolverScope<Solution_> solverScope) {
+        super(solverScope);
+        lastCompletedStepScope = new IslandSearchStepScope<>(this, -1);
+    }
+
+    public Integer getIslandCount() {
+        return islandCount;
+    }
+
+    public void setIslandCount(Integer islandCount) {
+        this.islandCount = islandCount;
+    }
+
+    public int getMigrationCount() {
+        return migrationCount;
+    }
+
+    public void setMigrationCount(int migrationCount) {
+        this.migrationCount = migrationCount;
+    }
+
+    @Override
+    public IslandSearchStepScope<Solution_> getLastCompletedStepScope() {
+        return lastCompletedStepScope;
+    }
+
+    public void setLastCompletedStepScope(IslandSearchStepScope<Solution_> lastCompletedStepScope) {
+        this.lastCompletedStepScope = lastCompletedStepScope;
+    }
+
+    // ************************************************************************
+    // Calculated methods
+    // ************************************************************************
+
+}
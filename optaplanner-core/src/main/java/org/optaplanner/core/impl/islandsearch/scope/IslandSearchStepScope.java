@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.islandsearch.scope;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.partitionedsearch.scope.PartitionChangeMove;
+import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+
+/**
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class IslandSearchStepScope<Solution_> extends AbstractStepScope<Solution_> {
+
+    private final IslandSearchPhaseScope<Solution_> phaseScope;
+
+    private PartitionChangeMove<Solution_> step = null;
+    private String stepString = null;
+
+    public IslandSearchStepScope(IslandSearchPhaseScope<Solution_> phaseScope) {
+        this(phaseScope, phaseScope.getNextStepIndex());
+    }
+
+    public IslandSearchStepScope(IslandSearchPhaseScope<Solution_> phaseScope, int stepIndex) {
+        super(stepIndex);
+        this.phaseScope = phaseScope;
+    }
+
+    @Override
+    public IslandSearchPhaseScope<Solution_> getPhaseScope() {
+        return phaseScope;
+    }
+
+    /**
+     * @return the new best solution of an island, which covers the entire solution (not just a partition)
+     */
+    public PartitionChangeMove<Solution_> getStep() {
+        return step;
+    }
+
+    public void setStep(PartitionChangeMove<Solution_> step) {
+        this.step = step;
+    }
+
+    /**
+     * @return null if logging level is to high
+     */
+    public String getStepString() {
+        return stepString;
+    }
+
+    public void setStepString(String stepString) {
+        this.stepString = stepString;
+    }
+
+    // ************************************************************************
+    // Calculated methods
+    // ************************************************************************
+
+}
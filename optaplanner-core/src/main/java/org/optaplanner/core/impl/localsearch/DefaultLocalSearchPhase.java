@@ -16,15 +16,21 @@
 
 package org.optaplanner.core.impl.localsearch;
 
+import java.util.List;
+
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.ProblemFactChange;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.localsearch.decider.LocalSearchDecider;
 import org.optaplanner.core.impl.localsearch.event.LocalSearchPhaseLifecycleListener;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
 import org.optaplanner.core.impl.phase.AbstractPhase;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
 import org.optaplanner.core.impl.solver.scope.SolverScope;
+import org.optaplanner.core.impl.solver.termination.BasicPlumbingTermination;
 import org.optaplanner.core.impl.solver.termination.Termination;
 
 /**
@@ -36,6 +42,7 @@ public class DefaultLocalSearchPhase<Solution_> extends AbstractPhase<Solution_>
         LocalSearchPhaseLifecycleListener<Solution_> {
 
     protected LocalSearchDecider<Solution_> decider;
+    protected boolean liveProblemFactChanges = false;
 
     public DefaultLocalSearchPhase(int phaseIndex, String logIndentation,
             BestSolutionRecaller<Solution_> bestSolutionRecaller, Termination<Solution_> termination) {
@@ -50,6 +57,14 @@ public class DefaultLocalSearchPhase<Solution_> extends AbstractPhase<Solution_>
         this.decider = decider;
     }
 
+    /**
+     * @param liveProblemFactChanges true if the {@link ProblemFactChange}s are applied between 2 steps,
+     *        instead of restarting the solver
+     */
+    public void setLiveProblemFactChanges(boolean liveProblemFactChanges) {
+        this.liveProblemFactChanges = liveProblemFactChanges;
+    }
+
     @Override
     public String getPhaseTypeString() {
         return "Local Search";
@@ -64,39 +79,99 @@ public class DefaultLocalSearchPhase<Solution_> extends AbstractPhase<Solution_>
         LocalSearchPhaseScope<Solution_> phaseScope = new LocalSearchPhaseScope<>(solverScope);
         phaseStarted(phaseScope);
 
-        while (!termination.isPhaseTerminated(phaseScope)) {
-            LocalSearchStepScope<Solution_> stepScope = new LocalSearchStepScope<>(phaseScope);
-            stepScope.setTimeGradient(termination.calculatePhaseTimeGradient(phaseScope));
-            stepStarted(stepScope);
-            decider.decideNextStep(stepScope);
-            if (stepScope.getStep() == null) {
-                if (termination.isPhaseTerminated(phaseScope)) {
-                    logger.trace("{}    Step index ({}), time spent ({}) terminated without picking a nextStep.",
-                            logIndentation,
-                            stepScope.getStepIndex(),
-                            stepScope.getPhaseScope().calculateSolverTimeMillisSpentUpToNow());
-                } else if (stepScope.getSelectedMoveCount() == 0L) {
-                    logger.warn("{}    No doable selected move at step index ({}), time spent ({})."
-                            + " Terminating phase early.",
-                            logIndentation,
-                            stepScope.getStepIndex(),
-                            stepScope.getPhaseScope().calculateSolverTimeMillisSpentUpToNow());
-                } else {
-                    throw new IllegalStateException("The step index (" + stepScope.getStepIndex()
-                            + ") has accepted/selected move count (" + stepScope.getAcceptedMoveCount() + "/"
-                            + stepScope.getSelectedMoveCount()
-                            + ") but failed to pick a nextStep (" + stepScope.getStep() + ").");
+        BasicPlumbingTermination<Solution_> basicPlumbingTermination = liveProblemFactChanges
+                ? solverScope.getBasicPlumbingTermination()
+                : null;
+        if (basicPlumbingTermination != null) {
+            basicPlumbingTermination.setLiveProblemFactChangesEnabled(true);
+        }
+        try {
+            while (!termination.isPhaseTerminated(phaseScope)) {
+                if (basicPlumbingTermination != null && basicPlumbingTermination.isProblemFactChangePending()) {
+                    doProblemFactChanges(phaseScope, basicPlumbingTermination);
+                }
+                LocalSearchStepScope<Solution_> stepScope = new LocalSearchStepScope<>(phaseScope);
+                stepScope.setTimeGradient(termination.calculatePhaseTimeGradient(phaseScope));
+                stepStarted(stepScope);
+                decider.decideNextStep(stepScope);
+                if (stepScope.getStep() == null) {
+                    if (termination.isPhaseTerminated(phaseScope)) {
+                        logger.trace("{}    Step index ({}), time spent ({}) terminated without picking a nextStep.",
+                                logIndentation,
+                                stepScope.getStepIndex(),
+                                stepScope.getPhaseScope().calculateSolverTimeMillisSpentUpToNow());
+                    } else if (stepScope.getSelectedMoveCount() == 0L) {
+                        logger.warn("{}    No doable selected move at step index ({}), time spent ({})."
+                                + " Terminating phase early.",
+                                logIndentation,
+                                stepScope.getStepIndex(),
+                                stepScope.getPhaseScope().calculateSolverTimeMillisSpentUpToNow());
+                    } else {
+                        throw new IllegalStateException("The step index (" + stepScope.getStepIndex()
+                                + ") has accepted/selected move count (" + stepScope.getAcceptedMoveCount() + "/"
+                                + stepScope.getSelectedMoveCount()
+                                + ") but failed to pick a nextStep (" + stepScope.getStep() + ").");
+                    }
+                    // Although stepStarted has been called, stepEnded is not called for this step
+                    break;
                 }
-                // Although stepStarted has been called, stepEnded is not called for this step
-                break;
+                doStep(stepScope);
+                stepEnded(stepScope);
+                phaseScope.setLastCompletedStepScope(stepScope);
+            }
+        } finally {
+            if (basicPlumbingTermination != null) {
+                // Any problem fact change that arrives from now on restarts the solver
+                basicPlumbingTermination.setLiveProblemFactChangesEnabled(false);
             }
-            doStep(stepScope);
-            stepEnded(stepScope);
-            phaseScope.setLastCompletedStepScope(stepScope);
         }
         phaseEnded(phaseScope);
     }
 
+    /**
+     * Applies the {@link ProblemFactChange}s on the working solution, instead of on a clone of the best solution,
+     * so the phase and its caches continue without a restart.
+     * The changed working solution becomes the new best solution, even if its score is worse than the old one,
+     * because the old best solution no longer matches the problem.
+     *
+     * @param phaseScope never null
+     * @param basicPlumbingTermination never null
+     */
+    protected void doProblemFactChanges(LocalSearchPhaseScope<Solution_> phaseScope,
+            BasicPlumbingTermination<Solution_> basicPlumbingTermination) {
+        basicPlumbingTermination.startProblemFactChangesProcessing();
+        InnerScoreDirector<Solution_, ?> scoreDirector = phaseScope.getScoreDirector();
+        int problemFactChangeCount = 0;
+        // Also do the changes that are added in the meantime, the score is calculated once after all of them
+        List<ProblemFactChange<Solution_>> problemFactChangeList = basicPlumbingTermination.pollProblemFactChanges();
+        while (!problemFactChangeList.isEmpty()) {
+            for (ProblemFactChange<Solution_> problemFactChange : problemFactChangeList) {
+                problemFactChange.doChange(scoreDirector);
+                problemFactChangeCount++;
+            }
+            problemFactChangeList = basicPlumbingTermination.pollProblemFactChanges();
+        }
+        // All PFCs are processed, fail fast if any of the new facts have null planning IDs.
+        scoreDirector.assertNonNullPlanningIds();
+        Score<?> score = scoreDirector.calculateScore();
+        if (!score.isSolutionInitialized()) {
+            throw new IllegalStateException("The problem fact changes left the working solution uninitialized"
+                    + " with score (" + score + ") in the " + getPhaseTypeString() + " phase (" + phaseIndex + ").\n"
+                    + "Maybe disable liveProblemFactChanges, so the solver restarts and a Construction Heuristic"
+                    + " phase initializes the working solution again.");
+        }
+        // The next step compares its moves with the changed score
+        phaseScope.getLastCompletedStepScope().setScore(score);
+        decider.problemFactsChanged(phaseScope);
+        basicPlumbingTermination.endProblemFactChangesProcessing();
+        bestSolutionRecaller.updateBestSolution(phaseScope.getSolverScope());
+        solverPhaseLifecycleSupport.fireProblemFactsChanged(phaseScope);
+        phaseLifecycleSupport.fireProblemFactsChanged(phaseScope);
+        logger.info("{}    Real-time problem fact changes done between steps: step index ({}),"
+                + " change total ({}), new best score ({}).",
+                logIndentation, phaseScope.getNextStepIndex(), problemFactChangeCount, score);
+    }
+
     protected void doStep(LocalSearchStepScope<Solution_> stepScope) {
         Move<Solution_> step = stepScope.getStep();
         Move<Solution_> undoStep = step.doMove(stepScope.getScoreDirector());
@@ -34,6 +34,7 @@ import org.optaplanner.core.config.localsearch.decider.acceptor.LocalSearchAccep
 import org.optaplanner.core.config.localsearch.decider.forager.LocalSearchForagerConfig;
 import org.optaplanner.core.config.localsearch.decider.forager.LocalSearchPickEarlyType;
 import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.heuristic.HeuristicConfigPolicy;
 import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
 import org.optaplanner.core.impl.heuristic.selector.move.MoveSelectorFactory;
@@ -65,6 +66,7 @@ public class DefaultLocalSearchPhaseFactory<Solution_>
                         buildPhaseTermination(phaseConfigPolicy, solverTermination));
         phase.setDecider(buildDecider(phaseConfigPolicy,
                 phase.getTermination()));
+        phase.setLiveProblemFactChanges(defaultIfNull(phaseConfig.getLiveProblemFactChanges(), false));
         EnvironmentMode environmentMode = phaseConfigPolicy.getEnvironmentMode();
         if (environmentMode.isNonIntrusiveFullAsserted()) {
             phase.setAssertStepScoreFromScratch(true);
@@ -101,11 +103,19 @@ public class DefaultLocalSearchPhaseFactory<Solution_>
                 // If it's too high, more moves are selected that aren't foraged
                 moveThreadBufferSize = 10;
             }
+            Integer moveThreadBatchSize = configPolicy.getMoveThreadBatchSize();
+            if (moveThreadBatchSize == null) {
+                // Batching only pays off if evaluating a move is cheap compared to relaying it to a move thread
+                moveThreadBatchSize = 1;
+            } else if (moveThreadBatchSize < 1) {
+                throw new IllegalArgumentException("The moveThreadBatchSize (" + moveThreadBatchSize
+                        + ") must be at least 1.");
+            }
             ThreadFactory threadFactory = configPolicy.buildThreadFactory(ChildThreadType.MOVE_THREAD);
             int selectedMoveBufferSize = moveThreadCount * moveThreadBufferSize;
             MultiThreadedLocalSearchDecider<Solution_> multiThreadedDecider = new MultiThreadedLocalSearchDecider<>(
                     configPolicy.getLogIndentation(), termination, moveSelector, acceptor, forager,
-                    threadFactory, moveThreadCount, selectedMoveBufferSize);
+                    threadFactory, moveThreadCount, selectedMoveBufferSize, moveThreadBatchSize);
             if (environmentMode.isNonIntrusiveFullAsserted()) {
                 multiThreadedDecider.setAssertStepScoreFromScratch(true);
             }
@@ -113,6 +123,8 @@ public class DefaultLocalSearchPhaseFactory<Solution_>
                 multiThreadedDecider.setAssertExpectedStepScore(true);
                 multiThreadedDecider.setAssertShadowVariablesAreNotStaleAfterStep(true);
             }
+            multiThreadedDecider.setMoveThreadCountAdaptive(configPolicy.isMoveThreadCountAdaptive());
+            multiThreadedDecider.setSpeculativeStepCountLimit(buildSpeculativeStepCountLimit(configPolicy));
             decider = multiThreadedDecider;
         }
         if (environmentMode.isNonIntrusiveFullAsserted()) {
@@ -124,6 +136,25 @@ public class DefaultLocalSearchPhaseFactory<Solution_>
         return decider;
     }
 
+    private int buildSpeculativeStepCountLimit(HeuristicConfigPolicy<Solution_> configPolicy) {
+        Integer speculativeStepCountLimit = phaseConfig.getSpeculativeStepCountLimit();
+        if (speculativeStepCountLimit == null) {
+            return 0;
+        }
+        if (speculativeStepCountLimit < 0) {
+            throw new IllegalArgumentException("The speculativeStepCountLimit (" + speculativeStepCountLimit
+                    + ") cannot be negative.");
+        }
+        if (speculativeStepCountLimit > 0 && configPolicy.getSolutionDescriptor().getGenuineEntityDescriptors().stream()
+                .anyMatch(EntityDescriptor::hasAnyChainedGenuineVariables)) {
+            // A chained move remembers the trailing entities of its planning values when it's selected
+            throw new IllegalArgumentException("The speculativeStepCountLimit (" + speculativeStepCountLimit
+                    + ") is not supported with a chained planning variable.\n"
+                    + "Maybe remove the speculativeStepCountLimit.");
+        }
+        return speculativeStepCountLimit;
+    }
+
     protected Acceptor<Solution_> buildAcceptor(HeuristicConfigPolicy<Solution_> configPolicy) {
         LocalSearchAcceptorConfig acceptorConfig_;
         if (phaseConfig.getAcceptorConfig() != null) {
@@ -102,6 +102,17 @@ public class LocalSearchDecider<Solution_> {
         forager.stepStarted(stepScope);
     }
 
+    /**
+     * Called between 2 steps, after problem fact changes have been applied to the working solution.
+     *
+     * @param phaseScope never null
+     */
+    public void problemFactsChanged(LocalSearchPhaseScope<Solution_> phaseScope) {
+        moveSelector.problemFactsChanged(phaseScope);
+        acceptor.problemFactsChanged(phaseScope);
+        forager.problemFactsChanged(phaseScope);
+    }
+
     public void decideNextStep(LocalSearchStepScope<Solution_> stepScope) {
         InnerScoreDirector<Solution_, ?> scoreDirector = stepScope.getScoreDirector();
         scoreDirector.setAllChangesWillBeUndoneBeforeStepEnds(true);
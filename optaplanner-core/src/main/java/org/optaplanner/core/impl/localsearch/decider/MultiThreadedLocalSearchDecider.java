@@ -16,16 +16,16 @@
 
 package org.optaplanner.core.impl.localsearch.decider;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CyclicBarrier;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Set;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
@@ -33,8 +33,9 @@ import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
 import org.optaplanner.core.impl.heuristic.thread.ApplyStepOperation;
 import org.optaplanner.core.impl.heuristic.thread.DestroyOperation;
-import org.optaplanner.core.impl.heuristic.thread.MoveEvaluationOperation;
-import org.optaplanner.core.impl.heuristic.thread.MoveThreadOperation;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadCountTuner;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadOperationQueue;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadPool;
 import org.optaplanner.core.impl.heuristic.thread.MoveThreadRunner;
 import org.optaplanner.core.impl.heuristic.thread.OrderByMoveIndexBlockingQueue;
 import org.optaplanner.core.impl.heuristic.thread.SetupOperation;
@@ -45,7 +46,6 @@ import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.solver.termination.Termination;
-import org.optaplanner.core.impl.solver.thread.ThreadUtils;
 
 /**
  * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
@@ -55,24 +55,43 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
     protected final ThreadFactory threadFactory;
     protected final int moveThreadCount;
     protected final int selectedMoveBufferSize;
+    protected final int moveThreadBatchSize;
 
     protected boolean assertStepScoreFromScratch = false;
     protected boolean assertExpectedStepScore = false;
     protected boolean assertShadowVariablesAreNotStaleAfterStep = false;
+    protected boolean moveThreadCountAdaptive = false;
+    protected int speculativeStepCountLimit = 0;
 
-    protected BlockingQueue<MoveThreadOperation<Solution_>> operationQueue;
+    protected MoveThreadOperationQueue<Solution_> operationQueue;
     protected OrderByMoveIndexBlockingQueue<Solution_> resultQueue;
-    protected CyclicBarrier moveThreadBarrier;
-    protected ExecutorService executor;
+    protected MoveThreadPool<Solution_> moveThreadPool;
     protected List<MoveThreadRunner<Solution_, ?>> moveThreadRunnerList;
+    protected long lastStepWorkingSolutionRevision;
+    protected MoveThreadCountTuner moveThreadCountTuner;
+    protected int activeMoveThreadCount;
+    /**
+     * The selected moves of the current step, if the solver thread evaluates them itself.
+     */
+    protected Deque<Move<Solution_>> solverThreadMoveDeque;
+    /**
+     * The accepted moves of the current step, in moveIndex order.
+     */
+    protected List<LocalSearchMoveScope<Solution_>> acceptedMoveScopeList;
+    /**
+     * Accepted moves of an earlier step that don't touch the planning entities and planning values
+     * of the steps since then, nor each other. They are tried as the next steps, before selecting new moves.
+     */
+    protected Deque<Move<Solution_>> speculativeMoveDeque;
 
     public MultiThreadedLocalSearchDecider(String logIndentation, Termination<Solution_> termination,
             MoveSelector<Solution_> moveSelector, Acceptor<Solution_> acceptor, LocalSearchForager<Solution_> forager,
-            ThreadFactory threadFactory, int moveThreadCount, int selectedMoveBufferSize) {
+            ThreadFactory threadFactory, int moveThreadCount, int selectedMoveBufferSize, int moveThreadBatchSize) {
         super(logIndentation, termination, moveSelector, acceptor, forager);
         this.threadFactory = threadFactory;
         this.moveThreadCount = moveThreadCount;
         this.selectedMoveBufferSize = selectedMoveBufferSize;
+        this.moveThreadBatchSize = moveThreadBatchSize;
     }
 
     public void setAssertStepScoreFromScratch(boolean assertStepScoreFromScratch) {
@@ -87,41 +106,102 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
         this.assertShadowVariablesAreNotStaleAfterStep = assertShadowVariablesAreNotStaleAfterStep;
     }
 
+    public void setMoveThreadCountAdaptive(boolean moveThreadCountAdaptive) {
+        this.moveThreadCountAdaptive = moveThreadCountAdaptive;
+    }
+
+    public void setSpeculativeStepCountLimit(int speculativeStepCountLimit) {
+        this.speculativeStepCountLimit = speculativeStepCountLimit;
+    }
+
     @Override
     public void phaseStarted(LocalSearchPhaseScope<Solution_> phaseScope) {
         super.phaseStarted(phaseScope);
-        // Capacity: number of moves in circulation + number of setup xor step operations + number of destroy operations
-        operationQueue = new ArrayBlockingQueue<>(selectedMoveBufferSize + moveThreadCount + moveThreadCount);
-        // Capacity: number of moves in circulation + number of exception handling results
-        resultQueue = new OrderByMoveIndexBlockingQueue<>(selectedMoveBufferSize + moveThreadCount);
-        moveThreadBarrier = new CyclicBarrier(moveThreadCount);
+        startMoveThreads(phaseScope, 0);
+        activeMoveThreadCount = moveThreadCount;
+        if (moveThreadCountAdaptive) {
+            moveThreadCountTuner = new MoveThreadCountTuner(logIndentation, moveThreadCount);
+            solverThreadMoveDeque = new ArrayDeque<>(selectedMoveBufferSize);
+        }
+        if (speculativeStepCountLimit > 0) {
+            acceptedMoveScopeList = new ArrayList<>();
+            speculativeMoveDeque = new ArrayDeque<>(speculativeStepCountLimit);
+        }
+    }
+
+    private void startMoveThreads(LocalSearchPhaseScope<Solution_> phaseScope, int stepIndex) {
+        // The move evaluation operations in circulation (at most 1 per move) are spread round-robin
+        // over the active move threads, which can be just 1 if the moveThreadCount is adaptive
+        int moveThreadShare = moveThreadCountAdaptive ? selectedMoveBufferSize
+                : (selectedMoveBufferSize + moveThreadCount - 1) / moveThreadCount;
+        // Capacity per move thread: share of the moves in circulation of this step and of the cancelled previous step
+        // + setup xor step operation + destroy operation
+        operationQueue = new MoveThreadOperationQueue<>(moveThreadCount, moveThreadBatchSize,
+                moveThreadShare + moveThreadShare + 2);
+        // Capacity: number of moves in circulation + number of moves in a cancelled batch
+        // + number of exception handling results
+        resultQueue = new OrderByMoveIndexBlockingQueue<>(moveThreadCount,
+                selectedMoveBufferSize + moveThreadBatchSize + moveThreadCount);
         InnerScoreDirector<Solution_, ?> scoreDirector = phaseScope.getScoreDirector();
-        executor = createThreadPoolExecutor();
+        moveThreadPool = phaseScope.getSolverScope().getMoveThreadPool(moveThreadCount, threadFactory);
         moveThreadRunnerList = new ArrayList<>(moveThreadCount);
         for (int moveThreadIndex = 0; moveThreadIndex < moveThreadCount; moveThreadIndex++) {
             MoveThreadRunner<Solution_, ?> moveThreadRunner = new MoveThreadRunner<>(
                     logIndentation, moveThreadIndex, true,
-                    operationQueue, resultQueue, moveThreadBarrier,
+                    operationQueue, resultQueue, moveThreadPool,
                     assertMoveScoreFromScratch, assertExpectedUndoMoveScore,
                     assertStepScoreFromScratch, assertExpectedStepScore, assertShadowVariablesAreNotStaleAfterStep);
             moveThreadRunnerList.add(moveThreadRunner);
-            executor.submit(moveThreadRunner);
-            operationQueue.add(new SetupOperation<>(scoreDirector));
         }
+        moveThreadPool.startMoveThreads(scoreDirector, moveThreadRunnerList);
+        operationQueue.addToEveryMoveThread(new SetupOperation<>(scoreDirector, stepIndex));
+        lastStepWorkingSolutionRevision = scoreDirector.getWorkingSolutionRevision();
+    }
+
+    @Override
+    public void stepEnded(LocalSearchStepScope<Solution_> stepScope) {
+        super.stepEnded(stepScope);
+        // Every move thread has been told to apply this step too
+        lastStepWorkingSolutionRevision = stepScope.getScoreDirector().getWorkingSolutionRevision();
     }
 
     @Override
     public void phaseEnded(LocalSearchPhaseScope<Solution_> phaseScope) {
         super.phaseEnded(phaseScope);
+        stopMoveThreads(phaseScope);
+        moveThreadCountTuner = null;
+        solverThreadMoveDeque = null;
+        acceptedMoveScopeList = null;
+        speculativeMoveDeque = null;
+    }
+
+    /**
+     * The move threads work on a clone of the working solution, so they stop before and start again after the changes:
+     * their child score directors, which the {@link MoveThreadPool} keeps, get a clone of the changed working solution
+     * during the setup.
+     * The {@link MoveThreadCountTuner} keeps its findings.
+     *
+     * @param phaseScope never null
+     */
+    @Override
+    public void problemFactsChanged(LocalSearchPhaseScope<Solution_> phaseScope) {
+        super.problemFactsChanged(phaseScope);
+        stopMoveThreads(phaseScope);
+        startMoveThreads(phaseScope, phaseScope.getNextStepIndex());
+        if (speculativeStepCountLimit > 0) {
+            // Their scores don't take the problem fact changes into account
+            acceptedMoveScopeList.clear();
+            speculativeMoveDeque.clear();
+        }
+    }
+
+    private void stopMoveThreads(LocalSearchPhaseScope<Solution_> phaseScope) {
         // Tell the move thread runners to stop
-        // Don't clear the operationsQueue to avoid moveThreadBarrier deadlock:
-        // The MoveEvaluationOperations are already cleared and the new ApplyStepOperation isn't added yet.
-        DestroyOperation<Solution_> destroyOperation = new DestroyOperation<>();
-        for (int i = 0; i < moveThreadCount; i++) {
-            operationQueue.add(destroyOperation);
-        }
-        // TODO This should probably be in a finally that spans at least the entire phase, maybe even the entire solve
-        ThreadUtils.shutdownAwaitOrKill(executor, logIndentation, "Multithreaded Local Search");
+        // The MoveEvaluationOperations are already cancelled and the new ApplyStepOperation isn't added yet.
+        operationQueue.addToEveryMoveThread(new DestroyOperation<>());
+        // The move threads stay alive for the next phase, the moveThreadPool is closed when the solver ends
+        moveThreadPool.awaitMoveThreads(phaseScope.getScoreDirector(), lastStepWorkingSolutionRevision,
+                logIndentation, "Multithreaded Local Search");
         long childThreadsScoreCalculationCount = 0;
         for (MoveThreadRunner<Solution_, ?> moveThreadRunner : moveThreadRunnerList) {
             childThreadsScoreCalculationCount += moveThreadRunner.getCalculationCount();
@@ -129,73 +209,215 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
         phaseScope.addChildThreadsScoreCalculationCount(childThreadsScoreCalculationCount);
         operationQueue = null;
         resultQueue = null;
+        moveThreadPool = null;
         moveThreadRunnerList = null;
     }
 
-    protected ExecutorService createThreadPoolExecutor() {
-        ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(moveThreadCount,
-                threadFactory);
-        if (threadPoolExecutor.getMaximumPoolSize() < moveThreadCount) {
-            throw new IllegalStateException(
-                    "The threadPoolExecutor's maximumPoolSize (" + threadPoolExecutor.getMaximumPoolSize()
-                            + ") is less than the moveThreadCount (" + moveThreadCount + "), this is unsupported.");
-        }
-        return threadPoolExecutor;
-    }
-
     @Override
     public void decideNextStep(LocalSearchStepScope<Solution_> stepScope) {
         int stepIndex = stepScope.getStepIndex();
         resultQueue.startNextStep(stepIndex);
-
+        long stepStartNanos = System.nanoTime();
+        boolean solverThreadEvaluation = startMoveEvaluations(stepScope);
         int selectingMoveIndex = 0;
         int foragingMoveIndex = 0;
-        Iterator<Move<Solution_>> moveIterator = moveSelector.iterator();
+        // The speculative moves are evaluated again first, like selected moves, because the steps since then
+        // outdated their scores. The forager picks the step among the accepted ones, as usual.
+        boolean speculative = false;
+        if (speculativeStepCountLimit > 0) {
+            acceptedMoveScopeList.clear();
+            speculative = !speculativeMoveDeque.isEmpty();
+        }
+        Iterator<Move<Solution_>> moveIterator = speculative ? speculativeMoveDeque.iterator() : moveSelector.iterator();
         do {
+            if (speculative && foragingMoveIndex == selectingMoveIndex && !moveIterator.hasNext()) {
+                if (!acceptedMoveScopeList.isEmpty()) {
+                    break;
+                }
+                // No speculative move is accepted, so select new moves, continuing the moveIndex of this step
+                speculative = false;
+                speculativeMoveDeque.clear();
+                moveIterator = moveSelector.iterator();
+            }
             boolean moveIteratorEmpty = !moveIterator.hasNext();
             // First fill the buffer so move evaluation can run freely in parallel
             // For reproducibility, the selectedMoveBufferSize always need to be entirely selected,
             // even if some of those moves won't end up being evaluated or foraged
-            if (selectingMoveIndex >= selectedMoveBufferSize || moveIteratorEmpty) {
-                if (forageResult(stepScope, stepIndex)) {
+            if (selectingMoveIndex - foragingMoveIndex >= selectedMoveBufferSize || moveIteratorEmpty) {
+                operationQueue.ensureMoveEvaluationAdded(foragingMoveIndex);
+                boolean quit = forageResult(stepScope, stepIndex, foragingMoveIndex, solverThreadEvaluation);
+                foragingMoveIndex++;
+                if (quit) {
                     break;
                 }
-                foragingMoveIndex++;
             }
             if (!moveIteratorEmpty) {
                 Move<Solution_> selectingMove = moveIterator.next();
-                operationQueue.add(new MoveEvaluationOperation<>(stepIndex, selectingMoveIndex, selectingMove));
+                if (solverThreadEvaluation) {
+                    solverThreadMoveDeque.add(selectingMove);
+                } else {
+                    operationQueue.addMoveEvaluation(stepIndex, selectingMoveIndex, selectingMove);
+                }
                 selectingMoveIndex++;
             }
-        } while (foragingMoveIndex < selectingMoveIndex);
+        } while (speculative || foragingMoveIndex < selectingMoveIndex);
 
         // Do not evaluate the remaining selected moves for this step that haven't started evaluation yet
-        operationQueue.clear();
+        operationQueue.cancelMoveEvaluations(stepIndex);
+        endMoveEvaluations(stepScope, solverThreadEvaluation, System.nanoTime() - stepStartNanos, foragingMoveIndex);
         pickMove(stepScope);
+        if (speculative) {
+            keepSpeculativeMoves(stepScope, foragingMoveIndex);
+        } else if (speculativeStepCountLimit > 0) {
+            collectSpeculativeMoves(stepScope);
+        }
+        addApplyStep(stepScope, stepIndex);
+    }
+
+    private void collectSpeculativeMoves(LocalSearchStepScope<Solution_> stepScope) {
+        speculativeMoveDeque.clear();
+        Move<Solution_> step = stepScope.getStep();
+        if (step == null) {
+            return;
+        }
+        Set<Object> touchedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (!addTouched(touchedSet, step)) {
+            return;
+        }
+        for (LocalSearchMoveScope<Solution_> moveScope : acceptedMoveScopeList) {
+            if (speculativeMoveDeque.size() >= speculativeStepCountLimit) {
+                break;
+            }
+            Move<Solution_> move = moveScope.getMove();
+            if (move != step && addTouched(touchedSet, move)) {
+                speculativeMoveDeque.add(move);
+            }
+        }
+        acceptedMoveScopeList.clear();
+    }
+
+    /**
+     * Keeps the accepted speculative moves that aren't the step and the speculative moves that weren't foraged
+     * for the next steps. None of them touch the step.
+     *
+     * @param stepScope never null
+     * @param foragedMoveCount the number of speculative moves foraged in this step
+     */
+    private void keepSpeculativeMoves(LocalSearchStepScope<Solution_> stepScope, int foragedMoveCount) {
+        for (int i = 0; i < foragedMoveCount; i++) {
+            speculativeMoveDeque.poll();
+        }
+        Move<Solution_> step = stepScope.getStep();
+        // In reverse, so they stay in moveIndex order before the moves that weren't foraged
+        for (int i = acceptedMoveScopeList.size() - 1; i >= 0; i--) {
+            Move<Solution_> move = acceptedMoveScopeList.get(i).getMove();
+            if (move != step) {
+                speculativeMoveDeque.addFirst(move);
+            }
+        }
+        acceptedMoveScopeList.clear();
+    }
+
+    /**
+     * @param touchedSet never null
+     * @param move never null
+     * @return false if the move touches a planning entity or planning value in the touchedSet,
+     *         or if it doesn't tell which ones it touches, in which case the touchedSet is unchanged
+     */
+    private boolean addTouched(Set<Object> touchedSet, Move<Solution_> move) {
+        Collection<?> planningEntities;
+        Collection<?> planningValues;
+        try {
+            planningEntities = move.getPlanningEntities();
+            planningValues = move.getPlanningValues();
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+        for (Object planningEntity : planningEntities) {
+            if (touchedSet.contains(planningEntity)) {
+                return false;
+            }
+        }
+        for (Object planningValue : planningValues) {
+            if (planningValue != null && touchedSet.contains(planningValue)) {
+                return false;
+            }
+        }
+        touchedSet.addAll(planningEntities);
+        for (Object planningValue : planningValues) {
+            if (planningValue != null) {
+                touchedSet.add(planningValue);
+            }
+        }
+        return true;
+    }
+
+    private void addApplyStep(LocalSearchStepScope<Solution_> stepScope, int stepIndex) {
         // Start doing the step on every move thread. Don't wait for the stepEnded() event.
         if (stepScope.getStep() != null) {
             // Increase stepIndex by 1, because it's a preliminary action
             ApplyStepOperation<Solution_, ?> stepOperation = new ApplyStepOperation<>(stepIndex + 1,
                     stepScope.getStep(), (Score) stepScope.getScore());
-            for (int i = 0; i < moveThreadCount; i++) {
-                operationQueue.add(stepOperation);
+            try {
+                operationQueue.addApplyStep(stepOperation);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
     }
 
-    private boolean forageResult(LocalSearchStepScope<Solution_> stepScope, int stepIndex) {
-        OrderByMoveIndexBlockingQueue.MoveResult<Solution_> result;
-        try {
-            result = resultQueue.take();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    /**
+     * @param stepScope never null
+     * @return true if the solver thread evaluates the moves of this step itself
+     */
+    private boolean startMoveEvaluations(LocalSearchStepScope<Solution_> stepScope) {
+        if (moveThreadCountTuner == null) {
+            return false;
+        }
+        int tunedMoveThreadCount = moveThreadCountTuner.getActiveMoveThreadCount();
+        if (tunedMoveThreadCount == 0) {
+            stepScope.getScoreDirector().setAllChangesWillBeUndoneBeforeStepEnds(true);
             return true;
         }
-        if (stepIndex != result.getStepIndex()) {
-            throw new IllegalStateException("Impossible situation: the solverThread's stepIndex (" + stepIndex
-                    + ") differs from the result's stepIndex (" + result.getStepIndex() + ").");
+        if (tunedMoveThreadCount != activeMoveThreadCount) {
+            operationQueue.setActiveMoveThreadCount(tunedMoveThreadCount);
+            activeMoveThreadCount = tunedMoveThreadCount;
+        }
+        return false;
+    }
+
+    private void endMoveEvaluations(LocalSearchStepScope<Solution_> stepScope, boolean solverThreadEvaluation,
+            long stepNanos, int foragedMoveCount) {
+        if (moveThreadCountTuner == null) {
+            return;
+        }
+        if (solverThreadEvaluation) {
+            stepScope.getScoreDirector().setAllChangesWillBeUndoneBeforeStepEnds(false);
+            solverThreadMoveDeque.clear();
+        }
+        moveThreadCountTuner.stepDecided(stepNanos, foragedMoveCount);
+    }
+
+    private boolean forageResult(LocalSearchStepScope<Solution_> stepScope, int stepIndex, int moveIndex,
+            boolean solverThreadEvaluation) {
+        OrderByMoveIndexBlockingQueue.MoveResult<Solution_> result;
+        Move<Solution_> foragingMove;
+        if (solverThreadEvaluation) {
+            result = evaluateOnSolverThread(stepScope, stepIndex, moveIndex);
+            foragingMove = result.getMove();
+        } else {
+            try {
+                result = resultQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+            if (stepIndex != result.getStepIndex()) {
+                throw new IllegalStateException("Impossible situation: the solverThread's stepIndex (" + stepIndex
+                        + ") differs from the result's stepIndex (" + result.getStepIndex() + ").");
+            }
+            foragingMove = result.getMove().rebase(stepScope.getScoreDirector());
         }
-        Move<Solution_> foragingMove = result.getMove().rebase(stepScope.getScoreDirector());
         int foragingMoveIndex = result.getMoveIndex();
         LocalSearchMoveScope<Solution_> moveScope = new LocalSearchMoveScope<>(stepScope, foragingMoveIndex, foragingMove);
         if (!result.isMoveDoable()) {
@@ -210,6 +432,9 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
                     foragingMoveIndex, moveScope.getScore(), moveScope.getAccepted(),
                     foragingMove);
             forager.addMove(moveScope);
+            if (accepted && speculativeStepCountLimit > 0) {
+                acceptedMoveScopeList.add(moveScope);
+            }
             if (forager.isQuitEarly()) {
                 return true;
             }
@@ -221,4 +446,23 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
         return false;
     }
 
+    /**
+     * Evaluates the next selected move like a move thread would, but on the solver thread.
+     * There's no need to rebase the move, because it was selected on the solver thread's working solution.
+     */
+    private <Score_ extends Score<Score_>> OrderByMoveIndexBlockingQueue.MoveResult<Solution_>
+            evaluateOnSolverThread(LocalSearchStepScope<Solution_> stepScope, int stepIndex, int moveIndex) {
+        InnerScoreDirector<Solution_, Score_> scoreDirector = stepScope.getScoreDirector();
+        Move<Solution_> move = solverThreadMoveDeque.poll();
+        if (!move.isMoveDoable(scoreDirector)) {
+            return new OrderByMoveIndexBlockingQueue.MoveResult<>(-1, stepIndex, moveIndex, move, false, null);
+        }
+        Score_ score = scoreDirector.doAndProcessMove(move, assertMoveScoreFromScratch);
+        if (assertExpectedUndoMoveScore) {
+            scoreDirector.assertExpectedUndoMoveScore(move,
+                    (Score_) stepScope.getPhaseScope().getLastCompletedStepScope().getScore());
+        }
+        return new OrderByMoveIndexBlockingQueue.MoveResult<>(-1, stepIndex, moveIndex, move, true, score);
+    }
+
 }
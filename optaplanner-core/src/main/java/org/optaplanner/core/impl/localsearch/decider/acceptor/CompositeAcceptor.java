@@ -91,6 +91,13 @@ public class CompositeAcceptor<Solution_> extends AbstractAcceptor<Solution_> {
         }
     }
 
+    @Override
+    public void problemFactsChanged(LocalSearchPhaseScope<Solution_> phaseScope) {
+        for (Acceptor<Solution_> acceptor : acceptorList) {
+            acceptor.problemFactsChanged(phaseScope);
+        }
+    }
+
     @Override
     public void solvingEnded(SolverScope<Solution_> solverScope) {
         for (Acceptor<Solution_> acceptor : acceptorList) {
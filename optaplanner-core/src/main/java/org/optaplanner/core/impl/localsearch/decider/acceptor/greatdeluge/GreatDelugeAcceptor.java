@@ -60,7 +60,18 @@ public class GreatDelugeAcceptor<Solution_> extends AbstractAcceptor<Solution_>
     @Override
     public void phaseStarted(LocalSearchPhaseScope<Solution_> phaseScope) {
         super.phaseStarted(phaseScope);
-        startingWaterLevel = initialWaterLevel != null ? initialWaterLevel : phaseScope.getBestScore();
+        resetWaterLevel(phaseScope.getBestScore());
+    }
+
+    @Override
+    public void problemFactsChanged(LocalSearchPhaseScope<Solution_> phaseScope) {
+        super.problemFactsChanged(phaseScope);
+        // The water level rose with the scores of the old problem
+        resetWaterLevel(phaseScope.getLastCompletedStepScope().getScore());
+    }
+
+    private void resetWaterLevel(Score initialScore) {
+        startingWaterLevel = initialWaterLevel != null ? initialWaterLevel : initialScore;
         if (waterLevelIncrementRatio != null) {
             currentWaterLevelRatio = 0.0;
         }
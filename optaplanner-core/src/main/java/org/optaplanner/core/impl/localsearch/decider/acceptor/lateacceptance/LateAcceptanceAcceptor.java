@@ -16,6 +16,8 @@
 
 package org.optaplanner.core.impl.localsearch.decider.acceptor.lateacceptance;
 
+import java.util.Arrays;
+
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.localsearch.decider.acceptor.AbstractAcceptor;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
@@ -54,6 +56,14 @@ public class LateAcceptanceAcceptor<Solution_> extends AbstractAcceptor<Solution
         lateScoreIndex = 0;
     }
 
+    @Override
+    public void problemFactsChanged(LocalSearchPhaseScope<Solution_> phaseScope) {
+        super.problemFactsChanged(phaseScope);
+        // The previous scores are scores of the old problem
+        Arrays.fill(previousScores, phaseScope.getLastCompletedStepScope().getScore());
+        lateScoreIndex = 0;
+    }
+
     private void validate() {
         if (lateAcceptanceSize <= 0) {
             throw new IllegalArgumentException("The lateAcceptanceSize (" + lateAcceptanceSize
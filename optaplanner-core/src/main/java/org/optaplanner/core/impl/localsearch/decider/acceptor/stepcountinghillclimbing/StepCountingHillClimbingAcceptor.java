@@ -56,6 +56,14 @@ public class StepCountingHillClimbingAcceptor<Solution_> extends AbstractAccepto
         count = 0;
     }
 
+    @Override
+    public void problemFactsChanged(LocalSearchPhaseScope<Solution_> phaseScope) {
+        super.problemFactsChanged(phaseScope);
+        // The threshold score is a score of the old problem
+        thresholdScore = phaseScope.getLastCompletedStepScope().getScore();
+        count = 0;
+    }
+
     @Override
     public boolean isAccepted(LocalSearchMoveScope<Solution_> moveScope) {
         Score lastStepScore = moveScope.getStepScope().getPhaseScope().getLastCompletedStepScope().getScore();
@@ -88,6 +88,14 @@ public abstract class AbstractTabuAcceptor<Solution_> extends AbstractAcceptor<S
         tabuSequenceDeque = new ArrayDeque<>();
     }
 
+    @Override
+    public void problemFactsChanged(LocalSearchPhaseScope<Solution_> phaseScope) {
+        super.problemFactsChanged(phaseScope);
+        // The tabus can be removed or changed by the problem fact changes
+        tabuToStepIndexMap.clear();
+        tabuSequenceDeque.clear();
+    }
+
     @Override
     public void phaseEnded(LocalSearchPhaseScope<Solution_> phaseScope) {
         super.phaseEnded(phaseScope);
@@ -148,6 +148,14 @@ public class AcceptedLocalSearchForager<Solution_> extends AbstractLocalSearchFo
         finalistPodium.stepEnded(stepScope);
     }
 
+    @Override
+    public void problemFactsChanged(LocalSearchPhaseScope<Solution_> phaseScope) {
+        super.problemFactsChanged(phaseScope);
+        finalistPodium.problemFactsChanged(phaseScope);
+        // The early picked move belongs to the old problem
+        earlyPickedMoveScope = null;
+    }
+
     @Override
     public void phaseEnded(LocalSearchPhaseScope<Solution_> phaseScope) {
         super.phaseEnded(phaseScope);
@@ -66,6 +66,14 @@ public abstract class AbstractFinalistPodium<Solution_> extends LocalSearchPhase
         return finalistList;
     }
 
+    @Override
+    public void problemFactsChanged(LocalSearchPhaseScope<Solution_> phaseScope) {
+        super.problemFactsChanged(phaseScope);
+        // The finalists are moves of the old problem
+        finalistIsAccepted = false;
+        finalistList = null;
+    }
+
     @Override
     public void phaseEnded(LocalSearchPhaseScope<Solution_> phaseScope) {
         super.phaseEnded(phaseScope);
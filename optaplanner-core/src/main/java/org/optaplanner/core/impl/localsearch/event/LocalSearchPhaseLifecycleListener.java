@@ -35,4 +35,16 @@ public interface LocalSearchPhaseLifecycleListener<Solution_> extends SolverLife
 
     void phaseEnded(LocalSearchPhaseScope<Solution_> phaseScope);
 
+    /**
+     * Called between 2 steps, after problem fact changes have been applied to the working solution
+     * without restarting the phase.
+     * The score of the {@link LocalSearchPhaseScope#getLastCompletedStepScope() last completed step}
+     * is already the score of the changed working solution.
+     * Does nothing by default.
+     *
+     * @param phaseScope never null
+     */
+    default void problemFactsChanged(LocalSearchPhaseScope<Solution_> phaseScope) {
+    }
+
 }
@@ -91,6 +91,7 @@ public class PartitionSolver<Solution_> extends AbstractSolver<Solution_> {
             solvingEnded(solverScope);
             return solverScope.getBestSolution();
         } finally {
+            solverScope.closeMoveThreadPool();
             solverScope.destroyYielding();
         }
     }
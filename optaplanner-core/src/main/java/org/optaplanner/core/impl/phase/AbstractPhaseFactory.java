@@ -36,8 +36,8 @@ public abstract class AbstractPhaseFactory<Solution_, PhaseConfig_ extends Phase
             Termination<Solution_> solverTermination) {
         TerminationConfig terminationConfig_ = phaseConfig.getTerminationConfig() == null ? new TerminationConfig()
                 : phaseConfig.getTerminationConfig();
-        // In case of childThread PART_THREAD, the solverTermination is actually the parent phase's phaseTermination
-        // with the bridge removed, so it's ok to add it again
+        // In case of childThread PART_THREAD or ISLAND_THREAD, the solverTermination is actually
+        // the parent phase's phaseTermination with the bridge removed, so it's ok to add it again
         Termination<Solution_> phaseTermination = new PhaseToSolverTerminationBridge<>(solverTermination);
         return TerminationFactory.<Solution_> create(terminationConfig_)
                 .buildTermination(configPolicy, phaseTermination);
@@ -35,4 +35,14 @@ public interface PhaseLifecycleListener<Solution_> extends SolverLifecycleListen
 
     void phaseEnded(AbstractPhaseScope<Solution_> phaseScope);
 
+    /**
+     * Called between 2 steps, after problem fact changes have been applied to the working solution
+     * without restarting the phase.
+     * Does nothing by default.
+     *
+     * @param phaseScope never null
+     */
+    default void problemFactsChanged(AbstractPhaseScope<Solution_> phaseScope) {
+    }
+
 }
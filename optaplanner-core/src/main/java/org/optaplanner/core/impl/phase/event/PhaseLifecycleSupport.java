@@ -56,6 +56,12 @@ public class PhaseLifecycleSupport<Solution_> extends AbstractEventSupport<Phase
         }
     }
 
+    public void fireProblemFactsChanged(AbstractPhaseScope<Solution_> phaseScope) {
+        for (PhaseLifecycleListener<Solution_> phaseLifecycleListener : eventListenerSet) {
+            phaseLifecycleListener.problemFactsChanged(phaseScope);
+        }
+    }
+
     public void fireSolvingEnded(SolverScope<Solution_> solverScope) {
         for (PhaseLifecycleListener<Solution_> phaseLifecycleListener : eventListenerSet) {
             phaseLifecycleListener.solvingEnded(solverScope);
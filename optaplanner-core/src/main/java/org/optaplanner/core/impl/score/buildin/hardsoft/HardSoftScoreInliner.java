@@ -20,8 +20,9 @@ import java.util.function.Consumer;
 
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
-import org.optaplanner.core.impl.score.inliner.IntWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.IntReversibleWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.ScoreInliner;
+import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
 
 public class HardSoftScoreInliner extends ScoreInliner<HardSoftScore> {
 
@@ -33,46 +34,12 @@ public class HardSoftScoreInliner extends ScoreInliner<HardSoftScore> {
     }
 
     @Override
-    public IntWeightedScoreImpacter buildWeightedScoreImpacter(HardSoftScore constraintWeight) {
+    public IntReversibleWeightedScoreImpacter buildWeightedScoreImpacter(HardSoftScore constraintWeight) {
         if (constraintWeight.equals(HardSoftScore.ZERO)) {
             throw new IllegalArgumentException("The constraintWeight (" + constraintWeight + ") cannot be zero,"
                     + " this constraint should have been culled during node creation.");
         }
-        int hardConstraintWeight = constraintWeight.getHardScore();
-        int softConstraintWeight = constraintWeight.getSoftScore();
-        if (softConstraintWeight == 0) {
-            return (int matchWeight, Consumer<Score<?>> matchScoreConsumer) -> {
-                int hardImpact = hardConstraintWeight * matchWeight;
-                this.hardScore += hardImpact;
-                if (constraintMatchEnabled) {
-                    matchScoreConsumer.accept(HardSoftScore.ofHard(hardImpact));
-                }
-                return () -> this.hardScore -= hardImpact;
-            };
-        } else if (hardConstraintWeight == 0) {
-            return (int matchWeight, Consumer<Score<?>> matchScoreConsumer) -> {
-                int softImpact = softConstraintWeight * matchWeight;
-                this.softScore += softImpact;
-                if (constraintMatchEnabled) {
-                    matchScoreConsumer.accept(HardSoftScore.ofSoft(softImpact));
-                }
-                return () -> this.softScore -= softImpact;
-            };
-        } else {
-            return (int matchWeight, Consumer<Score<?>> matchScoreConsumer) -> {
-                int hardImpact = hardConstraintWeight * matchWeight;
-                int softImpact = softConstraintWeight * matchWeight;
-                this.hardScore += hardImpact;
-                this.softScore += softImpact;
-                if (constraintMatchEnabled) {
-                    matchScoreConsumer.accept(HardSoftScore.of(hardImpact, softImpact));
-                }
-                return () -> {
-                    this.hardScore -= hardImpact;
-                    this.softScore -= softImpact;
-                };
-            };
-        }
+        return new HardSoftWeightedScoreImpacter(constraintWeight.getHardScore(), constraintWeight.getSoftScore());
     }
 
     @Override
@@ -85,4 +52,37 @@ public class HardSoftScoreInliner extends ScoreInliner<HardSoftScore> {
         return HardSoftScore.class.getSimpleName() + " inliner";
     }
 
+    private final class HardSoftWeightedScoreImpacter implements IntReversibleWeightedScoreImpacter {
+
+        private final int hardConstraintWeight;
+        private final int softConstraintWeight;
+
+        private HardSoftWeightedScoreImpacter(int hardConstraintWeight, int softConstraintWeight) {
+            this.hardConstraintWeight = hardConstraintWeight;
+            this.softConstraintWeight = softConstraintWeight;
+        }
+
+        @Override
+        public UndoScoreImpacter impactScore(int matchWeight, Consumer<Score<?>> matchScoreConsumer) {
+            int hardImpact = hardConstraintWeight * matchWeight;
+            int softImpact = softConstraintWeight * matchWeight;
+            hardScore += hardImpact;
+            softScore += softImpact;
+            if (constraintMatchEnabled) {
+                matchScoreConsumer.accept(HardSoftScore.of(hardImpact, softImpact));
+            }
+            return () -> {
+                hardScore -= hardImpact;
+                softScore -= softImpact;
+            };
+        }
+
+        @Override
+        public void impactScore(int matchWeight) {
+            hardScore += hardConstraintWeight * matchWeight;
+            softScore += softConstraintWeight * matchWeight;
+        }
+
+    }
+
 }
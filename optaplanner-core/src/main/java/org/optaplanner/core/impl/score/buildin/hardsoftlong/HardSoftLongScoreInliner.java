@@ -20,8 +20,9 @@ import java.util.function.Consumer;
 
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
-import org.optaplanner.core.impl.score.inliner.LongWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.LongReversibleWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.ScoreInliner;
+import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
 
 public class HardSoftLongScoreInliner extends ScoreInliner<HardSoftLongScore> {
 
@@ -33,46 +34,12 @@ public class HardSoftLongScoreInliner extends ScoreInliner<HardSoftLongScore> {
     }
 
     @Override
-    public LongWeightedScoreImpacter buildWeightedScoreImpacter(HardSoftLongScore constraintWeight) {
+    public LongReversibleWeightedScoreImpacter buildWeightedScoreImpacter(HardSoftLongScore constraintWeight) {
         if (constraintWeight.equals(HardSoftLongScore.ZERO)) {
             throw new IllegalArgumentException("The constraintWeight (" + constraintWeight + ") cannot be zero,"
                     + " this constraint should have been culled during node creation.");
         }
-        long hardConstraintWeight = constraintWeight.getHardScore();
-        long softConstraintWeight = constraintWeight.getSoftScore();
-        if (softConstraintWeight == 0L) {
-            return (long matchWeight, Consumer<Score<?>> matchScoreConsumer) -> {
-                long hardImpact = hardConstraintWeight * matchWeight;
-                this.hardScore += hardImpact;
-                if (constraintMatchEnabled) {
-                    matchScoreConsumer.accept(HardSoftLongScore.ofHard(hardImpact));
-                }
-                return () -> this.hardScore -= hardImpact;
-            };
-        } else if (hardConstraintWeight == 0L) {
-            return (long matchWeight, Consumer<Score<?>> matchScoreConsumer) -> {
-                long softImpact = softConstraintWeight * matchWeight;
-                this.softScore += softImpact;
-                if (constraintMatchEnabled) {
-                    matchScoreConsumer.accept(HardSoftLongScore.ofSoft(softImpact));
-                }
-                return () -> this.softScore -= softImpact;
-            };
-        } else {
-            return (long matchWeight, Consumer<Score<?>> matchScoreConsumer) -> {
-                long hardImpact = hardConstraintWeight * matchWeight;
-                long softImpact = softConstraintWeight * matchWeight;
-                this.hardScore += hardImpact;
-                this.softScore += softImpact;
-                if (constraintMatchEnabled) {
-                    matchScoreConsumer.accept(HardSoftLongScore.of(hardImpact, softImpact));
-                }
-                return () -> {
-                    this.hardScore -= hardImpact;
-                    this.softScore -= softImpact;
-                };
-            };
-        }
+        return new HardSoftLongWeightedScoreImpacter(constraintWeight.getHardScore(), constraintWeight.getSoftScore());
     }
 
     @Override
@@ -85,4 +52,37 @@ public class HardSoftLongScoreInliner extends ScoreInliner<HardSoftLongScore> {
         return HardSoftLongScore.class.getSimpleName() + " inliner";
     }
 
+    private final class HardSoftLongWeightedScoreImpacter implements LongReversibleWeightedScoreImpacter {
+
+        private final long hardConstraintWeight;
+        private final long softConstraintWeight;
+
+        private HardSoftLongWeightedScoreImpacter(long hardConstraintWeight, long softConstraintWeight) {
+            this.hardConstraintWeight = hardConstraintWeight;
+            this.softConstraintWeight = softConstraintWeight;
+        }
+
+        @Override
+        public UndoScoreImpacter impactScore(long matchWeight, Consumer<Score<?>> matchScoreConsumer) {
+            long hardImpact = hardConstraintWeight * matchWeight;
+            long softImpact = softConstraintWeight * matchWeight;
+            hardScore += hardImpact;
+            softScore += softImpact;
+            if (constraintMatchEnabled) {
+                matchScoreConsumer.accept(HardSoftLongScore.of(hardImpact, softImpact));
+            }
+            return () -> {
+                hardScore -= hardImpact;
+                softScore -= softImpact;
+            };
+        }
+
+        @Override
+        public void impactScore(long matchWeight) {
+            hardScore += hardConstraintWeight * matchWeight;
+            softScore += softConstraintWeight * matchWeight;
+        }
+
+    }
+
 }
@@ -20,8 +20,9 @@ import java.util.function.Consumer;
 
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
-import org.optaplanner.core.impl.score.inliner.IntWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.IntReversibleWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.ScoreInliner;
+import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
 
 public class SimpleScoreInliner extends ScoreInliner<SimpleScore> {
 
@@ -32,20 +33,12 @@ public class SimpleScoreInliner extends ScoreInliner<SimpleScore> {
     }
 
     @Override
-    public IntWeightedScoreImpacter buildWeightedScoreImpacter(SimpleScore constraintWeight) {
+    public IntReversibleWeightedScoreImpacter buildWeightedScoreImpacter(SimpleScore constraintWeight) {
         if (constraintWeight.equals(SimpleScore.ZERO)) {
             throw new IllegalArgumentException("The constraintWeight (" + constraintWeight + ") cannot be zero,"
                     + " this constraint should have been culled during node creation.");
         }
-        int simpleConstraintWeight = constraintWeight.getScore();
-        return (int matchWeight, Consumer<Score<?>> matchScoreConsumer) -> {
-            int impact = simpleConstraintWeight * matchWeight;
-            this.score += impact;
-            if (constraintMatchEnabled) {
-                matchScoreConsumer.accept(SimpleScore.of(impact));
-            }
-            return () -> this.score -= impact;
-        };
+        return new SimpleWeightedScoreImpacter(constraintWeight.getScore());
     }
 
     @Override
@@ -58,4 +51,29 @@ public class SimpleScoreInliner extends ScoreInliner<SimpleScore> {
         return SimpleScore.class.getSimpleName() + " inliner";
     }
 
+    private final class SimpleWeightedScoreImpacter implements IntReversibleWeightedScoreImpacter {
+
+        private final int simpleConstraintWeight;
+
+        private SimpleWeightedScoreImpacter(int simpleConstraintWeight) {
+            this.simpleConstraintWeight = simpleConstraintWeight;
+        }
+
+        @Override
+        public UndoScoreImpacter impactScore(int matchWeight, Consumer<Score<?>> matchScoreConsumer) {
+            int impact = simpleConstraintWeight * matchWeight;
+            score += impact;
+            if (constraintMatchEnabled) {
+                matchScoreConsumer.accept(SimpleScore.of(impact));
+            }
+            return () -> score -= impact;
+        }
+
+        @Override
+        public void impactScore(int matchWeight) {
+            score += simpleConstraintWeight * matchWeight;
+        }
+
+    }
+
 }
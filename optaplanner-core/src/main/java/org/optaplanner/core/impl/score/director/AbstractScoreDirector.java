@@ -82,6 +82,7 @@ public abstract class AbstractScoreDirector<Solution_, Score_ extends Score<Scor
 
     protected Solution_ workingSolution;
     protected long workingEntityListRevision = 0L;
+    protected long workingSolutionRevision = 0L;
     protected Integer workingInitScore = null;
 
     protected boolean allChangesWillBeUndoneBeforeStepEnds = false;
@@ -138,6 +139,11 @@ public abstract class AbstractScoreDirector<Solution_, Score_ extends Score<Scor
         return workingEntityListRevision;
     }
 
+    @Override
+    public long getWorkingSolutionRevision() {
+        return workingSolutionRevision;
+    }
+
     public boolean isAllChangesWillBeUndoneBeforeStepEnds() {
         return allChangesWillBeUndoneBeforeStepEnds;
     }
@@ -178,6 +184,7 @@ public abstract class AbstractScoreDirector<Solution_, Score_ extends Score<Scor
         assertNonNullPlanningIds(allFacts);
         variableListenerSupport.resetWorkingSolution();
         setWorkingEntityListDirty();
+        workingSolutionRevision++;
     }
 
     @Override
@@ -314,12 +321,12 @@ public abstract class AbstractScoreDirector<Solution_, Score_ extends Score<Scor
 
     @Override
     public InnerScoreDirector<Solution_, Score_> createChildThreadScoreDirector(ChildThreadType childThreadType) {
-        if (childThreadType == ChildThreadType.PART_THREAD) {
+        if (childThreadType == ChildThreadType.PART_THREAD || childThreadType == ChildThreadType.ISLAND_THREAD) {
             AbstractScoreDirector<Solution_, Score_, Factory_> childThreadScoreDirector =
                     (AbstractScoreDirector<Solution_, Score_, Factory_>) scoreDirectorFactory
                             .buildScoreDirector(isLookUpEnabled(), constraintMatchEnabledPreference);
             // ScoreCalculationCountTermination takes into account previous phases
-            // but the calculationCount of partitions is maxed, not summed.
+            // but the calculationCount of partitions and islands is maxed, not summed.
             childThreadScoreDirector.calculationCount = calculationCount;
             return childThreadScoreDirector;
         } else if (childThreadType == ChildThreadType.MOVE_THREAD) {
@@ -396,6 +403,7 @@ public abstract class AbstractScoreDirector<Solution_, Score_ extends Score<Scor
         if (!allChangesWillBeUndoneBeforeStepEnds) {
             setWorkingEntityListDirty();
         }
+        workingSolutionRevision++;
     }
 
     @Override
@@ -412,6 +420,7 @@ public abstract class AbstractScoreDirector<Solution_, Score_ extends Score<Scor
             workingInitScore--;
         }
         variableListenerSupport.afterVariableChanged(variableDescriptor, entity);
+        workingSolutionRevision++;
     }
 
     @Override
@@ -434,6 +443,7 @@ public abstract class AbstractScoreDirector<Solution_, Score_ extends Score<Scor
         if (!allChangesWillBeUndoneBeforeStepEnds) {
             setWorkingEntityListDirty();
         }
+        workingSolutionRevision++;
     }
 
     // ************************************************************************
@@ -451,6 +461,7 @@ public abstract class AbstractScoreDirector<Solution_, Score_ extends Score<Scor
             lookUpManager.addWorkingObject(problemFact);
         }
         variableListenerSupport.resetWorkingSolution(); // TODO do not nuke the variable listeners
+        workingSolutionRevision++;
     }
 
     @Override
@@ -461,6 +472,7 @@ public abstract class AbstractScoreDirector<Solution_, Score_ extends Score<Scor
     @Override
     public void afterProblemPropertyChanged(Object problemFactOrEntity) {
         variableListenerSupport.resetWorkingSolution(); // TODO do not nuke the variable listeners
+        workingSolutionRevision++;
     }
 
     @Override
@@ -474,6 +486,7 @@ public abstract class AbstractScoreDirector<Solution_, Score_ extends Score<Scor
             lookUpManager.removeWorkingObject(problemFact);
         }
         variableListenerSupport.resetWorkingSolution(); // TODO do not nuke the variable listeners
+        workingSolutionRevision++;
     }
 
     @Override
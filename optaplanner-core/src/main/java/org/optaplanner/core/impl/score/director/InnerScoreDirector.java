@@ -112,6 +112,14 @@ public interface InnerScoreDirector<Solution_, Score_ extends Score<Score_>>
      */
     long getWorkingEntityListRevision();
 
+    /**
+     * Unlike {@link #getWorkingEntityListRevision()}, this also changes on every variable change
+     * and every problem fact change, even if that change is undone later on.
+     *
+     * @return used to check if the working solution might have changed since then
+     */
+    long getWorkingSolutionRevision();
+
     /**
      * @param move never null
      * @param assertMoveScoreFromScratch true will hurt performance
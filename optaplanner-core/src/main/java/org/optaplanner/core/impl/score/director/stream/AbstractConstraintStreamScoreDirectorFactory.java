@@ -77,7 +77,12 @@ public abstract class AbstractConstraintStreamScoreDirectorFactory<Solution_, Sc
 
     public ConstraintSession<Solution_, Score_> newConstraintStreamingSession(boolean constraintMatchEnabled,
             Solution_ workingSolution) {
-        return constraintSessionFactory.buildSession(constraintMatchEnabled, workingSolution);
+        return newConstraintStreamingSession(constraintMatchEnabled, false, workingSolution);
+    }
+
+    public ConstraintSession<Solution_, Score_> newConstraintStreamingSession(boolean constraintMatchEnabled,
+            boolean profilingEnabled, Solution_ workingSolution) {
+        return constraintSessionFactory.buildSession(constraintMatchEnabled, profilingEnabled, workingSolution);
     }
 
     // ************************************************************************
@@ -17,6 +17,7 @@
 package org.optaplanner.core.impl.score.director.stream;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
@@ -28,6 +29,7 @@ import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
 import org.optaplanner.core.impl.score.director.AbstractScoreDirector;
 import org.optaplanner.core.impl.score.stream.ConstraintSession;
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfile;
 
 /**
  * FP streams implementation of {@link ScoreDirector}, which only recalculates the {@link Score}
@@ -41,6 +43,7 @@ public class ConstraintStreamScoreDirector<Solution_, Score_ extends Score<Score
         extends AbstractScoreDirector<Solution_, Score_, AbstractConstraintStreamScoreDirectorFactory<Solution_, Score_>> {
 
     protected ConstraintSession<Solution_, Score_> session;
+    protected boolean profilingEnabledPreference = false;
 
     public ConstraintStreamScoreDirector(AbstractConstraintStreamScoreDirectorFactory<Solution_, Score_> scoreDirectorFactory,
             boolean lookUpEnabled, boolean constraintMatchEnabledPreference) {
@@ -61,7 +64,8 @@ public class ConstraintStreamScoreDirector<Solution_, Score_ extends Score<Score
         if (session != null) {
             session.close();
         }
-        session = scoreDirectorFactory.newConstraintStreamingSession(constraintMatchEnabledPreference, workingSolution);
+        session = scoreDirectorFactory.newConstraintStreamingSession(constraintMatchEnabledPreference,
+                profilingEnabledPreference, workingSolution);
         Collection<Object> workingFacts = getSolutionDescriptor().getAllFacts(workingSolution);
         for (Object fact : workingFacts) {
             session.insert(fact);
@@ -99,6 +103,33 @@ public class ConstraintStreamScoreDirector<Solution_, Score_ extends Score<Score
         return session.getIndictmentMap();
     }
 
+    /**
+     * Like {@link #overwriteConstraintMatchEnabledPreference(boolean)},
+     * this only takes effect on the next {@link #setWorkingSolution(Object)} call.
+     *
+     * @param profilingEnabledPreference true to track {@link #getNodeProfileList()},
+     *        which slows down the score calculation
+     */
+    public void overwriteProfilingEnabledPreference(boolean profilingEnabledPreference) {
+        this.profilingEnabledPreference = profilingEnabledPreference;
+    }
+
+    public boolean isProfilingEnabled() {
+        return session != null && session.isProfilingEnabled();
+    }
+
+    /**
+     * @return never null
+     * @see ConstraintSession#getNodeProfileList()
+     */
+    public List<ConstraintStreamNodeProfile> getNodeProfileList() {
+        if (workingSolution == null) {
+            throw new IllegalStateException(
+                    "The method setWorkingSolution() must be called before the method getNodeProfileList().");
+        }
+        return session.getNodeProfileList();
+    }
+
     @Override
     public void close() {
         super.close();
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.inliner;
+
+import java.util.function.Consumer;
+
+/**
+ * An {@link IntWeightedScoreImpacter} that can also impact the score without allocating anything,
+ * by writing directly into the primitive score levels of its {@link ScoreInliner}.
+ * <p>
+ * There is no {@link UndoScoreImpacter} on that path:
+ * the caller remembers the matchWeight (for example in a field of its tuple)
+ * and undoes the impact by calling {@link #impactScore(int)} again with the negated matchWeight.
+ * That is exact, even on overflow, because int arithmetic wraps around.
+ * It is never used if constraint matching is enabled, because that requires a match score.
+ */
+public interface IntReversibleWeightedScoreImpacter extends IntWeightedScoreImpacter {
+
+    /**
+     * Like {@link #impactScore(int, Consumer)} but without allocation.
+     * @param matchWeight any, pass the negated matchWeight of an earlier call to undo it
+     */
+    void impactScore(int matchWeight);
+
+}
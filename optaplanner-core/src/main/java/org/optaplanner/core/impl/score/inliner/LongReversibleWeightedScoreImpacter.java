@@ -0,0 +1,32 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.inliner;
+
+import java.util.function.Consumer;
+
+/**
+ * Like {@link IntReversibleWeightedScoreImpacter}, but for {@code long} based scores.
+ */
+public interface LongReversibleWeightedScoreImpacter extends LongWeightedScoreImpacter {
+
+    /**
+     * Like {@link #impactScore(long, Consumer)} but without allocation.
+     * @param matchWeight any, pass the negated matchWeight of an earlier call to undo it
+     */
+    void impactScore(long matchWeight);
+
+}
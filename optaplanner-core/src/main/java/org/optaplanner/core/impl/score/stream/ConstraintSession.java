@@ -16,6 +16,7 @@
 
 package org.optaplanner.core.impl.score.stream;
 
+import java.util.List;
 import java.util.Map;
 
 import org.optaplanner.core.api.score.Score;
@@ -50,6 +51,19 @@ public interface ConstraintSession<Solution_, Score_ extends Score<Score_>> exte
      */
     Map<Object, Indictment<Score_>> getIndictmentMap();
 
+    /**
+     * @return true if this session tracks {@link #getNodeProfileList()}
+     * @see ConstraintSessionFactory#buildSession(boolean, boolean, Object)
+     */
+    boolean isProfilingEnabled();
+
+    /**
+     * Only supported if {@link #isProfilingEnabled()}.
+     *
+     * @return never null, a new snapshot on every call, 1 element per node in ascending node index order
+     */
+    List<ConstraintStreamNodeProfile> getNodeProfileList();
+
     @Override
     void close();
 
@@ -25,9 +25,12 @@ public interface ConstraintSessionFactory<Solution_, Score_ extends Score<Score_
      * This method is thread-safe.
      *
      * @param constraintMatchEnabled true if {@link InnerScoreDirector#isConstraintMatchEnabled()} should be true
+     * @param profilingEnabled true if {@link ConstraintSession#isProfilingEnabled()} should be true,
+     *        ignored by implementations that don't support profiling, because it slows down score calculation
      * @param workingSolution if null, uniform synthetic constraint weights will be applied
      * @return never null
      */
-    ConstraintSession<Solution_, Score_> buildSession(boolean constraintMatchEnabled, Solution_ workingSolution);
+    ConstraintSession<Solution_, Score_> buildSession(boolean constraintMatchEnabled, boolean profilingEnabled,
+            Solution_ workingSolution);
 
 }
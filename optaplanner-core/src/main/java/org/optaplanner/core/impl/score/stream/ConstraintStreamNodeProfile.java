@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream;
+
+/**
+ * A snapshot of what 1 node of a {@link ConstraintSession} did since the session was built,
+ * to find out which constraint (or which part of a constraint) costs the most score calculation speed.
+ * Only available if {@link ConstraintSession#isProfilingEnabled()}.
+ * <p>
+ * This class is immutable.
+ */
+public final class ConstraintStreamNodeProfile {
+
+    private final int nodeIndex;
+    private final String nodeLabel;
+    private final String constraintId;
+    private final long createdTupleCount;
+    private final long updatedTupleCount;
+    private final long retractedTupleCount;
+    private final long indexLookupCount;
+    private final long timeNanosSpent;
+
+    public ConstraintStreamNodeProfile(int nodeIndex, String nodeLabel, String constraintId,
+            long createdTupleCount, long updatedTupleCount, long retractedTupleCount,
+            long indexLookupCount, long timeNanosSpent) {
+        this.nodeIndex = nodeIndex;
+        this.nodeLabel = nodeLabel;
+        this.constraintId = constraintId;
+        this.createdTupleCount = createdTupleCount;
+        this.updatedTupleCount = updatedTupleCount;
+        this.retractedTupleCount = retractedTupleCount;
+        this.indexLookupCount = indexLookupCount;
+        this.timeNanosSpent = timeNanosSpent;
+    }
+
+    /**
+     * @return {@code >= 0}, nodes are refreshed in ascending node index order
+     */
+    public int getNodeIndex() {
+        return nodeIndex;
+    }
+
+    /**
+     * @return never null
+     */
+    public String getNodeLabel() {
+        return nodeLabel;
+    }
+
+    /**
+     * @return null unless this node is the scoring node of a constraint
+     */
+    public String getConstraintId() {
+        return constraintId;
+    }
+
+    /**
+     * @return {@code >= 0}
+     */
+    public long getCreatedTupleCount() {
+        return createdTupleCount;
+    }
+
+    /**
+     * @return {@code >= 0}
+     */
+    public long getUpdatedTupleCount() {
+        return updatedTupleCount;
+    }
+
+    /**
+     * @return {@code >= 0}, includes tuples that were created and retracted before they were ever refreshed
+     */
+    public long getRetractedTupleCount() {
+        return retractedTupleCount;
+    }
+
+    /**
+     * @return {@code >= 0}, the number of times another node searched the index of this node,
+     * always 0 unless this node is a join bridge
+     */
+    public long getIndexLookupCount() {
+        return indexLookupCount;
+    }
+
+    /**
+     * @return {@code >= 0}, the time spent refreshing the tuples of this node, in nanoseconds
+     */
+    public long getTimeNanosSpent() {
+        return timeNanosSpent;
+    }
+
+    @Override
+    public String toString() {
+        return nodeIndex + " " + nodeLabel + (constraintId == null ? "" : " of " + constraintId)
+                + " (" + createdTupleCount + " created, " + updatedTupleCount + " updated, "
+                + retractedTupleCount + " retracted, " + indexLookupCount + " index lookups, "
+                + timeNanosSpent + " ns)";
+    }
+
+}
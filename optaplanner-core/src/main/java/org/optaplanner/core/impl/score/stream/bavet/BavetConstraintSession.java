@@ -30,15 +30,19 @@ import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatch;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
 import org.optaplanner.core.api.score.constraint.Indictment;
+import org.optaplanner.core.impl.score.constraint.DefaultConstraintMatchTotal;
 import org.optaplanner.core.impl.score.constraint.DefaultIndictment;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 import org.optaplanner.core.impl.score.inliner.ScoreInliner;
 import org.optaplanner.core.impl.score.stream.ConstraintSession;
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfile;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetScoringNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetProfilingIndex;
 import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFromUniNode;
 import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFromUniTuple;
 
@@ -46,6 +50,7 @@ public final class BavetConstraintSession<Solution_, Score_ extends Score<Score_
         implements ConstraintSession<Solution_, Score_> {
 
     private final boolean constraintMatchEnabled;
+    private final boolean profilingEnabled;
     private final Score_ zeroScore;
     private final ScoreInliner<Score_> scoreInliner;
 
@@ -58,12 +63,23 @@ public final class BavetConstraintSession<Solution_, Score_ extends Score<Score_
 
     private final List<Queue<BavetAbstractTuple>> nodeIndexToDirtyTupleQueueMap;
     private final Map<Object, List<BavetFromUniTuple<Object>>> fromTupleListMap;
+    // Only used if constraintMatchEnabled, maintained incrementally by the scoring nodes
+    private final Map<Object, Indictment<Score_>> indictmentMap;
 
-    public BavetConstraintSession(boolean constraintMatchEnabled, ScoreDefinition<Score_> scoreDefinition,
-            Map<BavetConstraint<Solution_>, Score_> constraintToWeightMap) {
+    // Only used if profilingEnabled, indexed by nodeIndex
+    private final long[] createdTupleCounts;
+    private final long[] updatedTupleCounts;
+    private final long[] retractedTupleCounts;
+    private final long[] timeNanosSpentTotals;
+
+    public BavetConstraintSession(boolean constraintMatchEnabled, boolean profilingEnabled,
+            ScoreDefinition<Score_> scoreDefinition, Map<BavetConstraint<Solution_>, Score_> constraintToWeightMap) {
         this.constraintMatchEnabled = constraintMatchEnabled;
+        this.profilingEnabled = profilingEnabled;
         zeroScore = scoreDefinition.getZeroScore();
         scoreInliner = scoreDefinition.buildScoreInliner(constraintMatchEnabled);
+        // TODO Can we set the initial capacity of this map more accurately by using entitySize?
+        indictmentMap = constraintMatchEnabled ? new LinkedHashMap<>() : null;
         declaredClassToNodeMap = new HashMap<>(50);
         BavetNodeBuildPolicy<Solution_> buildPolicy = new BavetNodeBuildPolicy<>(this, constraintToWeightMap.size());
         constraintToWeightMap.forEach((constraint, constraintWeight) -> {
@@ -78,6 +94,17 @@ public final class BavetConstraintSession<Solution_, Score_ extends Score<Score_
             nodeIndexToDirtyTupleQueueMap.add(new ArrayDeque<>(1000));
         }
         fromTupleListMap = new IdentityHashMap<>(1000);
+        if (profilingEnabled) {
+            createdTupleCounts = new long[nodeCount];
+            updatedTupleCounts = new long[nodeCount];
+            retractedTupleCounts = new long[nodeCount];
+            timeNanosSpentTotals = new long[nodeCount];
+        } else {
+            createdTupleCounts = null;
+            updatedTupleCounts = null;
+            retractedTupleCounts = null;
+            timeNanosSpentTotals = null;
+        }
     }
 
     private static void refreshTuple(BavetAbstractTuple tuple) {
@@ -180,6 +207,10 @@ public final class BavetConstraintSession<Solution_, Score_ extends Score<Score_
 
     @Override
     public Score_ calculateScore(int initScore) {
+        if (profilingEnabled) {
+            refreshDirtyTuplesWithProfiling();
+            return scoreInliner.extractScore(initScore);
+        }
         for (int i = 0; i < nodeCount; i++) {
             Queue<BavetAbstractTuple> queue = nodeIndexToDirtyTupleQueueMap.get(i);
             BavetAbstractTuple tuple = queue.poll();
@@ -191,12 +222,109 @@ public final class BavetConstraintSession<Solution_, Score_ extends Score<Score_
         return scoreInliner.extractScore(initScore);
     }
 
+    private void refreshDirtyTuplesWithProfiling() {
+        for (int i = 0; i < nodeCount; i++) {
+            Queue<BavetAbstractTuple> queue = nodeIndexToDirtyTupleQueueMap.get(i);
+            BavetAbstractTuple tuple = queue.poll();
+            if (tuple == null) {
+                continue;
+            }
+            // Measure per node, not per tuple, to keep the System.nanoTime() overhead low
+            long startNanos = System.nanoTime();
+            while (tuple != null) {
+                switch (tuple.getState()) {
+                    case CREATING:
+                        createdTupleCounts[i]++;
+                        break;
+                    case UPDATING:
+                        updatedTupleCounts[i]++;
+                        break;
+                    case DYING:
+                    case ABORTING:
+                        retractedTupleCounts[i]++;
+                        break;
+                    default:
+                        // refreshTuple() fails fast
+                        break;
+                }
+                refreshTuple(tuple);
+                tuple = queue.poll();
+            }
+            timeNanosSpentTotals[i] += System.nanoTime() - startNanos;
+        }
+    }
+
+    /**
+     * Only called if {@link #isConstraintMatchEnabled()} is true.
+     * @param constraintMatchTotal never null, owned by the calling {@link BavetScoringNode}
+     * @param justificationList never null
+     * @param matchScore never null
+     * @return never null, to be passed to {@link #removeConstraintMatch(DefaultConstraintMatchTotal, ConstraintMatch)}
+     * when the match disappears
+     */
+    public ConstraintMatch<Score_> addConstraintMatch(DefaultConstraintMatchTotal<Score_> constraintMatchTotal,
+            List<Object> justificationList, Score_ matchScore) {
+        ConstraintMatch<Score_> constraintMatch =
+                constraintMatchTotal.addConstraintMatch(justificationList, matchScore);
+        for (int i = 0; i < justificationList.size(); i++) {
+            Object justification = justificationList.get(i);
+            if (isDuplicateJustification(justificationList, i)) {
+                continue;
+            }
+            DefaultIndictment<Score_> indictment = (DefaultIndictment<Score_>) indictmentMap.computeIfAbsent(
+                    justification, k -> new DefaultIndictment<>(justification, zeroScore));
+            indictment.addConstraintMatch(constraintMatch);
+        }
+        return constraintMatch;
+    }
+
+    /**
+     * Only called if {@link #isConstraintMatchEnabled()} is true.
+     * @param constraintMatchTotal never null, owned by the calling {@link BavetScoringNode}
+     * @param constraintMatch never null
+     */
+    public void removeConstraintMatch(DefaultConstraintMatchTotal<Score_> constraintMatchTotal,
+            ConstraintMatch<Score_> constraintMatch) {
+        constraintMatchTotal.removeConstraintMatch(constraintMatch);
+        List<Object> justificationList = constraintMatch.getJustificationList();
+        for (int i = 0; i < justificationList.size(); i++) {
+            Object justification = justificationList.get(i);
+            if (isDuplicateJustification(justificationList, i)) {
+                continue;
+            }
+            DefaultIndictment<Score_> indictment = (DefaultIndictment<Score_>) indictmentMap.get(justification);
+            if (indictment == null) {
+                throw new IllegalStateException("Impossible state: The constraintMatch (" + constraintMatch
+                        + ") has no indictment for its justification (" + justification + ").");
+            }
+            indictment.removeConstraintMatch(constraintMatch);
+            if (indictment.getConstraintMatchSet().isEmpty()) {
+                indictmentMap.remove(justification);
+            }
+        }
+    }
+
+    /**
+     * One match might have the same justification twice, but it only indicts that justification once.
+     * Justification lists are tiny (up to the stream's cardinality), so a linear scan beats a distinct set.
+     */
+    private static boolean isDuplicateJustification(List<Object> justificationList, int index) {
+        Object justification = justificationList.get(index);
+        for (int i = 0; i < index; i++) {
+            if (justificationList.get(i).equals(justification)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public Map<String, ConstraintMatchTotal<Score_>> getConstraintMatchTotalMap() {
+        assertConstraintMatchEnabled();
         Map<String, ConstraintMatchTotal<Score_>> constraintMatchTotalMap =
                 new LinkedHashMap<>(constraintIdToScoringNodeMap.size());
         constraintIdToScoringNodeMap.forEach((constraintId, scoringNode) -> {
-            ConstraintMatchTotal<Score_> constraintMatchTotal = scoringNode.buildConstraintMatchTotal(zeroScore);
+            ConstraintMatchTotal<Score_> constraintMatchTotal = scoringNode.getConstraintMatchTotal();
             constraintMatchTotalMap.put(constraintId, constraintMatchTotal);
         });
         return constraintMatchTotalMap;
@@ -204,24 +332,45 @@ public final class BavetConstraintSession<Solution_, Score_ extends Score<Score_
 
     @Override
     public Map<Object, Indictment<Score_>> getIndictmentMap() {
-        // TODO This is temporary, inefficient code, replace it!
-        Map<Object, Indictment<Score_>> indictmentMap = new LinkedHashMap<>(); // TODO use entitySize
-        Map<String, ConstraintMatchTotal<Score_>> constraintMatchTotalMap = getConstraintMatchTotalMap();
-        for (ConstraintMatchTotal<Score_> constraintMatchTotal : constraintMatchTotalMap.values()) {
-            for (ConstraintMatch<Score_> constraintMatch : constraintMatchTotal.getConstraintMatchSet()) {
-                constraintMatch.getJustificationList().stream()
-                        .distinct() // One match might have the same justification twice
-                        .forEach(justification -> {
-                            DefaultIndictment<Score_> indictment =
-                                    (DefaultIndictment<Score_>) indictmentMap.computeIfAbsent(justification,
-                                            k -> new DefaultIndictment<>(justification, zeroScore));
-                            indictment.addConstraintMatch(constraintMatch);
-                        });
-            }
-        }
+        assertConstraintMatchEnabled();
         return indictmentMap;
     }
 
+    private void assertConstraintMatchEnabled() {
+        if (!constraintMatchEnabled) {
+            throw new IllegalStateException("When constraintMatchEnabled (" + constraintMatchEnabled
+                    + ") is disabled in the constructor, this method should not be called.");
+        }
+    }
+
+    @Override
+    public boolean isProfilingEnabled() {
+        return profilingEnabled;
+    }
+
+    @Override
+    public List<ConstraintStreamNodeProfile> getNodeProfileList() {
+        if (!profilingEnabled) {
+            throw new IllegalStateException("Profiling is not enabled on this session.\n"
+                    + "Maybe call ConstraintStreamScoreDirector.overwriteProfilingEnabledPreference(true)"
+                    + " before setWorkingSolution().");
+        }
+        List<ConstraintStreamNodeProfile> nodeProfileList = new ArrayList<>(nodeCount);
+        for (BavetNode node : nodeIndexedNodeMap) {
+            int i = node.getNodeIndex();
+            String constraintId = (node instanceof BavetScoringNode)
+                    ? ((BavetScoringNode) node).getConstraintId()
+                    : null;
+            long indexLookupCount = (node instanceof BavetJoinBridgeNode)
+                    ? ((BavetProfilingIndex<?>) ((BavetJoinBridgeNode) node).getIndex()).getLookupCount()
+                    : 0L;
+            nodeProfileList.add(new ConstraintStreamNodeProfile(i, node.toString(), constraintId,
+                    createdTupleCounts[i], updatedTupleCounts[i], retractedTupleCounts[i],
+                    indexLookupCount, timeNanosSpentTotals[i]));
+        }
+        return nodeProfileList;
+    }
+
     @Override
     public void close() {
     }
@@ -234,6 +383,10 @@ public final class BavetConstraintSession<Solution_, Score_ extends Score<Score_
         return constraintMatchEnabled;
     }
 
+    public Score_ getZeroScore() {
+        return zeroScore;
+    }
+
     public ScoreInliner<Score_> getScoreInliner() {
         return scoreInliner;
     }
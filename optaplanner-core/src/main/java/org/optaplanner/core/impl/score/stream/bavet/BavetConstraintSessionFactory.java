@@ -43,7 +43,7 @@ public final class BavetConstraintSessionFactory<Solution_, Score_ extends Score
     // ************************************************************************
 
     @Override
-    public ConstraintSession<Solution_, Score_> buildSession(boolean constraintMatchEnabled,
+    public ConstraintSession<Solution_, Score_> buildSession(boolean constraintMatchEnabled, boolean profilingEnabled,
             Solution_ workingSolution) {
         ScoreDefinition<Score_> scoreDefinition = solutionDescriptor.getScoreDefinition();
         Score_ zeroScore = scoreDefinition.getZeroScore();
@@ -54,7 +54,8 @@ public final class BavetConstraintSessionFactory<Solution_, Score_ extends Score
                 constraintToWeightMap.put(constraint, constraintWeight);
             }
         }
-        return new BavetConstraintSession<>(constraintMatchEnabled, scoreDefinition, constraintToWeightMap);
+        return new BavetConstraintSession<>(constraintMatchEnabled, profilingEnabled, scoreDefinition,
+                constraintToWeightMap);
     }
 
 }
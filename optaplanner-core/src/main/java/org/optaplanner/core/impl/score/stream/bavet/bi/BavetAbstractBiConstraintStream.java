@@ -18,12 +18,16 @@ package org.optaplanner.core.impl.score.stream.bavet.bi;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.function.ToIntBiFunction;
 import java.util.function.ToLongBiFunction;
 
+import org.optaplanner.core.api.function.TriPredicate;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.stream.Constraint;
 import org.optaplanner.core.api.score.stream.ConstraintFactory;
@@ -36,14 +40,19 @@ import org.optaplanner.core.api.score.stream.uni.UniConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraint;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
 import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndexFactory;
+import org.optaplanner.core.impl.score.stream.bavet.quad.BavetGroupQuadConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.tri.BavetGroupTriConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.tri.BavetJoinTriConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.uni.BavetAbstractUniConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetGroupUniConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniConstraintStream;
 import org.optaplanner.core.impl.score.stream.bi.InnerBiConstraintStream;
 import org.optaplanner.core.impl.score.stream.common.ScoreImpactType;
 import org.optaplanner.core.impl.score.stream.tri.AbstractTriJoiner;
+import org.optaplanner.core.impl.score.stream.tri.FilteringTriJoiner;
 
 public abstract class BavetAbstractBiConstraintStream<Solution_, A, B> extends BavetAbstractConstraintStream<Solution_>
         implements InnerBiConstraintStream<A, B> {
@@ -93,6 +102,9 @@ public abstract class BavetAbstractBiConstraintStream<Solution_, A, B> extends B
         }
         if (!(joiner instanceof AbstractTriJoiner)) {
             throw new IllegalArgumentException("The joiner class (" + joiner.getClass() + ") is not supported.");
+        } else if (joiner instanceof FilteringTriJoiner) {
+            return join(otherStream)
+                    .filter(((FilteringTriJoiner<A, B, C>) joiner).getFilter());
         }
         AbstractTriJoiner<A, B, C> castedJoiner = (AbstractTriJoiner<A, B, C>) joiner;
         BavetIndexFactory indexFactory = new BavetIndexFactory(castedJoiner);
@@ -116,13 +128,52 @@ public abstract class BavetAbstractBiConstraintStream<Solution_, A, B> extends B
     @SafeVarargs
     @Override
     public final <C> BiConstraintStream<A, B> ifExists(Class<C> otherClass, TriJoiner<A, B, C>... joiners) {
-        throw new UnsupportedOperationException();
+        return ifExistsOrNot(true, otherClass, joiners);
     }
 
     @SafeVarargs
     @Override
     public final <C> BiConstraintStream<A, B> ifNotExists(Class<C> otherClass, TriJoiner<A, B, C>... joiners) {
-        throw new UnsupportedOperationException();
+        return ifExistsOrNot(false, otherClass, joiners);
+    }
+
+    private <C> BiConstraintStream<A, B> ifExistsOrNot(boolean shouldExist, Class<C> otherClass,
+            TriJoiner<A, B, C>[] joiners) {
+        // The indexing joiners are merged into the index, the filtering joiners are merged into a single filter
+        List<TriJoiner<A, B, C>> indexingJoinerList = new ArrayList<>(joiners.length);
+        TriJoiner<A, B, C> firstFilteringJoiner = null;
+        TriPredicate<A, B, C> filter = null;
+        for (TriJoiner<A, B, C> joiner : joiners) {
+            if (joiner instanceof FilteringTriJoiner) {
+                TriPredicate<A, B, C> joinerFilter = ((FilteringTriJoiner<A, B, C>) joiner).getFilter();
+                if (filter == null) {
+                    firstFilteringJoiner = joiner;
+                    filter = joinerFilter;
+                } else {
+                    filter = filter.and(joinerFilter);
+                }
+            } else if (firstFilteringJoiner != null) {
+                throw new IllegalStateException("Indexing joiner (" + joiner + ") must not follow a filtering joiner ("
+                        + firstFilteringJoiner + ").\n"
+                        + "Maybe reorder the joiners such that filtering() joiners are later in the parameter list.");
+            } else {
+                indexingJoinerList.add(joiner);
+            }
+        }
+        AbstractTriJoiner<A, B, C> indexingJoiner = AbstractTriJoiner.merge(indexingJoinerList.toArray(new TriJoiner[0]));
+        BavetAbstractUniConstraintStream<Solution_, C> other = constraintFactory.fromUnfiltered(otherClass);
+        BavetIndexFactory indexFactory = new BavetIndexFactory(indexingJoiner);
+        BavetJoinBridgeBiConstraintStream<Solution_, A, B> leftBridge = new BavetJoinBridgeBiConstraintStream<>(
+                constraintFactory, this, true, indexingJoiner.getLeftCombinedMapping(), indexFactory);
+        addChildStream(leftBridge);
+        BavetJoinBridgeUniConstraintStream<Solution_, C> rightBridge = new BavetJoinBridgeUniConstraintStream<>(
+                constraintFactory, other, false, indexingJoiner.getRightCombinedMapping(), indexFactory);
+        other.addChildStream(rightBridge);
+        BavetExistsBiConstraintStream<Solution_, A, B, C> existsStream = new BavetExistsBiConstraintStream<>(
+                constraintFactory, leftBridge, rightBridge, shouldExist, filter);
+        leftBridge.setJoinStream(existsStream);
+        rightBridge.setJoinStream(existsStream);
+        return existsStream;
     }
 
     // ************************************************************************
@@ -132,14 +183,14 @@ public abstract class BavetAbstractBiConstraintStream<Solution_, A, B> extends B
     @Override
     public <ResultContainer_, Result_> UniConstraintStream<Result_> groupBy(
             BiConstraintCollector<A, B, ResultContainer_, Result_> collector) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(null, 0, Collections.singletonList(collector));
     }
 
     @Override
     public <ResultContainerA_, ResultA_, ResultContainerB_, ResultB_> BiConstraintStream<ResultA_, ResultB_> groupBy(
             BiConstraintCollector<A, B, ResultContainerA_, ResultA_> collectorA,
             BiConstraintCollector<A, B, ResultContainerB_, ResultB_> collectorB) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(null, 0, Arrays.asList(collectorA, collectorB));
     }
 
     @Override
@@ -148,7 +199,7 @@ public abstract class BavetAbstractBiConstraintStream<Solution_, A, B> extends B
             groupBy(BiConstraintCollector<A, B, ResultContainerA_, ResultA_> collectorA,
                     BiConstraintCollector<A, B, ResultContainerB_, ResultB_> collectorB,
                     BiConstraintCollector<A, B, ResultContainerC_, ResultC_> collectorC) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(null, 0, Arrays.asList(collectorA, collectorB, collectorC));
     }
 
     @Override
@@ -158,12 +209,12 @@ public abstract class BavetAbstractBiConstraintStream<Solution_, A, B> extends B
                     BiConstraintCollector<A, B, ResultContainerB_, ResultB_> collectorB,
                     BiConstraintCollector<A, B, ResultContainerC_, ResultC_> collectorC,
                     BiConstraintCollector<A, B, ResultContainerD_, ResultD_> collectorD) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(null, 0, Arrays.asList(collectorA, collectorB, collectorC, collectorD));
     }
 
     @Override
     public <GroupKey_> UniConstraintStream<GroupKey_> groupBy(BiFunction<A, B, GroupKey_> groupKeyMapping) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(groupKeyMapping, 1, Collections.emptyList());
     }
 
     @Override
@@ -171,7 +222,7 @@ public abstract class BavetAbstractBiConstraintStream<Solution_, A, B> extends B
             TriConstraintStream<GroupKey_, ResultB_, ResultC_> groupBy(BiFunction<A, B, GroupKey_> groupKeyMapping,
                     BiConstraintCollector<A, B, ResultContainerB_, ResultB_> collectorB,
                     BiConstraintCollector<A, B, ResultContainerC_, ResultC_> collectorC) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(groupKeyMapping, 1, Arrays.asList(collectorB, collectorC));
     }
 
     @Override
@@ -180,33 +231,31 @@ public abstract class BavetAbstractBiConstraintStream<Solution_, A, B> extends B
                     BiConstraintCollector<A, B, ResultContainerB_, ResultB_> collectorB,
                     BiConstraintCollector<A, B, ResultContainerC_, ResultC_> collectorC,
                     BiConstraintCollector<A, B, ResultContainerD_, ResultD_> collectorD) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(groupKeyMapping, 1, Arrays.asList(collectorB, collectorC, collectorD));
     }
 
     @Override
     public <GroupKey_, ResultContainer_, Result_> BiConstraintStream<GroupKey_, Result_> groupBy(
             BiFunction<A, B, GroupKey_> groupKeyMapping,
             BiConstraintCollector<A, B, ResultContainer_, Result_> collector) {
-        BavetGroupBridgeBiConstraintStream<Solution_, A, B, GroupKey_, ResultContainer_, Result_> bridge =
-                new BavetGroupBridgeBiConstraintStream<>(constraintFactory, this, groupKeyMapping, collector);
-        childStreamList.add(bridge);
-        BavetGroupBiConstraintStream<Solution_, GroupKey_, ResultContainer_, Result_> groupStream =
-                new BavetGroupBiConstraintStream<>(constraintFactory, bridge, collector.finisher());
-        bridge.setGroupStream(groupStream);
-        return groupStream;
+        return buildGroupBy(groupKeyMapping, 1, Collections.singletonList(collector));
     }
 
     @Override
     public <GroupKeyA_, GroupKeyB_> BiConstraintStream<GroupKeyA_, GroupKeyB_> groupBy(
             BiFunction<A, B, GroupKeyA_> groupKeyAMapping, BiFunction<A, B, GroupKeyB_> groupKeyBMapping) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy((a, b) -> Arrays.asList(
+                groupKeyAMapping.apply(a, b), groupKeyBMapping.apply(a, b)),
+                2, Collections.emptyList());
     }
 
     @Override
     public <GroupKeyA_, GroupKeyB_, ResultContainer_, Result_> TriConstraintStream<GroupKeyA_, GroupKeyB_, Result_> groupBy(
             BiFunction<A, B, GroupKeyA_> groupKeyAMapping, BiFunction<A, B, GroupKeyB_> groupKeyBMapping,
             BiConstraintCollector<A, B, ResultContainer_, Result_> collector) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy((a, b) -> Arrays.asList(
+                groupKeyAMapping.apply(a, b), groupKeyBMapping.apply(a, b)),
+                2, Collections.singletonList(collector));
     }
 
     @Override
@@ -215,14 +264,18 @@ public abstract class BavetAbstractBiConstraintStream<Solution_, A, B> extends B
                     BiFunction<A, B, GroupKeyA_> groupKeyAMapping, BiFunction<A, B, GroupKeyB_> groupKeyBMapping,
                     BiConstraintCollector<A, B, ResultContainerC_, ResultC_> collectorC,
                     BiConstraintCollector<A, B, ResultContainerD_, ResultD_> collectorD) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy((a, b) -> Arrays.asList(
+                groupKeyAMapping.apply(a, b), groupKeyBMapping.apply(a, b)),
+                2, Arrays.asList(collectorC, collectorD));
     }
 
     @Override
     public <GroupKeyA_, GroupKeyB_, GroupKeyC_> TriConstraintStream<GroupKeyA_, GroupKeyB_, GroupKeyC_> groupBy(
             BiFunction<A, B, GroupKeyA_> groupKeyAMapping, BiFunction<A, B, GroupKeyB_> groupKeyBMapping,
             BiFunction<A, B, GroupKeyC_> groupKeyCMapping) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy((a, b) -> Arrays.asList(
+                groupKeyAMapping.apply(a, b), groupKeyBMapping.apply(a, b), groupKeyCMapping.apply(a, b)),
+                3, Collections.emptyList());
     }
 
     @Override
@@ -231,14 +284,50 @@ public abstract class BavetAbstractBiConstraintStream<Solution_, A, B> extends B
             groupBy(BiFunction<A, B, GroupKeyA_> groupKeyAMapping, BiFunction<A, B, GroupKeyB_> groupKeyBMapping,
                     BiFunction<A, B, GroupKeyC_> groupKeyCMapping,
                     BiConstraintCollector<A, B, ResultContainerD_, ResultD_> collectorD) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy((a, b) -> Arrays.asList(
+                groupKeyAMapping.apply(a, b), groupKeyBMapping.apply(a, b), groupKeyCMapping.apply(a, b)),
+                3, Collections.singletonList(collectorD));
     }
 
     @Override
     public <GroupKeyA_, GroupKeyB_, GroupKeyC_, GroupKeyD_> QuadConstraintStream<GroupKeyA_, GroupKeyB_, GroupKeyC_, GroupKeyD_>
             groupBy(BiFunction<A, B, GroupKeyA_> groupKeyAMapping, BiFunction<A, B, GroupKeyB_> groupKeyBMapping,
                     BiFunction<A, B, GroupKeyC_> groupKeyCMapping, BiFunction<A, B, GroupKeyD_> groupKeyDMapping) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy((a, b) -> Arrays.asList(
+                groupKeyAMapping.apply(a, b), groupKeyBMapping.apply(a, b),
+                groupKeyCMapping.apply(a, b), groupKeyDMapping.apply(a, b)),
+                4, Collections.emptyList());
+    }
+
+    private <Stream_> Stream_ buildGroupBy(BiFunction<A, B, ?> groupKeyMapping, int groupKeyCount,
+            List<BiConstraintCollector<A, B, ?, ?>> collectorList) {
+        BavetGroupBridgeBiConstraintStream<Solution_, A, B> bridge = new BavetGroupBridgeBiConstraintStream<>(
+                constraintFactory, this, groupKeyMapping, collectorList);
+        addChildStream(bridge);
+        List<Function<?, ?>> finisherList = new ArrayList<>(collectorList.size());
+        for (BiConstraintCollector<A, B, ?, ?> collector : collectorList) {
+            finisherList.add(collector.finisher());
+        }
+        BavetAbstractConstraintStream<Solution_> groupStream;
+        switch (groupKeyCount + collectorList.size()) {
+            case 1:
+                groupStream = new BavetGroupUniConstraintStream<>(constraintFactory, bridge, groupKeyCount, finisherList);
+                break;
+            case 2:
+                groupStream = new BavetGroupBiConstraintStream<>(constraintFactory, bridge, groupKeyCount, finisherList);
+                break;
+            case 3:
+                groupStream = new BavetGroupTriConstraintStream<>(constraintFactory, bridge, groupKeyCount, finisherList);
+                break;
+            case 4:
+                groupStream = new BavetGroupQuadConstraintStream<>(constraintFactory, bridge, groupKeyCount, finisherList);
+                break;
+            default:
+                throw new IllegalStateException("Impossible state: the groupKeyCount (" + groupKeyCount
+                        + ") and the collectorCount (" + collectorList.size() + ") add up to more than 4.");
+        }
+        bridge.setGroupStream((BavetGroupConstraintStream<Solution_>) groupStream);
+        return (Stream_) groupStream;
     }
 
     // ************************************************************************
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.bi;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.optaplanner.core.api.function.TriPredicate;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetAbstractUniNode;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFromUniConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniNode;
+
+public final class BavetExistsBiConstraintStream<Solution_, A, B, C>
+        extends BavetAbstractBiConstraintStream<Solution_, A, B>
+        implements BavetJoinConstraintStream<Solution_> {
+
+    private final BavetJoinBridgeBiConstraintStream<Solution_, A, B> leftParent;
+    private final BavetJoinBridgeUniConstraintStream<Solution_, C> rightParent;
+    private final boolean shouldExist;
+    private final TriPredicate<A, B, C> filter;
+
+    public BavetExistsBiConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
+            BavetJoinBridgeBiConstraintStream<Solution_, A, B> leftParent,
+            BavetJoinBridgeUniConstraintStream<Solution_, C> rightParent,
+            boolean shouldExist, TriPredicate<A, B, C> filter) {
+        super(constraintFactory);
+        this.leftParent = leftParent;
+        this.rightParent = rightParent;
+        this.shouldExist = shouldExist;
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean guaranteesDistinct() {
+        return leftParent.guaranteesDistinct();
+    }
+
+    @Override
+    public List<BavetFromUniConstraintStream<Solution_, Object>> getFromStreamList() {
+        return Stream.concat(leftParent.getFromStreamList().stream(),
+                rightParent.getFromStreamList().stream())
+                .collect(Collectors.toList());
+    }
+
+    // ************************************************************************
+    // Node creation
+    // ************************************************************************
+
+    @Override
+    public BavetExistsBiNode<A, B, C> createNodeChain(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight, BavetAbstractNode leftParentNode, BavetAbstractNode rightParentNode) {
+        List<Object> joinSharingKey = Arrays.asList(getClass(), leftParentNode, rightParentNode,
+                leftParent.getIndexFactory(), shouldExist, filter);
+        BavetExistsBiNode<A, B, C> node = buildPolicy.retrieveSharedJoinNode(joinSharingKey, () -> {
+            BavetJoinBridgeBiNode<A, B> leftNode = leftParent.createBridgeNode(buildPolicy,
+                    (BavetAbstractBiNode<A, B>) leftParentNode);
+            BavetJoinBridgeUniNode<C> rightNode = rightParent.createBridgeNode(buildPolicy,
+                    (BavetAbstractUniNode<C>) rightParentNode);
+            BavetExistsBiNode<A, B, C> newNode = new BavetExistsBiNode<>(buildPolicy.getSession(),
+                    buildPolicy.nextNodeIndex(), leftNode, rightNode, shouldExist, filter);
+            leftNode.setChildTupleRefresher(newNode::refreshChildTuplesLeft);
+            rightNode.setChildTupleRefresher(newNode::refreshChildTuplesRight);
+            return (BavetExistsBiNode<A, B, C>) processNode(buildPolicy, null, newNode);
+        });
+        createChildNodeChains(buildPolicy, constraintWeight, node);
+        return node;
+    }
+
+    @Override
+    protected BavetExistsBiNode<A, B, C> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight, BavetAbstractBiNode<A, B> parentNode) {
+        throw new IllegalStateException("Impossible state: this code is never called.");
+    }
+
+    @Override
+    public String toString() {
+        return (shouldExist ? "IfExists()" : "IfNotExists()") + " with " + childStreamList.size() + " children";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+}
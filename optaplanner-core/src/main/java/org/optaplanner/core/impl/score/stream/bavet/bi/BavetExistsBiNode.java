@@ -0,0 +1,206 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.bi;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.optaplanner.core.api.function.TriPredicate;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetExistsMatch;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndex;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniNode;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniTuple;
+
+/**
+ * Keeps a match counter per left tuple instead of creating a tuple per match,
+ * so only a counter crossing 0 is propagated to the child nodes.
+ * The left join bridge tuple has exactly 1 child tuple: the {@link BavetExistsBiTuple}.
+ * Each {@link BavetExistsBiTuple} is linked to the right join bridge tuples it counts by {@link BavetExistsMatch}es,
+ * so refreshing either side only touches its own matches, instead of searching a list or an index bucket.
+ *
+ * @param <A> the type of the first left fact
+ * @param <B> the type of the second left fact
+ * @param <C> the type of the fact that must (not) exist
+ */
+public final class BavetExistsBiNode<A, B, C> extends BavetAbstractBiNode<A, B> implements BavetJoinNode {
+
+    private final BavetJoinBridgeBiNode<A, B> leftParentNode;
+    private final BavetJoinBridgeUniNode<C> rightParentNode;
+    private final boolean shouldExist;
+    /** Null if there is no filtering joiner. */
+    private final TriPredicate<A, B, C> filter;
+
+    private final List<BavetAbstractBiNode<A, B>> childNodeList = new ArrayList<>();
+    /** Only has the right tuples that have been counted since they were last refreshed. */
+    private final Map<BavetJoinBridgeUniTuple<C>, BavetExistsMatch<BavetExistsBiTuple<A, B, C>,
+            BavetJoinBridgeUniTuple<C>>> rightTupleToMatchSentinelMap = new IdentityHashMap<>();
+    // Created once, so refreshing a tuple doesn't allocate a capturing lambda to visit the other index
+    private final Consumer<BavetExistsBiTuple<A, B, C>> uncountConsumer = this::uncount;
+    private final BiConsumer<BavetExistsBiTuple<A, B, C>, BavetJoinBridgeUniTuple<C>> countLeftVisitor = this::countLeft;
+    private final BiConsumer<BavetJoinBridgeUniTuple<C>, BavetJoinBridgeBiTuple<A, B>> countRightVisitor = this::countRight;
+
+    public BavetExistsBiNode(BavetConstraintSession session, int nodeIndex,
+            BavetJoinBridgeBiNode<A, B> leftParentNode, BavetJoinBridgeUniNode<C> rightParentNode,
+            boolean shouldExist, TriPredicate<A, B, C> filter) {
+        super(session, nodeIndex);
+        this.leftParentNode = leftParentNode;
+        this.rightParentNode = rightParentNode;
+        this.shouldExist = shouldExist;
+        this.filter = filter;
+    }
+
+    @Override
+    public void addChildNode(BavetAbstractBiNode<A, B> childNode) {
+        childNodeList.add(childNode);
+    }
+
+    @Override
+    public List<BavetAbstractBiNode<A, B>> getChildNodeList() {
+        return childNodeList;
+    }
+
+    // ************************************************************************
+    // Runtime
+    // ************************************************************************
+
+    @Override
+    public BavetExistsBiTuple<A, B, C> createTuple(BavetAbstractBiTuple<A, B> parentTuple) {
+        throw new IllegalStateException("The exists node (" + getClass().getSimpleName()
+                + ") can't have a parentTuple (" + parentTuple + ");");
+    }
+
+    public BavetExistsBiTuple<A, B, C> createTuple(BavetJoinBridgeBiTuple<A, B> leftParentTuple) {
+        return new BavetExistsBiTuple<>(this, leftParentTuple);
+    }
+
+    @Override
+    public void refresh(BavetAbstractTuple uncastTuple) {
+        BavetExistsBiTuple<A, B, C> tuple = (BavetExistsBiTuple<A, B, C>) uncastTuple;
+        List<BavetAbstractTuple> childTupleList = tuple.getChildTupleList();
+        boolean passes = tuple.isActive() && (tuple.getMatchCount() > 0) == shouldExist;
+        if (tuple.getState() == BavetTupleState.UPDATING && passes == !childTupleList.isEmpty()) {
+            // The matchCount crossed 0 and then crossed back, so the child tuples are still correct
+            return;
+        }
+        for (BavetAbstractTuple childTuple : childTupleList) {
+            session.transitionTuple(childTuple, BavetTupleState.DYING);
+        }
+        childTupleList.clear();
+        if (passes) {
+            for (BavetAbstractBiNode<A, B> childNode : childNodeList) {
+                BavetAbstractBiTuple<A, B> childTuple = childNode.createTuple(tuple);
+                childTupleList.add(childTuple);
+                session.transitionTuple(childTuple, BavetTupleState.CREATING);
+            }
+        }
+    }
+
+    public void refreshChildTuplesLeft(BavetJoinBridgeBiTuple<A, B> leftParentTuple) {
+        List<BavetAbstractTuple> leftTupleList = leftParentTuple.getChildTupleList();
+        for (BavetAbstractTuple uncastTuple : leftTupleList) {
+            BavetExistsBiTuple<A, B, C> tuple = (BavetExistsBiTuple<A, B, C>) uncastTuple;
+            tuple.getMatchSentinel().unlinkTupleMatches();
+            session.transitionTuple(tuple, BavetTupleState.DYING);
+        }
+        leftTupleList.clear();
+        if (leftParentTuple.isActive()) {
+            BavetExistsBiTuple<A, B, C> tuple = createTuple(leftParentTuple);
+            getRightIndex().visit(leftParentTuple.getIndexKey(), tuple, countLeftVisitor);
+            leftTupleList.add(tuple);
+            session.transitionTuple(tuple, BavetTupleState.CREATING);
+        }
+    }
+
+    public void refreshChildTuplesRight(BavetJoinBridgeUniTuple<C> rightParentTuple) {
+        BavetExistsMatch<BavetExistsBiTuple<A, B, C>, BavetJoinBridgeUniTuple<C>> rightTupleSentinel =
+                rightTupleToMatchSentinelMap.remove(rightParentTuple);
+        if (rightTupleSentinel != null) {
+            rightTupleSentinel.unlinkRightTupleMatches(uncountConsumer);
+        }
+        if (rightParentTuple.isActive()) {
+            getLeftIndex().visit(rightParentTuple.getIndexKey(), rightParentTuple, countRightVisitor);
+        }
+    }
+
+    private void uncount(BavetExistsBiTuple<A, B, C> tuple) {
+        if (tuple.decreaseMatchCount() == 0) {
+            transitionToUpdating(tuple);
+        }
+    }
+
+    private void countLeft(BavetExistsBiTuple<A, B, C> tuple, BavetJoinBridgeUniTuple<C> rightParentTuple) {
+        if (!rightParentTuple.isDirty() && matches(tuple, rightParentTuple)) {
+            tuple.increaseMatchCount();
+            addMatch(tuple, rightParentTuple);
+        }
+    }
+
+    private void countRight(BavetJoinBridgeUniTuple<C> rightParentTuple, BavetJoinBridgeBiTuple<A, B> leftParentTuple) {
+        if (!leftParentTuple.isDirty()) {
+            BavetExistsBiTuple<A, B, C> tuple = (BavetExistsBiTuple<A, B, C>) leftParentTuple.getChildTupleList().get(0);
+            if (matches(tuple, rightParentTuple)) {
+                if (tuple.increaseMatchCount() == 1) {
+                    transitionToUpdating(tuple);
+                }
+                addMatch(tuple, rightParentTuple);
+            }
+        }
+    }
+
+    private void addMatch(BavetExistsBiTuple<A, B, C> tuple, BavetJoinBridgeUniTuple<C> rightParentTuple) {
+        new BavetExistsMatch<>(tuple, rightParentTuple).link(tuple.getMatchSentinel(),
+                rightTupleToMatchSentinelMap.computeIfAbsent(rightParentTuple,
+                        rightTuple -> new BavetExistsMatch<>(null, rightTuple)));
+    }
+
+    private boolean matches(BavetExistsBiTuple<A, B, C> tuple, BavetJoinBridgeUniTuple<C> rightParentTuple) {
+        return filter == null || filter.test(tuple.getFactA(), tuple.getFactB(), rightParentTuple.getFactA());
+    }
+
+    private void transitionToUpdating(BavetExistsBiTuple<A, B, C> tuple) {
+        // A dirty tuple (for example one that is still CREATING) is refreshed anyway
+        if (!tuple.isDirty()) {
+            session.transitionTuple(tuple, BavetTupleState.UPDATING);
+        }
+    }
+
+    public BavetIndex<BavetJoinBridgeBiTuple<A, B>> getLeftIndex() {
+        return leftParentNode.getIndex();
+    }
+
+    public BavetIndex<BavetJoinBridgeUniTuple<C>> getRightIndex() {
+        return rightParentNode.getIndex();
+    }
+
+    @Override
+    public String toString() {
+        return (shouldExist ? "IfExists()" : "IfNotExists()") + " with " + childNodeList.size() + " children";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+}
@@ -22,21 +22,30 @@ import java.util.function.Function;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
 import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFromUniConstraintStream;
 
-public final class BavetGroupBiConstraintStream<Solution_, GroupKey_, ResultContainer_, Result_>
-        extends BavetAbstractBiConstraintStream<Solution_, GroupKey_, Result_> {
+public final class BavetGroupBiConstraintStream<Solution_, A, B>
+        extends BavetAbstractBiConstraintStream<Solution_, A, B>
+        implements BavetGroupConstraintStream<Solution_> {
 
     private final BavetAbstractConstraintStream<Solution_> parent;
-    private final Function<ResultContainer_, Result_> finisher;
+    private final int groupKeyCount;
+    private final List<Function<?, ?>> finisherList;
 
     public BavetGroupBiConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
             BavetAbstractConstraintStream<Solution_> parent,
-            Function<ResultContainer_, Result_> finisher) {
+            int groupKeyCount, List<Function<?, ?>> finisherList) {
         super(constraintFactory);
         this.parent = parent;
-        this.finisher = finisher;
+        this.groupKeyCount = groupKeyCount;
+        this.finisherList = finisherList;
+        if (groupKeyCount + finisherList.size() != 2) {
+            throw new IllegalStateException("Impossible state: the stream (" + this
+                    + ") has a groupKeyCount (" + groupKeyCount + ") and a collector count (" + finisherList.size()
+                    + ") that don't add up to its cardinality.");
+        }
     }
 
     @Override
@@ -54,20 +63,19 @@ public final class BavetGroupBiConstraintStream<Solution_, GroupKey_, ResultCont
     // ************************************************************************
 
     @Override
-    public BavetGroupBiNode<GroupKey_, ResultContainer_, Result_> createNodeChain(BavetNodeBuildPolicy<Solution_> buildPolicy,
-            Score<?> constraintWeight, BavetAbstractBiNode<GroupKey_, Result_> parentNode) {
-        return (BavetGroupBiNode<GroupKey_, ResultContainer_, Result_>) super.createNodeChain(buildPolicy, constraintWeight,
-                parentNode);
+    public BavetGroupBiNode<A, B> createNodeChain(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight) {
+        BavetGroupBiNode<A, B> node = new BavetGroupBiNode<>(buildPolicy.getSession(), buildPolicy.nextNodeIndex(),
+                groupKeyCount, finisherList);
+        node = (BavetGroupBiNode<A, B>) processNode(buildPolicy, null, node);
+        createChildNodeChains(buildPolicy, constraintWeight, node);
+        return node;
     }
 
     @Override
-    protected BavetGroupBiNode<GroupKey_, ResultContainer_, Result_> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
-            Score<?> constraintWeight, BavetAbstractBiNode<GroupKey_, Result_> parentNode) {
-        if (parentNode != null) {
-            throw new IllegalStateException("Impossible state: the stream (" + this
-                    + ") cannot have a parentNode (" + parentNode + ").");
-        }
-        return new BavetGroupBiNode<>(buildPolicy.getSession(), buildPolicy.nextNodeIndex(), finisher);
+    protected BavetGroupBiNode<A, B> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight, BavetAbstractBiNode<A, B> parentNode) {
+        throw new IllegalStateException("Impossible state: this code is never called.");
     }
 
     @Override
@@ -22,27 +22,33 @@ import java.util.function.Function;
 
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
 
-public final class BavetGroupBiNode<GroupKey_, ResultContainer_, Result_> extends BavetAbstractBiNode<GroupKey_, Result_> {
+public final class BavetGroupBiNode<A, B> extends BavetAbstractBiNode<A, B> implements BavetGroupNode {
 
-    private final Function<ResultContainer_, Result_> finisher;
+    /**
+     * The first facts of each tuple are the group keys, the other facts are the collector results.
+     */
+    private final int groupKeyCount;
+    private final List<Function<?, ?>> finisherList;
 
-    private final List<BavetAbstractBiNode<GroupKey_, Result_>> childNodeList = new ArrayList<>();
+    private final List<BavetAbstractBiNode<A, B>> childNodeList = new ArrayList<>();
 
     public BavetGroupBiNode(BavetConstraintSession session, int nodeIndex,
-            Function<ResultContainer_, Result_> finisher) {
+            int groupKeyCount, List<Function<?, ?>> finisherList) {
         super(session, nodeIndex);
-        this.finisher = finisher;
+        this.groupKeyCount = groupKeyCount;
+        this.finisherList = finisherList;
     }
 
     @Override
-    public void addChildNode(BavetAbstractBiNode<GroupKey_, Result_> childNode) {
+    public void addChildNode(BavetAbstractBiNode<A, B> childNode) {
         childNodeList.add(childNode);
     }
 
     @Override
-    public List<BavetAbstractBiNode<GroupKey_, Result_>> getChildNodeList() {
+    public List<BavetAbstractBiNode<A, B>> getChildNodeList() {
         return childNodeList;
     }
 
@@ -57,36 +63,48 @@ public final class BavetGroupBiNode<GroupKey_, ResultContainer_, Result_> extend
     // ************************************************************************
 
     @Override
-    public BavetGroupBiTuple<GroupKey_, ResultContainer_, Result_> createTuple(
-            BavetAbstractBiTuple<GroupKey_, Result_> parentTuple) {
+    public BavetGroupBiTuple<A, B> createTuple(BavetAbstractBiTuple<A, B> parentTuple) {
         throw new IllegalStateException("The Grouped node (" + getClass().getSimpleName()
                 + ") can't have a parentTuple (" + parentTuple + ");");
     }
 
-    public BavetGroupBiTuple<GroupKey_, ResultContainer_, Result_> createTuple(
-            GroupKey_ groupKey, ResultContainer_ resultContainer) {
-        return new BavetGroupBiTuple<>(this, groupKey, resultContainer);
+    @Override
+    public BavetGroupBiTuple<A, B> createTuple(Object groupKey, Object[] resultContainers) {
+        return new BavetGroupBiTuple<>(this, groupKey, resultContainers);
     }
 
     @Override
     public void refresh(BavetAbstractTuple uncastTuple) {
-        BavetGroupBiTuple<GroupKey_, ResultContainer_, Result_> tuple =
-                (BavetGroupBiTuple<GroupKey_, ResultContainer_, Result_>) uncastTuple;
+        BavetGroupBiTuple<A, B> tuple = (BavetGroupBiTuple<A, B>) uncastTuple;
         List<BavetAbstractTuple> childTupleList = tuple.getChildTupleList();
         for (BavetAbstractTuple childTuple : childTupleList) {
             session.transitionTuple(childTuple, BavetTupleState.DYING);
         }
         childTupleList.clear();
         if (tuple.isActive()) {
-            tuple.updateResult(finisher);
-            for (BavetAbstractBiNode<GroupKey_, Result_> childNode : childNodeList) {
-                BavetAbstractBiTuple<GroupKey_, Result_> childTuple = childNode.createTuple(tuple);
+            tuple.setFactA((A) extractFact(tuple, 0));
+            tuple.setFactB((B) extractFact(tuple, 1));
+            for (BavetAbstractBiNode<A, B> childNode : childNodeList) {
+                BavetAbstractBiTuple<A, B> childTuple = childNode.createTuple(tuple);
                 childTupleList.add(childTuple);
                 session.transitionTuple(childTuple, BavetTupleState.CREATING);
             }
         }
     }
 
+    private Object extractFact(BavetGroupBiTuple<A, B> tuple, int factIndex) {
+        if (factIndex < groupKeyCount) {
+            Object groupKey = tuple.getGroupKey();
+            return (groupKeyCount == 1) ? groupKey : ((List<?>) groupKey).get(factIndex);
+        }
+        int collectorIndex = factIndex - groupKeyCount;
+        return finish(finisherList.get(collectorIndex), tuple.getResultContainers()[collectorIndex]);
+    }
+
+    private static <ResultContainer_> Object finish(Function<ResultContainer_, ?> finisher, Object resultContainer) {
+        return finisher.apply((ResultContainer_) resultContainer);
+    }
+
     @Override
     public String toString() {
         return "Group() with " + childNodeList.size() + " children";
@@ -18,36 +18,35 @@ package org.optaplanner.core.impl.score.stream.bavet.bi;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Function;
 
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupTuple;
 
-public final class BavetGroupBiTuple<GroupKey_, ResultContainer_, Result_> extends BavetAbstractBiTuple<GroupKey_, Result_>
-        implements BavetGroupTuple {
+public final class BavetGroupBiTuple<A, B> extends BavetAbstractBiTuple<A, B> implements BavetGroupTuple {
 
-    private final BavetGroupBiNode<GroupKey_, ResultContainer_, Result_> node;
+    private final BavetGroupBiNode<A, B> node;
 
-    private GroupKey_ groupKey;
+    private final Object groupKey;
+    private final Object[] resultContainers;
     private int parentCount;
-    private ResultContainer_ resultContainer;
-    private Result_ result;
+    private A factA;
+    private B factB;
     private final List<BavetAbstractTuple> childTupleList = new ArrayList<>(1);
 
-    public BavetGroupBiTuple(BavetGroupBiNode<GroupKey_, ResultContainer_, Result_> node,
-            GroupKey_ groupKey, ResultContainer_ resultContainer) {
+    public BavetGroupBiTuple(BavetGroupBiNode<A, B> node, Object groupKey, Object[] resultContainers) {
         this.node = node;
         this.groupKey = groupKey;
+        this.resultContainers = resultContainers;
         parentCount = 0;
-        this.resultContainer = resultContainer;
-        result = null;
     }
 
+    @Override
     public int increaseParentCount() {
         parentCount++;
         return parentCount;
     }
 
+    @Override
     public int decreaseParentCount() {
         parentCount--;
         if (parentCount < 0) {
@@ -57,14 +56,6 @@ public final class BavetGroupBiTuple<GroupKey_, ResultContainer_, Result_> exten
         return parentCount;
     }
 
-    public void clearResult() {
-        result = null;
-    }
-
-    public void updateResult(Function<ResultContainer_, Result_> finisher) {
-        result = finisher.apply(resultContainer);
-    }
-
     @Override
     public String toString() {
         return "Group(" + getFactsString() + ")";
@@ -75,7 +66,7 @@ public final class BavetGroupBiTuple<GroupKey_, ResultContainer_, Result_> exten
     // ************************************************************************
 
     @Override
-    public BavetGroupBiNode<GroupKey_, ResultContainer_, Result_> getNode() {
+    public BavetGroupBiNode<A, B> getNode() {
         return node;
     }
 
@@ -85,21 +76,31 @@ public final class BavetGroupBiTuple<GroupKey_, ResultContainer_, Result_> exten
     }
 
     @Override
-    public GroupKey_ getFactA() {
-        return groupKey;
+    public A getFactA() {
+        return factA;
+    }
+
+    public void setFactA(A factA) {
+        this.factA = factA;
     }
 
     @Override
-    public Result_ getFactB() {
-        return result;
+    public B getFactB() {
+        return factB;
+    }
+
+    public void setFactB(B factB) {
+        this.factB = factB;
     }
 
-    public GroupKey_ getGroupKey() {
+    @Override
+    public Object getGroupKey() {
         return groupKey;
     }
 
-    public ResultContainer_ getResultContainer() {
-        return resultContainer;
+    @Override
+    public Object[] getResultContainers() {
+        return resultContainers;
     }
 
 }
@@ -22,24 +22,26 @@ import java.util.function.BiFunction;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.stream.bi.BiConstraintCollector;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
 import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFromUniConstraintStream;
 
-public final class BavetGroupBridgeBiConstraintStream<Solution_, A, B, NewA, ResultContainer_, NewB>
+public final class BavetGroupBridgeBiConstraintStream<Solution_, A, B>
         extends BavetAbstractBiConstraintStream<Solution_, A, B> {
 
     private final BavetAbstractBiConstraintStream<Solution_, A, B> parent;
-    private final BiFunction<A, B, NewA> groupKeyMapping;
-    private final BiConstraintCollector<A, B, ResultContainer_, NewB> collector;
-    private BavetGroupBiConstraintStream<Solution_, NewA, ResultContainer_, NewB> groupStream;
+    private final BiFunction<A, B, ?> groupKeyMapping;
+    private final List<BiConstraintCollector<A, B, ?, ?>> collectorList;
+    private BavetGroupConstraintStream<Solution_> groupStream;
 
     public BavetGroupBridgeBiConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
             BavetAbstractBiConstraintStream<Solution_, A, B> parent,
-            BiFunction<A, B, NewA> groupKeyMapping, BiConstraintCollector<A, B, ResultContainer_, NewB> collector) {
+            BiFunction<A, B, ?> groupKeyMapping, List<BiConstraintCollector<A, B, ?, ?>> collectorList) {
         super(constraintFactory);
         this.parent = parent;
         this.groupKeyMapping = groupKeyMapping;
-        this.collector = collector;
+        this.collectorList = collectorList;
     }
 
     @Override
@@ -47,7 +49,7 @@ public final class BavetGroupBridgeBiConstraintStream<Solution_, A, B, NewA, Res
         return parent.guaranteesDistinct();
     }
 
-    public void setGroupStream(BavetGroupBiConstraintStream<Solution_, NewA, ResultContainer_, NewB> groupStream) {
+    public void setGroupStream(BavetGroupConstraintStream<Solution_> groupStream) {
         this.groupStream = groupStream;
     }
 
@@ -61,10 +63,10 @@ public final class BavetGroupBridgeBiConstraintStream<Solution_, A, B, NewA, Res
     // ************************************************************************
 
     @Override
-    protected BavetAbstractBiNode<A, B> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
+    protected BavetGroupBridgeBiNode<A, B> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
             Score<?> constraintWeight, BavetAbstractBiNode<A, B> parentNode) {
         return new BavetGroupBridgeBiNode<>(buildPolicy.getSession(), buildPolicy.nextNodeIndex(), parentNode,
-                groupKeyMapping, collector);
+                groupKeyMapping, collectorList);
     }
 
     @Override
@@ -74,11 +76,18 @@ public final class BavetGroupBridgeBiConstraintStream<Solution_, A, B, NewA, Res
             throw new IllegalStateException("Impossible state: the stream (" + this
                     + ") has an non-empty childStreamList (" + childStreamList + ") but it's a groupBy bridge.");
         }
-        BavetGroupBiNode<NewA, ResultContainer_, NewB> groupNode = groupStream.createNodeChain(buildPolicy,
-                constraintWeight, null);
-        BavetGroupBridgeBiNode<A, B, NewA, ResultContainer_, NewB> groupBridgeNode =
-                (BavetGroupBridgeBiNode<A, B, NewA, ResultContainer_, NewB>) node;
+        BavetGroupNode groupNode = groupStream.createNodeChain(buildPolicy, constraintWeight);
+        BavetGroupBridgeBiNode<A, B> groupBridgeNode = (BavetGroupBridgeBiNode<A, B>) node;
         groupBridgeNode.setGroupNode(groupNode);
+    }
 
+    @Override
+    public String toString() {
+        return "GroupBridge()";
     }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
 }
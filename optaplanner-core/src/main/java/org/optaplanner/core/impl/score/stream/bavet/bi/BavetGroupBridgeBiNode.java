@@ -16,37 +16,50 @@
 
 package org.optaplanner.core.impl.score.stream.bavet.bi;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
 
 import org.optaplanner.core.api.score.stream.bi.BiConstraintCollector;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupTuple;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
 
-public class BavetGroupBridgeBiNode<A, B, NewA, ResultContainer_, NewB> extends BavetAbstractBiNode<A, B> {
+public final class BavetGroupBridgeBiNode<A, B> extends BavetAbstractBiNode<A, B> {
 
-    private final BiFunction<A, B, NewA> groupKeyMapping;
-    private final BiConstraintCollector<A, B, ResultContainer_, NewB> collector;
-    private BavetGroupBiNode<NewA, ResultContainer_, NewB> groupNode;
-
-    private final Map<NewA, BavetGroupBiTuple<NewA, ResultContainer_, NewB>> tupleMap;
+    private final BavetAbstractBiNode<A, B> parentNode;
+    /**
+     * Null if there are no group keys, in which case all tuples end up in the same group.
+     */
+    private final BiFunction<A, B, ?> groupKeyMapping;
+    private final List<BiConstraintCollector<A, B, ?, ?>> collectorList;
+    private final Map<Object, BavetGroupTuple> groupTupleMap;
+    private BavetGroupNode groupNode;
 
     public BavetGroupBridgeBiNode(BavetConstraintSession session, int nodeIndex, BavetAbstractBiNode<A, B> parentNode,
-            BiFunction<A, B, NewA> groupKeyMapping, BiConstraintCollector<A, B, ResultContainer_, NewB> collector) {
+            BiFunction<A, B, ?> groupKeyMapping, List<BiConstraintCollector<A, B, ?, ?>> collectorList) {
         super(session, nodeIndex);
+        this.parentNode = parentNode;
         this.groupKeyMapping = groupKeyMapping;
-        this.collector = collector;
-        tupleMap = new HashMap<>();
+        this.collectorList = collectorList;
+        groupTupleMap = new HashMap<>();
+    }
+
+    @Override
+    public List<BavetAbstractBiNode<A, B>> getChildNodeList() {
+        return Collections.emptyList();
     }
 
     @Override
-    public BavetGroupBridgeBiTuple<A, B, NewA, ResultContainer_, NewB> createTuple(BavetAbstractBiTuple<A, B> parentTuple) {
+    public BavetGroupBridgeBiTuple<A, B> createTuple(BavetAbstractBiTuple<A, B> parentTuple) {
         return new BavetGroupBridgeBiTuple<>(this, parentTuple);
     }
 
-    public void setGroupNode(BavetGroupBiNode<NewA, ResultContainer_, NewB> groupNode) {
+    public void setGroupNode(BavetGroupNode groupNode) {
         this.groupNode = groupNode;
     }
 
@@ -56,47 +69,61 @@ public class BavetGroupBridgeBiNode<A, B, NewA, ResultContainer_, NewB> extends
             throw new IllegalStateException("Impossible state: GroupBridgeNode (" + this +
                     ") has no child GroupNode (" + groupNode + ").");
         }
-        BavetGroupBridgeBiTuple<A, B, NewA, ResultContainer_, NewB> tuple =
-                (BavetGroupBridgeBiTuple<A, B, NewA, ResultContainer_, NewB>) uncastTuple;
-        if (tuple.getChildTuple() != null) {
-            BavetGroupBiTuple<NewA, ResultContainer_, NewB> childTuple = tuple.getChildTuple();
-            NewA oldGroupKey = childTuple.getGroupKey();
-            int parentCount = childTuple.decreaseParentCount();
-            tuple.getUndoAccumulator().run();
-            childTuple.clearResult();
+        BavetGroupBridgeBiTuple<A, B> tuple = (BavetGroupBridgeBiTuple<A, B>) uncastTuple;
+        BavetGroupTuple oldGroupTuple = tuple.getChildTuple();
+        if (oldGroupTuple != null) {
+            for (Runnable undoAccumulator : tuple.getUndoAccumulators()) {
+                undoAccumulator.run();
+            }
             tuple.setChildTuple(null);
-            tuple.setUndoAccumulator(null);
+            tuple.setUndoAccumulators(null);
+            int parentCount = oldGroupTuple.decreaseParentCount();
+            BavetAbstractTuple castOldGroupTuple = (BavetAbstractTuple) oldGroupTuple;
             if (parentCount == 0) {
-                // Clean up tupleMap
-                tupleMap.remove(oldGroupKey);
-                session.transitionTuple(childTuple, BavetTupleState.DYING);
-            } else {
-                session.transitionTuple(childTuple, BavetTupleState.UPDATING);
+                // Clean up groupTupleMap
+                groupTupleMap.remove(oldGroupTuple.getGroupKey());
+                session.transitionTuple(castOldGroupTuple, BavetTupleState.DYING);
+            } else if (!castOldGroupTuple.isDirty()) {
+                session.transitionTuple(castOldGroupTuple, BavetTupleState.UPDATING);
             }
         }
         if (tuple.isActive()) {
             A a = tuple.getFactA();
             B b = tuple.getFactB();
-            NewA groupKey = groupKeyMapping.apply(a, b);
-            BavetGroupBiTuple<NewA, ResultContainer_, NewB> childTuple = tupleMap.computeIfAbsent(groupKey,
-                    k -> groupNode.createTuple(groupKey, collector.supplier().get()));
-            int parentCount = childTuple.increaseParentCount();
-
-            Runnable undoAccumulator = collector.accumulator().apply(childTuple.getResultContainer(), a, b);
-            tuple.setUndoAccumulator(undoAccumulator);
-            childTuple.clearResult();
-            tuple.setChildTuple(childTuple);
+            Object groupKey = (groupKeyMapping == null) ? null : groupKeyMapping.apply(a, b);
+            BavetGroupTuple groupTuple = groupTupleMap.computeIfAbsent(groupKey,
+                    k -> groupNode.createTuple(k, createResultContainers()));
+            Object[] resultContainers = groupTuple.getResultContainers();
+            Runnable[] undoAccumulators = new Runnable[resultContainers.length];
+            for (int i = 0; i < undoAccumulators.length; i++) {
+                undoAccumulators[i] = accumulate(collectorList.get(i), resultContainers[i], a, b);
+            }
+            tuple.setUndoAccumulators(undoAccumulators);
+            tuple.setChildTuple(groupTuple);
+            int parentCount = groupTuple.increaseParentCount();
+            BavetAbstractTuple castGroupTuple = (BavetAbstractTuple) groupTuple;
             if (parentCount == 1) {
-                session.transitionTuple(childTuple, BavetTupleState.CREATING);
-            } else {
-                // It might have just been created by an earlier tuple in the same nodeIndex
-                if (childTuple.getState() != BavetTupleState.CREATING) {
-                    session.transitionTuple(childTuple, BavetTupleState.UPDATING);
-                }
+                session.transitionTuple(castGroupTuple, BavetTupleState.CREATING);
+            } else if (!castGroupTuple.isDirty()) {
+                // It might be dirty already due to an earlier tuple in the same nodeIndex
+                session.transitionTuple(castGroupTuple, BavetTupleState.UPDATING);
             }
         }
     }
 
+    private Object[] createResultContainers() {
+        Object[] resultContainers = new Object[collectorList.size()];
+        for (int i = 0; i < resultContainers.length; i++) {
+            resultContainers[i] = collectorList.get(i).supplier().get();
+        }
+        return resultContainers;
+    }
+
+    private static <A, B, ResultContainer_> Runnable accumulate(
+            BiConstraintCollector<A, B, ResultContainer_, ?> collector, Object resultContainer, A a, B b) {
+        return collector.accumulator().apply((ResultContainer_) resultContainer, a, b);
+    }
+
     @Override
     public String toString() {
         return "GroupBridge()";
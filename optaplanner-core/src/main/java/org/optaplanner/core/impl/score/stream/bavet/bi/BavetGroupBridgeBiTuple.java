@@ -19,17 +19,18 @@ package org.optaplanner.core.impl.score.stream.bavet.bi;
 import java.util.List;
 
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupBridgeTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupTuple;
 
-public final class BavetGroupBridgeBiTuple<A, B, NewA, ResultContainer_, NewB> extends BavetAbstractBiTuple<A, B> {
+public final class BavetGroupBridgeBiTuple<A, B> extends BavetAbstractBiTuple<A, B> implements BavetGroupBridgeTuple {
 
-    private final BavetGroupBridgeBiNode<A, B, NewA, ResultContainer_, NewB> node;
+    private final BavetGroupBridgeBiNode<A, B> node;
     private final BavetAbstractBiTuple<A, B> parentTuple;
 
-    private Runnable undoAccumulator;
-    private BavetGroupBiTuple<NewA, ResultContainer_, NewB> childTuple;
+    private Runnable[] undoAccumulators;
+    private BavetGroupTuple childTuple;
 
-    public BavetGroupBridgeBiTuple(BavetGroupBridgeBiNode<A, B, NewA, ResultContainer_, NewB> node,
-            BavetAbstractBiTuple<A, B> parentTuple) {
+    public BavetGroupBridgeBiTuple(BavetGroupBridgeBiNode<A, B> node, BavetAbstractBiTuple<A, B> parentTuple) {
         this.node = node;
         this.parentTuple = parentTuple;
     }
@@ -44,7 +45,7 @@ public final class BavetGroupBridgeBiTuple<A, B, NewA, ResultContainer_, NewB> e
     // ************************************************************************
 
     @Override
-    public BavetGroupBridgeBiNode<A, B, NewA, ResultContainer_, NewB> getNode() {
+    public BavetGroupBridgeBiNode<A, B> getNode() {
         return node;
     }
 
@@ -63,19 +64,20 @@ public final class BavetGroupBridgeBiTuple<A, B, NewA, ResultContainer_, NewB> e
         return parentTuple.getFactB();
     }
 
-    public Runnable getUndoAccumulator() {
-        return undoAccumulator;
+    public Runnable[] getUndoAccumulators() {
+        return undoAccumulators;
     }
 
-    public void setUndoAccumulator(Runnable undoAccumulator) {
-        this.undoAccumulator = undoAccumulator;
+    public void setUndoAccumulators(Runnable[] undoAccumulators) {
+        this.undoAccumulators = undoAccumulators;
     }
 
-    public BavetGroupBiTuple<NewA, ResultContainer_, NewB> getChildTuple() {
+    public BavetGroupTuple getChildTuple() {
         return childTuple;
     }
 
-    public void setChildTuple(BavetGroupBiTuple<NewA, ResultContainer_, NewB> childTuple) {
+    public void setChildTuple(BavetGroupTuple childTuple) {
         this.childTuple = childTuple;
     }
+
 }
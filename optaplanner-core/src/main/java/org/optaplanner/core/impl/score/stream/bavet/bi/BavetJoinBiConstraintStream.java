@@ -16,28 +16,30 @@
 
 package org.optaplanner.core.impl.score.stream.bavet.bi;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
-import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
-import org.optaplanner.core.impl.score.stream.bavet.uni.BavetAbstractUniConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetAbstractUniNode;
 import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFromUniConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniNode;
 
 public final class BavetJoinBiConstraintStream<Solution_, A, B> extends BavetAbstractBiConstraintStream<Solution_, A, B>
         implements BavetJoinConstraintStream<Solution_> {
 
-    private final BavetAbstractUniConstraintStream<Solution_, A> leftParent;
-    private final BavetAbstractUniConstraintStream<Solution_, B> rightParent;
+    private final BavetJoinBridgeUniConstraintStream<Solution_, A> leftParent;
+    private final BavetJoinBridgeUniConstraintStream<Solution_, B> rightParent;
 
     public BavetJoinBiConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
-            BavetAbstractUniConstraintStream<Solution_, A> leftParent,
-            BavetAbstractUniConstraintStream<Solution_, B> rightParent) {
+            BavetJoinBridgeUniConstraintStream<Solution_, A> leftParent,
+            BavetJoinBridgeUniConstraintStream<Solution_, B> rightParent) {
         super(constraintFactory);
         this.leftParent = leftParent;
         this.rightParent = rightParent;
@@ -61,14 +63,20 @@ public final class BavetJoinBiConstraintStream<Solution_, A, B> extends BavetAbs
 
     @Override
     public BavetJoinBiNode<A, B> createNodeChain(BavetNodeBuildPolicy<Solution_> buildPolicy,
-            Score<?> constraintWeight, BavetJoinBridgeNode leftNode_, BavetJoinBridgeNode rightNode_) {
-        BavetJoinBridgeUniNode<A> leftNode = (BavetJoinBridgeUniNode<A>) leftNode_;
-        BavetJoinBridgeUniNode<B> rightNode = (BavetJoinBridgeUniNode<B>) rightNode_;
-        BavetJoinBiNode<A, B> node = new BavetJoinBiNode<>(buildPolicy.getSession(), buildPolicy.nextNodeIndex(),
-                leftNode, rightNode);
-        leftNode.setChildTupleRefresher(node::refreshChildTuplesLeft); // TODO don't register if shared
-        rightNode.setChildTupleRefresher(node::refreshChildTuplesRight);
-        node = (BavetJoinBiNode<A, B>) processNode(buildPolicy, null, node); // TODO Sharing never happens
+            Score<?> constraintWeight, BavetAbstractNode leftParentNode, BavetAbstractNode rightParentNode) {
+        List<Object> joinSharingKey = Arrays.asList(getClass(), leftParentNode, rightParentNode,
+                leftParent.getIndexFactory());
+        BavetJoinBiNode<A, B> node = buildPolicy.retrieveSharedJoinNode(joinSharingKey, () -> {
+            BavetJoinBridgeUniNode<A> leftNode = leftParent.createBridgeNode(buildPolicy,
+                    (BavetAbstractUniNode<A>) leftParentNode);
+            BavetJoinBridgeUniNode<B> rightNode = rightParent.createBridgeNode(buildPolicy,
+                    (BavetAbstractUniNode<B>) rightParentNode);
+            BavetJoinBiNode<A, B> newNode = new BavetJoinBiNode<>(buildPolicy.getSession(), buildPolicy.nextNodeIndex(),
+                    leftNode, rightNode);
+            leftNode.setChildTupleRefresher(newNode::refreshChildTuplesLeft);
+            rightNode.setChildTupleRefresher(newNode::refreshChildTuplesRight);
+            return (BavetJoinBiNode<A, B>) processNode(buildPolicy, null, newNode);
+        });
         createChildNodeChains(buildPolicy, constraintWeight, node);
         return node;
     }
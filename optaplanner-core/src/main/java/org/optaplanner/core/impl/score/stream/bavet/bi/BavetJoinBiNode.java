@@ -18,7 +18,7 @@ package org.optaplanner.core.impl.score.stream.bavet.bi;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
@@ -34,6 +34,9 @@ public final class BavetJoinBiNode<A, B> extends BavetAbstractBiNode<A, B> imple
     private final BavetJoinBridgeUniNode<B> rightParentNode;
 
     private final List<BavetAbstractBiNode<A, B>> childNodeList = new ArrayList<>();
+    // Created once, so refreshing a tuple doesn't allocate a capturing lambda to visit the other index
+    private final BiConsumer<BavetJoinBridgeUniTuple<A>, BavetJoinBridgeUniTuple<B>> leftTupleVisitor = this::joinLeft;
+    private final BiConsumer<BavetJoinBridgeUniTuple<B>, BavetJoinBridgeUniTuple<A>> rightTupleVisitor = this::joinRight;
 
     public BavetJoinBiNode(BavetConstraintSession session, int nodeIndex,
             BavetJoinBridgeUniNode<A> leftParentNode, BavetJoinBridgeUniNode<B> rightParentNode) {
@@ -104,15 +107,7 @@ public final class BavetJoinBiNode<A, B> extends BavetAbstractBiNode<A, B> imple
         }
         leftTupleSet.clear();
         if (leftParentTuple.isActive()) {
-            Set<BavetJoinBridgeUniTuple<B>> rightParentTupleList = getRightIndex().get(leftParentTuple.getIndexProperties());
-            for (BavetJoinBridgeUniTuple<B> rightParentTuple : rightParentTupleList) {
-                if (!rightParentTuple.isDirty()) {
-                    BavetJoinBiTuple<A, B> childTuple = createTuple(leftParentTuple, rightParentTuple);
-                    leftTupleSet.add(childTuple);
-                    rightParentTuple.getChildTupleList().add(childTuple);
-                    session.transitionTuple(childTuple, BavetTupleState.CREATING);
-                }
-            }
+            getRightIndex().visit(leftParentTuple.getIndexKey(), leftParentTuple, leftTupleVisitor);
         }
     }
 
@@ -130,18 +125,29 @@ public final class BavetJoinBiNode<A, B> extends BavetAbstractBiNode<A, B> imple
         }
         rightTupleSet.clear();
         if (rightParentTuple.isActive()) {
-            Set<BavetJoinBridgeUniTuple<A>> leftParentTupleList = getLeftIndex().get(rightParentTuple.getIndexProperties());
-            for (BavetJoinBridgeUniTuple<A> leftParentTuple : leftParentTupleList) {
-                if (!leftParentTuple.isDirty()) {
-                    BavetJoinBiTuple<A, B> childTuple = createTuple(leftParentTuple, rightParentTuple);
-                    leftParentTuple.getChildTupleList().add(childTuple);
-                    rightTupleSet.add(childTuple);
-                    session.transitionTuple(childTuple, BavetTupleState.CREATING);
-                }
-            }
+            getLeftIndex().visit(rightParentTuple.getIndexKey(), rightParentTuple, rightTupleVisitor);
+        }
+    }
+
+    private void joinLeft(BavetJoinBridgeUniTuple<A> leftParentTuple, BavetJoinBridgeUniTuple<B> rightParentTuple) {
+        if (!rightParentTuple.isDirty()) {
+            join(leftParentTuple, rightParentTuple);
         }
     }
 
+    private void joinRight(BavetJoinBridgeUniTuple<B> rightParentTuple, BavetJoinBridgeUniTuple<A> leftParentTuple) {
+        if (!leftParentTuple.isDirty()) {
+            join(leftParentTuple, rightParentTuple);
+        }
+    }
+
+    private void join(BavetJoinBridgeUniTuple<A> leftParentTuple, BavetJoinBridgeUniTuple<B> rightParentTuple) {
+        BavetJoinBiTuple<A, B> childTuple = createTuple(leftParentTuple, rightParentTuple);
+        leftParentTuple.getChildTupleList().add(childTuple);
+        rightParentTuple.getChildTupleList().add(childTuple);
+        session.transitionTuple(childTuple, BavetTupleState.CREATING);
+    }
+
     public BavetIndex<BavetJoinBridgeUniTuple<A>> getLeftIndex() {
         return leftParentNode.getIndex();
     }
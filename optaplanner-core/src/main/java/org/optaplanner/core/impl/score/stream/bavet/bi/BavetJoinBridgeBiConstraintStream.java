@@ -17,12 +17,13 @@
 package org.optaplanner.core.impl.score.stream.bavet.bi;
 
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiFunction;
 
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeConstraintStream;
-import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
 import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndexFactory;
@@ -67,29 +68,48 @@ public final class BavetJoinBridgeBiConstraintStream<Solution_, A, B>
     // Node creation
     // ************************************************************************
 
+    @Override
+    public BavetAbstractBiNode<A, B> createNodeChain(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight, BavetAbstractBiNode<A, B> parentNode) {
+        if (!childStreamList.isEmpty()) {
+            throw new IllegalStateException("Impossible state: the stream (" + this
+                    + ") has an non-empty childStreamList (" + childStreamList + ") but it's a join bridge.");
+        }
+        // The join bridge node is created by the join stream once both parent nodes are known,
+        // so an equivalent join node (with its join bridge nodes) can be shared instead.
+        Map<BavetJoinConstraintStream<Solution_>, BavetAbstractNode> parentNodeMap = isLeftBridge
+                ? buildPolicy.getJoinConstraintStreamToLeftParentNodeMap()
+                : buildPolicy.getJoinConstraintStreamToRightParentNodeMap();
+        Map<BavetJoinConstraintStream<Solution_>, BavetAbstractNode> otherParentNodeMap = isLeftBridge
+                ? buildPolicy.getJoinConstraintStreamToRightParentNodeMap()
+                : buildPolicy.getJoinConstraintStreamToLeftParentNodeMap();
+        parentNodeMap.put(joinStream, parentNode);
+        BavetAbstractNode otherParentNode = otherParentNodeMap.get(joinStream);
+        if (otherParentNode != null) {
+            BavetAbstractNode leftParentNode = isLeftBridge ? parentNode : otherParentNode;
+            BavetAbstractNode rightParentNode = isLeftBridge ? otherParentNode : parentNode;
+            joinStream.createNodeChain(buildPolicy, constraintWeight, leftParentNode, rightParentNode);
+        }
+        return parentNode;
+    }
+
+    public BavetJoinBridgeBiNode<A, B> createBridgeNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            BavetAbstractBiNode<A, B> parentNode) {
+        BavetJoinBridgeBiNode<A, B> node = createNode(buildPolicy, null, parentNode);
+        return (BavetJoinBridgeBiNode<A, B>) processNode(buildPolicy, parentNode, node);
+    }
+
     @Override
     protected BavetJoinBridgeBiNode<A, B> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
             Score<?> constraintWeight, BavetAbstractBiNode<A, B> parentNode) {
         return new BavetJoinBridgeBiNode<>(buildPolicy.getSession(), buildPolicy.nextNodeIndex(), parentNode, mapping,
-                indexFactory.buildIndex(isLeftBridge));
+                buildPolicy.buildIndex(indexFactory, isLeftBridge));
     }
 
     @Override
     protected void createChildNodeChains(BavetNodeBuildPolicy<Solution_> buildPolicy, Score<?> constraintWeight,
-            BavetAbstractBiNode<A, B> uncastedNode) {
-        if (!childStreamList.isEmpty()) {
-            throw new IllegalStateException("Impossible state: the stream (" + this
-                    + ") has an non-empty childStreamList (" + childStreamList + ") but it's a join bridge.");
-        }
-        BavetJoinBridgeBiNode<A, B> node = (BavetJoinBridgeBiNode<A, B>) uncastedNode;
-        BavetJoinBridgeNode otherBridgeNode = buildPolicy.getJoinConstraintStreamToJoinBridgeNodeMap().get(joinStream);
-        if (otherBridgeNode == null) {
-            buildPolicy.getJoinConstraintStreamToJoinBridgeNodeMap().put(joinStream, node);
-        } else {
-            BavetJoinBridgeNode leftNode = isLeftBridge ? node : otherBridgeNode;
-            BavetJoinBridgeNode rightNode = isLeftBridge ? otherBridgeNode : node;
-            joinStream.createNodeChain(buildPolicy, constraintWeight, leftNode, rightNode);
-        }
+            BavetAbstractBiNode<A, B> node) {
+        throw new IllegalStateException("Impossible state: this code is never called.");
     }
 
     @Override
@@ -101,4 +121,8 @@ public final class BavetJoinBridgeBiConstraintStream<Solution_, A, B>
     // Getters/setters
     // ************************************************************************
 
+    public BavetIndexFactory getIndexFactory() {
+        return indexFactory;
+    }
+
 }
@@ -74,6 +74,7 @@ public final class BavetJoinBridgeBiNode<A, B> extends BavetAbstractBiNode<A, B>
     // Getters/setters
     // ************************************************************************
 
+    @Override
     public BavetIndex<BavetJoinBridgeBiTuple<A, B>> getIndex() {
         return index;
     }
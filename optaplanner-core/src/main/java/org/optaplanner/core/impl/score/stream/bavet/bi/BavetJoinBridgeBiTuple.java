@@ -21,6 +21,7 @@ import java.util.List;
 
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndexKey;
 
 public final class BavetJoinBridgeBiTuple<A, B> extends BavetAbstractBiTuple<A, B>
         implements BavetJoinBridgeTuple {
@@ -29,7 +30,7 @@ public final class BavetJoinBridgeBiTuple<A, B> extends BavetAbstractBiTuple<A,
     private final BavetJoinBridgeBiNode<A, B> node;
     private final List<BavetAbstractTuple> childTupleList = new ArrayList<>();
 
-    private Object[] indexProperties;
+    private BavetIndexKey indexKey = null;
 
     public BavetJoinBridgeBiTuple(BavetJoinBridgeBiNode<A, B> node,
             BavetAbstractBiTuple<A, B> parentTuple) {
@@ -67,13 +68,13 @@ public final class BavetJoinBridgeBiTuple<A, B> extends BavetAbstractBiTuple<A,
     }
 
     @Override
-    public Object[] getIndexProperties() {
-        return indexProperties;
+    public BavetIndexKey getIndexKey() {
+        return indexKey;
     }
 
     @Override
-    public void setIndexProperties(Object[] indexProperties) {
-        this.indexProperties = indexProperties;
+    public void setIndexKey(BavetIndexKey indexKey) {
+        this.indexKey = indexKey;
     }
 
 }
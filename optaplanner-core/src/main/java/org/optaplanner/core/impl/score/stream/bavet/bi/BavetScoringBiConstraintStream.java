@@ -20,6 +20,7 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.function.ToIntBiFunction;
 import java.util.function.ToLongBiFunction;
 
@@ -27,7 +28,9 @@ import org.optaplanner.core.api.function.TriFunction;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.stream.bi.BiConstraintStream;
 import org.optaplanner.core.impl.score.inliner.BigDecimalWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.IntReversibleWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.IntWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.LongReversibleWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.LongWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.ScoreInliner;
 import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
@@ -113,8 +116,48 @@ public final class BavetScoringBiConstraintStream<Solution_, A, B>
             Score<?> constraintWeight, BavetAbstractBiNode<A, B> parentNode) {
         ScoreInliner scoreInliner = buildPolicy.getSession().getScoreInliner();
         WeightedScoreImpacter weightedScoreImpacter = scoreInliner.buildWeightedScoreImpacter(constraintWeight);
-        TriFunction<A, B, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter;
-        if (weightedScoreImpacter instanceof IntWeightedScoreImpacter) {
+        TriFunction<A, B, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter = null;
+        ToLongBiFunction<A, B> primitiveScoreImpacter = null;
+        LongConsumer primitiveUndoScoreImpacter = null;
+        // Constraint matching needs a match score per match, so it can't use the allocation free primitive path
+        boolean constraintMatchEnabled = buildPolicy.getSession().isConstraintMatchEnabled();
+        if (!constraintMatchEnabled && weightedScoreImpacter instanceof IntReversibleWeightedScoreImpacter
+                && (intMatchWeigher != null || noMatchWeigher)) {
+            IntReversibleWeightedScoreImpacter castedWeightedScoreImpacter =
+                    (IntReversibleWeightedScoreImpacter) weightedScoreImpacter;
+            if (intMatchWeigher != null) {
+                primitiveScoreImpacter = (A a, B b) -> {
+                    int matchWeight = intMatchWeigher.applyAsInt(a, b);
+                    constraint.assertCorrectImpact(matchWeight);
+                    castedWeightedScoreImpacter.impactScore(matchWeight);
+                    return matchWeight;
+                };
+            } else {
+                primitiveScoreImpacter = (A a, B b) -> {
+                    castedWeightedScoreImpacter.impactScore(1);
+                    return 1L;
+                };
+            }
+            primitiveUndoScoreImpacter = matchWeight -> castedWeightedScoreImpacter.impactScore(-(int) matchWeight);
+        } else if (!constraintMatchEnabled && weightedScoreImpacter instanceof LongReversibleWeightedScoreImpacter
+                && (longMatchWeigher != null || noMatchWeigher)) {
+            LongReversibleWeightedScoreImpacter castedWeightedScoreImpacter =
+                    (LongReversibleWeightedScoreImpacter) weightedScoreImpacter;
+            if (longMatchWeigher != null) {
+                primitiveScoreImpacter = (A a, B b) -> {
+                    long matchWeight = longMatchWeigher.applyAsLong(a, b);
+                    constraint.assertCorrectImpact(matchWeight);
+                    castedWeightedScoreImpacter.impactScore(matchWeight);
+                    return matchWeight;
+                };
+            } else {
+                primitiveScoreImpacter = (A a, B b) -> {
+                    castedWeightedScoreImpacter.impactScore(1L);
+                    return 1L;
+                };
+            }
+            primitiveUndoScoreImpacter = matchWeight -> castedWeightedScoreImpacter.impactScore(-matchWeight);
+        } else if (weightedScoreImpacter instanceof IntWeightedScoreImpacter) {
             IntWeightedScoreImpacter castedWeightedScoreImpacter = (IntWeightedScoreImpacter) weightedScoreImpacter;
             if (intMatchWeigher != null) {
                 scoreImpacter = (A a, B b, Consumer<Score<?>> matchScoreConsumer) -> {
@@ -170,7 +213,8 @@ public final class BavetScoringBiConstraintStream<Solution_, A, B>
             throw new IllegalStateException("Unsupported weightedScoreImpacter (" + weightedScoreImpacter + ").");
         }
         BavetScoringBiNode<A, B> node = new BavetScoringBiNode<>(buildPolicy.getSession(), buildPolicy.nextNodeIndex(),
-                constraint.getConstraintPackage(), constraint.getConstraintName(), constraintWeight, scoreImpacter);
+                constraint.getConstraintPackage(), constraint.getConstraintName(), constraintWeight, scoreImpacter,
+                primitiveScoreImpacter, primitiveUndoScoreImpacter);
         buildPolicy.addScoringNode(node);
         return node;
     }
@@ -17,9 +17,9 @@
 package org.optaplanner.core.impl.score.stream.bavet.bi;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongBiFunction;
 
 import org.optaplanner.core.api.function.TriFunction;
 import org.optaplanner.core.api.score.Score;
@@ -35,21 +35,36 @@ public final class BavetScoringBiNode<A, B> extends BavetAbstractBiNode<A, B> im
     private final String constraintPackage;
     private final String constraintName;
     private final Score<?> constraintWeight;
+    /** Null if the primitive scoring path is used. */
     private final TriFunction<A, B, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter;
+    /**
+     * Null unless the primitive scoring path is used.
+     * Impacts the score without allocation and returns the matchWeight, which the tuple keeps as its undo record.
+     */
+    private final ToLongBiFunction<A, B> primitiveScoreImpacter;
+    /** Null unless the primitive scoring path is used. Undoes the impact of a matchWeight. */
+    private final LongConsumer primitiveUndoScoreImpacter;
 
     private final boolean constraintMatchEnabled;
-    private final Set<BavetScoringBiTuple<A, B>> tupleSet;
+    /** Always null if {@link BavetConstraintSession#isConstraintMatchEnabled()} is false. */
+    private final DefaultConstraintMatchTotal constraintMatchTotal;
 
     public BavetScoringBiNode(BavetConstraintSession session, int nodeIndex,
             String constraintPackage, String constraintName, Score<?> constraintWeight,
-            TriFunction<A, B, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter) {
+            TriFunction<A, B, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter,
+            ToLongBiFunction<A, B> primitiveScoreImpacter, LongConsumer primitiveUndoScoreImpacter) {
         super(session, nodeIndex);
         this.constraintPackage = constraintPackage;
         this.constraintName = constraintName;
         this.constraintWeight = constraintWeight;
         this.scoreImpacter = scoreImpacter;
+        this.primitiveScoreImpacter = primitiveScoreImpacter;
+        this.primitiveUndoScoreImpacter = primitiveUndoScoreImpacter;
         this.constraintMatchEnabled = session.isConstraintMatchEnabled();
-        tupleSet = constraintMatchEnabled ? new HashSet<>() : null;
+        constraintMatchTotal = constraintMatchEnabled
+                ? new DefaultConstraintMatchTotal(constraintPackage, constraintName, constraintWeight,
+                        session.getZeroScore())
+                : null;
     }
 
     // ************************************************************************
@@ -72,27 +87,29 @@ public final class BavetScoringBiNode<A, B> extends BavetAbstractBiNode<A, B> im
         BavetScoringBiTuple<A, B> tuple = (BavetScoringBiTuple<A, B>) uncastTuple;
         A a = tuple.getFactA();
         B b = tuple.getFactB();
+        if (primitiveScoreImpacter != null) {
+            long oldMatchWeight = tuple.getMatchWeight();
+            if (oldMatchWeight != 0L) {
+                primitiveUndoScoreImpacter.accept(oldMatchWeight);
+            }
+            tuple.setMatchWeight(tuple.isActive() ? primitiveScoreImpacter.applyAsLong(a, b) : 0L);
+            return;
+        }
         UndoScoreImpacter oldUndoScoreImpacter = tuple.getUndoScoreImpacter();
         if (oldUndoScoreImpacter != null) {
             oldUndoScoreImpacter.undoScoreImpact();
             if (constraintMatchEnabled) {
+                session.removeConstraintMatch(constraintMatchTotal, tuple.getConstraintMatch());
                 tuple.setMatchScore(null);
-                boolean removed = tupleSet.remove(tuple);
-                if (!removed) {
-                    throw new IllegalStateException("Impossible state: The node with constraintId ("
-                            + getConstraintId() + ") could not remove the tuple (" + tuple + ") from the tupleSet.");
-                }
+                tuple.setConstraintMatch(null);
             }
         }
         if (tuple.isActive()) {
             UndoScoreImpacter undoScoreImpacter = scoreImpacter.apply(a, b, tuple::setMatchScore);
             tuple.setUndoScoreImpacter(undoScoreImpacter);
             if (constraintMatchEnabled) {
-                boolean added = tupleSet.add(tuple);
-                if (!added) {
-                    throw new IllegalStateException("Impossible state: The node with constraintId ("
-                            + getConstraintId() + ") could not add the tuple (" + tuple + ") to the tupleSet.");
-                }
+                tuple.setConstraintMatch(session.addConstraintMatch(constraintMatchTotal,
+                        Arrays.asList(a, b), tuple.getMatchScore()));
             }
         } else {
             tuple.setUndoScoreImpacter(null);
@@ -100,13 +117,7 @@ public final class BavetScoringBiNode<A, B> extends BavetAbstractBiNode<A, B> im
     }
 
     @Override
-    public <Score_ extends Score<Score_>> ConstraintMatchTotal<Score_> buildConstraintMatchTotal(Score_ zeroScore) {
-        DefaultConstraintMatchTotal<Score_> constraintMatchTotal = new DefaultConstraintMatchTotal<>(constraintPackage,
-                constraintName, (Score_) constraintWeight, zeroScore);
-        for (BavetScoringBiTuple<A, B> tuple : tupleSet) {
-            constraintMatchTotal.addConstraintMatch(
-                    Arrays.asList(tuple.getFactA(), tuple.getFactB()), (Score_) tuple.getMatchScore());
-        }
+    public <Score_ extends Score<Score_>> ConstraintMatchTotal<Score_> getConstraintMatchTotal() {
         return constraintMatchTotal;
     }
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.common;
+
+import java.util.function.Consumer;
+
+/**
+ * A match of an exists node between one of its tuples and a right tuple that this tuple counts.
+ * Every match is in 2 circular doubly linked lists, each starting at a sentinel:
+ * the matches of its tuple and the matches of its right tuple.
+ * So when either side is refreshed, it unlinks its matches from the other side's lists in O(1) per match,
+ * without searching those lists.
+ *
+ * @param <Tuple_> the tuple of the exists node
+ * @param <RightTuple_> the right join bridge tuple
+ */
+public final class BavetExistsMatch<Tuple_, RightTuple_> {
+
+    /** Null for the sentinel of a right tuple. */
+    private final Tuple_ tuple;
+    /** Null for the sentinel of a tuple. */
+    private final RightTuple_ rightTuple;
+
+    private BavetExistsMatch<Tuple_, RightTuple_> previousOfTuple = this;
+    private BavetExistsMatch<Tuple_, RightTuple_> nextOfTuple = this;
+    private BavetExistsMatch<Tuple_, RightTuple_> previousOfRightTuple = this;
+    private BavetExistsMatch<Tuple_, RightTuple_> nextOfRightTuple = this;
+
+    public BavetExistsMatch(Tuple_ tuple, RightTuple_ rightTuple) {
+        this.tuple = tuple;
+        this.rightTuple = rightTuple;
+    }
+
+    public void link(BavetExistsMatch<Tuple_, RightTuple_> tupleSentinel,
+            BavetExistsMatch<Tuple_, RightTuple_> rightTupleSentinel) {
+        previousOfTuple = tupleSentinel;
+        nextOfTuple = tupleSentinel.nextOfTuple;
+        nextOfTuple.previousOfTuple = this;
+        tupleSentinel.nextOfTuple = this;
+        previousOfRightTuple = rightTupleSentinel;
+        nextOfRightTuple = rightTupleSentinel.nextOfRightTuple;
+        nextOfRightTuple.previousOfRightTuple = this;
+        rightTupleSentinel.nextOfRightTuple = this;
+    }
+
+    /**
+     * Called on the sentinel of a tuple that dies.
+     * Unlinks each of its matches from the list of that match's right tuple.
+     */
+    public void unlinkTupleMatches() {
+        for (BavetExistsMatch<Tuple_, RightTuple_> match = nextOfTuple; match != this; match = match.nextOfTuple) {
+            match.previousOfRightTuple.nextOfRightTuple = match.nextOfRightTuple;
+            match.nextOfRightTuple.previousOfRightTuple = match.previousOfRightTuple;
+        }
+    }
+
+    /**
+     * Called on the sentinel of a right tuple that is refreshed, after which this sentinel is discarded.
+     * Unlinks each of its matches from the list of that match's tuple.
+     * @param tupleConsumer never null, called for the tuple of each match, after unlinking it
+     */
+    public void unlinkRightTupleMatches(Consumer<Tuple_> tupleConsumer) {
+        for (BavetExistsMatch<Tuple_, RightTuple_> match = nextOfRightTuple; match != this;
+                match = match.nextOfRightTuple) {
+            match.previousOfTuple.nextOfTuple = match.nextOfTuple;
+            match.nextOfTuple.previousOfTuple = match.previousOfTuple;
+            tupleConsumer.accept(match.tuple);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Match(" + tuple + ", " + rightTuple + ")";
+    }
+
+}
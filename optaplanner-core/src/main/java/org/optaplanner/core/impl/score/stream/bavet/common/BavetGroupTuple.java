@@ -13,9 +13,23 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.optaplanner.core.impl.score.stream.bavet.common;
 
 public interface BavetGroupTuple extends BavetTuple {
 
+    /**
+     * @return a single group key as is, multiple group keys wrapped in a {@link java.util.List},
+     * or null if there are no group keys
+     */
+    Object getGroupKey();
+
+    /**
+     * @return never null, one result container per collector, in order
+     */
+    Object[] getResultContainers();
+
+    int increaseParentCount();
+
+    int decreaseParentCount();
+
 }
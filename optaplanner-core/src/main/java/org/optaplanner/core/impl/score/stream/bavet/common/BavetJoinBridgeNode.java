@@ -16,6 +16,10 @@
 
 package org.optaplanner.core.impl.score.stream.bavet.common;
 
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndex;
+
 public interface BavetJoinBridgeNode extends BavetNode {
 
+    BavetIndex<? extends BavetJoinBridgeTuple> getIndex();
+
 }
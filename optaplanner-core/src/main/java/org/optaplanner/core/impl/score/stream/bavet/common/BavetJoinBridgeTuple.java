@@ -16,10 +16,16 @@
 
 package org.optaplanner.core.impl.score.stream.bavet.common;
 
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndexKey;
+
 public interface BavetJoinBridgeTuple extends BavetTuple {
 
-    Object[] getIndexProperties();
+    /**
+     * @return null if the tuple was never put in the index,
+     * kept after it is removed from the index so the next put can reuse it
+     */
+    BavetIndexKey getIndexKey();
 
-    void setIndexProperties(Object[] indexProperties);
+    void setIndexKey(BavetIndexKey indexKey);
 
 }
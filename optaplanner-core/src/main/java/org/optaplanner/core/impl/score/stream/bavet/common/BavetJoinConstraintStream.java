@@ -20,7 +20,17 @@ import org.optaplanner.core.api.score.Score;
 
 public interface BavetJoinConstraintStream<Solution_> {
 
+    /**
+     * Called once the parent nodes of both join bridges exist.
+     * Creates the join bridge nodes and the join node, unless an equivalent join node already exists,
+     * and then creates the child node chains.
+     * @param buildPolicy never null
+     * @param constraintWeight never null
+     * @param leftParentNode never null, the parent node of the left join bridge
+     * @param rightParentNode never null, the parent node of the right join bridge
+     * @return never null, possibly shared with other constraints
+     */
     BavetJoinNode createNodeChain(BavetNodeBuildPolicy<Solution_> buildPolicy, Score<?> constraintWeight,
-            BavetJoinBridgeNode leftNode, BavetJoinBridgeNode rightNode);
+            BavetAbstractNode leftParentNode, BavetAbstractNode rightParentNode);
 
 }
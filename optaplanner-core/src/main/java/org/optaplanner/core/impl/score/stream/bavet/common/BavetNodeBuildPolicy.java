@@ -24,9 +24,13 @@ import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndex;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndexFactory;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetProfilingIndex;
 
 public class BavetNodeBuildPolicy<Solution_> {
 
@@ -34,9 +38,12 @@ public class BavetNodeBuildPolicy<Solution_> {
 
     private int nextNodeIndex = 0;
     private Map<String, BavetScoringNode> constraintIdToScoringNodeMap;
-    private Map<BavetJoinConstraintStream<Solution_>, BavetJoinBridgeNode> joinConstraintStreamToJoinBridgeNodeMap =
+    private Map<BavetJoinConstraintStream<Solution_>, BavetAbstractNode> joinConstraintStreamToLeftParentNodeMap =
+            new HashMap<>();
+    private Map<BavetJoinConstraintStream<Solution_>, BavetAbstractNode> joinConstraintStreamToRightParentNodeMap =
             new HashMap<>();
     private Map<BavetAbstractNode, BavetAbstractNode> sharableNodeMap = new HashMap<>();
+    private Map<List<Object>, BavetJoinNode> joinSharingKeyToJoinNodeMap = new HashMap<>();
 
     public BavetNodeBuildPolicy(BavetConstraintSession session, int constraintCount) {
         this.session = session;
@@ -52,6 +59,30 @@ public class BavetNodeBuildPolicy<Solution_> {
         return sharedNode;
     }
 
+    /**
+     * Join and exists nodes can't be shared by {@link #retrieveSharedNode(BavetAbstractNode)}
+     * because their join bridge nodes must be created (and indexed) before them,
+     * so the join bridge nodes would be wasted (and leave a gap in the node indexes) if the join node is shared.
+     * @param joinSharingKey never null, the parent nodes of both join bridges and everything else that
+     * makes 2 join nodes equivalent, such as the {@link BavetIndexFactory}
+     * @param nodeChainCreator never null, creates the join bridge nodes and the join node, called at most once
+     * @param <Node_> the join node type
+     * @return never null, either a previously created node with an equal joinSharingKey or the newly created node
+     */
+    public <Node_ extends BavetJoinNode> Node_ retrieveSharedJoinNode(List<Object> joinSharingKey,
+            Supplier<Node_> nodeChainCreator) {
+        return (Node_) joinSharingKeyToJoinNodeMap.computeIfAbsent(joinSharingKey, k -> nodeChainCreator.get());
+    }
+
+    public <Tuple_ extends BavetJoinBridgeTuple> BavetIndex<Tuple_> buildIndex(BavetIndexFactory indexFactory,
+            boolean isLeftBridge) {
+        BavetIndex<Tuple_> index = indexFactory.buildIndex(isLeftBridge);
+        if (session.isProfilingEnabled()) {
+            return new BavetProfilingIndex<>(index);
+        }
+        return index;
+    }
+
     public void addScoringNode(BavetScoringNode scoringNode) {
         constraintIdToScoringNodeMap.put(scoringNode.getConstraintId(), scoringNode);
     }
@@ -72,8 +103,12 @@ public class BavetNodeBuildPolicy<Solution_> {
         return constraintIdToScoringNodeMap;
     }
 
-    public Map<BavetJoinConstraintStream<Solution_>, BavetJoinBridgeNode> getJoinConstraintStreamToJoinBridgeNodeMap() {
-        return joinConstraintStreamToJoinBridgeNodeMap;
+    public Map<BavetJoinConstraintStream<Solution_>, BavetAbstractNode> getJoinConstraintStreamToLeftParentNodeMap() {
+        return joinConstraintStreamToLeftParentNodeMap;
+    }
+
+    public Map<BavetJoinConstraintStream<Solution_>, BavetAbstractNode> getJoinConstraintStreamToRightParentNodeMap() {
+        return joinConstraintStreamToRightParentNodeMap;
     }
 
     public List<BavetNode> getCreatedNodes() {
@@ -18,6 +18,7 @@ package org.optaplanner.core.impl.score.stream.bavet.common;
 
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
 
 public interface BavetScoringNode extends BavetNode {
 
@@ -42,10 +43,10 @@ public interface BavetScoringNode extends BavetNode {
     Score<?> getConstraintWeight();
 
     /**
-     * @param zeroScore never null
-     * @return never null
+     * Only called if {@link BavetConstraintSession#isConstraintMatchEnabled()} is true.
+     * @return never null, maintained incrementally as tuples are created and retracted
      * @param <Score_> the {@link Score} type
      */
-    <Score_ extends Score<Score_>> ConstraintMatchTotal<Score_> buildConstraintMatchTotal(Score_ zeroScore);
+    <Score_ extends Score<Score_>> ConstraintMatchTotal<Score_> getConstraintMatchTotal();
 
 }
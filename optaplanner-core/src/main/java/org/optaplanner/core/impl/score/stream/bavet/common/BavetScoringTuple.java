@@ -17,6 +17,7 @@
 package org.optaplanner.core.impl.score.stream.bavet.common;
 
 import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.constraint.ConstraintMatch;
 import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
 
 public interface BavetScoringTuple {
@@ -25,8 +26,16 @@ public interface BavetScoringTuple {
 
     void setUndoScoreImpacter(UndoScoreImpacter undoScoreImpacter);
 
+    long getMatchWeight();
+
+    void setMatchWeight(long matchWeight);
+
     Score<?> getMatchScore();
 
     void setMatchScore(Score<?> matchScore);
 
+    ConstraintMatch<?> getConstraintMatch();
+
+    void setConstraintMatch(ConstraintMatch<?> constraintMatch);
+
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.common.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeTuple;
+import org.optaplanner.core.impl.score.stream.common.JoinerType;
+
+/**
+ * Indexes the last index property as an inverted index from each element to the tuples that have it,
+ * after the leading equal index properties.
+ * Used for the {@link JoinerType#CONTAINING}, {@link JoinerType#INTERSECTING} and {@link JoinerType#DISJOINT}
+ * joiner types, so a lookup only visits the buckets of the elements of the other side,
+ * instead of testing every tuple's collection.
+ * <p>
+ * A collection index property is replaced by a distinct copy when it's put,
+ * so changing the original collection in place doesn't corrupt the index before the tuple is refreshed.
+ * @param <Tuple_> the type of the indexed tuples
+ */
+public class BavetEqualsAndCollectionIndex<Tuple_ extends BavetJoinBridgeTuple> extends BavetIndex<Tuple_> {
+
+    private final JoinerType collectionJoinerType;
+    /**
+     * False if the index property of this side is a single element, which is the case for the right side of
+     * {@link JoinerType#CONTAINING}.
+     */
+    private final boolean collectionProperty;
+    private final Map<BavetIndexKey, ElementIndex<Tuple_>> equalsMap = new HashMap<>();
+
+    public BavetEqualsAndCollectionIndex(JoinerType collectionJoinerType, boolean isLeftBridge) {
+        switch (collectionJoinerType) {
+            case CONTAINING:
+                collectionProperty = isLeftBridge;
+                break;
+            case INTERSECTING:
+            case DISJOINT:
+                collectionProperty = true;
+                break;
+            default:
+                throw new IllegalStateException("Impossible state: the collectionJoinerType (" + collectionJoinerType
+                        + ") is not one of the 3 collection types.");
+        }
+        this.collectionJoinerType = collectionJoinerType;
+    }
+
+    @Override
+    public void remove(Tuple_ tuple) {
+        BavetIndexKey oldIndexKey = tuple.getIndexKey();
+        ElementIndex<Tuple_> elementIndex = equalsMap.get(oldIndexKey);
+        boolean removed = elementIndex != null && elementIndex.tupleSet.remove(tuple);
+        if (!removed) {
+            throw new IllegalStateException("Impossible state: the fact (" + tuple.getFactsString()
+                    + ")'s tuple cannot be removed in the index from the elementIndex.");
+        }
+        Object[] oldIndexProperties = oldIndexKey.getIndexProperties();
+        Object oldCollectionIndexProperty = oldIndexProperties[oldIndexProperties.length - 1];
+        if (collectionProperty) {
+            for (Object element : (Collection<?>) oldCollectionIndexProperty) {
+                elementIndex.removeElement(element, tuple);
+            }
+        } else {
+            elementIndex.removeElement(oldCollectionIndexProperty, tuple);
+        }
+        if (elementIndex.tupleSet.isEmpty()) {
+            equalsMap.remove(oldIndexKey);
+        }
+        // Keep the indexKey on the tuple, so the next put can reuse it
+    }
+
+    @Override
+    public void put(Object[] indexProperties, Tuple_ tuple) {
+        int collectionIndex = indexProperties.length - 1;
+        if (collectionProperty) {
+            indexProperties[collectionIndex] = new LinkedHashSet<>((Collection<?>) indexProperties[collectionIndex]);
+        }
+        // A copied collection index property is never the same instance, so only an element one reuses the key
+        BavetIndexKey indexKey = BavetIndexKey.reuseOrCreate(tuple.getIndexKey(), indexProperties, collectionIndex);
+        ElementIndex<Tuple_> elementIndex = equalsMap.computeIfAbsent(indexKey, k -> new ElementIndex<>());
+        boolean added = elementIndex.tupleSet.add(tuple);
+        if (!added) {
+            throw new IllegalStateException("Impossible state: the fact (" + tuple.getFactsString()
+                    + ") with indexProperties (" + Arrays.toString(indexProperties)
+                    + ") was already added in the index to the elementIndex.");
+        }
+        if (collectionProperty) {
+            for (Object element : (Collection<?>) indexProperties[collectionIndex]) {
+                elementIndex.putElement(element, tuple);
+            }
+        } else {
+            elementIndex.putElement(indexProperties[collectionIndex], tuple);
+        }
+        tuple.setIndexKey(indexKey);
+    }
+
+    @Override
+    public <Context_> void visit(BavetIndexKey indexKey, Context_ context,
+            BiConsumer<Context_, Tuple_> tupleVisitor) {
+        ElementIndex<Tuple_> elementIndex = equalsMap.get(indexKey);
+        if (elementIndex == null) {
+            return;
+        }
+        Object[] indexProperties = indexKey.getIndexProperties();
+        Object otherIndexProperty = indexProperties[indexProperties.length - 1];
+        switch (collectionJoinerType) {
+            case CONTAINING:
+                if (collectionProperty) {
+                    // The other side is an element
+                    for (Tuple_ tuple : elementIndex.getTupleSet(otherIndexProperty)) {
+                        tupleVisitor.accept(context, tuple);
+                    }
+                } else {
+                    // The other side is a distinct collection and every tuple here has only 1 element
+                    for (Object element : (Collection<?>) otherIndexProperty) {
+                        for (Tuple_ tuple : elementIndex.getTupleSet(element)) {
+                            tupleVisitor.accept(context, tuple);
+                        }
+                    }
+                }
+                break;
+            case INTERSECTING:
+                for (Tuple_ tuple : elementIndex.getIntersectingTupleSet((Collection<?>) otherIndexProperty)) {
+                    tupleVisitor.accept(context, tuple);
+                }
+                break;
+            case DISJOINT:
+                Set<Tuple_> intersectingTupleSet = elementIndex.getIntersectingTupleSet(
+                        (Collection<?>) otherIndexProperty);
+                for (Tuple_ tuple : elementIndex.tupleSet) {
+                    if (!intersectingTupleSet.contains(tuple)) {
+                        tupleVisitor.accept(context, tuple);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalStateException("Impossible state: the collectionJoinerType (" + collectionJoinerType
+                        + ") is not one of the 3 collection types.");
+        }
+    }
+
+    private static final class ElementIndex<Tuple_> {
+
+        private final Set<Tuple_> tupleSet = new LinkedHashSet<>();
+        private final Map<Object, Set<Tuple_>> elementToTupleSetMap = new HashMap<>();
+
+        private void putElement(Object element, Tuple_ tuple) {
+            elementToTupleSetMap.computeIfAbsent(element, k -> new LinkedHashSet<>()).add(tuple);
+        }
+
+        private void removeElement(Object element, Tuple_ tuple) {
+            Set<Tuple_> elementTupleSet = elementToTupleSetMap.get(element);
+            if (elementTupleSet == null || !elementTupleSet.remove(tuple)) {
+                throw new IllegalStateException("Impossible state: the tuple (" + tuple
+                        + ") cannot be removed in the index for the element (" + element + ").");
+            }
+            if (elementTupleSet.isEmpty()) {
+                elementToTupleSetMap.remove(element);
+            }
+        }
+
+        private Set<Tuple_> getTupleSet(Object element) {
+            return elementToTupleSetMap.getOrDefault(element, Collections.emptySet());
+        }
+
+        private Set<Tuple_> getIntersectingTupleSet(Collection<?> elements) {
+            if (elements.size() == 1) {
+                // No tuple can be found twice
+                return getTupleSet(elements.iterator().next());
+            }
+            Set<Tuple_> intersectingTupleSet = new LinkedHashSet<>();
+            for (Object element : elements) {
+                intersectingTupleSet.addAll(getTupleSet(element));
+            }
+            return intersectingTupleSet;
+        }
+
+    }
+
+}
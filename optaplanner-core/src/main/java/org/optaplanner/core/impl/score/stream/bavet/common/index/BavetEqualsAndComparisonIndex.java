@@ -17,74 +17,113 @@
 package org.optaplanner.core.impl.score.stream.bavet.common.index;
 
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
 
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeTuple;
 import org.optaplanner.core.impl.score.stream.common.JoinerType;
 
+/**
+ * Indexes the trailing comparison index properties in nested {@link NavigableMap}s, 1 level per comparison,
+ * after the leading equal index properties.
+ * The deepest level maps to the tuples, the other levels map to the next level.
+ * @param <Tuple_> the type of the indexed tuples
+ */
 public class BavetEqualsAndComparisonIndex<Tuple_ extends BavetJoinBridgeTuple> extends BavetIndex<Tuple_> {
 
-    private final JoinerType comparisonJoinerType;
-    private final Map<BavetIndexKey, NavigableMap<Object, Set<Tuple_>>> equalsMap = new HashMap<>();
+    private final JoinerType[] comparisonJoinerTypes;
+    private final Map<BavetIndexKey, NavigableMap<Object, Object>> equalsMap = new HashMap<>();
 
-    public BavetEqualsAndComparisonIndex(JoinerType comparisonJoinerType) {
-        this.comparisonJoinerType = comparisonJoinerType;
+    public BavetEqualsAndComparisonIndex(JoinerType... comparisonJoinerTypes) {
+        if (comparisonJoinerTypes.length == 0) {
+            throw new IllegalStateException("Impossible state: there are no comparisonJoinerTypes.");
+        }
+        this.comparisonJoinerTypes = comparisonJoinerTypes;
     }
 
     @Override
     public void remove(Tuple_ tuple) {
-        Object[] oldIndexProperties = tuple.getIndexProperties();
-        BavetIndexKey oldEqualsIndexKey = new BavetIndexKey(
-                Arrays.copyOfRange(oldIndexProperties, 0, oldIndexProperties.length - 1));
-        Object oldComparisonIndexProperty = oldIndexProperties[oldIndexProperties.length - 1];
-        NavigableMap<Object, Set<Tuple_>> comparisonMap = equalsMap.get(oldEqualsIndexKey);
-        Set<Tuple_> tupleSet = comparisonMap.get(oldComparisonIndexProperty);
-        boolean removed = tupleSet.remove(tuple);
+        BavetIndexKey oldIndexKey = tuple.getIndexKey();
+        Object[] oldIndexProperties = oldIndexKey.getIndexProperties();
+        NavigableMap<Object, Object> comparisonMap = equalsMap.get(oldIndexKey);
+        int firstComparisonIndex = oldIndexProperties.length - comparisonJoinerTypes.length;
+        boolean removed = comparisonMap != null && remove(comparisonMap, oldIndexProperties, firstComparisonIndex, tuple);
         if (!removed) {
             throw new IllegalStateException("Impossible state: the fact (" + tuple.getFactsString()
-                    + ")'s tuple cannot be removed in the index from the tupleSet (" + tupleSet + ").");
+                    + ")'s tuple cannot be removed in the index from the comparisonMap (" + comparisonMap + ").");
         }
-        if (tupleSet.isEmpty()) {
-            comparisonMap.remove(oldComparisonIndexProperty);
-            if (comparisonMap.isEmpty()) {
-                equalsMap.remove(oldEqualsIndexKey);
-            }
+        if (comparisonMap.isEmpty()) {
+            equalsMap.remove(oldIndexKey);
+        }
+        // Keep the indexKey on the tuple, so the next put can reuse it
+    }
+
+    private boolean remove(NavigableMap<Object, Object> comparisonMap, Object[] indexProperties, int propertyIndex,
+            Tuple_ tuple) {
+        Object comparisonIndexProperty = indexProperties[propertyIndex];
+        Object value = comparisonMap.get(comparisonIndexProperty);
+        if (value == null) {
+            return false;
+        }
+        boolean removed;
+        boolean empty;
+        if (propertyIndex == indexProperties.length - 1) {
+            Set<Tuple_> tupleSet = (Set<Tuple_>) value;
+            removed = tupleSet.remove(tuple);
+            empty = tupleSet.isEmpty();
+        } else {
+            NavigableMap<Object, Object> nestedComparisonMap = (NavigableMap<Object, Object>) value;
+            removed = remove(nestedComparisonMap, indexProperties, propertyIndex + 1, tuple);
+            empty = nestedComparisonMap.isEmpty();
         }
-        tuple.setIndexProperties(null);
+        if (empty) {
+            comparisonMap.remove(comparisonIndexProperty);
+        }
+        return removed;
     }
 
     @Override
     public void put(Object[] indexProperties, Tuple_ tuple) {
-        BavetIndexKey equalsIndexKey = new BavetIndexKey(Arrays.copyOfRange(indexProperties, 0, indexProperties.length - 1));
-        Object comparisonIndexProperty = indexProperties[indexProperties.length - 1];
-        NavigableMap<Object, Set<Tuple_>> comparisonMap = equalsMap.computeIfAbsent(equalsIndexKey, k -> new TreeMap<>());
-        Set<Tuple_> tupleSet = comparisonMap.computeIfAbsent(comparisonIndexProperty, k -> new LinkedHashSet<>());
+        int firstComparisonIndex = indexProperties.length - comparisonJoinerTypes.length;
+        BavetIndexKey indexKey = BavetIndexKey.reuseOrCreate(tuple.getIndexKey(), indexProperties,
+                firstComparisonIndex);
+        NavigableMap<Object, Object> comparisonMap = equalsMap.computeIfAbsent(indexKey, k -> new TreeMap<>());
+        for (int i = firstComparisonIndex; i < indexProperties.length - 1; i++) {
+            comparisonMap = (NavigableMap<Object, Object>) comparisonMap.computeIfAbsent(indexProperties[i],
+                    k -> new TreeMap<>());
+        }
+        Set<Tuple_> tupleSet = (Set<Tuple_>) comparisonMap.computeIfAbsent(indexProperties[indexProperties.length - 1],
+                k -> new LinkedHashSet<>());
         boolean added = tupleSet.add(tuple);
         if (!added) {
             throw new IllegalStateException("Impossible state: the fact (" + tuple.getFactsString()
                     + ") with indexProperties (" + Arrays.toString(indexProperties)
                     + ") was already added in the index to the tupleSet (" + tupleSet + ").");
         }
-        tuple.setIndexProperties(indexProperties);
+        tuple.setIndexKey(indexKey);
     }
 
     @Override
-    public Set<Tuple_> get(Object[] indexProperties) {
-        BavetIndexKey equalsIndexKey = new BavetIndexKey(Arrays.copyOfRange(indexProperties, 0, indexProperties.length - 1));
-        Object comparisonIndexProperty = indexProperties[indexProperties.length - 1];
-        NavigableMap<Object, Set<Tuple_>> comparisonMap = equalsMap.get(equalsIndexKey);
+    public <Context_> void visit(BavetIndexKey indexKey, Context_ context,
+            BiConsumer<Context_, Tuple_> tupleVisitor) {
+        NavigableMap<Object, Object> comparisonMap = equalsMap.get(indexKey);
         if (comparisonMap == null) {
-            return Collections.emptySet();
+            return;
         }
-        NavigableMap<Object, Set<Tuple_>> selectedComparisonMap;
+        visit(comparisonMap, indexKey.getIndexProperties(), 0, context, tupleVisitor);
+    }
+
+    private <Context_> void visit(NavigableMap<Object, Object> comparisonMap, Object[] indexProperties,
+            int comparisonIndex, Context_ context, BiConsumer<Context_, Tuple_> tupleVisitor) {
+        JoinerType comparisonJoinerType = comparisonJoinerTypes[comparisonIndex];
+        Object comparisonIndexProperty = indexProperties[indexProperties.length - comparisonJoinerTypes.length
+                + comparisonIndex];
+        NavigableMap<Object, Object> selectedComparisonMap;
         switch (comparisonJoinerType) {
             case LESS_THAN:
                 selectedComparisonMap = comparisonMap.headMap(comparisonIndexProperty, false);
@@ -102,9 +141,18 @@ public class BavetEqualsAndComparisonIndex<Tuple_ extends BavetJoinBridgeTuple>
                 throw new IllegalStateException("Impossible state: the comparisonJoinerType (" + comparisonJoinerType
                         + ") is not one of the 4 comparison types.");
         }
-        return selectedComparisonMap.values().stream()
-                .flatMap(Collection::stream)
-                .collect(Collectors.toSet());
+        // Walk the buckets of the view directly instead of flat-mapping them into a new set
+        if (comparisonIndex == comparisonJoinerTypes.length - 1) {
+            for (Object value : selectedComparisonMap.values()) {
+                for (Tuple_ tuple : (Set<Tuple_>) value) {
+                    tupleVisitor.accept(context, tuple);
+                }
+            }
+        } else {
+            for (Object value : selectedComparisonMap.values()) {
+                visit((NavigableMap<Object, Object>) value, indexProperties, comparisonIndex + 1, context, tupleVisitor);
+            }
+        }
     }
 
 }
@@ -17,11 +17,11 @@
 package org.optaplanner.core.impl.score.stream.bavet.common.index;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeTuple;
 
@@ -31,7 +31,7 @@ public class BavetEqualsIndex<Tuple_ extends BavetJoinBridgeTuple> extends Bavet
 
     @Override
     public void remove(Tuple_ tuple) {
-        BavetIndexKey oldIndexKey = new BavetIndexKey(tuple.getIndexProperties());
+        BavetIndexKey oldIndexKey = tuple.getIndexKey();
         Set<Tuple_> tupleSet = map.get(oldIndexKey);
         boolean removed = tupleSet.remove(tuple);
         if (!removed) {
@@ -41,28 +41,33 @@ public class BavetEqualsIndex<Tuple_ extends BavetJoinBridgeTuple> extends Bavet
         if (tupleSet.isEmpty()) {
             map.remove(oldIndexKey);
         }
-        tuple.setIndexProperties(null);
+        // Keep the indexKey on the tuple, so the next put can reuse it
     }
 
     @Override
     public void put(Object[] indexProperties, Tuple_ tuple) {
-        Set<Tuple_> tupleSet = map.computeIfAbsent(new BavetIndexKey(indexProperties), k -> new LinkedHashSet<>());
+        BavetIndexKey indexKey = BavetIndexKey.reuseOrCreate(tuple.getIndexKey(), indexProperties,
+                indexProperties.length);
+        Set<Tuple_> tupleSet = map.computeIfAbsent(indexKey, k -> new LinkedHashSet<>());
         boolean added = tupleSet.add(tuple);
         if (!added) {
             throw new IllegalStateException("Impossible state: the fact (" + tuple.getFactsString()
                     + ") with indexProperties (" + Arrays.toString(indexProperties)
                     + ") was already added in the index to the tupleSet (" + tupleSet + ").");
         }
-        tuple.setIndexProperties(indexProperties);
+        tuple.setIndexKey(indexKey);
     }
 
     @Override
-    public Set<Tuple_> get(Object[] indexProperties) {
-        Set<Tuple_> tupleSet = map.get(new BavetIndexKey(indexProperties));
+    public <Context_> void visit(BavetIndexKey indexKey, Context_ context,
+            BiConsumer<Context_, Tuple_> tupleVisitor) {
+        Set<Tuple_> tupleSet = map.get(indexKey);
         if (tupleSet == null) {
-            return Collections.emptySet();
+            return;
+        }
+        for (Tuple_ tuple : tupleSet) {
+            tupleVisitor.accept(context, tuple);
         }
-        return tupleSet;
     }
 
 }
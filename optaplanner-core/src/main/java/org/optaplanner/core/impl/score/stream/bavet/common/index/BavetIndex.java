@@ -16,7 +16,7 @@
 
 package org.optaplanner.core.impl.score.stream.bavet.common.index;
 
-import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeTuple;
 
@@ -26,6 +26,16 @@ public abstract class BavetIndex<Tuple_ extends BavetJoinBridgeTuple> {
 
     public abstract void put(Object[] indexProperties, Tuple_ tuple);
 
-    public abstract Set<Tuple_> get(Object[] indexProperties);
+    /**
+     * Calls the tupleVisitor for every matching tuple, without creating a collection.
+     * The tupleVisitor must not put tuples in or remove tuples from this index.
+     * @param indexKey never null, the {@link BavetJoinBridgeTuple#getIndexKey()} of a tuple
+     * of the other index of the same join, which has the same indexProperties layout
+     * @param context passed to every tupleVisitor call, so the tupleVisitor doesn't need to capture it
+     * @param tupleVisitor never null
+     * @param <Context_> the type of the context
+     */
+    public abstract <Context_> void visit(BavetIndexKey indexKey, Context_ context,
+            BiConsumer<Context_, Tuple_> tupleVisitor);
 
 }
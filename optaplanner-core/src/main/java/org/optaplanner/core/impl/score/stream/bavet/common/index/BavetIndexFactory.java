@@ -16,6 +16,8 @@
 
 package org.optaplanner.core.impl.score.stream.bavet.common.index;
 
+import java.util.Arrays;
+
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeTuple;
 import org.optaplanner.core.impl.score.stream.common.AbstractJoiner;
 import org.optaplanner.core.impl.score.stream.common.JoinerType;
@@ -23,33 +25,144 @@ import org.optaplanner.core.impl.score.stream.common.JoinerType;
 public class BavetIndexFactory {
 
     private final JoinerType[] joinerTypes;
+    private final Object[] leftMappings;
+    private final Object[] rightMappings;
+    /**
+     * The number of leading {@link JoinerType#EQUAL} joinerTypes.
+     */
+    private final int equalsLength;
 
     public BavetIndexFactory(AbstractJoiner joiner) {
         joinerTypes = joiner.getJoinerTypes();
+        leftMappings = new Object[joinerTypes.length];
+        rightMappings = new Object[joinerTypes.length];
         for (int i = 0; i < joinerTypes.length; i++) {
-            if (joinerTypes[i] != JoinerType.EQUAL && i != (joinerTypes.length - 1)) {
+            leftMappings[i] = joiner.getLeftMapping(i);
+            rightMappings[i] = joiner.getRightMapping(i);
+            switch (joinerTypes[i]) {
+                case EQUAL:
+                case LESS_THAN:
+                case LESS_THAN_OR_EQUAL:
+                case GREATER_THAN:
+                case GREATER_THAN_OR_EQUAL:
+                case CONTAINING:
+                case INTERSECTING:
+                case DISJOINT:
+                    break;
+                default:
+                    throw new UnsupportedOperationException("Unsupported joiner type (" + joinerTypes[i] + ").");
+            }
+            if (joinerTypes[i] == JoinerType.EQUAL || i == (joinerTypes.length - 1)) {
+                continue;
+            }
+            JoinerType nextJoinerType = joinerTypes[i + 1];
+            if (nextJoinerType == JoinerType.EQUAL) {
+                throw new IllegalArgumentException("The joinerType (" + joinerTypes[i]
+                        + ") is currently only supported after all " + JoinerType.EQUAL + " joinerTypes.\n"
+                        + "Maybe move the next joinerType (" + nextJoinerType
+                        + ") before this joinerType (" + joinerTypes[i] + ").");
+            }
+            if (isCollection(joinerTypes[i]) || isCollection(nextJoinerType)) {
                 throw new IllegalArgumentException("The joinerType (" + joinerTypes[i]
-                        + ") is currently only supported as the last joinerType.\n"
-                        + ((joinerTypes[i + 1] == JoinerType.EQUAL)
-                                ? "Maybe move the next joinerType (" + joinerTypes[i + 1]
-                                        + ") before this joinerType (" + joinerTypes[i] + ")."
-                                : "Maybe put the next joinerType (" + joinerTypes[i + 1]
-                                        + ") in a filter() predicate after the join() call for now."));
+                        + ") is currently not supported together with the next joinerType (" + nextJoinerType
+                        + "), because collection joinerTypes can't be combined with other non-"
+                        + JoinerType.EQUAL + " joinerTypes.\n"
+                        + "Maybe put the next joinerType (" + nextJoinerType
+                        + ") in a filter() predicate after the join() call for now.");
             }
         }
+        int equalsLength = 0;
+        while (equalsLength < joinerTypes.length && joinerTypes[equalsLength] == JoinerType.EQUAL) {
+            equalsLength++;
+        }
+        this.equalsLength = equalsLength;
+    }
+
+    private static boolean isCollection(JoinerType joinerType) {
+        switch (joinerType) {
+            case CONTAINING:
+            case INTERSECTING:
+            case DISJOINT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return true if the joinerTypes after the equal ones are 2 comparisons in opposite directions,
+     * such as {@code A.start < B.end && A.end > B.start}, so they can be indexed together as an interval.
+     */
+    private boolean isOverlapping() {
+        if (joinerTypes.length - equalsLength != 2) {
+            return false;
+        }
+        JoinerType firstJoinerType = joinerTypes[joinerTypes.length - 2];
+        JoinerType secondJoinerType = joinerTypes[joinerTypes.length - 1];
+        return BavetOverlappingIndex.isLessComparison(firstJoinerType)
+                != BavetOverlappingIndex.isLessComparison(secondJoinerType);
     }
 
     public <Tuple_ extends BavetJoinBridgeTuple> BavetIndex<Tuple_> buildIndex(boolean isLeftBridge) {
         if (joinerTypes.length == 0) {
             return new BavetNoneIndex<>();
         }
-        JoinerType lastJoinerType = joinerTypes[joinerTypes.length - 1];
-        if (lastJoinerType == JoinerType.EQUAL) {
+        if (equalsLength == joinerTypes.length) {
             return new BavetEqualsIndex<>();
-        } else {
-            // Use flip() to model A < B as B > A
-            return new BavetEqualsAndComparisonIndex<>(isLeftBridge ? lastJoinerType : lastJoinerType.flip());
         }
+        JoinerType lastJoinerType = joinerTypes[joinerTypes.length - 1];
+        if (isCollection(lastJoinerType)) {
+            return new BavetEqualsAndCollectionIndex<>(lastJoinerType, isLeftBridge);
+        }
+        // Use flip() to model A < B as B > A
+        JoinerType[] comparisonJoinerTypes = new JoinerType[joinerTypes.length - equalsLength];
+        for (int i = 0; i < comparisonJoinerTypes.length; i++) {
+            JoinerType comparisonJoinerType = joinerTypes[equalsLength + i];
+            comparisonJoinerTypes[i] = isLeftBridge ? comparisonJoinerType : comparisonJoinerType.flip();
+        }
+        if (isOverlapping()) {
+            return new BavetOverlappingIndex<>(comparisonJoinerTypes[0], comparisonJoinerTypes[1]);
+        }
+        return new BavetEqualsAndComparisonIndex<>(comparisonJoinerTypes);
+    }
+
+    // ************************************************************************
+    // Equality for node sharing
+    // ************************************************************************
+
+    /**
+     * Two index factories are equal if they index the same joinerTypes with the same mapping instances,
+     * so constraints that reuse a joiner (or its mapping functions) can share their join nodes.
+     * Mappings are compared by identity, because lambdas have no structural equality.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BavetIndexFactory other = (BavetIndexFactory) o;
+        if (!Arrays.equals(joinerTypes, other.joinerTypes)) {
+            return false;
+        }
+        for (int i = 0; i < joinerTypes.length; i++) {
+            if (leftMappings[i] != other.leftMappings[i] || rightMappings[i] != other.rightMappings[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = Arrays.hashCode(joinerTypes);
+        for (int i = 0; i < joinerTypes.length; i++) {
+            hashCode = 31 * hashCode + System.identityHashCode(leftMappings[i]);
+            hashCode = 31 * hashCode + System.identityHashCode(rightMappings[i]);
+        }
+        return hashCode;
     }
 
 }
@@ -17,27 +17,104 @@
 package org.optaplanner.core.impl.score.stream.bavet.common.index;
 
 import java.util.Arrays;
+import java.util.Objects;
 
-public class BavetIndexKey {
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeTuple;
 
-    private Object[] indexProperties;
+/**
+ * Created by {@link BavetIndex#put} and kept on the tuple, so removals and lookups don't copy the indexProperties.
+ * The next put of the same tuple reuses it if its indexProperties didn't change,
+ * so an update that doesn't change them doesn't create a new key.
+ * Only the leading equals index properties take part in {@link #equals(Object)} and {@link #hashCode()},
+ * the trailing comparison index properties are read by the index itself.
+ */
+public final class BavetIndexKey {
+
+    /**
+     * @param oldIndexKey sometimes null, the {@link BavetJoinBridgeTuple#getIndexKey()} of the tuple
+     *        before it was removed from the same index
+     * @param indexProperties never null, the new indexProperties of the tuple
+     * @param equalsLength {@code 0 <= equalsLength <= indexProperties.length}
+     * @return the oldIndexKey if every index property is the same instance with the same hashCode, else a new key
+     */
+    public static BavetIndexKey reuseOrCreate(BavetIndexKey oldIndexKey, Object[] indexProperties, int equalsLength) {
+        int hashCode = hashCode(indexProperties, equalsLength);
+        if (oldIndexKey != null && oldIndexKey.isReusable(indexProperties, equalsLength, hashCode)) {
+            return oldIndexKey;
+        }
+        return new BavetIndexKey(indexProperties, equalsLength, hashCode);
+    }
+
+    private static int hashCode(Object[] indexProperties, int equalsLength) {
+        int hashCode = 1;
+        for (int i = 0; i < equalsLength; i++) {
+            hashCode = 31 * hashCode + Objects.hashCode(indexProperties[i]);
+        }
+        return hashCode;
+    }
+
+    private final Object[] indexProperties;
+    private final int equalsLength;
+    private final int hashCode;
 
-    public BavetIndexKey(Object[] indexProperties) {
+    private BavetIndexKey(Object[] indexProperties, int equalsLength, int hashCode) {
         this.indexProperties = indexProperties;
+        this.equalsLength = equalsLength;
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * The hashCode is compared too, in case an index property changed its state instead of its instance.
+     */
+    private boolean isReusable(Object[] otherIndexProperties, int otherEqualsLength, int otherHashCode) {
+        if (hashCode != otherHashCode || equalsLength != otherEqualsLength
+                || indexProperties.length != otherIndexProperties.length) {
+            return false;
+        }
+        for (int i = 0; i < indexProperties.length; i++) {
+            if (indexProperties[i] != otherIndexProperties[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Object[] getIndexProperties() {
+        return indexProperties;
+    }
+
+    public Object getIndexProperty(int index) {
+        return indexProperties[index];
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(indexProperties);
+        return hashCode;
     }
 
     @Override
     public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
         if (!(o instanceof BavetIndexKey)) {
             return false;
         }
         BavetIndexKey other = (BavetIndexKey) o;
-        return Arrays.equals(indexProperties, other.indexProperties);
+        if (hashCode != other.hashCode || equalsLength != other.equalsLength) {
+            return false;
+        }
+        for (int i = 0; i < equalsLength; i++) {
+            if (!Objects.equals(indexProperties[i], other.indexProperties[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(indexProperties);
     }
 
 }
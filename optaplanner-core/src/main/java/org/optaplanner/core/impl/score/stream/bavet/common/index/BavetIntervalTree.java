@@ -0,0 +1,236 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.common.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Augmented AVL tree of intervals, sorted by start and annotated with the maximum end of each subtree,
+ * so an overlap query prunes every subtree that cannot contain a match.
+ * Each tuple has its own node, so several tuples can share the same interval.
+ * @param <Tuple_> the type of the stored tuples
+ */
+public class BavetIntervalTree<Tuple_> {
+
+    private final Map<Tuple_, Node<Tuple_>> tupleToNodeMap = new HashMap<>();
+    private Node<Tuple_> root = null;
+    private long nextSequence = 0L;
+
+    public boolean add(Object start, Object end, Tuple_ tuple) {
+        if (tupleToNodeMap.containsKey(tuple)) {
+            return false;
+        }
+        Node<Tuple_> node = new Node<>((Comparable<Object>) start, (Comparable<Object>) end, nextSequence++, tuple);
+        tupleToNodeMap.put(tuple, node);
+        root = insert(root, node);
+        return true;
+    }
+
+    public boolean remove(Tuple_ tuple) {
+        Node<Tuple_> node = tupleToNodeMap.remove(tuple);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node);
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Visits every stored tuple with {@code start < queryEnd} (or {@code <=}) and {@code end > queryStart}
+     * (or {@code >=}), in order of start.
+     * @param queryStart never null
+     * @param startInclusive true if a stored end equal to the queryStart still overlaps
+     * @param queryEnd never null
+     * @param endInclusive true if a stored start equal to the queryEnd still overlaps
+     * @param context passed to every tupleVisitor call
+     * @param tupleVisitor never null
+     * @param <Context_> the type of the context
+     */
+    public <Context_> void visitOverlapping(Object queryStart, boolean startInclusive,
+            Object queryEnd, boolean endInclusive, Context_ context, BiConsumer<Context_, Tuple_> tupleVisitor) {
+        visitOverlapping(root, queryStart, startInclusive, queryEnd, endInclusive, context, tupleVisitor);
+    }
+
+    private <Context_> void visitOverlapping(Node<Tuple_> node, Object queryStart, boolean startInclusive,
+            Object queryEnd, boolean endInclusive, Context_ context, BiConsumer<Context_, Tuple_> tupleVisitor) {
+        while (node != null) {
+            if (!isAfter(node.maxEnd, queryStart, startInclusive)) {
+                // No interval in this subtree ends late enough
+                return;
+            }
+            visitOverlapping(node.left, queryStart, startInclusive, queryEnd, endInclusive, context, tupleVisitor);
+            if (!isBefore(node.start, queryEnd, endInclusive)) {
+                // This node and its right subtree all start too late
+                return;
+            }
+            if (isAfter(node.end, queryStart, startInclusive)) {
+                tupleVisitor.accept(context, node.tuple);
+            }
+            node = node.right;
+        }
+    }
+
+    private static boolean isBefore(Comparable<Object> value, Object bound, boolean inclusive) {
+        int comparison = value.compareTo(bound);
+        return inclusive ? comparison <= 0 : comparison < 0;
+    }
+
+    private static boolean isAfter(Comparable<Object> value, Object bound, boolean inclusive) {
+        int comparison = value.compareTo(bound);
+        return inclusive ? comparison >= 0 : comparison > 0;
+    }
+
+    // ************************************************************************
+    // AVL balancing
+    // ************************************************************************
+
+    private Node<Tuple_> insert(Node<Tuple_> parent, Node<Tuple_> node) {
+        if (parent == null) {
+            return node;
+        }
+        if (node.compareTo(parent) < 0) {
+            parent.left = insert(parent.left, node);
+        } else {
+            parent.right = insert(parent.right, node);
+        }
+        return rebalance(parent);
+    }
+
+    private Node<Tuple_> delete(Node<Tuple_> parent, Node<Tuple_> node) {
+        if (parent == null) {
+            throw new IllegalStateException("Impossible state: the tuple (" + node.tuple
+                    + ") is not in the interval tree.");
+        }
+        if (parent == node) {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<Tuple_> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        if (node.compareTo(parent) < 0) {
+            parent.left = delete(parent.left, node);
+        } else {
+            parent.right = delete(parent.right, node);
+        }
+        return rebalance(parent);
+    }
+
+    private Node<Tuple_> deleteMin(Node<Tuple_> parent) {
+        if (parent.left == null) {
+            return parent.right;
+        }
+        parent.left = deleteMin(parent.left);
+        return rebalance(parent);
+    }
+
+    private Node<Tuple_> rebalance(Node<Tuple_> node) {
+        node.refresh();
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<Tuple_> rotateRight(Node<Tuple_> node) {
+        Node<Tuple_> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.refresh();
+        pivot.refresh();
+        return pivot;
+    }
+
+    private Node<Tuple_> rotateLeft(Node<Tuple_> node) {
+        Node<Tuple_> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.refresh();
+        pivot.refresh();
+        return pivot;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node<Tuple_> implements Comparable<Node<Tuple_>> {
+
+        private final Comparable<Object> start;
+        private final Comparable<Object> end;
+        private final long sequence;
+        private final Tuple_ tuple;
+
+        private Node<Tuple_> left = null;
+        private Node<Tuple_> right = null;
+        private int height = 1;
+        private Comparable<Object> maxEnd;
+
+        private Node(Comparable<Object> start, Comparable<Object> end, long sequence, Tuple_ tuple) {
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.tuple = tuple;
+            this.maxEnd = end;
+        }
+
+        private void refresh() {
+            height = Math.max(height(left), height(right)) + 1;
+            maxEnd = end;
+            if (left != null && left.maxEnd.compareTo(maxEnd) > 0) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.compareTo(maxEnd) > 0) {
+                maxEnd = right.maxEnd;
+            }
+        }
+
+        @Override
+        public int compareTo(Node<Tuple_> other) {
+            int comparison = start.compareTo(other.start);
+            if (comparison != 0) {
+                return comparison;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+
+    }
+
+}
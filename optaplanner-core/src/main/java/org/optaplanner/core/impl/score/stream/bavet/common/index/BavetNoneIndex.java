@@ -19,6 +19,7 @@ package org.optaplanner.core.impl.score.stream.bavet.common.index;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeTuple;
 
@@ -33,7 +34,7 @@ public class BavetNoneIndex<Tuple_ extends BavetJoinBridgeTuple> extends BavetIn
             throw new IllegalStateException("Impossible state: the fact (" + tuple.getFactsString()
                     + ")'s tuple cannot be removed in the index from the tupleSet (" + tupleSet + ").");
         }
-        tuple.setIndexProperties(null);
+        // Keep the indexKey on the tuple, so the next put can reuse it
     }
 
     @Override
@@ -44,12 +45,15 @@ public class BavetNoneIndex<Tuple_ extends BavetJoinBridgeTuple> extends BavetIn
                     + ") with indexProperties (" + Arrays.toString(indexProperties)
                     + ") was already added in the index to the tupleSet (" + tupleSet + ").");
         }
-        tuple.setIndexProperties(indexProperties);
+        tuple.setIndexKey(BavetIndexKey.reuseOrCreate(tuple.getIndexKey(), indexProperties, 0));
     }
 
     @Override
-    public Set<Tuple_> get(Object[] indexProperties) {
-        return tupleSet;
+    public <Context_> void visit(BavetIndexKey indexKey, Context_ context,
+            BiConsumer<Context_, Tuple_> tupleVisitor) {
+        for (Tuple_ tuple : tupleSet) {
+            tupleVisitor.accept(context, tuple);
+        }
     }
 
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.common.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeTuple;
+import org.optaplanner.core.impl.score.stream.common.JoinerType;
+
+/**
+ * Indexes the last 2 index properties as an interval in a {@link BavetIntervalTree},
+ * after the leading equal index properties.
+ * Used for an opposite comparison pair, such as the one built by
+ * {@link org.optaplanner.core.api.score.stream.Joiners#overlapping}.
+ * @param <Tuple_> the type of the indexed tuples
+ */
+public class BavetOverlappingIndex<Tuple_ extends BavetJoinBridgeTuple> extends BavetIndex<Tuple_> {
+
+    /**
+     * Offset from the end of the index properties of the property that must be smaller than the other side's.
+     */
+    private final int startOffset;
+    /**
+     * Offset from the end of the index properties of the property that must be larger than the other side's.
+     */
+    private final int endOffset;
+    /**
+     * True if a stored end equal to the other side's start still matches.
+     */
+    private final boolean startInclusive;
+    /**
+     * True if a stored start equal to the other side's end still matches.
+     */
+    private final boolean endInclusive;
+    private final Map<BavetIndexKey, BavetIntervalTree<Tuple_>> equalsMap = new HashMap<>();
+
+    /**
+     * @param firstComparisonJoinerType never null, one of the 4 comparison types
+     * @param secondComparisonJoinerType never null, one of the 4 comparison types, in the opposite direction
+     */
+    public BavetOverlappingIndex(JoinerType firstComparisonJoinerType, JoinerType secondComparisonJoinerType) {
+        if (isLessComparison(firstComparisonJoinerType) == isLessComparison(secondComparisonJoinerType)) {
+            throw new IllegalStateException("Impossible state: the comparisonJoinerTypes (" + firstComparisonJoinerType
+                    + ", " + secondComparisonJoinerType + ") are not in opposite directions.");
+        }
+        JoinerType startJoinerType;
+        JoinerType endJoinerType;
+        if (isLessComparison(firstComparisonJoinerType)) {
+            startOffset = 2;
+            startJoinerType = firstComparisonJoinerType;
+            endOffset = 1;
+            endJoinerType = secondComparisonJoinerType;
+        } else {
+            startOffset = 1;
+            startJoinerType = secondComparisonJoinerType;
+            endOffset = 2;
+            endJoinerType = firstComparisonJoinerType;
+        }
+        endInclusive = startJoinerType == JoinerType.LESS_THAN_OR_EQUAL;
+        startInclusive = endJoinerType == JoinerType.GREATER_THAN_OR_EQUAL;
+    }
+
+    public static boolean isLessComparison(JoinerType joinerType) {
+        switch (joinerType) {
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+                return true;
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                return false;
+            default:
+                throw new IllegalStateException("Impossible state: the comparisonJoinerType (" + joinerType
+                        + ") is not one of the 4 comparison types.");
+        }
+    }
+
+    @Override
+    public void remove(Tuple_ tuple) {
+        BavetIndexKey oldIndexKey = tuple.getIndexKey();
+        BavetIntervalTree<Tuple_> intervalTree = equalsMap.get(oldIndexKey);
+        boolean removed = intervalTree != null && intervalTree.remove(tuple);
+        if (!removed) {
+            throw new IllegalStateException("Impossible state: the fact (" + tuple.getFactsString()
+                    + ")'s tuple cannot be removed in the index from the intervalTree.");
+        }
+        if (intervalTree.isEmpty()) {
+            equalsMap.remove(oldIndexKey);
+        }
+        // Keep the indexKey on the tuple, so the next put can reuse it
+    }
+
+    @Override
+    public void put(Object[] indexProperties, Tuple_ tuple) {
+        BavetIndexKey indexKey = BavetIndexKey.reuseOrCreate(tuple.getIndexKey(), indexProperties,
+                indexProperties.length - 2);
+        BavetIntervalTree<Tuple_> intervalTree = equalsMap.computeIfAbsent(indexKey, k -> new BavetIntervalTree<>());
+        boolean added = intervalTree.add(indexProperties[indexProperties.length - startOffset],
+                indexProperties[indexProperties.length - endOffset], tuple);
+        if (!added) {
+            throw new IllegalStateException("Impossible state: the fact (" + tuple.getFactsString()
+                    + ") with indexProperties (" + Arrays.toString(indexProperties)
+                    + ") was already added in the index to the intervalTree.");
+        }
+        tuple.setIndexKey(indexKey);
+    }
+
+    @Override
+    public <Context_> void visit(BavetIndexKey indexKey, Context_ context,
+            BiConsumer<Context_, Tuple_> tupleVisitor) {
+        BavetIntervalTree<Tuple_> intervalTree = equalsMap.get(indexKey);
+        if (intervalTree == null) {
+            return;
+        }
+        Object[] indexProperties = indexKey.getIndexProperties();
+        // The other side's properties are at the same positions, so its end is compared with our start
+        Object queryEnd = indexProperties[indexProperties.length - startOffset];
+        Object queryStart = indexProperties[indexProperties.length - endOffset];
+        intervalTree.visitOverlapping(queryStart, startInclusive, queryEnd, endInclusive, context, tupleVisitor);
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.common.index;
+
+import java.util.function.BiConsumer;
+
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeTuple;
+
+/**
+ * Decorates another {@link BavetIndex} to count its lookups, only used if profiling is enabled.
+ * @param <Tuple_> the tuple type
+ */
+public final class BavetProfilingIndex<Tuple_ extends BavetJoinBridgeTuple> extends BavetIndex<Tuple_> {
+
+    private final BavetIndex<Tuple_> delegate;
+    private long lookupCount = 0L;
+
+    public BavetProfilingIndex(BavetIndex<Tuple_> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void remove(Tuple_ tuple) {
+        delegate.remove(tuple);
+    }
+
+    @Override
+    public void put(Object[] indexProperties, Tuple_ tuple) {
+        delegate.put(indexProperties, tuple);
+    }
+
+    @Override
+    public <Context_> void visit(BavetIndexKey indexKey, Context_ context,
+            BiConsumer<Context_, Tuple_> tupleVisitor) {
+        lookupCount++;
+        delegate.visit(indexKey, context, tupleVisitor);
+    }
+
+    /**
+     * @return {@code >= 0}, the number of {@link #visit(BavetIndexKey, Object, BiConsumer)} calls
+     */
+    public long getLookupCount() {
+        return lookupCount;
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.quad;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.optaplanner.core.api.function.PentaPredicate;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetAbstractUniNode;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFromUniConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniNode;
+
+public final class BavetExistsQuadConstraintStream<Solution_, A, B, C, D, E>
+        extends BavetAbstractQuadConstraintStream<Solution_, A, B, C, D>
+        implements BavetJoinConstraintStream<Solution_> {
+
+    private final BavetJoinBridgeQuadConstraintStream<Solution_, A, B, C, D> leftParent;
+    private final BavetJoinBridgeUniConstraintStream<Solution_, E> rightParent;
+    private final boolean shouldExist;
+    private final PentaPredicate<A, B, C, D, E> filter;
+
+    public BavetExistsQuadConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
+            BavetJoinBridgeQuadConstraintStream<Solution_, A, B, C, D> leftParent,
+            BavetJoinBridgeUniConstraintStream<Solution_, E> rightParent,
+            boolean shouldExist, PentaPredicate<A, B, C, D, E> filter) {
+        super(constraintFactory);
+        this.leftParent = leftParent;
+        this.rightParent = rightParent;
+        this.shouldExist = shouldExist;
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean guaranteesDistinct() {
+        return leftParent.guaranteesDistinct();
+    }
+
+    @Override
+    public List<BavetFromUniConstraintStream<Solution_, Object>> getFromStreamList() {
+        return Stream.concat(leftParent.getFromStreamList().stream(),
+                rightParent.getFromStreamList().stream())
+                .collect(Collectors.toList());
+    }
+
+    // ************************************************************************
+    // Node creation
+    // ************************************************************************
+
+    @Override
+    public BavetExistsQuadNode<A, B, C, D, E> createNodeChain(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight, BavetAbstractNode leftParentNode, BavetAbstractNode rightParentNode) {
+        List<Object> joinSharingKey = Arrays.asList(getClass(), leftParentNode, rightParentNode,
+                leftParent.getIndexFactory(), shouldExist, filter);
+        BavetExistsQuadNode<A, B, C, D, E> node = buildPolicy.retrieveSharedJoinNode(joinSharingKey, () -> {
+            BavetJoinBridgeQuadNode<A, B, C, D> leftNode = leftParent.createBridgeNode(buildPolicy,
+                    (BavetAbstractQuadNode<A, B, C, D>) leftParentNode);
+            BavetJoinBridgeUniNode<E> rightNode = rightParent.createBridgeNode(buildPolicy,
+                    (BavetAbstractUniNode<E>) rightParentNode);
+            BavetExistsQuadNode<A, B, C, D, E> newNode = new BavetExistsQuadNode<>(buildPolicy.getSession(),
+                    buildPolicy.nextNodeIndex(), leftNode, rightNode, shouldExist, filter);
+            leftNode.setChildTupleRefresher(newNode::refreshChildTuplesLeft);
+            rightNode.setChildTupleRefresher(newNode::refreshChildTuplesRight);
+            return (BavetExistsQuadNode<A, B, C, D, E>) processNode(buildPolicy, null, newNode);
+        });
+        createChildNodeChains(buildPolicy, constraintWeight, node);
+        return node;
+    }
+
+    @Override
+    protected BavetExistsQuadNode<A, B, C, D, E> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight, BavetAbstractQuadNode<A, B, C, D> parentNode) {
+        throw new IllegalStateException("Impossible state: this code is never called.");
+    }
+
+    @Override
+    public String toString() {
+        return (shouldExist ? "IfExists()" : "IfNotExists()") + " with " + childStreamList.size() + " children";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.quad;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.optaplanner.core.api.function.PentaPredicate;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetExistsMatch;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndex;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniNode;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniTuple;
+
+/**
+ * Keeps a match counter per left tuple instead of creating a tuple per match,
+ * so only a counter crossing 0 is propagated to the child nodes.
+ * The left join bridge tuple has exactly 1 child tuple: the {@link BavetExistsQuadTuple}.
+ * Each {@link BavetExistsQuadTuple} is linked to the right join bridge tuples it counts by {@link BavetExistsMatch}es,
+ * so refreshing either side only touches its own matches, instead of searching a list or an index bucket.
+ *
+ * @param <A> the type of the first left fact
+ * @param <B> the type of the second left fact
+ * @param <C> the type of the third left fact
+ * @param <D> the type of the fourth left fact
+ * @param <E> the type of the fact that must (not) exist
+ */
+public final class BavetExistsQuadNode<A, B, C, D, E> extends BavetAbstractQuadNode<A, B, C, D> implements BavetJoinNode {
+
+    private final BavetJoinBridgeQuadNode<A, B, C, D> leftParentNode;
+    private final BavetJoinBridgeUniNode<E> rightParentNode;
+    private final boolean shouldExist;
+    /** Null if there is no filtering joiner. */
+    private final PentaPredicate<A, B, C, D, E> filter;
+
+    private final List<BavetAbstractQuadNode<A, B, C, D>> childNodeList = new ArrayList<>();
+    /** Only has the right tuples that have been counted since they were last refreshed. */
+    private final Map<BavetJoinBridgeUniTuple<E>, BavetExistsMatch<BavetExistsQuadTuple<A, B, C, D, E>,
+            BavetJoinBridgeUniTuple<E>>> rightTupleToMatchSentinelMap = new IdentityHashMap<>();
+    // Created once, so refreshing a tuple doesn't allocate a capturing lambda to visit the other index
+    private final Consumer<BavetExistsQuadTuple<A, B, C, D, E>> uncountConsumer = this::uncount;
+    private final BiConsumer<BavetExistsQuadTuple<A, B, C, D, E>, BavetJoinBridgeUniTuple<E>> countLeftVisitor =
+            this::countLeft;
+    private final BiConsumer<BavetJoinBridgeUniTuple<E>, BavetJoinBridgeQuadTuple<A, B, C, D>> countRightVisitor =
+            this::countRight;
+
+    public BavetExistsQuadNode(BavetConstraintSession session, int nodeIndex,
+            BavetJoinBridgeQuadNode<A, B, C, D> leftParentNode, BavetJoinBridgeUniNode<E> rightParentNode,
+            boolean shouldExist, PentaPredicate<A, B, C, D, E> filter) {
+        super(session, nodeIndex);
+        this.leftParentNode = leftParentNode;
+        this.rightParentNode = rightParentNode;
+        this.shouldExist = shouldExist;
+        this.filter = filter;
+    }
+
+    @Override
+    public void addChildNode(BavetAbstractQuadNode<A, B, C, D> childNode) {
+        childNodeList.add(childNode);
+    }
+
+    @Override
+    public List<BavetAbstractQuadNode<A, B, C, D>> getChildNodeList() {
+        return childNodeList;
+    }
+
+    // ************************************************************************
+    // Runtime
+    // ************************************************************************
+
+    @Override
+    public BavetExistsQuadTuple<A, B, C, D, E> createTuple(BavetAbstractQuadTuple<A, B, C, D> parentTuple) {
+        throw new IllegalStateException("The exists node (" + getClass().getSimpleName()
+                + ") can't have a parentTuple (" + parentTuple + ");");
+    }
+
+    public BavetExistsQuadTuple<A, B, C, D, E> createTuple(BavetJoinBridgeQuadTuple<A, B, C, D> leftParentTuple) {
+        return new BavetExistsQuadTuple<>(this, leftParentTuple);
+    }
+
+    @Override
+    public void refresh(BavetAbstractTuple uncastTuple) {
+        BavetExistsQuadTuple<A, B, C, D, E> tuple = (BavetExistsQuadTuple<A, B, C, D, E>) uncastTuple;
+        List<BavetAbstractTuple> childTupleList = tuple.getChildTupleList();
+        boolean passes = tuple.isActive() && (tuple.getMatchCount() > 0) == shouldExist;
+        if (tuple.getState() == BavetTupleState.UPDATING && passes == !childTupleList.isEmpty()) {
+            // The matchCount crossed 0 and then crossed back, so the child tuples are still correct
+            return;
+        }
+        for (BavetAbstractTuple childTuple : childTupleList) {
+            session.transitionTuple(childTuple, BavetTupleState.DYING);
+        }
+        childTupleList.clear();
+        if (passes) {
+            for (BavetAbstractQuadNode<A, B, C, D> childNode : childNodeList) {
+                BavetAbstractQuadTuple<A, B, C, D> childTuple = childNode.createTuple(tuple);
+                childTupleList.add(childTuple);
+                session.transitionTuple(childTuple, BavetTupleState.CREATING);
+            }
+        }
+    }
+
+    public void refreshChildTuplesLeft(BavetJoinBridgeQuadTuple<A, B, C, D> leftParentTuple) {
+        List<BavetAbstractTuple> leftTupleList = leftParentTuple.getChildTupleList();
+        for (BavetAbstractTuple uncastTuple : leftTupleList) {
+            BavetExistsQuadTuple<A, B, C, D, E> tuple = (BavetExistsQuadTuple<A, B, C, D, E>) uncastTuple;
+            tuple.getMatchSentinel().unlinkTupleMatches();
+            session.transitionTuple(tuple, BavetTupleState.DYING);
+        }
+        leftTupleList.clear();
+        if (leftParentTuple.isActive()) {
+            BavetExistsQuadTuple<A, B, C, D, E> tuple = createTuple(leftParentTuple);
+            getRightIndex().visit(leftParentTuple.getIndexKey(), tuple, countLeftVisitor);
+            leftTupleList.add(tuple);
+            session.transitionTuple(tuple, BavetTupleState.CREATING);
+        }
+    }
+
+    public void refreshChildTuplesRight(BavetJoinBridgeUniTuple<E> rightParentTuple) {
+        BavetExistsMatch<BavetExistsQuadTuple<A, B, C, D, E>, BavetJoinBridgeUniTuple<E>> rightTupleSentinel =
+                rightTupleToMatchSentinelMap.remove(rightParentTuple);
+        if (rightTupleSentinel != null) {
+            rightTupleSentinel.unlinkRightTupleMatches(uncountConsumer);
+        }
+        if (rightParentTuple.isActive()) {
+            getLeftIndex().visit(rightParentTuple.getIndexKey(), rightParentTuple, countRightVisitor);
+        }
+    }
+
+    private void uncount(BavetExistsQuadTuple<A, B, C, D, E> tuple) {
+        if (tuple.decreaseMatchCount() == 0) {
+            transitionToUpdating(tuple);
+        }
+    }
+
+    private void countLeft(BavetExistsQuadTuple<A, B, C, D, E> tuple, BavetJoinBridgeUniTuple<E> rightParentTuple) {
+        if (!rightParentTuple.isDirty() && matches(tuple, rightParentTuple)) {
+            tuple.increaseMatchCount();
+            addMatch(tuple, rightParentTuple);
+        }
+    }
+
+    private void countRight(BavetJoinBridgeUniTuple<E> rightParentTuple,
+            BavetJoinBridgeQuadTuple<A, B, C, D> leftParentTuple) {
+        if (!leftParentTuple.isDirty()) {
+            BavetExistsQuadTuple<A, B, C, D, E> tuple =
+                    (BavetExistsQuadTuple<A, B, C, D, E>) leftParentTuple.getChildTupleList().get(0);
+            if (matches(tuple, rightParentTuple)) {
+                if (tuple.increaseMatchCount() == 1) {
+                    transitionToUpdating(tuple);
+                }
+                addMatch(tuple, rightParentTuple);
+            }
+        }
+    }
+
+    private void addMatch(BavetExistsQuadTuple<A, B, C, D, E> tuple, BavetJoinBridgeUniTuple<E> rightParentTuple) {
+        new BavetExistsMatch<>(tuple, rightParentTuple).link(tuple.getMatchSentinel(),
+                rightTupleToMatchSentinelMap.computeIfAbsent(rightParentTuple,
+                        rightTuple -> new BavetExistsMatch<>(null, rightTuple)));
+    }
+
+    private boolean matches(BavetExistsQuadTuple<A, B, C, D, E> tuple, BavetJoinBridgeUniTuple<E> rightParentTuple) {
+        return filter == null
+                || filter.test(tuple.getFactA(), tuple.getFactB(), tuple.getFactC(), tuple.getFactD(),
+                        rightParentTuple.getFactA());
+    }
+
+    private void transitionToUpdating(BavetExistsQuadTuple<A, B, C, D, E> tuple) {
+        // A dirty tuple (for example one that is still CREATING) is refreshed anyway
+        if (!tuple.isDirty()) {
+            session.transitionTuple(tuple, BavetTupleState.UPDATING);
+        }
+    }
+
+    public BavetIndex<BavetJoinBridgeQuadTuple<A, B, C, D>> getLeftIndex() {
+        return leftParentNode.getIndex();
+    }
+
+    public BavetIndex<BavetJoinBridgeUniTuple<E>> getRightIndex() {
+        return rightParentNode.getIndex();
+    }
+
+    @Override
+    public String toString() {
+        return (shouldExist ? "IfExists()" : "IfNotExists()") + " with " + childNodeList.size() + " children";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.quad;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetExistsMatch;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniTuple;
+
+public final class BavetExistsQuadTuple<A, B, C, D, E> extends BavetAbstractQuadTuple<A, B, C, D> {
+
+    private final BavetExistsQuadNode<A, B, C, D, E> node;
+    private final BavetJoinBridgeQuadTuple<A, B, C, D> parentTuple;
+    private final List<BavetAbstractTuple> childTupleList = new ArrayList<>(1);
+    /** The sentinel of the matches with the right tuples that this tuple counts. */
+    private final BavetExistsMatch<BavetExistsQuadTuple<A, B, C, D, E>, BavetJoinBridgeUniTuple<E>> matchSentinel =
+            new BavetExistsMatch<>(this, null);
+
+    private int matchCount;
+
+    public BavetExistsQuadTuple(BavetExistsQuadNode<A, B, C, D, E> node,
+            BavetJoinBridgeQuadTuple<A, B, C, D> parentTuple) {
+        this.node = node;
+        this.parentTuple = parentTuple;
+        matchCount = 0;
+    }
+
+    public int increaseMatchCount() {
+        matchCount++;
+        return matchCount;
+    }
+
+    public int decreaseMatchCount() {
+        matchCount--;
+        if (matchCount < 0) {
+            throw new IllegalStateException("The matchCount (" + matchCount + ") for the fact (" + getFactsString()
+                    + ") must not be negative.");
+        }
+        return matchCount;
+    }
+
+    @Override
+    public String toString() {
+        return "Exists(" + getFactsString() + ") with " + matchCount + " matches";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+    @Override
+    public BavetExistsQuadNode<A, B, C, D, E> getNode() {
+        return node;
+    }
+
+    @Override
+    public List<BavetAbstractTuple> getChildTupleList() {
+        return childTupleList;
+    }
+
+    @Override
+    public A getFactA() {
+        return parentTuple.getFactA();
+    }
+
+    @Override
+    public B getFactB() {
+        return parentTuple.getFactB();
+    }
+
+    @Override
+    public C getFactC() {
+        return parentTuple.getFactC();
+    }
+
+    @Override
+    public D getFactD() {
+        return parentTuple.getFactD();
+    }
+
+    public BavetExistsMatch<BavetExistsQuadTuple<A, B, C, D, E>, BavetJoinBridgeUniTuple<E>> getMatchSentinel() {
+        return matchSentinel;
+    }
+
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+}
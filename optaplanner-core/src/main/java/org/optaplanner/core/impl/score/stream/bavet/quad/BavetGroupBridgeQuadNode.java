@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.quad;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.optaplanner.core.api.function.QuadFunction;
+import org.optaplanner.core.api.score.stream.quad.QuadConstraintCollector;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
+
+public final class BavetGroupBridgeQuadNode<A, B, C, D> extends BavetAbstractQuadNode<A, B, C, D> {
+
+    private final BavetAbstractQuadNode<A, B, C, D> parentNode;
+    /**
+     * Null if there are no group keys, in which case all tuples end up in the same group.
+     */
+    private final QuadFunction<A, B, C, D, ?> groupKeyMapping;
+    private final List<QuadConstraintCollector<A, B, C, D, ?, ?>> collectorList;
+    private final Map<Object, BavetGroupTuple> groupTupleMap;
+    private BavetGroupNode groupNode;
+
+    public BavetGroupBridgeQuadNode(BavetConstraintSession session, int nodeIndex,
+            BavetAbstractQuadNode<A, B, C, D> parentNode, QuadFunction<A, B, C, D, ?> groupKeyMapping,
+            List<QuadConstraintCollector<A, B, C, D, ?, ?>> collectorList) {
+        super(session, nodeIndex);
+        this.parentNode = parentNode;
+        this.groupKeyMapping = groupKeyMapping;
+        this.collectorList = collectorList;
+        groupTupleMap = new HashMap<>();
+    }
+
+    @Override
+    public List<BavetAbstractQuadNode<A, B, C, D>> getChildNodeList() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public BavetGroupBridgeQuadTuple<A, B, C, D> createTuple(BavetAbstractQuadTuple<A, B, C, D> parentTuple) {
+        return new BavetGroupBridgeQuadTuple<>(this, parentTuple);
+    }
+
+    public void setGroupNode(BavetGroupNode groupNode) {
+        this.groupNode = groupNode;
+    }
+
+    @Override
+    public void refresh(BavetAbstractTuple uncastTuple) {
+        if (groupNode == null) {
+            throw new IllegalStateException("Impossible state: GroupBridgeNode (" + this +
+                    ") has no child GroupNode (" + groupNode + ").");
+        }
+        BavetGroupBridgeQuadTuple<A, B, C, D> tuple = (BavetGroupBridgeQuadTuple<A, B, C, D>) uncastTuple;
+        BavetGroupTuple oldGroupTuple = tuple.getChildTuple();
+        if (oldGroupTuple != null) {
+            for (Runnable undoAccumulator : tuple.getUndoAccumulators()) {
+                undoAccumulator.run();
+            }
+            tuple.setChildTuple(null);
+            tuple.setUndoAccumulators(null);
+            int parentCount = oldGroupTuple.decreaseParentCount();
+            BavetAbstractTuple castOldGroupTuple = (BavetAbstractTuple) oldGroupTuple;
+            if (parentCount == 0) {
+                // Clean up groupTupleMap
+                groupTupleMap.remove(oldGroupTuple.getGroupKey());
+                session.transitionTuple(castOldGroupTuple, BavetTupleState.DYING);
+            } else if (!castOldGroupTuple.isDirty()) {
+                session.transitionTuple(castOldGroupTuple, BavetTupleState.UPDATING);
+            }
+        }
+        if (tuple.isActive()) {
+            A a = tuple.getFactA();
+            B b = tuple.getFactB();
+            C c = tuple.getFactC();
+            D d = tuple.getFactD();
+            Object groupKey = (groupKeyMapping == null) ? null : groupKeyMapping.apply(a, b, c, d);
+            BavetGroupTuple groupTuple = groupTupleMap.computeIfAbsent(groupKey,
+                    k -> groupNode.createTuple(k, createResultContainers()));
+            Object[] resultContainers = groupTuple.getResultContainers();
+            Runnable[] undoAccumulators = new Runnable[resultContainers.length];
+            for (int i = 0; i < undoAccumulators.length; i++) {
+                undoAccumulators[i] = accumulate(collectorList.get(i), resultContainers[i], a, b, c, d);
+            }
+            tuple.setUndoAccumulators(undoAccumulators);
+            tuple.setChildTuple(groupTuple);
+            int parentCount = groupTuple.increaseParentCount();
+            BavetAbstractTuple castGroupTuple = (BavetAbstractTuple) groupTuple;
+            if (parentCount == 1) {
+                session.transitionTuple(castGroupTuple, BavetTupleState.CREATING);
+            } else if (!castGroupTuple.isDirty()) {
+                // It might be dirty already due to an earlier tuple in the same nodeIndex
+                session.transitionTuple(castGroupTuple, BavetTupleState.UPDATING);
+            }
+        }
+    }
+
+    private Object[] createResultContainers() {
+        Object[] resultContainers = new Object[collectorList.size()];
+        for (int i = 0; i < resultContainers.length; i++) {
+            resultContainers[i] = collectorList.get(i).supplier().get();
+        }
+        return resultContainers;
+    }
+
+    private static <A, B, C, D, ResultContainer_> Runnable accumulate(
+            QuadConstraintCollector<A, B, C, D, ResultContainer_, ?> collector, Object resultContainer, A a, B b, C c,
+            D d) {
+        return collector.accumulator().apply((ResultContainer_) resultContainer, a, b, c, d);
+    }
+
+    @Override
+    public String toString() {
+        return "GroupBridge()";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+}
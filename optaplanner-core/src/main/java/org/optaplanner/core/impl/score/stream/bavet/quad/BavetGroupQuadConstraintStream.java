@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.quad;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFromUniConstraintStream;
+
+public final class BavetGroupQuadConstraintStream<Solution_, A, B, C, D>
+        extends BavetAbstractQuadConstraintStream<Solution_, A, B, C, D>
+        implements BavetGroupConstraintStream<Solution_> {
+
+    private final BavetAbstractConstraintStream<Solution_> parent;
+    private final int groupKeyCount;
+    private final List<Function<?, ?>> finisherList;
+
+    public BavetGroupQuadConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
+            BavetAbstractConstraintStream<Solution_> parent,
+            int groupKeyCount, List<Function<?, ?>> finisherList) {
+        super(constraintFactory);
+        this.parent = parent;
+        this.groupKeyCount = groupKeyCount;
+        this.finisherList = finisherList;
+        if (groupKeyCount + finisherList.size() != 4) {
+            throw new IllegalStateException("Impossible state: the stream (" + this
+                    + ") has a groupKeyCount (" + groupKeyCount + ") and a collector count (" + finisherList.size()
+                    + ") that don't add up to its cardinality.");
+        }
+    }
+
+    @Override
+    public boolean guaranteesDistinct() {
+        return true;
+    }
+
+    @Override
+    public List<BavetFromUniConstraintStream<Solution_, Object>> getFromStreamList() {
+        return parent.getFromStreamList();
+    }
+
+    // ************************************************************************
+    // Node creation
+    // ************************************************************************
+
+    @Override
+    public BavetGroupQuadNode<A, B, C, D> createNodeChain(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight) {
+        BavetGroupQuadNode<A, B, C, D> node = new BavetGroupQuadNode<>(buildPolicy.getSession(),
+                buildPolicy.nextNodeIndex(), groupKeyCount, finisherList);
+        node = (BavetGroupQuadNode<A, B, C, D>) processNode(buildPolicy, null, node);
+        createChildNodeChains(buildPolicy, constraintWeight, node);
+        return node;
+    }
+
+    @Override
+    protected BavetGroupQuadNode<A, B, C, D> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight, BavetAbstractQuadNode<A, B, C, D> parentNode) {
+        throw new IllegalStateException("Impossible state: this code is never called.");
+    }
+
+    @Override
+    public String toString() {
+        return "Group() with " + childStreamList.size() + " children";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.quad;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupTuple;
+
+public final class BavetGroupQuadTuple<A, B, C, D> extends BavetAbstractQuadTuple<A, B, C, D> implements BavetGroupTuple {
+
+    private final BavetGroupQuadNode<A, B, C, D> node;
+
+    private final Object groupKey;
+    private final Object[] resultContainers;
+    private int parentCount;
+    private A factA;
+    private B factB;
+    private C factC;
+    private D factD;
+    private final List<BavetAbstractTuple> childTupleList = new ArrayList<>(1);
+
+    public BavetGroupQuadTuple(BavetGroupQuadNode<A, B, C, D> node, Object groupKey, Object[] resultContainers) {
+        this.node = node;
+        this.groupKey = groupKey;
+        this.resultContainers = resultContainers;
+        parentCount = 0;
+    }
+
+    @Override
+    public int increaseParentCount() {
+        parentCount++;
+        return parentCount;
+    }
+
+    @Override
+    public int decreaseParentCount() {
+        parentCount--;
+        if (parentCount < 0) {
+            throw new IllegalStateException("The parentCount (" + parentCount + ") for groupKey (" + groupKey
+                    + ") must not be negative.");
+        }
+        return parentCount;
+    }
+
+    @Override
+    public String toString() {
+        return "Group(" + getFactsString() + ")";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+    @Override
+    public BavetGroupQuadNode<A, B, C, D> getNode() {
+        return node;
+    }
+
+    @Override
+    public List<BavetAbstractTuple> getChildTupleList() {
+        return childTupleList;
+    }
+
+    @Override
+    public A getFactA() {
+        return factA;
+    }
+
+    public void setFactA(A factA) {
+        this.factA = factA;
+    }
+
+    @Override
+    public B getFactB() {
+        return factB;
+    }
+
+    public void setFactB(B factB) {
+        this.factB = factB;
+    }
+
+    @Override
+    public C getFactC() {
+        return factC;
+    }
+
+    public void setFactC(C factC) {
+        this.factC = factC;
+    }
+
+    @Override
+    public D getFactD() {
+        return factD;
+    }
+
+    public void setFactD(D factD) {
+        this.factD = factD;
+    }
+
+    @Override
+    public Object getGroupKey() {
+        return groupKey;
+    }
+
+    @Override
+    public Object[] getResultContainers() {
+        return resultContainers;
+    }
+
+}
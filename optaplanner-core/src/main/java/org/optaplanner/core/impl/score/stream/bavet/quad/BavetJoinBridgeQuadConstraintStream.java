@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.quad;
+
+import java.util.List;
+import java.util.Map;
+
+import org.optaplanner.core.api.function.QuadFunction;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndexFactory;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFromUniConstraintStream;
+
+public final class BavetJoinBridgeQuadConstraintStream<Solution_, A, B, C, D>
+        extends BavetAbstractQuadConstraintStream<Solution_, A, B, C, D>
+        implements BavetJoinBridgeConstraintStream<Solution_> {
+
+    private final BavetAbstractQuadConstraintStream<Solution_, A, B, C, D> parent;
+    private BavetJoinConstraintStream<Solution_> joinStream;
+    private final boolean isLeftBridge;
+    private final QuadFunction<A, B, C, D, Object[]> mapping;
+    private final BavetIndexFactory indexFactory;
+
+    public BavetJoinBridgeQuadConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
+            BavetAbstractQuadConstraintStream<Solution_, A, B, C, D> parent,
+            boolean isLeftBridge,
+            QuadFunction<A, B, C, D, Object[]> mapping, BavetIndexFactory indexFactory) {
+        super(constraintFactory);
+        this.parent = parent;
+        this.isLeftBridge = isLeftBridge;
+        this.mapping = mapping;
+        this.indexFactory = indexFactory;
+    }
+
+    @Override
+    public boolean guaranteesDistinct() {
+        return parent.guaranteesDistinct();
+    }
+
+    public void setJoinStream(BavetJoinConstraintStream<Solution_> joinStream) {
+        this.joinStream = joinStream;
+    }
+
+    @Override
+    public List<BavetFromUniConstraintStream<Solution_, Object>> getFromStreamList() {
+        return parent.getFromStreamList();
+    }
+
+    // ************************************************************************
+    // Node creation
+    // ************************************************************************
+
+    @Override
+    public BavetAbstractQuadNode<A, B, C, D> createNodeChain(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight, BavetAbstractQuadNode<A, B, C, D> parentNode) {
+        if (!childStreamList.isEmpty()) {
+            throw new IllegalStateException("Impossible state: the stream (" + this
+                    + ") has an non-empty childStreamList (" + childStreamList + ") but it's a join bridge.");
+        }
+        // The join bridge node is created by the join stream once both parent nodes are known,
+        // so an equivalent join node (with its join bridge nodes) can be shared instead.
+        Map<BavetJoinConstraintStream<Solution_>, BavetAbstractNode> parentNodeMap = isLeftBridge
+                ? buildPolicy.getJoinConstraintStreamToLeftParentNodeMap()
+                : buildPolicy.getJoinConstraintStreamToRightParentNodeMap();
+        Map<BavetJoinConstraintStream<Solution_>, BavetAbstractNode> otherParentNodeMap = isLeftBridge
+                ? buildPolicy.getJoinConstraintStreamToRightParentNodeMap()
+                : buildPolicy.getJoinConstraintStreamToLeftParentNodeMap();
+        parentNodeMap.put(joinStream, parentNode);
+        BavetAbstractNode otherParentNode = otherParentNodeMap.get(joinStream);
+        if (otherParentNode != null) {
+            BavetAbstractNode leftParentNode = isLeftBridge ? parentNode : otherParentNode;
+            BavetAbstractNode rightParentNode = isLeftBridge ? otherParentNode : parentNode;
+            joinStream.createNodeChain(buildPolicy, constraintWeight, leftParentNode, rightParentNode);
+        }
+        return parentNode;
+    }
+
+    public BavetJoinBridgeQuadNode<A, B, C, D> createBridgeNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            BavetAbstractQuadNode<A, B, C, D> parentNode) {
+        BavetJoinBridgeQuadNode<A, B, C, D> node = createNode(buildPolicy, null, parentNode);
+        return (BavetJoinBridgeQuadNode<A, B, C, D>) processNode(buildPolicy, parentNode, node);
+    }
+
+    @Override
+    protected BavetJoinBridgeQuadNode<A, B, C, D> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight, BavetAbstractQuadNode<A, B, C, D> parentNode) {
+        return new BavetJoinBridgeQuadNode<>(buildPolicy.getSession(), buildPolicy.nextNodeIndex(), parentNode, mapping,
+                buildPolicy.buildIndex(indexFactory, isLeftBridge));
+    }
+
+    @Override
+    protected void createChildNodeChains(BavetNodeBuildPolicy<Solution_> buildPolicy, Score<?> constraintWeight,
+            BavetAbstractQuadNode<A, B, C, D> node) {
+        throw new IllegalStateException("Impossible state: this code is never called.");
+    }
+
+    @Override
+    public String toString() {
+        return "JoinBridge()";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+    public BavetIndexFactory getIndexFactory() {
+        return indexFactory;
+    }
+
+}
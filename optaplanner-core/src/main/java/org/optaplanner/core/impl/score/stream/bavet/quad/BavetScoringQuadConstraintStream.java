@@ -0,0 +1,240 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.quad;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import org.optaplanner.core.api.function.PentaFunction;
+import org.optaplanner.core.api.function.QuadFunction;
+import org.optaplanner.core.api.function.ToIntQuadFunction;
+import org.optaplanner.core.api.function.ToLongQuadFunction;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.quad.QuadConstraintStream;
+import org.optaplanner.core.impl.score.inliner.BigDecimalWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.IntReversibleWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.IntWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.LongReversibleWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.LongWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.ScoreInliner;
+import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.WeightedScoreImpacter;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraint;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFromUniConstraintStream;
+
+public final class BavetScoringQuadConstraintStream<Solution_, A, B, C, D>
+        extends BavetAbstractQuadConstraintStream<Solution_, A, B, C, D> {
+
+    private final BavetAbstractQuadConstraintStream<Solution_, A, B, C, D> parent;
+    private final BavetConstraint<Solution_> constraint;
+    private final boolean noMatchWeigher;
+    private final ToIntQuadFunction<A, B, C, D> intMatchWeigher;
+    private final ToLongQuadFunction<A, B, C, D> longMatchWeigher;
+    private final QuadFunction<A, B, C, D, BigDecimal> bigDecimalMatchWeigher;
+
+    public BavetScoringQuadConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
+            BavetAbstractQuadConstraintStream<Solution_, A, B, C, D> parent,
+            BavetConstraint<Solution_> constraint) {
+        this(constraintFactory, parent, constraint, true, null, null, null);
+    }
+
+    public BavetScoringQuadConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
+            BavetAbstractQuadConstraintStream<Solution_, A, B, C, D> parent,
+            BavetConstraint<Solution_> constraint, ToIntQuadFunction<A, B, C, D> intMatchWeigher) {
+        this(constraintFactory, parent, constraint, false, intMatchWeigher, null, null);
+        if (intMatchWeigher == null) {
+            throw new IllegalArgumentException("The matchWeigher (null) cannot be null.");
+        }
+    }
+
+    public BavetScoringQuadConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
+            BavetAbstractQuadConstraintStream<Solution_, A, B, C, D> parent,
+            BavetConstraint<Solution_> constraint, ToLongQuadFunction<A, B, C, D> longMatchWeigher) {
+        this(constraintFactory, parent, constraint, false, null, longMatchWeigher, null);
+        if (longMatchWeigher == null) {
+            throw new IllegalArgumentException("The matchWeigher (null) cannot be null.");
+        }
+    }
+
+    public BavetScoringQuadConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
+            BavetAbstractQuadConstraintStream<Solution_, A, B, C, D> parent,
+            BavetConstraint<Solution_> constraint, QuadFunction<A, B, C, D, BigDecimal> bigDecimalMatchWeigher) {
+        this(constraintFactory, parent, constraint, false, null, null, bigDecimalMatchWeigher);
+        if (bigDecimalMatchWeigher == null) {
+            throw new IllegalArgumentException("The matchWeigher (null) cannot be null.");
+        }
+    }
+
+    private BavetScoringQuadConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
+            BavetAbstractQuadConstraintStream<Solution_, A, B, C, D> parent,
+            BavetConstraint<Solution_> constraint, boolean noMatchWeigher,
+            ToIntQuadFunction<A, B, C, D> intMatchWeigher, ToLongQuadFunction<A, B, C, D> longMatchWeigher,
+            QuadFunction<A, B, C, D, BigDecimal> bigDecimalMatchWeigher) {
+        super(constraintFactory);
+        this.parent = parent;
+        this.constraint = constraint;
+        this.noMatchWeigher = noMatchWeigher;
+        this.intMatchWeigher = intMatchWeigher;
+        this.longMatchWeigher = longMatchWeigher;
+        this.bigDecimalMatchWeigher = bigDecimalMatchWeigher;
+    }
+
+    @Override
+    public boolean guaranteesDistinct() {
+        return parent.guaranteesDistinct();
+    }
+
+    @Override
+    public List<BavetFromUniConstraintStream<Solution_, Object>> getFromStreamList() {
+        return parent.getFromStreamList();
+    }
+
+    // ************************************************************************
+    // Node creation
+    // ************************************************************************
+
+    @Override
+    protected BavetScoringQuadNode<A, B, C, D> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight, BavetAbstractQuadNode<A, B, C, D> parentNode) {
+        ScoreInliner scoreInliner = buildPolicy.getSession().getScoreInliner();
+        WeightedScoreImpacter weightedScoreImpacter = scoreInliner.buildWeightedScoreImpacter(constraintWeight);
+        PentaFunction<A, B, C, D, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter = null;
+        ToLongQuadFunction<A, B, C, D> primitiveScoreImpacter = null;
+        LongConsumer primitiveUndoScoreImpacter = null;
+        // Constraint matching needs a match score per match, so it can't use the allocation free primitive path
+        boolean constraintMatchEnabled = buildPolicy.getSession().isConstraintMatchEnabled();
+        if (!constraintMatchEnabled && weightedScoreImpacter instanceof IntReversibleWeightedScoreImpacter
+                && (intMatchWeigher != null || noMatchWeigher)) {
+            IntReversibleWeightedScoreImpacter castedWeightedScoreImpacter =
+                    (IntReversibleWeightedScoreImpacter) weightedScoreImpacter;
+            if (intMatchWeigher != null) {
+                primitiveScoreImpacter = (A a, B b, C c, D d) -> {
+                    int matchWeight = intMatchWeigher.applyAsInt(a, b, c, d);
+                    constraint.assertCorrectImpact(matchWeight);
+                    castedWeightedScoreImpacter.impactScore(matchWeight);
+                    return matchWeight;
+                };
+            } else {
+                primitiveScoreImpacter = (A a, B b, C c, D d) -> {
+                    castedWeightedScoreImpacter.impactScore(1);
+                    return 1L;
+                };
+            }
+            primitiveUndoScoreImpacter = matchWeight -> castedWeightedScoreImpacter.impactScore(-(int) matchWeight);
+        } else if (!constraintMatchEnabled && weightedScoreImpacter instanceof LongReversibleWeightedScoreImpacter
+                && (longMatchWeigher != null || noMatchWeigher)) {
+            LongReversibleWeightedScoreImpacter castedWeightedScoreImpacter =
+                    (LongReversibleWeightedScoreImpacter) weightedScoreImpacter;
+            if (longMatchWeigher != null) {
+                primitiveScoreImpacter = (A a, B b, C c, D d) -> {
+                    long matchWeight = longMatchWeigher.applyAsLong(a, b, c, d);
+                    constraint.assertCorrectImpact(matchWeight);
+                    castedWeightedScoreImpacter.impactScore(matchWeight);
+                    return matchWeight;
+                };
+            } else {
+                primitiveScoreImpacter = (A a, B b, C c, D d) -> {
+                    castedWeightedScoreImpacter.impactScore(1L);
+                    return 1L;
+                };
+            }
+            primitiveUndoScoreImpacter = matchWeight -> castedWeightedScoreImpacter.impactScore(-matchWeight);
+        } else if (weightedScoreImpacter instanceof IntWeightedScoreImpacter) {
+            IntWeightedScoreImpacter castedWeightedScoreImpacter = (IntWeightedScoreImpacter) weightedScoreImpacter;
+            if (intMatchWeigher != null) {
+                scoreImpacter = (A a, B b, C c, D d, Consumer<Score<?>> matchScoreConsumer) -> {
+                    int matchWeight = intMatchWeigher.applyAsInt(a, b, c, d);
+                    constraint.assertCorrectImpact(matchWeight);
+                    return castedWeightedScoreImpacter.impactScore(matchWeight, matchScoreConsumer);
+                };
+            } else if (noMatchWeigher) {
+                scoreImpacter = (A a, B b, C c, D d, Consumer<Score<?>> matchScoreConsumer) -> castedWeightedScoreImpacter
+                        .impactScore(1, matchScoreConsumer);
+            } else {
+                throw new IllegalStateException("The matchWeigher of " + QuadConstraintStream.class.getSimpleName()
+                        + ".penalize(matchWeigher) of the constraint (" + constraint.getConstraintId()
+                        + ") must return an int.\n" +
+                        "Maybe switch to penalize() or reward().");
+            }
+        } else if (weightedScoreImpacter instanceof LongWeightedScoreImpacter) {
+            LongWeightedScoreImpacter castedWeightedScoreImpacter = (LongWeightedScoreImpacter) weightedScoreImpacter;
+            if (longMatchWeigher != null) {
+                scoreImpacter = (A a, B b, C c, D d, Consumer<Score<?>> matchScoreConsumer) -> {
+                    long matchWeight = longMatchWeigher.applyAsLong(a, b, c, d);
+                    constraint.assertCorrectImpact(matchWeight);
+                    return castedWeightedScoreImpacter.impactScore(matchWeight, matchScoreConsumer);
+                };
+            } else if (noMatchWeigher) {
+                scoreImpacter = (A a, B b, C c, D d, Consumer<Score<?>> matchScoreConsumer) -> castedWeightedScoreImpacter
+                        .impactScore(1L, matchScoreConsumer);
+            } else {
+                throw new IllegalStateException("The matchWeigher of " + QuadConstraintStream.class.getSimpleName()
+                        + ".penalize(matchWeigher) of the constraint (" + constraint.getConstraintId()
+                        + ") must return a long.\n" +
+                        "Maybe switch to penalizeLong() or rewardLong().");
+            }
+        } else if (weightedScoreImpacter instanceof BigDecimalWeightedScoreImpacter) {
+            BigDecimalWeightedScoreImpacter castedWeightedScoreImpacter =
+                    (BigDecimalWeightedScoreImpacter) weightedScoreImpacter;
+            if (bigDecimalMatchWeigher != null) {
+                scoreImpacter = (A a, B b, C c, D d, Consumer<Score<?>> matchScoreConsumer) -> {
+                    BigDecimal matchWeight = bigDecimalMatchWeigher.apply(a, b, c, d);
+                    constraint.assertCorrectImpact(matchWeight);
+                    return castedWeightedScoreImpacter.impactScore(matchWeight, matchScoreConsumer);
+                };
+            } else if (noMatchWeigher) {
+                scoreImpacter = (A a, B b, C c, D d, Consumer<Score<?>> matchScoreConsumer) -> castedWeightedScoreImpacter
+                        .impactScore(BigDecimal.ONE, matchScoreConsumer);
+            } else {
+                throw new IllegalStateException("The matchWeigher of " + QuadConstraintStream.class.getSimpleName()
+                        + ".penalize(matchWeigher) of the constraint (" + constraint.getConstraintId()
+                        + ") must return a " + BigDecimal.class.getSimpleName() + ".\n" +
+                        "Maybe switch to penalizeBigDecimal() or rewardBigDecimal().");
+            }
+        } else {
+            throw new IllegalStateException("Unsupported weightedScoreImpacter (" + weightedScoreImpacter + ").");
+        }
+        BavetScoringQuadNode<A, B, C, D> node = new BavetScoringQuadNode<>(buildPolicy.getSession(),
+                buildPolicy.nextNodeIndex(), constraint.getConstraintPackage(), constraint.getConstraintName(),
+                constraintWeight, scoreImpacter, primitiveScoreImpacter, primitiveUndoScoreImpacter);
+        buildPolicy.addScoringNode(node);
+        return node;
+    }
+
+    @Override
+    protected void createChildNodeChains(BavetNodeBuildPolicy<Solution_> buildPolicy, Score<?> constraintWeight,
+            BavetAbstractQuadNode<A, B, C, D> node) {
+        if (!childStreamList.isEmpty()) {
+            throw new IllegalStateException("Impossible state: the stream (" + this
+                    + ") has an non-empty childStreamList (" + childStreamList + ") but it's an endpoint.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Scoring()";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+}
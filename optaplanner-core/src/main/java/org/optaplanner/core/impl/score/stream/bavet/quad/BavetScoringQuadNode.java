@@ -0,0 +1,155 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.quad;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import org.optaplanner.core.api.function.PentaFunction;
+import org.optaplanner.core.api.function.ToLongQuadFunction;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+import org.optaplanner.core.impl.score.constraint.DefaultConstraintMatchTotal;
+import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetScoringNode;
+
+public final class BavetScoringQuadNode<A, B, C, D> extends BavetAbstractQuadNode<A, B, C, D> implements BavetScoringNode {
+
+    private final String constraintPackage;
+    private final String constraintName;
+    private final Score<?> constraintWeight;
+    /** Null if the primitive scoring path is used. */
+    private final PentaFunction<A, B, C, D, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter;
+    /**
+     * Null unless the primitive scoring path is used.
+     * Impacts the score without allocation and returns the matchWeight, which the tuple keeps as its undo record.
+     */
+    private final ToLongQuadFunction<A, B, C, D> primitiveScoreImpacter;
+    /** Null unless the primitive scoring path is used. Undoes the impact of a matchWeight. */
+    private final LongConsumer primitiveUndoScoreImpacter;
+
+    private final boolean constraintMatchEnabled;
+    /** Always null if {@link BavetConstraintSession#isConstraintMatchEnabled()} is false. */
+    private final DefaultConstraintMatchTotal constraintMatchTotal;
+
+    public BavetScoringQuadNode(BavetConstraintSession session, int nodeIndex,
+            String constraintPackage, String constraintName, Score<?> constraintWeight,
+            PentaFunction<A, B, C, D, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter,
+            ToLongQuadFunction<A, B, C, D> primitiveScoreImpacter, LongConsumer primitiveUndoScoreImpacter) {
+        super(session, nodeIndex);
+        this.constraintPackage = constraintPackage;
+        this.constraintName = constraintName;
+        this.constraintWeight = constraintWeight;
+        this.scoreImpacter = scoreImpacter;
+        this.primitiveScoreImpacter = primitiveScoreImpacter;
+        this.primitiveUndoScoreImpacter = primitiveUndoScoreImpacter;
+        this.constraintMatchEnabled = session.isConstraintMatchEnabled();
+        constraintMatchTotal = constraintMatchEnabled
+                ? new DefaultConstraintMatchTotal(constraintPackage, constraintName, constraintWeight,
+                        session.getZeroScore())
+                : null;
+    }
+
+    // ************************************************************************
+    // Equality for node sharing
+    // ************************************************************************
+
+    // No node sharing
+
+    // ************************************************************************
+    // Runtime
+    // ************************************************************************
+
+    @Override
+    public BavetScoringQuadTuple<A, B, C, D> createTuple(BavetAbstractQuadTuple<A, B, C, D> parentTuple) {
+        return new BavetScoringQuadTuple<>(this, parentTuple);
+    }
+
+    @Override
+    public void refresh(BavetAbstractTuple uncastTuple) {
+        BavetScoringQuadTuple<A, B, C, D> tuple = (BavetScoringQuadTuple<A, B, C, D>) uncastTuple;
+        A a = tuple.getFactA();
+        B b = tuple.getFactB();
+        C c = tuple.getFactC();
+        D d = tuple.getFactD();
+        if (primitiveScoreImpacter != null) {
+            long oldMatchWeight = tuple.getMatchWeight();
+            if (oldMatchWeight != 0L) {
+                primitiveUndoScoreImpacter.accept(oldMatchWeight);
+            }
+            tuple.setMatchWeight(tuple.isActive() ? primitiveScoreImpacter.applyAsLong(a, b, c, d) : 0L);
+            return;
+        }
+        UndoScoreImpacter oldUndoScoreImpacter = tuple.getUndoScoreImpacter();
+        if (oldUndoScoreImpacter != null) {
+            oldUndoScoreImpacter.undoScoreImpact();
+            if (constraintMatchEnabled) {
+                session.removeConstraintMatch(constraintMatchTotal, tuple.getConstraintMatch());
+                tuple.setMatchScore(null);
+                tuple.setConstraintMatch(null);
+            }
+        }
+        if (tuple.isActive()) {
+            UndoScoreImpacter undoScoreImpacter = scoreImpacter.apply(a, b, c, d, tuple::setMatchScore);
+            tuple.setUndoScoreImpacter(undoScoreImpacter);
+            if (constraintMatchEnabled) {
+                tuple.setConstraintMatch(session.addConstraintMatch(constraintMatchTotal,
+                        Arrays.asList(a, b, c, d), tuple.getMatchScore()));
+            }
+        } else {
+            tuple.setUndoScoreImpacter(null);
+        }
+    }
+
+    @Override
+    public <Score_ extends Score<Score_>> ConstraintMatchTotal<Score_> getConstraintMatchTotal() {
+        return constraintMatchTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "Scoring(" + constraintWeight + ")";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+    @Override
+    public String getConstraintPackage() {
+        return constraintPackage;
+    }
+
+    @Override
+    public String getConstraintName() {
+        return constraintName;
+    }
+
+    @Override
+    public String getConstraintId() {
+        return ConstraintMatchTotal.composeConstraintId(constraintPackage, constraintName);
+    }
+
+    @Override
+    public Score<?> getConstraintWeight() {
+        return constraintWeight;
+    }
+
+}
@@ -18,14 +18,19 @@ package org.optaplanner.core.impl.score.stream.bavet.tri;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
+import org.optaplanner.core.api.function.QuadPredicate;
 import org.optaplanner.core.api.function.ToIntTriFunction;
 import org.optaplanner.core.api.function.ToLongTriFunction;
 import org.optaplanner.core.api.function.TriFunction;
 import org.optaplanner.core.api.function.TriPredicate;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintFactory;
 import org.optaplanner.core.api.score.stream.bi.BiConstraintStream;
 import org.optaplanner.core.api.score.stream.quad.QuadConstraintStream;
 import org.optaplanner.core.api.score.stream.quad.QuadJoiner;
@@ -34,9 +39,19 @@ import org.optaplanner.core.api.score.stream.tri.TriConstraintStream;
 import org.optaplanner.core.api.score.stream.uni.UniConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraint;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
+import org.optaplanner.core.impl.score.stream.bavet.bi.BavetGroupBiConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndexFactory;
+import org.optaplanner.core.impl.score.stream.bavet.quad.BavetGroupQuadConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.quad.BavetJoinQuadConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetAbstractUniConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetGroupUniConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniConstraintStream;
 import org.optaplanner.core.impl.score.stream.common.ScoreImpactType;
+import org.optaplanner.core.impl.score.stream.quad.AbstractQuadJoiner;
+import org.optaplanner.core.impl.score.stream.quad.FilteringQuadJoiner;
 import org.optaplanner.core.impl.score.stream.tri.InnerTriConstraintStream;
 
 public abstract class BavetAbstractTriConstraintStream<Solution_, A, B, C> extends BavetAbstractConstraintStream<Solution_>
@@ -74,7 +89,36 @@ public abstract class BavetAbstractTriConstraintStream<Solution_, A, B, C> exten
 
     @Override
     public <D> QuadConstraintStream<A, B, C, D> join(UniConstraintStream<D> otherStream, QuadJoiner<A, B, C, D> joiner) {
-        throw new UnsupportedOperationException();
+        if (!(otherStream instanceof BavetAbstractUniConstraintStream)) {
+            throw new IllegalStateException("The streams (" + this + ", " + otherStream
+                    + ") are not build from the same " + ConstraintFactory.class.getSimpleName() + ".");
+        }
+        BavetAbstractUniConstraintStream<Solution_, D> other = (BavetAbstractUniConstraintStream<Solution_, D>) otherStream;
+        if (constraintFactory != other.getConstraintFactory()) {
+            throw new IllegalStateException("The streams (" + this + ", " + other
+                    + ") are build from different constraintFactories (" + constraintFactory + ", "
+                    + other.getConstraintFactory()
+                    + ").");
+        }
+        if (!(joiner instanceof AbstractQuadJoiner)) {
+            throw new IllegalArgumentException("The joiner class (" + joiner.getClass() + ") is not supported.");
+        } else if (joiner instanceof FilteringQuadJoiner) {
+            return join(otherStream)
+                    .filter(((FilteringQuadJoiner<A, B, C, D>) joiner).getFilter());
+        }
+        AbstractQuadJoiner<A, B, C, D> castedJoiner = (AbstractQuadJoiner<A, B, C, D>) joiner;
+        BavetIndexFactory indexFactory = new BavetIndexFactory(castedJoiner);
+        BavetJoinBridgeTriConstraintStream<Solution_, A, B, C> leftBridge = new BavetJoinBridgeTriConstraintStream<>(
+                constraintFactory, this, true, castedJoiner.getLeftCombinedMapping(), indexFactory);
+        addChildStream(leftBridge);
+        BavetJoinBridgeUniConstraintStream<Solution_, D> rightBridge = new BavetJoinBridgeUniConstraintStream<>(
+                constraintFactory, other, false, castedJoiner.getRightCombinedMapping(), indexFactory);
+        other.addChildStream(rightBridge);
+        BavetJoinQuadConstraintStream<Solution_, A, B, C, D> joinStream = new BavetJoinQuadConstraintStream<>(
+                constraintFactory, leftBridge, rightBridge);
+        leftBridge.setJoinStream(joinStream);
+        rightBridge.setJoinStream(joinStream);
+        return joinStream;
     }
 
     // ************************************************************************
@@ -84,13 +128,52 @@ public abstract class BavetAbstractTriConstraintStream<Solution_, A, B, C> exten
     @SafeVarargs
     @Override
     public final <D> TriConstraintStream<A, B, C> ifExists(Class<D> otherClass, QuadJoiner<A, B, C, D>... joiners) {
-        throw new UnsupportedOperationException();
+        return ifExistsOrNot(true, otherClass, joiners);
     }
 
     @SafeVarargs
     @Override
     public final <D> TriConstraintStream<A, B, C> ifNotExists(Class<D> otherClass, QuadJoiner<A, B, C, D>... joiners) {
-        throw new UnsupportedOperationException();
+        return ifExistsOrNot(false, otherClass, joiners);
+    }
+
+    private <D> TriConstraintStream<A, B, C> ifExistsOrNot(boolean shouldExist, Class<D> otherClass,
+            QuadJoiner<A, B, C, D>[] joiners) {
+        // The indexing joiners are merged into the index, the filtering joiners are merged into a single filter
+        List<QuadJoiner<A, B, C, D>> indexingJoinerList = new ArrayList<>(joiners.length);
+        QuadJoiner<A, B, C, D> firstFilteringJoiner = null;
+        QuadPredicate<A, B, C, D> filter = null;
+        for (QuadJoiner<A, B, C, D> joiner : joiners) {
+            if (joiner instanceof FilteringQuadJoiner) {
+                QuadPredicate<A, B, C, D> joinerFilter = ((FilteringQuadJoiner<A, B, C, D>) joiner).getFilter();
+                if (filter == null) {
+                    firstFilteringJoiner = joiner;
+                    filter = joinerFilter;
+                } else {
+                    filter = filter.and(joinerFilter);
+                }
+            } else if (firstFilteringJoiner != null) {
+                throw new IllegalStateException("Indexing joiner (" + joiner + ") must not follow a filtering joiner ("
+                        + firstFilteringJoiner + ").\n"
+                        + "Maybe reorder the joiners such that filtering() joiners are later in the parameter list.");
+            } else {
+                indexingJoinerList.add(joiner);
+            }
+        }
+        AbstractQuadJoiner<A, B, C, D> indexingJoiner = AbstractQuadJoiner.merge(indexingJoinerList.toArray(new QuadJoiner[0]));
+        BavetAbstractUniConstraintStream<Solution_, D> other = constraintFactory.fromUnfiltered(otherClass);
+        BavetIndexFactory indexFactory = new BavetIndexFactory(indexingJoiner);
+        BavetJoinBridgeTriConstraintStream<Solution_, A, B, C> leftBridge = new BavetJoinBridgeTriConstraintStream<>(
+                constraintFactory, this, true, indexingJoiner.getLeftCombinedMapping(), indexFactory);
+        addChildStream(leftBridge);
+        BavetJoinBridgeUniConstraintStream<Solution_, D> rightBridge = new BavetJoinBridgeUniConstraintStream<>(
+                constraintFactory, other, false, indexingJoiner.getRightCombinedMapping(), indexFactory);
+        other.addChildStream(rightBridge);
+        BavetExistsTriConstraintStream<Solution_, A, B, C, D> existsStream = new BavetExistsTriConstraintStream<>(
+                constraintFactory, leftBridge, rightBridge, shouldExist, filter);
+        leftBridge.setJoinStream(existsStream);
+        rightBridge.setJoinStream(existsStream);
+        return existsStream;
     }
 
     // ************************************************************************
@@ -100,14 +183,14 @@ public abstract class BavetAbstractTriConstraintStream<Solution_, A, B, C> exten
     @Override
     public <ResultContainer_, Result_> UniConstraintStream<Result_> groupBy(
             TriConstraintCollector<A, B, C, ResultContainer_, Result_> collector) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(null, 0, Collections.singletonList(collector));
     }
 
     @Override
     public <ResultContainerA_, ResultA_, ResultContainerB_, ResultB_> BiConstraintStream<ResultA_, ResultB_> groupBy(
             TriConstraintCollector<A, B, C, ResultContainerA_, ResultA_> collectorA,
             TriConstraintCollector<A, B, C, ResultContainerB_, ResultB_> collectorB) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(null, 0, Arrays.asList(collectorA, collectorB));
     }
 
     @Override
@@ -116,7 +199,7 @@ public abstract class BavetAbstractTriConstraintStream<Solution_, A, B, C> exten
             groupBy(TriConstraintCollector<A, B, C, ResultContainerA_, ResultA_> collectorA,
                     TriConstraintCollector<A, B, C, ResultContainerB_, ResultB_> collectorB,
                     TriConstraintCollector<A, B, C, ResultContainerC_, ResultC_> collectorC) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(null, 0, Arrays.asList(collectorA, collectorB, collectorC));
     }
 
     @Override
@@ -126,12 +209,12 @@ public abstract class BavetAbstractTriConstraintStream<Solution_, A, B, C> exten
                     TriConstraintCollector<A, B, C, ResultContainerB_, ResultB_> collectorB,
                     TriConstraintCollector<A, B, C, ResultContainerC_, ResultC_> collectorC,
                     TriConstraintCollector<A, B, C, ResultContainerD_, ResultD_> collectorD) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(null, 0, Arrays.asList(collectorA, collectorB, collectorC, collectorD));
     }
 
     @Override
     public <GroupKey_> UniConstraintStream<GroupKey_> groupBy(TriFunction<A, B, C, GroupKey_> groupKeyMapping) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(groupKeyMapping, 1, Collections.emptyList());
     }
 
     @Override
@@ -139,7 +222,7 @@ public abstract class BavetAbstractTriConstraintStream<Solution_, A, B, C> exten
             TriConstraintStream<GroupKey_, ResultB_, ResultC_> groupBy(TriFunction<A, B, C, GroupKey_> groupKeyMapping,
                     TriConstraintCollector<A, B, C, ResultContainerB_, ResultB_> collectorB,
                     TriConstraintCollector<A, B, C, ResultContainerC_, ResultC_> collectorC) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(groupKeyMapping, 1, Arrays.asList(collectorB, collectorC));
     }
 
     @Override
@@ -149,27 +232,31 @@ public abstract class BavetAbstractTriConstraintStream<Solution_, A, B, C> exten
                     TriConstraintCollector<A, B, C, ResultContainerB_, ResultB_> collectorB,
                     TriConstraintCollector<A, B, C, ResultContainerC_, ResultC_> collectorC,
                     TriConstraintCollector<A, B, C, ResultContainerD_, ResultD_> collectorD) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(groupKeyMapping, 1, Arrays.asList(collectorB, collectorC, collectorD));
     }
 
     @Override
     public <GroupKey_, ResultContainer_, Result_> BiConstraintStream<GroupKey_, Result_> groupBy(
             TriFunction<A, B, C, GroupKey_> groupKeyMapping,
             TriConstraintCollector<A, B, C, ResultContainer_, Result_> collector) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy(groupKeyMapping, 1, Collections.singletonList(collector));
     }
 
     @Override
     public <GroupKeyA_, GroupKeyB_> BiConstraintStream<GroupKeyA_, GroupKeyB_> groupBy(
             TriFunction<A, B, C, GroupKeyA_> groupKeyAMapping, TriFunction<A, B, C, GroupKeyB_> groupKeyBMapping) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy((a, b, c) -> Arrays.asList(
+                groupKeyAMapping.apply(a, b, c), groupKeyBMapping.apply(a, b, c)),
+                2, Collections.emptyList());
     }
 
     @Override
     public <GroupKeyA_, GroupKeyB_, ResultContainer_, Result_> TriConstraintStream<GroupKeyA_, GroupKeyB_, Result_> groupBy(
             TriFunction<A, B, C, GroupKeyA_> groupKeyAMapping, TriFunction<A, B, C, GroupKeyB_> groupKeyBMapping,
             TriConstraintCollector<A, B, C, ResultContainer_, Result_> collector) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy((a, b, c) -> Arrays.asList(
+                groupKeyAMapping.apply(a, b, c), groupKeyBMapping.apply(a, b, c)),
+                2, Collections.singletonList(collector));
     }
 
     @Override
@@ -178,14 +265,18 @@ public abstract class BavetAbstractTriConstraintStream<Solution_, A, B, C> exten
                     TriFunction<A, B, C, GroupKeyA_> groupKeyAMapping, TriFunction<A, B, C, GroupKeyB_> groupKeyBMapping,
                     TriConstraintCollector<A, B, C, ResultContainerC_, ResultC_> collectorC,
                     TriConstraintCollector<A, B, C, ResultContainerD_, ResultD_> collectorD) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy((a, b, c) -> Arrays.asList(
+                groupKeyAMapping.apply(a, b, c), groupKeyBMapping.apply(a, b, c)),
+                2, Arrays.asList(collectorC, collectorD));
     }
 
     @Override
     public <GroupKeyA_, GroupKeyB_, GroupKeyC_> TriConstraintStream<GroupKeyA_, GroupKeyB_, GroupKeyC_> groupBy(
             TriFunction<A, B, C, GroupKeyA_> groupKeyAMapping, TriFunction<A, B, C, GroupKeyB_> groupKeyBMapping,
             TriFunction<A, B, C, GroupKeyC_> groupKeyCMapping) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy((a, b, c) -> Arrays.asList(
+                groupKeyAMapping.apply(a, b, c), groupKeyBMapping.apply(a, b, c), groupKeyCMapping.apply(a, b, c)),
+                3, Collections.emptyList());
     }
 
     @Override
@@ -194,14 +285,50 @@ public abstract class BavetAbstractTriConstraintStream<Solution_, A, B, C> exten
             groupBy(TriFunction<A, B, C, GroupKeyA_> groupKeyAMapping, TriFunction<A, B, C, GroupKeyB_> groupKeyBMapping,
                     TriFunction<A, B, C, GroupKeyC_> groupKeyCMapping,
                     TriConstraintCollector<A, B, C, ResultContainerD_, ResultD_> collectorD) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy((a, b, c) -> Arrays.asList(
+                groupKeyAMapping.apply(a, b, c), groupKeyBMapping.apply(a, b, c), groupKeyCMapping.apply(a, b, c)),
+                3, Collections.singletonList(collectorD));
     }
 
     @Override
     public <GroupKeyA_, GroupKeyB_, GroupKeyC_, GroupKeyD_> QuadConstraintStream<GroupKeyA_, GroupKeyB_, GroupKeyC_, GroupKeyD_>
             groupBy(TriFunction<A, B, C, GroupKeyA_> groupKeyAMapping, TriFunction<A, B, C, GroupKeyB_> groupKeyBMapping,
                     TriFunction<A, B, C, GroupKeyC_> groupKeyCMapping, TriFunction<A, B, C, GroupKeyD_> groupKeyDMapping) {
-        throw new UnsupportedOperationException();
+        return buildGroupBy((a, b, c) -> Arrays.asList(
+                groupKeyAMapping.apply(a, b, c), groupKeyBMapping.apply(a, b, c),
+                groupKeyCMapping.apply(a, b, c), groupKeyDMapping.apply(a, b, c)),
+                4, Collections.emptyList());
+    }
+
+    private <Stream_> Stream_ buildGroupBy(TriFunction<A, B, C, ?> groupKeyMapping, int groupKeyCount,
+            List<TriConstraintCollector<A, B, C, ?, ?>> collectorList) {
+        BavetGroupBridgeTriConstraintStream<Solution_, A, B, C> bridge = new BavetGroupBridgeTriConstraintStream<>(
+                constraintFactory, this, groupKeyMapping, collectorList);
+        addChildStream(bridge);
+        List<Function<?, ?>> finisherList = new ArrayList<>(collectorList.size());
+        for (TriConstraintCollector<A, B, C, ?, ?> collector : collectorList) {
+            finisherList.add(collector.finisher());
+        }
+        BavetAbstractConstraintStream<Solution_> groupStream;
+        switch (groupKeyCount + collectorList.size()) {
+            case 1:
+                groupStream = new BavetGroupUniConstraintStream<>(constraintFactory, bridge, groupKeyCount, finisherList);
+                break;
+            case 2:
+                groupStream = new BavetGroupBiConstraintStream<>(constraintFactory, bridge, groupKeyCount, finisherList);
+                break;
+            case 3:
+                groupStream = new BavetGroupTriConstraintStream<>(constraintFactory, bridge, groupKeyCount, finisherList);
+                break;
+            case 4:
+                groupStream = new BavetGroupQuadConstraintStream<>(constraintFactory, bridge, groupKeyCount, finisherList);
+                break;
+            default:
+                throw new IllegalStateException("Impossible state: the groupKeyCount (" + groupKeyCount
+                        + ") and the collectorCount (" + collectorList.size() + ") add up to more than 4.");
+        }
+        bridge.setGroupStream((BavetGroupConstraintStream<Solution_>) groupStream);
+        return (Stream_) groupStream;
     }
 
     // ************************************************************************
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.tri;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.optaplanner.core.api.function.QuadPredicate;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetExistsMatch;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndex;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniNode;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniTuple;
+
+/**
+ * Keeps a match counter per left tuple instead of creating a tuple per match,
+ * so only a counter crossing 0 is propagated to the child nodes.
+ * The left join bridge tuple has exactly 1 child tuple: the {@link BavetExistsTriTuple}.
+ * Each {@link BavetExistsTriTuple} is linked to the right join bridge tuples it counts by {@link BavetExistsMatch}es,
+ * so refreshing either side only touches its own matches, instead of searching a list or an index bucket.
+ *
+ * @param <A> the type of the first left fact
+ * @param <B> the type of the second left fact
+ * @param <C> the type of the third left fact
+ * @param <D> the type of the fact that must (not) exist
+ */
+public final class BavetExistsTriNode<A, B, C, D> extends BavetAbstractTriNode<A, B, C> implements BavetJoinNode {
+
+    private final BavetJoinBridgeTriNode<A, B, C> leftParentNode;
+    private final BavetJoinBridgeUniNode<D> rightParentNode;
+    private final boolean shouldExist;
+    /** Null if there is no filtering joiner. */
+    private final QuadPredicate<A, B, C, D> filter;
+
+    private final List<BavetAbstractTriNode<A, B, C>> childNodeList = new ArrayList<>();
+    /** Only has the right tuples that have been counted since they were last refreshed. */
+    private final Map<BavetJoinBridgeUniTuple<D>, BavetExistsMatch<BavetExistsTriTuple<A, B, C, D>,
+            BavetJoinBridgeUniTuple<D>>> rightTupleToMatchSentinelMap = new IdentityHashMap<>();
+    // Created once, so refreshing a tuple doesn't allocate a capturing lambda to visit the other index
+    private final Consumer<BavetExistsTriTuple<A, B, C, D>> uncountConsumer = this::uncount;
+    private final BiConsumer<BavetExistsTriTuple<A, B, C, D>, BavetJoinBridgeUniTuple<D>> countLeftVisitor = this::countLeft;
+    private final BiConsumer<BavetJoinBridgeUniTuple<D>, BavetJoinBridgeTriTuple<A, B, C>> countRightVisitor =
+            this::countRight;
+
+    public BavetExistsTriNode(BavetConstraintSession session, int nodeIndex,
+            BavetJoinBridgeTriNode<A, B, C> leftParentNode, BavetJoinBridgeUniNode<D> rightParentNode,
+            boolean shouldExist, QuadPredicate<A, B, C, D> filter) {
+        super(session, nodeIndex);
+        this.leftParentNode = leftParentNode;
+        this.rightParentNode = rightParentNode;
+        this.shouldExist = shouldExist;
+        this.filter = filter;
+    }
+
+    @Override
+    public void addChildNode(BavetAbstractTriNode<A, B, C> childNode) {
+        childNodeList.add(childNode);
+    }
+
+    @Override
+    public List<BavetAbstractTriNode<A, B, C>> getChildNodeList() {
+        return childNodeList;
+    }
+
+    // ************************************************************************
+    // Runtime
+    // ************************************************************************
+
+    @Override
+    public BavetExistsTriTuple<A, B, C, D> createTuple(BavetAbstractTriTuple<A, B, C> parentTuple) {
+        throw new IllegalStateException("The exists node (" + getClass().getSimpleName()
+                + ") can't have a parentTuple (" + parentTuple + ");");
+    }
+
+    public BavetExistsTriTuple<A, B, C, D> createTuple(BavetJoinBridgeTriTuple<A, B, C> leftParentTuple) {
+        return new BavetExistsTriTuple<>(this, leftParentTuple);
+    }
+
+    @Override
+    public void refresh(BavetAbstractTuple uncastTuple) {
+        BavetExistsTriTuple<A, B, C, D> tuple = (BavetExistsTriTuple<A, B, C, D>) uncastTuple;
+        List<BavetAbstractTuple> childTupleList = tuple.getChildTupleList();
+        boolean passes = tuple.isActive() && (tuple.getMatchCount() > 0) == shouldExist;
+        if (tuple.getState() == BavetTupleState.UPDATING && passes == !childTupleList.isEmpty()) {
+            // The matchCount crossed 0 and then crossed back, so the child tuples are still correct
+            return;
+        }
+        for (BavetAbstractTuple childTuple : childTupleList) {
+            session.transitionTuple(childTuple, BavetTupleState.DYING);
+        }
+        childTupleList.clear();
+        if (passes) {
+            for (BavetAbstractTriNode<A, B, C> childNode : childNodeList) {
+                BavetAbstractTriTuple<A, B, C> childTuple = childNode.createTuple(tuple);
+                childTupleList.add(childTuple);
+                session.transitionTuple(childTuple, BavetTupleState.CREATING);
+            }
+        }
+    }
+
+    public void refreshChildTuplesLeft(BavetJoinBridgeTriTuple<A, B, C> leftParentTuple) {
+        List<BavetAbstractTuple> leftTupleList = leftParentTuple.getChildTupleList();
+        for (BavetAbstractTuple uncastTuple : leftTupleList) {
+            BavetExistsTriTuple<A, B, C, D> tuple = (BavetExistsTriTuple<A, B, C, D>) uncastTuple;
+            tuple.getMatchSentinel().unlinkTupleMatches();
+            session.transitionTuple(tuple, BavetTupleState.DYING);
+        }
+        leftTupleList.clear();
+        if (leftParentTuple.isActive()) {
+            BavetExistsTriTuple<A, B, C, D> tuple = createTuple(leftParentTuple);
+            getRightIndex().visit(leftParentTuple.getIndexKey(), tuple, countLeftVisitor);
+            leftTupleList.add(tuple);
+            session.transitionTuple(tuple, BavetTupleState.CREATING);
+        }
+    }
+
+    public void refreshChildTuplesRight(BavetJoinBridgeUniTuple<D> rightParentTuple) {
+        BavetExistsMatch<BavetExistsTriTuple<A, B, C, D>, BavetJoinBridgeUniTuple<D>> rightTupleSentinel =
+                rightTupleToMatchSentinelMap.remove(rightParentTuple);
+        if (rightTupleSentinel != null) {
+            rightTupleSentinel.unlinkRightTupleMatches(uncountConsumer);
+        }
+        if (rightParentTuple.isActive()) {
+            getLeftIndex().visit(rightParentTuple.getIndexKey(), rightParentTuple, countRightVisitor);
+        }
+    }
+
+    private void uncount(BavetExistsTriTuple<A, B, C, D> tuple) {
+        if (tuple.decreaseMatchCount() == 0) {
+            transitionToUpdating(tuple);
+        }
+    }
+
+    private void countLeft(BavetExistsTriTuple<A, B, C, D> tuple, BavetJoinBridgeUniTuple<D> rightParentTuple) {
+        if (!rightParentTuple.isDirty() && matches(tuple, rightParentTuple)) {
+            tuple.increaseMatchCount();
+            addMatch(tuple, rightParentTuple);
+        }
+    }
+
+    private void countRight(BavetJoinBridgeUniTuple<D> rightParentTuple, BavetJoinBridgeTriTuple<A, B, C> leftParentTuple) {
+        if (!leftParentTuple.isDirty()) {
+            BavetExistsTriTuple<A, B, C, D> tuple =
+                    (BavetExistsTriTuple<A, B, C, D>) leftParentTuple.getChildTupleList().get(0);
+            if (matches(tuple, rightParentTuple)) {
+                if (tuple.increaseMatchCount() == 1) {
+                    transitionToUpdating(tuple);
+                }
+                addMatch(tuple, rightParentTuple);
+            }
+        }
+    }
+
+    private void addMatch(BavetExistsTriTuple<A, B, C, D> tuple, BavetJoinBridgeUniTuple<D> rightParentTuple) {
+        new BavetExistsMatch<>(tuple, rightParentTuple).link(tuple.getMatchSentinel(),
+                rightTupleToMatchSentinelMap.computeIfAbsent(rightParentTuple,
+                        rightTuple -> new BavetExistsMatch<>(null, rightTuple)));
+    }
+
+    private boolean matches(BavetExistsTriTuple<A, B, C, D> tuple, BavetJoinBridgeUniTuple<D> rightParentTuple) {
+        return filter == null
+                || filter.test(tuple.getFactA(), tuple.getFactB(), tuple.getFactC(), rightParentTuple.getFactA());
+    }
+
+    private void transitionToUpdating(BavetExistsTriTuple<A, B, C, D> tuple) {
+        // A dirty tuple (for example one that is still CREATING) is refreshed anyway
+        if (!tuple.isDirty()) {
+            session.transitionTuple(tuple, BavetTupleState.UPDATING);
+        }
+    }
+
+    public BavetIndex<BavetJoinBridgeTriTuple<A, B, C>> getLeftIndex() {
+        return leftParentNode.getIndex();
+    }
+
+    public BavetIndex<BavetJoinBridgeUniTuple<D>> getRightIndex() {
+        return rightParentNode.getIndex();
+    }
+
+    @Override
+    public String toString() {
+        return (shouldExist ? "IfExists()" : "IfNotExists()") + " with " + childNodeList.size() + " children";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.tri;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.optaplanner.core.api.function.TriFunction;
+import org.optaplanner.core.api.score.stream.tri.TriConstraintCollector;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
+
+public final class BavetGroupBridgeTriNode<A, B, C> extends BavetAbstractTriNode<A, B, C> {
+
+    private final BavetAbstractTriNode<A, B, C> parentNode;
+    /**
+     * Null if there are no group keys, in which case all tuples end up in the same group.
+     */
+    private final TriFunction<A, B, C, ?> groupKeyMapping;
+    private final List<TriConstraintCollector<A, B, C, ?, ?>> collectorList;
+    private final Map<Object, BavetGroupTuple> groupTupleMap;
+    private BavetGroupNode groupNode;
+
+    public BavetGroupBridgeTriNode(BavetConstraintSession session, int nodeIndex,
+            BavetAbstractTriNode<A, B, C> parentNode, TriFunction<A, B, C, ?> groupKeyMapping,
+            List<TriConstraintCollector<A, B, C, ?, ?>> collectorList) {
+        super(session, nodeIndex);
+        this.parentNode = parentNode;
+        this.groupKeyMapping = groupKeyMapping;
+        this.collectorList = collectorList;
+        groupTupleMap = new HashMap<>();
+    }
+
+    @Override
+    public List<BavetAbstractTriNode<A, B, C>> getChildNodeList() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public BavetGroupBridgeTriTuple<A, B, C> createTuple(BavetAbstractTriTuple<A, B, C> parentTuple) {
+        return new BavetGroupBridgeTriTuple<>(this, parentTuple);
+    }
+
+    public void setGroupNode(BavetGroupNode groupNode) {
+        this.groupNode = groupNode;
+    }
+
+    @Override
+    public void refresh(BavetAbstractTuple uncastTuple) {
+        if (groupNode == null) {
+            throw new IllegalStateException("Impossible state: GroupBridgeNode (" + this +
+                    ") has no child GroupNode (" + groupNode + ").");
+        }
+        BavetGroupBridgeTriTuple<A, B, C> tuple = (BavetGroupBridgeTriTuple<A, B, C>) uncastTuple;
+        BavetGroupTuple oldGroupTuple = tuple.getChildTuple();
+        if (oldGroupTuple != null) {
+            for (Runnable undoAccumulator : tuple.getUndoAccumulators()) {
+                undoAccumulator.run();
+            }
+            tuple.setChildTuple(null);
+            tuple.setUndoAccumulators(null);
+            int parentCount = oldGroupTuple.decreaseParentCount();
+            BavetAbstractTuple castOldGroupTuple = (BavetAbstractTuple) oldGroupTuple;
+            if (parentCount == 0) {
+                // Clean up groupTupleMap
+                groupTupleMap.remove(oldGroupTuple.getGroupKey());
+                session.transitionTuple(castOldGroupTuple, BavetTupleState.DYING);
+            } else if (!castOldGroupTuple.isDirty()) {
+                session.transitionTuple(castOldGroupTuple, BavetTupleState.UPDATING);
+            }
+        }
+        if (tuple.isActive()) {
+            A a = tuple.getFactA();
+            B b = tuple.getFactB();
+            C c = tuple.getFactC();
+            Object groupKey = (groupKeyMapping == null) ? null : groupKeyMapping.apply(a, b, c);
+            BavetGroupTuple groupTuple = groupTupleMap.computeIfAbsent(groupKey,
+                    k -> groupNode.createTuple(k, createResultContainers()));
+            Object[] resultContainers = groupTuple.getResultContainers();
+            Runnable[] undoAccumulators = new Runnable[resultContainers.length];
+            for (int i = 0; i < undoAccumulators.length; i++) {
+                undoAccumulators[i] = accumulate(collectorList.get(i), resultContainers[i], a, b, c);
+            }
+            tuple.setUndoAccumulators(undoAccumulators);
+            tuple.setChildTuple(groupTuple);
+            int parentCount = groupTuple.increaseParentCount();
+            BavetAbstractTuple castGroupTuple = (BavetAbstractTuple) groupTuple;
+            if (parentCount == 1) {
+                session.transitionTuple(castGroupTuple, BavetTupleState.CREATING);
+            } else if (!castGroupTuple.isDirty()) {
+                // It might be dirty already due to an earlier tuple in the same nodeIndex
+                session.transitionTuple(castGroupTuple, BavetTupleState.UPDATING);
+            }
+        }
+    }
+
+    private Object[] createResultContainers() {
+        Object[] resultContainers = new Object[collectorList.size()];
+        for (int i = 0; i < resultContainers.length; i++) {
+            resultContainers[i] = collectorList.get(i).supplier().get();
+        }
+        return resultContainers;
+    }
+
+    private static <A, B, C, ResultContainer_> Runnable accumulate(
+            TriConstraintCollector<A, B, C, ResultContainer_, ?> collector, Object resultContainer, A a, B b, C c) {
+        return collector.accumulator().apply((ResultContainer_) resultContainer, a, b, c);
+    }
+
+    @Override
+    public String toString() {
+        return "GroupBridge()";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.tri;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
+
+public final class BavetGroupTriNode<A, B, C> extends BavetAbstractTriNode<A, B, C> implements BavetGroupNode {
+
+    /**
+     * The first facts of each tuple are the group keys, the other facts are the collector results.
+     */
+    private final int groupKeyCount;
+    private final List<Function<?, ?>> finisherList;
+
+    private final List<BavetAbstractTriNode<A, B, C>> childNodeList = new ArrayList<>();
+
+    public BavetGroupTriNode(BavetConstraintSession session, int nodeIndex,
+            int groupKeyCount, List<Function<?, ?>> finisherList) {
+        super(session, nodeIndex);
+        this.groupKeyCount = groupKeyCount;
+        this.finisherList = finisherList;
+    }
+
+    @Override
+    public void addChildNode(BavetAbstractTriNode<A, B, C> childNode) {
+        childNodeList.add(childNode);
+    }
+
+    @Override
+    public List<BavetAbstractTriNode<A, B, C>> getChildNodeList() {
+        return childNodeList;
+    }
+
+    // ************************************************************************
+    // Equality for node sharing
+    // ************************************************************************
+
+    // TODO
+
+    // ************************************************************************
+    // Runtime
+    // ************************************************************************
+
+    @Override
+    public BavetGroupTriTuple<A, B, C> createTuple(BavetAbstractTriTuple<A, B, C> parentTuple) {
+        throw new IllegalStateException("The Grouped node (" + getClass().getSimpleName()
+                + ") can't have a parentTuple (" + parentTuple + ");");
+    }
+
+    @Override
+    public BavetGroupTriTuple<A, B, C> createTuple(Object groupKey, Object[] resultContainers) {
+        return new BavetGroupTriTuple<>(this, groupKey, resultContainers);
+    }
+
+    @Override
+    public void refresh(BavetAbstractTuple uncastTuple) {
+        BavetGroupTriTuple<A, B, C> tuple = (BavetGroupTriTuple<A, B, C>) uncastTuple;
+        List<BavetAbstractTuple> childTupleList = tuple.getChildTupleList();
+        for (BavetAbstractTuple childTuple : childTupleList) {
+            session.transitionTuple(childTuple, BavetTupleState.DYING);
+        }
+        childTupleList.clear();
+        if (tuple.isActive()) {
+            tuple.setFactA((A) extractFact(tuple, 0));
+            tuple.setFactB((B) extractFact(tuple, 1));
+            tuple.setFactC((C) extractFact(tuple, 2));
+            for (BavetAbstractTriNode<A, B, C> childNode : childNodeList) {
+                BavetAbstractTriTuple<A, B, C> childTuple = childNode.createTuple(tuple);
+                childTupleList.add(childTuple);
+                session.transitionTuple(childTuple, BavetTupleState.CREATING);
+            }
+        }
+    }
+
+    private Object extractFact(BavetGroupTriTuple<A, B, C> tuple, int factIndex) {
+        if (factIndex < groupKeyCount) {
+            Object groupKey = tuple.getGroupKey();
+            return (groupKeyCount == 1) ? groupKey : ((List<?>) groupKey).get(factIndex);
+        }
+        int collectorIndex = factIndex - groupKeyCount;
+        return finish(finisherList.get(collectorIndex), tuple.getResultContainers()[collectorIndex]);
+    }
+
+    private static <ResultContainer_> Object finish(Function<ResultContainer_, ?> finisher, Object resultContainer) {
+        return finisher.apply((ResultContainer_) resultContainer);
+    }
+
+    @Override
+    public String toString() {
+        return "Group() with " + childNodeList.size() + " children";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+}
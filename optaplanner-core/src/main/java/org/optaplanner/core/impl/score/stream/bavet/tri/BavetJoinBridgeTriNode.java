@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.tri;
+
+import java.util.function.Consumer;
+
+import org.optaplanner.core.api.function.TriFunction;
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndex;
+
+public final class BavetJoinBridgeTriNode<A, B, C> extends BavetAbstractTriNode<A, B, C>
+        implements BavetJoinBridgeNode {
+
+    private final BavetAbstractTriNode<A, B, C> parentNode;
+    private final TriFunction<A, B, C, Object[]> mapping;
+    /** Calls {@link BavetExistsTriNode#refreshChildTuplesLeft(BavetJoinBridgeTriTuple)}, right or quad/... variants. */
+    private Consumer<BavetJoinBridgeTriTuple<A, B, C>> childTupleRefresher;
+
+    private final BavetIndex<BavetJoinBridgeTriTuple<A, B, C>> index;
+
+    public BavetJoinBridgeTriNode(BavetConstraintSession session, int nodeIndex, BavetAbstractTriNode<A, B, C> parentNode,
+            TriFunction<A, B, C, Object[]> mapping, BavetIndex<BavetJoinBridgeTriTuple<A, B, C>> index) {
+        super(session, nodeIndex);
+        this.parentNode = parentNode;
+        this.mapping = mapping;
+        this.index = index;
+    }
+
+    @Override
+    public BavetJoinBridgeTriTuple<A, B, C> createTuple(BavetAbstractTriTuple<A, B, C> parentTuple) {
+        return new BavetJoinBridgeTriTuple<>(this, parentTuple);
+    }
+
+    @Override
+    public void refresh(BavetAbstractTuple uncastTuple) {
+        BavetJoinBridgeTriTuple<A, B, C> tuple = (BavetJoinBridgeTriTuple<A, B, C>) uncastTuple;
+        A a = tuple.getFactA();
+        B b = tuple.getFactB();
+        C c = tuple.getFactC();
+        if (tuple.getState() != BavetTupleState.CREATING) {
+            // Clean up index
+            index.remove(tuple);
+        }
+        if (tuple.isActive()) {
+            Object[] indexProperties = mapping.apply(a, b, c);
+            index.put(indexProperties, tuple);
+        }
+        childTupleRefresher.accept(tuple);
+    }
+
+    @Override
+    public String toString() {
+        return "JoinBridge()";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+    @Override
+    public BavetIndex<BavetJoinBridgeTriTuple<A, B, C>> getIndex() {
+        return index;
+    }
+
+    public void setChildTupleRefresher(Consumer<BavetJoinBridgeTriTuple<A, B, C>> childTupleRefresher) {
+        this.childTupleRefresher = childTupleRefresher;
+    }
+
+}
@@ -16,30 +16,33 @@
 
 package org.optaplanner.core.impl.score.stream.bavet.tri;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
-import org.optaplanner.core.impl.score.stream.bavet.bi.BavetAbstractBiConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.bi.BavetAbstractBiNode;
+import org.optaplanner.core.impl.score.stream.bavet.bi.BavetJoinBridgeBiConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.bi.BavetJoinBridgeBiNode;
-import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
-import org.optaplanner.core.impl.score.stream.bavet.uni.BavetAbstractUniConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetAbstractUniNode;
 import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFromUniConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniNode;
 
 public final class BavetJoinTriConstraintStream<Solution_, A, B, C> extends BavetAbstractTriConstraintStream<Solution_, A, B, C>
         implements BavetJoinConstraintStream<Solution_> {
 
-    private final BavetAbstractBiConstraintStream<Solution_, A, B> leftParent;
-    private final BavetAbstractUniConstraintStream<Solution_, C> rightParent;
+    private final BavetJoinBridgeBiConstraintStream<Solution_, A, B> leftParent;
+    private final BavetJoinBridgeUniConstraintStream<Solution_, C> rightParent;
 
     public BavetJoinTriConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
-            BavetAbstractBiConstraintStream<Solution_, A, B> leftParent,
-            BavetAbstractUniConstraintStream<Solution_, C> rightParent) {
+            BavetJoinBridgeBiConstraintStream<Solution_, A, B> leftParent,
+            BavetJoinBridgeUniConstraintStream<Solution_, C> rightParent) {
         super(constraintFactory);
         this.leftParent = leftParent;
         this.rightParent = rightParent;
@@ -63,14 +66,20 @@ public final class BavetJoinTriConstraintStream<Solution_, A, B, C> extends Bave
 
     @Override
     public BavetJoinTriNode<A, B, C> createNodeChain(BavetNodeBuildPolicy<Solution_> buildPolicy,
-            Score<?> constraintWeight, BavetJoinBridgeNode leftNode_, BavetJoinBridgeNode rightNode_) {
-        BavetJoinBridgeBiNode<A, B> leftNode = (BavetJoinBridgeBiNode<A, B>) leftNode_;
-        BavetJoinBridgeUniNode<C> rightNode = (BavetJoinBridgeUniNode<C>) rightNode_;
-        BavetJoinTriNode<A, B, C> node = new BavetJoinTriNode<>(buildPolicy.getSession(), buildPolicy.nextNodeIndex(),
-                leftNode, rightNode);
-        leftNode.setChildTupleRefresher(node::refreshChildTuplesLeft); // TODO don't register if shared
-        rightNode.setChildTupleRefresher(node::refreshChildTuplesRight);
-        node = (BavetJoinTriNode<A, B, C>) processNode(buildPolicy, null, node); // TODO Sharing never happens
+            Score<?> constraintWeight, BavetAbstractNode leftParentNode, BavetAbstractNode rightParentNode) {
+        List<Object> joinSharingKey = Arrays.asList(getClass(), leftParentNode, rightParentNode,
+                leftParent.getIndexFactory());
+        BavetJoinTriNode<A, B, C> node = buildPolicy.retrieveSharedJoinNode(joinSharingKey, () -> {
+            BavetJoinBridgeBiNode<A, B> leftNode = leftParent.createBridgeNode(buildPolicy,
+                    (BavetAbstractBiNode<A, B>) leftParentNode);
+            BavetJoinBridgeUniNode<C> rightNode = rightParent.createBridgeNode(buildPolicy,
+                    (BavetAbstractUniNode<C>) rightParentNode);
+            BavetJoinTriNode<A, B, C> newNode = new BavetJoinTriNode<>(buildPolicy.getSession(),
+                    buildPolicy.nextNodeIndex(), leftNode, rightNode);
+            leftNode.setChildTupleRefresher(newNode::refreshChildTuplesLeft);
+            rightNode.setChildTupleRefresher(newNode::refreshChildTuplesRight);
+            return (BavetJoinTriNode<A, B, C>) processNode(buildPolicy, null, newNode);
+        });
         createChildNodeChains(buildPolicy, constraintWeight, node);
         return node;
     }
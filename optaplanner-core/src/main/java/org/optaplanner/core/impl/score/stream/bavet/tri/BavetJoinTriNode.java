@@ -18,7 +18,7 @@ package org.optaplanner.core.impl.score.stream.bavet.tri;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
 import org.optaplanner.core.impl.score.stream.bavet.bi.BavetJoinBridgeBiNode;
@@ -36,6 +36,9 @@ public final class BavetJoinTriNode<A, B, C> extends BavetAbstractTriNode<A, B,
     private final BavetJoinBridgeUniNode<C> rightParentNode;
 
     private final List<BavetAbstractTriNode<A, B, C>> childNodeList = new ArrayList<>();
+    // Created once, so refreshing a tuple doesn't allocate a capturing lambda to visit the other index
+    private final BiConsumer<BavetJoinBridgeBiTuple<A, B>, BavetJoinBridgeUniTuple<C>> leftTupleVisitor = this::joinLeft;
+    private final BiConsumer<BavetJoinBridgeUniTuple<C>, BavetJoinBridgeBiTuple<A, B>> rightTupleVisitor = this::joinRight;
 
     public BavetJoinTriNode(BavetConstraintSession session, int nodeIndex,
             BavetJoinBridgeBiNode<A, B> leftParentNode, BavetJoinBridgeUniNode<C> rightParentNode) {
@@ -106,15 +109,7 @@ public final class BavetJoinTriNode<A, B, C> extends BavetAbstractTriNode<A, B,
         }
         leftTupleSet.clear();
         if (leftParentTuple.isActive()) {
-            Set<BavetJoinBridgeUniTuple<C>> rightParentTupleList = getRightIndex().get(leftParentTuple.getIndexProperties());
-            for (BavetJoinBridgeUniTuple<C> rightParentTuple : rightParentTupleList) {
-                if (!rightParentTuple.isDirty()) {
-                    BavetJoinTriTuple<A, B, C> childTuple = createTuple(leftParentTuple, rightParentTuple);
-                    leftTupleSet.add(childTuple);
-                    rightParentTuple.getChildTupleList().add(childTuple);
-                    session.transitionTuple(childTuple, BavetTupleState.CREATING);
-                }
-            }
+            getRightIndex().visit(leftParentTuple.getIndexKey(), leftParentTuple, leftTupleVisitor);
         }
     }
 
@@ -132,18 +127,29 @@ public final class BavetJoinTriNode<A, B, C> extends BavetAbstractTriNode<A, B,
         }
         rightTupleSet.clear();
         if (rightParentTuple.isActive()) {
-            Set<BavetJoinBridgeBiTuple<A, B>> leftParentTupleList = getLeftIndex().get(rightParentTuple.getIndexProperties());
-            for (BavetJoinBridgeBiTuple<A, B> leftParentTuple : leftParentTupleList) {
-                if (!leftParentTuple.isDirty()) {
-                    BavetJoinTriTuple<A, B, C> childTuple = createTuple(leftParentTuple, rightParentTuple);
-                    leftParentTuple.getChildTupleList().add(childTuple);
-                    rightTupleSet.add(childTuple);
-                    session.transitionTuple(childTuple, BavetTupleState.CREATING);
-                }
-            }
+            getLeftIndex().visit(rightParentTuple.getIndexKey(), rightParentTuple, rightTupleVisitor);
+        }
+    }
+
+    private void joinLeft(BavetJoinBridgeBiTuple<A, B> leftParentTuple, BavetJoinBridgeUniTuple<C> rightParentTuple) {
+        if (!rightParentTuple.isDirty()) {
+            join(leftParentTuple, rightParentTuple);
         }
     }
 
+    private void joinRight(BavetJoinBridgeUniTuple<C> rightParentTuple, BavetJoinBridgeBiTuple<A, B> leftParentTuple) {
+        if (!leftParentTuple.isDirty()) {
+            join(leftParentTuple, rightParentTuple);
+        }
+    }
+
+    private void join(BavetJoinBridgeBiTuple<A, B> leftParentTuple, BavetJoinBridgeUniTuple<C> rightParentTuple) {
+        BavetJoinTriTuple<A, B, C> childTuple = createTuple(leftParentTuple, rightParentTuple);
+        leftParentTuple.getChildTupleList().add(childTuple);
+        rightParentTuple.getChildTupleList().add(childTuple);
+        session.transitionTuple(childTuple, BavetTupleState.CREATING);
+    }
+
     public BavetIndex<BavetJoinBridgeBiTuple<A, B>> getLeftIndex() {
         return leftParentNode.getIndex();
     }
@@ -19,6 +19,7 @@ package org.optaplanner.core.impl.score.stream.bavet.tri;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 import org.optaplanner.core.api.function.QuadFunction;
 import org.optaplanner.core.api.function.ToIntTriFunction;
@@ -27,7 +28,9 @@ import org.optaplanner.core.api.function.TriFunction;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.stream.tri.TriConstraintStream;
 import org.optaplanner.core.impl.score.inliner.BigDecimalWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.IntReversibleWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.IntWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.LongReversibleWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.LongWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.ScoreInliner;
 import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
@@ -113,8 +116,48 @@ public final class BavetScoringTriConstraintStream<Solution_, A, B, C>
             Score<?> constraintWeight, BavetAbstractTriNode<A, B, C> parentNode) {
         ScoreInliner scoreInliner = buildPolicy.getSession().getScoreInliner();
         WeightedScoreImpacter weightedScoreImpacter = scoreInliner.buildWeightedScoreImpacter(constraintWeight);
-        QuadFunction<A, B, C, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter;
-        if (weightedScoreImpacter instanceof IntWeightedScoreImpacter) {
+        QuadFunction<A, B, C, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter = null;
+        ToLongTriFunction<A, B, C> primitiveScoreImpacter = null;
+        LongConsumer primitiveUndoScoreImpacter = null;
+        // Constraint matching needs a match score per match, so it can't use the allocation free primitive path
+        boolean constraintMatchEnabled = buildPolicy.getSession().isConstraintMatchEnabled();
+        if (!constraintMatchEnabled && weightedScoreImpacter instanceof IntReversibleWeightedScoreImpacter
+                && (intMatchWeigher != null || noMatchWeigher)) {
+            IntReversibleWeightedScoreImpacter castedWeightedScoreImpacter =
+                    (IntReversibleWeightedScoreImpacter) weightedScoreImpacter;
+            if (intMatchWeigher != null) {
+                primitiveScoreImpacter = (A a, B b, C c) -> {
+                    int matchWeight = intMatchWeigher.applyAsInt(a, b, c);
+                    constraint.assertCorrectImpact(matchWeight);
+                    castedWeightedScoreImpacter.impactScore(matchWeight);
+                    return matchWeight;
+                };
+            } else {
+                primitiveScoreImpacter = (A a, B b, C c) -> {
+                    castedWeightedScoreImpacter.impactScore(1);
+                    return 1L;
+                };
+            }
+            primitiveUndoScoreImpacter = matchWeight -> castedWeightedScoreImpacter.impactScore(-(int) matchWeight);
+        } else if (!constraintMatchEnabled && weightedScoreImpacter instanceof LongReversibleWeightedScoreImpacter
+                && (longMatchWeigher != null || noMatchWeigher)) {
+            LongReversibleWeightedScoreImpacter castedWeightedScoreImpacter =
+                    (LongReversibleWeightedScoreImpacter) weightedScoreImpacter;
+            if (longMatchWeigher != null) {
+                primitiveScoreImpacter = (A a, B b, C c) -> {
+                    long matchWeight = longMatchWeigher.applyAsLong(a, b, c);
+                    constraint.assertCorrectImpact(matchWeight);
+                    castedWeightedScoreImpacter.impactScore(matchWeight);
+                    return matchWeight;
+                };
+            } else {
+                primitiveScoreImpacter = (A a, B b, C c) -> {
+                    castedWeightedScoreImpacter.impactScore(1L);
+                    return 1L;
+                };
+            }
+            primitiveUndoScoreImpacter = matchWeight -> castedWeightedScoreImpacter.impactScore(-matchWeight);
+        } else if (weightedScoreImpacter instanceof IntWeightedScoreImpacter) {
             IntWeightedScoreImpacter castedWeightedScoreImpacter = (IntWeightedScoreImpacter) weightedScoreImpacter;
             if (intMatchWeigher != null) {
                 scoreImpacter = (A a, B b, C c, Consumer<Score<?>> matchScoreConsumer) -> {
@@ -171,7 +214,7 @@ public final class BavetScoringTriConstraintStream<Solution_, A, B, C>
         }
         BavetScoringTriNode<A, B, C> node = new BavetScoringTriNode<>(buildPolicy.getSession(),
                 buildPolicy.nextNodeIndex(), constraint.getConstraintPackage(), constraint.getConstraintName(),
-                constraintWeight, scoreImpacter);
+                constraintWeight, scoreImpacter, primitiveScoreImpacter, primitiveUndoScoreImpacter);
         buildPolicy.addScoringNode(node);
         return node;
     }
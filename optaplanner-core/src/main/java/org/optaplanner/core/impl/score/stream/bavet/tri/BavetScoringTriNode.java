@@ -17,11 +17,11 @@
 package org.optaplanner.core.impl.score.stream.bavet.tri;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 import org.optaplanner.core.api.function.QuadFunction;
+import org.optaplanner.core.api.function.ToLongTriFunction;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
 import org.optaplanner.core.impl.score.constraint.DefaultConstraintMatchTotal;
@@ -35,21 +35,36 @@ public final class BavetScoringTriNode<A, B, C> extends BavetAbstractTriNode<A,
     private final String constraintPackage;
     private final String constraintName;
     private final Score<?> constraintWeight;
+    /** Null if the primitive scoring path is used. */
     private final QuadFunction<A, B, C, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter;
+    /**
+     * Null unless the primitive scoring path is used.
+     * Impacts the score without allocation and returns the matchWeight, which the tuple keeps as its undo record.
+     */
+    private final ToLongTriFunction<A, B, C> primitiveScoreImpacter;
+    /** Null unless the primitive scoring path is used. Undoes the impact of a matchWeight. */
+    private final LongConsumer primitiveUndoScoreImpacter;
 
     private final boolean constraintMatchEnabled;
-    private final Set<BavetScoringTriTuple<A, B, C>> tupleSet;
+    /** Always null if {@link BavetConstraintSession#isConstraintMatchEnabled()} is false. */
+    private final DefaultConstraintMatchTotal constraintMatchTotal;
 
     public BavetScoringTriNode(BavetConstraintSession session, int nodeIndex,
             String constraintPackage, String constraintName, Score<?> constraintWeight,
-            QuadFunction<A, B, C, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter) {
+            QuadFunction<A, B, C, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter,
+            ToLongTriFunction<A, B, C> primitiveScoreImpacter, LongConsumer primitiveUndoScoreImpacter) {
         super(session, nodeIndex);
         this.constraintPackage = constraintPackage;
         this.constraintName = constraintName;
         this.constraintWeight = constraintWeight;
         this.scoreImpacter = scoreImpacter;
+        this.primitiveScoreImpacter = primitiveScoreImpacter;
+        this.primitiveUndoScoreImpacter = primitiveUndoScoreImpacter;
         this.constraintMatchEnabled = session.isConstraintMatchEnabled();
-        tupleSet = constraintMatchEnabled ? new HashSet<>() : null;
+        constraintMatchTotal = constraintMatchEnabled
+                ? new DefaultConstraintMatchTotal(constraintPackage, constraintName, constraintWeight,
+                        session.getZeroScore())
+                : null;
     }
 
     // ************************************************************************
@@ -73,27 +88,29 @@ public final class BavetScoringTriNode<A, B, C> extends BavetAbstractTriNode<A,
         A a = tuple.getFactA();
         B b = tuple.getFactB();
         C c = tuple.getFactC();
+        if (primitiveScoreImpacter != null) {
+            long oldMatchWeight = tuple.getMatchWeight();
+            if (oldMatchWeight != 0L) {
+                primitiveUndoScoreImpacter.accept(oldMatchWeight);
+            }
+            tuple.setMatchWeight(tuple.isActive() ? primitiveScoreImpacter.applyAsLong(a, b, c) : 0L);
+            return;
+        }
         UndoScoreImpacter oldUndoScoreImpacter = tuple.getUndoScoreImpacter();
         if (oldUndoScoreImpacter != null) {
             oldUndoScoreImpacter.undoScoreImpact();
             if (constraintMatchEnabled) {
+                session.removeConstraintMatch(constraintMatchTotal, tuple.getConstraintMatch());
                 tuple.setMatchScore(null);
-                boolean removed = tupleSet.remove(tuple);
-                if (!removed) {
-                    throw new IllegalStateException("Impossible state: The node with constraintId ("
-                            + getConstraintId() + ") could not remove the tuple (" + tuple + ") from the tupleSet.");
-                }
+                tuple.setConstraintMatch(null);
             }
         }
         if (tuple.isActive()) {
             UndoScoreImpacter undoScoreImpacter = scoreImpacter.apply(a, b, c, tuple::setMatchScore);
             tuple.setUndoScoreImpacter(undoScoreImpacter);
             if (constraintMatchEnabled) {
-                boolean added = tupleSet.add(tuple);
-                if (!added) {
-                    throw new IllegalStateException("Impossible state: The node with constraintId ("
-                            + getConstraintId() + ") could not add the tuple (" + tuple + ") to the tupleSet.");
-                }
+                tuple.setConstraintMatch(session.addConstraintMatch(constraintMatchTotal,
+                        Arrays.asList(a, b, c), tuple.getMatchScore()));
             }
         } else {
             tuple.setUndoScoreImpacter(null);
@@ -101,13 +118,7 @@ public final class BavetScoringTriNode<A, B, C> extends BavetAbstractTriNode<A,
     }
 
     @Override
-    public <Score_ extends Score<Score_>> ConstraintMatchTotal<Score_> buildConstraintMatchTotal(Score_ zeroScore) {
-        DefaultConstraintMatchTotal<Score_> constraintMatchTotal = new DefaultConstraintMatchTotal(constraintPackage,
-                constraintName, constraintWeight, zeroScore);
-        for (BavetScoringTriTuple<A, B, C> tuple : tupleSet) {
-            constraintMatchTotal.addConstraintMatch(
-                    Arrays.asList(tuple.getFactA(), tuple.getFactB(), tuple.getFactC()), (Score_) tuple.getMatchScore());
-        }
+    public <Score_ extends Score<Score_>> ConstraintMatchTotal<Score_> getConstraintMatchTotal() {
         return constraintMatchTotal;
     }
 
@@ -19,6 +19,7 @@ package org.optaplanner.core.impl.score.stream.bavet.tri;
 import java.util.List;
 
 import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.constraint.ConstraintMatch;
 import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
@@ -30,8 +31,15 @@ public final class BavetScoringTriTuple<A, B, C> extends BavetAbstractTriTuple<A
     private final BavetAbstractTriTuple<A, B, C> parentTuple;
 
     private UndoScoreImpacter undoScoreImpacter = null;
+    /**
+     * Only used on the primitive scoring path, which has no {@link UndoScoreImpacter}.
+     * Zero if the score is not impacted.
+     */
+    private long matchWeight = 0L;
     /** Always null if {@link BavetConstraintSession#constraintMatchEnabled} is false. */
     private Score<?> matchScore = null;
+    /** Always null if {@link BavetConstraintSession#isConstraintMatchEnabled()} is false. */
+    private ConstraintMatch<?> constraintMatch = null;
 
     public BavetScoringTriTuple(BavetScoringTriNode<A, B, C> node, BavetAbstractTriTuple<A, B, C> parentTuple) {
         this.node = node;
@@ -82,6 +90,16 @@ public final class BavetScoringTriTuple<A, B, C> extends BavetAbstractTriTuple<A
         this.undoScoreImpacter = undoScoreImpacter;
     }
 
+    @Override
+    public long getMatchWeight() {
+        return matchWeight;
+    }
+
+    @Override
+    public void setMatchWeight(long matchWeight) {
+        this.matchWeight = matchWeight;
+    }
+
     @Override
     public Score<?> getMatchScore() {
         return matchScore;
@@ -92,4 +110,14 @@ public final class BavetScoringTriTuple<A, B, C> extends BavetAbstractTriTuple<A
         this.matchScore = matchScore;
     }
 
+    @Override
+    public ConstraintMatch<?> getConstraintMatch() {
+        return constraintMatch;
+    }
+
+    @Override
+    public void setConstraintMatch(ConstraintMatch<?> constraintMatch) {
+        this.constraintMatch = constraintMatch;
+    }
+
 }
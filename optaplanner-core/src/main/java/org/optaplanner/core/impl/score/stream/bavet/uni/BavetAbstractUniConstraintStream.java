@@ -18,7 +18,10 @@ package org.optaplanner.core.impl.score.stream.bavet.uni;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
@@ -38,11 +41,13 @@ import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
 import org.optaplanner.core.impl.score.stream.bavet.bi.BavetGroupBiConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.bi.BavetJoinBiConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
 import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndexFactory;
+import org.optaplanner.core.impl.score.stream.bavet.quad.BavetGroupQuadConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.tri.BavetGroupTriConstraintStream;
 import org.optaplanner.core.impl.score.stream.bi.AbstractBiJoiner;
 import org.optaplanner.core.impl.score.stream.bi.FilteringBiJoiner;
-import org.optaplanner.core.impl.score.stream.common.JoinerType;
 import org.optaplanner.core.impl.score.stream.common.ScoreImpactType;
 import org.optaplanner.core.impl.score.stream.uni.InnerUniConstraintStream;
 
@@ -99,18 +104,6 @@ public abstract class BavetAbstractUniConstraintStream<Solution_, A> extends Bav
                     .filter(((FilteringBiJoiner<A, B>) joiner).getFilter());
         }
         AbstractBiJoiner<A, B> castedJoiner = (AbstractBiJoiner<A, B>) joiner;
-        for (JoinerType type : castedJoiner.getJoinerTypes()) {
-            switch (type) {
-                case EQUAL:
-                case LESS_THAN:
-                case LESS_THAN_OR_EQUAL:
-                case GREATER_THAN:
-                case GREATER_THAN_OR_EQUAL:
-                    continue;
-                default:
-                    throw new UnsupportedOperationException("Unsupported joiner type (" + type + ").");
-            }
-        }
         BavetIndexFactory indexFactory = new BavetIndexFactory(castedJoiner);
         BavetJoinBridgeUniConstraintStream<Solution_, A> leftBridge = new BavetJoinBridgeUniConstraintStream<>(
                 constraintFactory, this, true, castedJoiner.getLeftCombinedMapping(), indexFactory);
@@ -132,13 +125,52 @@ public abstract class BavetAbstractUniConstraintStream<Solution_, A> extends Bav
     @SafeVarargs
     @Override
     public final <B> UniConstraintStream<A> ifExists(Class<B> otherClass, BiJoiner<A, B>... joiners) {
-        throw new UnsupportedOperationException();
+        return ifExistsOrNot(true, otherClass, joiners);
     }
 
     @SafeVarargs
     @Override
     public final <B> UniConstraintStream<A> ifNotExists(Class<B> otherClass, BiJoiner<A, B>... joiners) {
-        throw new UnsupportedOperationException();
+        return ifExistsOrNot(false, otherClass, joiners);
+    }
+
+    private <B> UniConstraintStream<A> ifExistsOrNot(boolean shouldExist, Class<B> otherClass,
+            BiJoiner<A, B>[] joiners) {
+        // The indexing joiners are merged into the index, the filtering joiners are merged into a single filter
+        List<BiJoiner<A, B>> indexingJoinerList = new ArrayList<>(joiners.length);
+        BiJoiner<A, B> firstFilteringJoiner = null;
+        BiPredicate<A, B> filter = null;
+        for (BiJoiner<A, B> joiner : joiners) {
+            if (joiner instanceof FilteringBiJoiner) {
+                BiPredicate<A, B> joinerFilter = ((FilteringBiJoiner<A, B>) joiner).getFilter();
+                if (filter == null) {
+                    firstFilteringJoiner = joiner;
+                    filter = joinerFilter;
+                } else {
+                    filter = filter.and(joinerFilter);
+                }
+            } else if (firstFilteringJoiner != null) {
+                throw new IllegalStateException("Indexing joiner (" + joiner + ") must not follow a filtering joiner ("
+                        + firstFilteringJoiner + ").\n"
+                        + "Maybe reorder the joiners such that filtering() joiners are later in the parameter list.");
+            } else {
+                indexingJoinerList.add(joiner);
+            }
+        }
+        AbstractBiJoiner<A, B> indexingJoiner = AbstractBiJoiner.merge(indexingJoinerList.toArray(new BiJoiner[0]));
+        BavetAbstractUniConstraintStream<Solution_, B> other = constraintFactory.fromUnfiltered(otherClass);
+        BavetIndexFactory indexFactory = new BavetIndexFactory(indexingJoiner);
+        BavetJoinBridgeUniConstraintStream<Solution_, A> leftBridge = new BavetJoinBridgeUniConstraintStream<>(
+                constraintFactory, this, true, indexingJoiner.getLeftCombinedMapping(), indexFactory);
+        childStreamList.add(leftBridge);
+        BavetJoinBridgeUniConstraintStream<Solution_, B> rightBridge = new BavetJoinBridgeUniConstraintStream<>(
+                constraintFactory, other, false, indexingJoiner.getRightCombinedMapping(), indexFactory);
+        other.childStreamList.add(rightBridge);
+        BavetExistsUniConstraintStream<Solution_, A, B> existsStream = new BavetExistsUniConstraintStream<>(
+                constraintFactory, leftBridge, rightBridge, shouldExist, filter);
+        leftBridge.setJoinStream(existsStream);
+        rightBridge.setJoinStream(existsStream);
+        return existsStream;
     }
 
     // ************************************************************************
@@ -148,14 +180,14 @@ public abstract class BavetAbstractUniConstraintStream<Solution_, A> extends Bav
     @Override
     public <ResultContainer_, Result_> UniConstraintStream<Result_> groupBy(
             UniConstraintCollector<A, ResultContainer_, Result_> collector) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(null, 0, Collections.singletonList(collector));
     }
 
     @Override
     public <ResultContainerA_, ResultA_, ResultContainerB_, ResultB_> BiConstraintStream<ResultA_, ResultB_> groupBy(
             UniConstraintCollector<A, ResultContainerA_, ResultA_> collectorA,
             UniConstraintCollector<A, ResultContainerB_, ResultB_> collectorB) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(null, 0, Arrays.asList(collectorA, collectorB));
     }
 
     @Override
@@ -164,7 +196,7 @@ public abstract class BavetAbstractUniConstraintStream<Solution_, A> extends Bav
             groupBy(UniConstraintCollector<A, ResultContainerA_, ResultA_> collectorA,
                     UniConstraintCollector<A, ResultContainerB_, ResultB_> collectorB,
                     UniConstraintCollector<A, ResultContainerC_, ResultC_> collectorC) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(null, 0, Arrays.asList(collectorA, collectorB, collectorC));
     }
 
     @Override
@@ -174,12 +206,12 @@ public abstract class BavetAbstractUniConstraintStream<Solution_, A> extends Bav
                     UniConstraintCollector<A, ResultContainerB_, ResultB_> collectorB,
                     UniConstraintCollector<A, ResultContainerC_, ResultC_> collectorC,
                     UniConstraintCollector<A, ResultContainerD_, ResultD_> collectorD) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(null, 0, Arrays.asList(collectorA, collectorB, collectorC, collectorD));
     }
 
     @Override
     public <GroupKey_> UniConstraintStream<GroupKey_> groupBy(Function<A, GroupKey_> groupKeyMapping) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(groupKeyMapping, 1, Collections.emptyList());
     }
 
     @Override
@@ -187,7 +219,7 @@ public abstract class BavetAbstractUniConstraintStream<Solution_, A> extends Bav
             TriConstraintStream<GroupKey_, ResultB_, ResultC_> groupBy(Function<A, GroupKey_> groupKeyMapping,
                     UniConstraintCollector<A, ResultContainerB_, ResultB_> collectorB,
                     UniConstraintCollector<A, ResultContainerC_, ResultC_> collectorC) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(groupKeyMapping, 1, Arrays.asList(collectorB, collectorC));
     }
 
     @Override
@@ -196,33 +228,31 @@ public abstract class BavetAbstractUniConstraintStream<Solution_, A> extends Bav
             groupBy(Function<A, GroupKey_> groupKeyMapping, UniConstraintCollector<A, ResultContainerB_, ResultB_> collectorB,
                     UniConstraintCollector<A, ResultContainerC_, ResultC_> collectorC,
                     UniConstraintCollector<A, ResultContainerD_, ResultD_> collectorD) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(groupKeyMapping, 1, Arrays.asList(collectorB, collectorC, collectorD));
     }
 
     @Override
     public <GroupKeyA_, GroupKeyB_> BiConstraintStream<GroupKeyA_, GroupKeyB_> groupBy(
             Function<A, GroupKeyA_> groupKeyAMapping, Function<A, GroupKeyB_> groupKeyBMapping) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(a -> Arrays.asList(
+                groupKeyAMapping.apply(a), groupKeyBMapping.apply(a)),
+                2, Collections.emptyList());
     }
 
     @Override
     public <GroupKey_, ResultContainer_, Result_> BiConstraintStream<GroupKey_, Result_> groupBy(
             Function<A, GroupKey_> groupKeyMapping,
             UniConstraintCollector<A, ResultContainer_, Result_> collector) {
-        BavetGroupBridgeUniConstraintStream<Solution_, A, GroupKey_, ResultContainer_, Result_> bridge =
-                new BavetGroupBridgeUniConstraintStream<>(constraintFactory, this, groupKeyMapping, collector);
-        childStreamList.add(bridge);
-        BavetGroupBiConstraintStream<Solution_, GroupKey_, ResultContainer_, Result_> groupStream =
-                new BavetGroupBiConstraintStream<>(constraintFactory, bridge, collector.finisher());
-        bridge.setGroupStream(groupStream);
-        return groupStream;
+        return buildGroupBy(groupKeyMapping, 1, Collections.singletonList(collector));
     }
 
     @Override
     public <GroupKeyA_, GroupKeyB_, ResultContainer_, Result_> TriConstraintStream<GroupKeyA_, GroupKeyB_, Result_> groupBy(
             Function<A, GroupKeyA_> groupKeyAMapping, Function<A, GroupKeyB_> groupKeyBMapping,
             UniConstraintCollector<A, ResultContainer_, Result_> collector) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(a -> Arrays.asList(
+                groupKeyAMapping.apply(a), groupKeyBMapping.apply(a)),
+                2, Collections.singletonList(collector));
     }
 
     @Override
@@ -231,14 +261,18 @@ public abstract class BavetAbstractUniConstraintStream<Solution_, A> extends Bav
                     Function<A, GroupKeyA_> groupKeyAMapping, Function<A, GroupKeyB_> groupKeyBMapping,
                     UniConstraintCollector<A, ResultContainerC_, ResultC_> collectorC,
                     UniConstraintCollector<A, ResultContainerD_, ResultD_> collectorD) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(a -> Arrays.asList(
+                groupKeyAMapping.apply(a), groupKeyBMapping.apply(a)),
+                2, Arrays.asList(collectorC, collectorD));
     }
 
     @Override
     public <GroupKeyA_, GroupKeyB_, GroupKeyC_> TriConstraintStream<GroupKeyA_, GroupKeyB_, GroupKeyC_> groupBy(
             Function<A, GroupKeyA_> groupKeyAMapping, Function<A, GroupKeyB_> groupKeyBMapping,
             Function<A, GroupKeyC_> groupKeyCMapping) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(a -> Arrays.asList(
+                groupKeyAMapping.apply(a), groupKeyBMapping.apply(a), groupKeyCMapping.apply(a)),
+                3, Collections.emptyList());
     }
 
     @Override
@@ -246,14 +280,50 @@ public abstract class BavetAbstractUniConstraintStream<Solution_, A> extends Bav
             QuadConstraintStream<GroupKeyA_, GroupKeyB_, GroupKeyC_, ResultD_> groupBy(Function<A, GroupKeyA_> groupKeyAMapping,
                     Function<A, GroupKeyB_> groupKeyBMapping, Function<A, GroupKeyC_> groupKeyCMapping,
                     UniConstraintCollector<A, ResultContainerD_, ResultD_> collectorD) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(a -> Arrays.asList(
+                groupKeyAMapping.apply(a), groupKeyBMapping.apply(a), groupKeyCMapping.apply(a)),
+                3, Collections.singletonList(collectorD));
     }
 
     @Override
     public <GroupKeyA_, GroupKeyB_, GroupKeyC_, GroupKeyD_> QuadConstraintStream<GroupKeyA_, GroupKeyB_, GroupKeyC_, GroupKeyD_>
             groupBy(Function<A, GroupKeyA_> groupKeyAMapping, Function<A, GroupKeyB_> groupKeyBMapping,
                     Function<A, GroupKeyC_> groupKeyCMapping, Function<A, GroupKeyD_> groupKeyDMapping) {
-        throw new UnsupportedOperationException(); // TODO
+        return buildGroupBy(a -> Arrays.asList(
+                groupKeyAMapping.apply(a), groupKeyBMapping.apply(a),
+                groupKeyCMapping.apply(a), groupKeyDMapping.apply(a)),
+                4, Collections.emptyList());
+    }
+
+    private <Stream_> Stream_ buildGroupBy(Function<A, ?> groupKeyMapping, int groupKeyCount,
+            List<UniConstraintCollector<A, ?, ?>> collectorList) {
+        BavetGroupBridgeUniConstraintStream<Solution_, A> bridge = new BavetGroupBridgeUniConstraintStream<>(
+                constraintFactory, this, groupKeyMapping, collectorList);
+        childStreamList.add(bridge);
+        List<Function<?, ?>> finisherList = new ArrayList<>(collectorList.size());
+        for (UniConstraintCollector<A, ?, ?> collector : collectorList) {
+            finisherList.add(collector.finisher());
+        }
+        BavetAbstractConstraintStream<Solution_> groupStream;
+        switch (groupKeyCount + collectorList.size()) {
+            case 1:
+                groupStream = new BavetGroupUniConstraintStream<>(constraintFactory, bridge, groupKeyCount, finisherList);
+                break;
+            case 2:
+                groupStream = new BavetGroupBiConstraintStream<>(constraintFactory, bridge, groupKeyCount, finisherList);
+                break;
+            case 3:
+                groupStream = new BavetGroupTriConstraintStream<>(constraintFactory, bridge, groupKeyCount, finisherList);
+                break;
+            case 4:
+                groupStream = new BavetGroupQuadConstraintStream<>(constraintFactory, bridge, groupKeyCount, finisherList);
+                break;
+            default:
+                throw new IllegalStateException("Impossible state: the groupKeyCount (" + groupKeyCount
+                        + ") and the collectorCount (" + collectorList.size() + ") add up to more than 4.");
+        }
+        bridge.setGroupStream((BavetGroupConstraintStream<Solution_>) groupStream);
+        return (Stream_) groupStream;
     }
 
     // ************************************************************************
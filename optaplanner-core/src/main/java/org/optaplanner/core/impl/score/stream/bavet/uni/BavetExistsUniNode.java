@@ -0,0 +1,203 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.uni;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetExistsMatch;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndex;
+
+/**
+ * Keeps a match counter per left tuple instead of creating a tuple per match,
+ * so only a counter crossing 0 is propagated to the child nodes.
+ * The left join bridge tuple has exactly 1 child tuple: the {@link BavetExistsUniTuple}.
+ * Each {@link BavetExistsUniTuple} is linked to the right join bridge tuples it counts by {@link BavetExistsMatch}es,
+ * so refreshing either side only touches its own matches, instead of searching a list or an index bucket.
+ *
+ * @param <A> the type of the left fact
+ * @param <B> the type of the fact that must (not) exist
+ */
+public final class BavetExistsUniNode<A, B> extends BavetAbstractUniNode<A> implements BavetJoinNode {
+
+    private final BavetJoinBridgeUniNode<A> leftParentNode;
+    private final BavetJoinBridgeUniNode<B> rightParentNode;
+    private final boolean shouldExist;
+    /** Null if there is no filtering joiner. */
+    private final BiPredicate<A, B> filter;
+
+    private final List<BavetAbstractUniNode<A>> childNodeList = new ArrayList<>();
+    /** Only has the right tuples that have been counted since they were last refreshed. */
+    private final Map<BavetJoinBridgeUniTuple<B>, BavetExistsMatch<BavetExistsUniTuple<A, B>,
+            BavetJoinBridgeUniTuple<B>>> rightTupleToMatchSentinelMap = new IdentityHashMap<>();
+    // Created once, so refreshing a tuple doesn't allocate a capturing lambda to visit the other index
+    private final Consumer<BavetExistsUniTuple<A, B>> uncountConsumer = this::uncount;
+    private final BiConsumer<BavetExistsUniTuple<A, B>, BavetJoinBridgeUniTuple<B>> countLeftVisitor = this::countLeft;
+    private final BiConsumer<BavetJoinBridgeUniTuple<B>, BavetJoinBridgeUniTuple<A>> countRightVisitor = this::countRight;
+
+    public BavetExistsUniNode(BavetConstraintSession session, int nodeIndex,
+            BavetJoinBridgeUniNode<A> leftParentNode, BavetJoinBridgeUniNode<B> rightParentNode,
+            boolean shouldExist, BiPredicate<A, B> filter) {
+        super(session, nodeIndex);
+        this.leftParentNode = leftParentNode;
+        this.rightParentNode = rightParentNode;
+        this.shouldExist = shouldExist;
+        this.filter = filter;
+    }
+
+    @Override
+    public void addChildNode(BavetAbstractUniNode<A> childNode) {
+        childNodeList.add(childNode);
+    }
+
+    @Override
+    public List<BavetAbstractUniNode<A>> getChildNodeList() {
+        return childNodeList;
+    }
+
+    // ************************************************************************
+    // Runtime
+    // ************************************************************************
+
+    @Override
+    public BavetExistsUniTuple<A, B> createTuple(BavetAbstractUniTuple<A> parentTuple) {
+        throw new IllegalStateException("The exists node (" + getClass().getSimpleName()
+                + ") can't have a parentTuple (" + parentTuple + ");");
+    }
+
+    public BavetExistsUniTuple<A, B> createTuple(BavetJoinBridgeUniTuple<A> leftParentTuple) {
+        return new BavetExistsUniTuple<>(this, leftParentTuple);
+    }
+
+    @Override
+    public void refresh(BavetAbstractTuple uncastTuple) {
+        BavetExistsUniTuple<A, B> tuple = (BavetExistsUniTuple<A, B>) uncastTuple;
+        List<BavetAbstractTuple> childTupleList = tuple.getChildTupleList();
+        boolean passes = tuple.isActive() && (tuple.getMatchCount() > 0) == shouldExist;
+        if (tuple.getState() == BavetTupleState.UPDATING && passes == !childTupleList.isEmpty()) {
+            // The matchCount crossed 0 and then crossed back, so the child tuples are still correct
+            return;
+        }
+        for (BavetAbstractTuple childTuple : childTupleList) {
+            session.transitionTuple(childTuple, BavetTupleState.DYING);
+        }
+        childTupleList.clear();
+        if (passes) {
+            for (BavetAbstractUniNode<A> childNode : childNodeList) {
+                BavetAbstractUniTuple<A> childTuple = childNode.createTuple(tuple);
+                childTupleList.add(childTuple);
+                session.transitionTuple(childTuple, BavetTupleState.CREATING);
+            }
+        }
+    }
+
+    public void refreshChildTuplesLeft(BavetJoinBridgeUniTuple<A> leftParentTuple) {
+        List<BavetAbstractTuple> leftTupleList = leftParentTuple.getChildTupleList();
+        for (BavetAbstractTuple uncastTuple : leftTupleList) {
+            BavetExistsUniTuple<A, B> tuple = (BavetExistsUniTuple<A, B>) uncastTuple;
+            tuple.getMatchSentinel().unlinkTupleMatches();
+            session.transitionTuple(tuple, BavetTupleState.DYING);
+        }
+        leftTupleList.clear();
+        if (leftParentTuple.isActive()) {
+            BavetExistsUniTuple<A, B> tuple = createTuple(leftParentTuple);
+            getRightIndex().visit(leftParentTuple.getIndexKey(), tuple, countLeftVisitor);
+            leftTupleList.add(tuple);
+            session.transitionTuple(tuple, BavetTupleState.CREATING);
+        }
+    }
+
+    public void refreshChildTuplesRight(BavetJoinBridgeUniTuple<B> rightParentTuple) {
+        BavetExistsMatch<BavetExistsUniTuple<A, B>, BavetJoinBridgeUniTuple<B>> rightTupleSentinel =
+                rightTupleToMatchSentinelMap.remove(rightParentTuple);
+        if (rightTupleSentinel != null) {
+            rightTupleSentinel.unlinkRightTupleMatches(uncountConsumer);
+        }
+        if (rightParentTuple.isActive()) {
+            getLeftIndex().visit(rightParentTuple.getIndexKey(), rightParentTuple, countRightVisitor);
+        }
+    }
+
+    private void uncount(BavetExistsUniTuple<A, B> tuple) {
+        if (tuple.decreaseMatchCount() == 0) {
+            transitionToUpdating(tuple);
+        }
+    }
+
+    private void countLeft(BavetExistsUniTuple<A, B> tuple, BavetJoinBridgeUniTuple<B> rightParentTuple) {
+        if (!rightParentTuple.isDirty() && matches(tuple, rightParentTuple)) {
+            tuple.increaseMatchCount();
+            addMatch(tuple, rightParentTuple);
+        }
+    }
+
+    private void countRight(BavetJoinBridgeUniTuple<B> rightParentTuple, BavetJoinBridgeUniTuple<A> leftParentTuple) {
+        if (!leftParentTuple.isDirty()) {
+            BavetExistsUniTuple<A, B> tuple = (BavetExistsUniTuple<A, B>) leftParentTuple.getChildTupleList().get(0);
+            if (matches(tuple, rightParentTuple)) {
+                if (tuple.increaseMatchCount() == 1) {
+                    transitionToUpdating(tuple);
+                }
+                addMatch(tuple, rightParentTuple);
+            }
+        }
+    }
+
+    private void addMatch(BavetExistsUniTuple<A, B> tuple, BavetJoinBridgeUniTuple<B> rightParentTuple) {
+        new BavetExistsMatch<>(tuple, rightParentTuple).link(tuple.getMatchSentinel(),
+                rightTupleToMatchSentinelMap.computeIfAbsent(rightParentTuple,
+                        rightTuple -> new BavetExistsMatch<>(null, rightTuple)));
+    }
+
+    private boolean matches(BavetExistsUniTuple<A, B> tuple, BavetJoinBridgeUniTuple<B> rightParentTuple) {
+        return filter == null || filter.test(tuple.getFactA(), rightParentTuple.getFactA());
+    }
+
+    private void transitionToUpdating(BavetExistsUniTuple<A, B> tuple) {
+        // A dirty tuple (for example one that is still CREATING) is refreshed anyway
+        if (!tuple.isDirty()) {
+            session.transitionTuple(tuple, BavetTupleState.UPDATING);
+        }
+    }
+
+    public BavetIndex<BavetJoinBridgeUniTuple<A>> getLeftIndex() {
+        return leftParentNode.getIndex();
+    }
+
+    public BavetIndex<BavetJoinBridgeUniTuple<B>> getRightIndex() {
+        return rightParentNode.getIndex();
+    }
+
+    @Override
+    public String toString() {
+        return (shouldExist ? "IfExists()" : "IfNotExists()") + " with " + childNodeList.size() + " children";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.uni;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetExistsMatch;
+
+public final class BavetExistsUniTuple<A, B> extends BavetAbstractUniTuple<A> {
+
+    private final BavetExistsUniNode<A, B> node;
+    private final BavetJoinBridgeUniTuple<A> parentTuple;
+    private final List<BavetAbstractTuple> childTupleList = new ArrayList<>(1);
+    /** The sentinel of the matches with the right tuples that this tuple counts. */
+    private final BavetExistsMatch<BavetExistsUniTuple<A, B>, BavetJoinBridgeUniTuple<B>> matchSentinel =
+            new BavetExistsMatch<>(this, null);
+
+    private int matchCount;
+
+    public BavetExistsUniTuple(BavetExistsUniNode<A, B> node, BavetJoinBridgeUniTuple<A> parentTuple) {
+        this.node = node;
+        this.parentTuple = parentTuple;
+        matchCount = 0;
+    }
+
+    public int increaseMatchCount() {
+        matchCount++;
+        return matchCount;
+    }
+
+    public int decreaseMatchCount() {
+        matchCount--;
+        if (matchCount < 0) {
+            throw new IllegalStateException("The matchCount (" + matchCount + ") for the fact (" + getFactsString()
+                    + ") must not be negative.");
+        }
+        return matchCount;
+    }
+
+    @Override
+    public String toString() {
+        return "Exists(" + getFactsString() + ") with " + matchCount + " matches";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+    @Override
+    public BavetExistsUniNode<A, B> getNode() {
+        return node;
+    }
+
+    @Override
+    public List<BavetAbstractTuple> getChildTupleList() {
+        return childTupleList;
+    }
+
+    @Override
+    public A getFactA() {
+        return parentTuple.getFactA();
+    }
+
+    public BavetExistsMatch<BavetExistsUniTuple<A, B>, BavetJoinBridgeUniTuple<B>> getMatchSentinel() {
+        return matchSentinel;
+    }
+
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+}
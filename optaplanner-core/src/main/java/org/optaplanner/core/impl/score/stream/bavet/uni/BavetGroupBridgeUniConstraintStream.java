@@ -22,25 +22,25 @@ import java.util.function.Function;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.stream.uni.UniConstraintCollector;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
-import org.optaplanner.core.impl.score.stream.bavet.bi.BavetGroupBiConstraintStream;
-import org.optaplanner.core.impl.score.stream.bavet.bi.BavetGroupBiNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupConstraintStream;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
 
-public final class BavetGroupBridgeUniConstraintStream<Solution_, A, NewA, ResultContainer_, NewB>
+public final class BavetGroupBridgeUniConstraintStream<Solution_, A>
         extends BavetAbstractUniConstraintStream<Solution_, A> {
 
     private final BavetAbstractUniConstraintStream<Solution_, A> parent;
-    private final Function<A, NewA> groupKeyMapping;
-    private final UniConstraintCollector<A, ResultContainer_, NewB> collector;
-    private BavetGroupBiConstraintStream<Solution_, NewA, ResultContainer_, NewB> groupStream;
+    private final Function<A, ?> groupKeyMapping;
+    private final List<UniConstraintCollector<A, ?, ?>> collectorList;
+    private BavetGroupConstraintStream<Solution_> groupStream;
 
     public BavetGroupBridgeUniConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
             BavetAbstractUniConstraintStream<Solution_, A> parent,
-            Function<A, NewA> groupKeyMapping, UniConstraintCollector<A, ResultContainer_, NewB> collector) {
+            Function<A, ?> groupKeyMapping, List<UniConstraintCollector<A, ?, ?>> collectorList) {
         super(constraintFactory);
         this.parent = parent;
         this.groupKeyMapping = groupKeyMapping;
-        this.collector = collector;
+        this.collectorList = collectorList;
     }
 
     @Override
@@ -48,7 +48,7 @@ public final class BavetGroupBridgeUniConstraintStream<Solution_, A, NewA, Resul
         return parent.guaranteesDistinct();
     }
 
-    public void setGroupStream(BavetGroupBiConstraintStream<Solution_, NewA, ResultContainer_, NewB> groupStream) {
+    public void setGroupStream(BavetGroupConstraintStream<Solution_> groupStream) {
         this.groupStream = groupStream;
     }
 
@@ -62,10 +62,10 @@ public final class BavetGroupBridgeUniConstraintStream<Solution_, A, NewA, Resul
     // ************************************************************************
 
     @Override
-    protected BavetGroupBridgeUniNode<A, NewA, ResultContainer_, NewB> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
+    protected BavetGroupBridgeUniNode<A> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
             Score<?> constraintWeight, BavetAbstractUniNode<A> parentNode) {
         return new BavetGroupBridgeUniNode<>(buildPolicy.getSession(), buildPolicy.nextNodeIndex(), parentNode,
-                groupKeyMapping, collector);
+                groupKeyMapping, collectorList);
     }
 
     @Override
@@ -75,10 +75,8 @@ public final class BavetGroupBridgeUniConstraintStream<Solution_, A, NewA, Resul
             throw new IllegalStateException("Impossible state: the stream (" + this
                     + ") has an non-empty childStreamList (" + childStreamList + ") but it's a groupBy bridge.");
         }
-        BavetGroupBiNode<NewA, ResultContainer_, NewB> groupNode = groupStream.createNodeChain(buildPolicy,
-                constraintWeight, null);
-        BavetGroupBridgeUniNode<A, NewA, ResultContainer_, NewB> groupBridgeNode =
-                (BavetGroupBridgeUniNode<A, NewA, ResultContainer_, NewB>) node;
+        BavetGroupNode groupNode = groupStream.createNodeChain(buildPolicy, constraintWeight);
+        BavetGroupBridgeUniNode<A> groupBridgeNode = (BavetGroupBridgeUniNode<A>) node;
         groupBridgeNode.setGroupNode(groupNode);
     }
 
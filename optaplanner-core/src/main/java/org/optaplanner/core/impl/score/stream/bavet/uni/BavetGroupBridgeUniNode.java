@@ -24,26 +24,29 @@ import java.util.function.Function;
 
 import org.optaplanner.core.api.score.stream.uni.UniConstraintCollector;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
-import org.optaplanner.core.impl.score.stream.bavet.bi.BavetGroupBiNode;
-import org.optaplanner.core.impl.score.stream.bavet.bi.BavetGroupBiTuple;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupTuple;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
 
-public final class BavetGroupBridgeUniNode<A, NewA, ResultContainer_, NewB> extends BavetAbstractUniNode<A> {
+public final class BavetGroupBridgeUniNode<A> extends BavetAbstractUniNode<A> {
 
     private final BavetAbstractUniNode<A> parentNode;
-    private final Function<A, NewA> groupKeyMapping;
-    private final UniConstraintCollector<A, ResultContainer_, NewB> collector;
-    private final Map<NewA, BavetGroupBiTuple<NewA, ResultContainer_, NewB>> tupleMap;
-    private BavetGroupBiNode<NewA, ResultContainer_, NewB> groupNode;
+    /**
+     * Null if there are no group keys, in which case all tuples end up in the same group.
+     */
+    private final Function<A, ?> groupKeyMapping;
+    private final List<UniConstraintCollector<A, ?, ?>> collectorList;
+    private final Map<Object, BavetGroupTuple> groupTupleMap;
+    private BavetGroupNode groupNode;
 
     public BavetGroupBridgeUniNode(BavetConstraintSession session, int nodeIndex, BavetAbstractUniNode<A> parentNode,
-            Function<A, NewA> groupKeyMapping, UniConstraintCollector<A, ResultContainer_, NewB> collector) {
+            Function<A, ?> groupKeyMapping, List<UniConstraintCollector<A, ?, ?>> collectorList) {
         super(session, nodeIndex);
         this.parentNode = parentNode;
         this.groupKeyMapping = groupKeyMapping;
-        this.collector = collector;
-        tupleMap = new HashMap<>();
+        this.collectorList = collectorList;
+        groupTupleMap = new HashMap<>();
     }
 
     @Override
@@ -52,11 +55,11 @@ public final class BavetGroupBridgeUniNode<A, NewA, ResultContainer_, NewB> exte
     }
 
     @Override
-    public BavetGroupBridgeUniTuple<A, NewA, ResultContainer_, NewB> createTuple(BavetAbstractUniTuple<A> parentTuple) {
+    public BavetGroupBridgeUniTuple<A> createTuple(BavetAbstractUniTuple<A> parentTuple) {
         return new BavetGroupBridgeUniTuple<>(this, parentTuple);
     }
 
-    public void setGroupNode(BavetGroupBiNode<NewA, ResultContainer_, NewB> groupNode) {
+    public void setGroupNode(BavetGroupNode groupNode) {
         this.groupNode = groupNode;
     }
 
@@ -66,46 +69,60 @@ public final class BavetGroupBridgeUniNode<A, NewA, ResultContainer_, NewB> exte
             throw new IllegalStateException("Impossible state: GroupBridgeNode (" + this +
                     ") has no child GroupNode (" + groupNode + ").");
         }
-        BavetGroupBridgeUniTuple<A, NewA, ResultContainer_, NewB> tuple =
-                (BavetGroupBridgeUniTuple<A, NewA, ResultContainer_, NewB>) uncastTuple;
-        if (tuple.getChildTuple() != null) {
-            BavetGroupBiTuple<NewA, ResultContainer_, NewB> childTuple = tuple.getChildTuple();
-            NewA oldGroupKey = childTuple.getGroupKey();
-            int parentCount = childTuple.decreaseParentCount();
-            tuple.getUndoAccumulator().run();
-            childTuple.clearResult();
+        BavetGroupBridgeUniTuple<A> tuple = (BavetGroupBridgeUniTuple<A>) uncastTuple;
+        BavetGroupTuple oldGroupTuple = tuple.getChildTuple();
+        if (oldGroupTuple != null) {
+            for (Runnable undoAccumulator : tuple.getUndoAccumulators()) {
+                undoAccumulator.run();
+            }
             tuple.setChildTuple(null);
-            tuple.setUndoAccumulator(null);
+            tuple.setUndoAccumulators(null);
+            int parentCount = oldGroupTuple.decreaseParentCount();
+            BavetAbstractTuple castOldGroupTuple = (BavetAbstractTuple) oldGroupTuple;
             if (parentCount == 0) {
-                // Clean up tupleMap
-                tupleMap.remove(oldGroupKey);
-                session.transitionTuple(childTuple, BavetTupleState.DYING);
-            } else {
-                session.transitionTuple(childTuple, BavetTupleState.UPDATING);
+                // Clean up groupTupleMap
+                groupTupleMap.remove(oldGroupTuple.getGroupKey());
+                session.transitionTuple(castOldGroupTuple, BavetTupleState.DYING);
+            } else if (!castOldGroupTuple.isDirty()) {
+                session.transitionTuple(castOldGroupTuple, BavetTupleState.UPDATING);
             }
         }
         if (tuple.isActive()) {
             A a = tuple.getFactA();
-            NewA groupKey = groupKeyMapping.apply(a);
-            BavetGroupBiTuple<NewA, ResultContainer_, NewB> childTuple = tupleMap.computeIfAbsent(groupKey,
-                    k -> groupNode.createTuple(groupKey, collector.supplier().get()));
-            int parentCount = childTuple.increaseParentCount();
-
-            Runnable undoAccumulator = collector.accumulator().apply(childTuple.getResultContainer(), a);
-            tuple.setUndoAccumulator(undoAccumulator);
-            childTuple.clearResult();
-            tuple.setChildTuple(childTuple);
+            Object groupKey = (groupKeyMapping == null) ? null : groupKeyMapping.apply(a);
+            BavetGroupTuple groupTuple = groupTupleMap.computeIfAbsent(groupKey,
+                    k -> groupNode.createTuple(k, createResultContainers()));
+            Object[] resultContainers = groupTuple.getResultContainers();
+            Runnable[] undoAccumulators = new Runnable[resultContainers.length];
+            for (int i = 0; i < undoAccumulators.length; i++) {
+                undoAccumulators[i] = accumulate(collectorList.get(i), resultContainers[i], a);
+            }
+            tuple.setUndoAccumulators(undoAccumulators);
+            tuple.setChildTuple(groupTuple);
+            int parentCount = groupTuple.increaseParentCount();
+            BavetAbstractTuple castGroupTuple = (BavetAbstractTuple) groupTuple;
             if (parentCount == 1) {
-                session.transitionTuple(childTuple, BavetTupleState.CREATING);
-            } else {
-                // It might have just been created by an earlier tuple in the same nodeIndex
-                if (childTuple.getState() != BavetTupleState.CREATING) {
-                    session.transitionTuple(childTuple, BavetTupleState.UPDATING);
-                }
+                session.transitionTuple(castGroupTuple, BavetTupleState.CREATING);
+            } else if (!castGroupTuple.isDirty()) {
+                // It might be dirty already due to an earlier tuple in the same nodeIndex
+                session.transitionTuple(castGroupTuple, BavetTupleState.UPDATING);
             }
         }
     }
 
+    private Object[] createResultContainers() {
+        Object[] resultContainers = new Object[collectorList.size()];
+        for (int i = 0; i < resultContainers.length; i++) {
+            resultContainers[i] = collectorList.get(i).supplier().get();
+        }
+        return resultContainers;
+    }
+
+    private static <A, ResultContainer_> Runnable accumulate(UniConstraintCollector<A, ResultContainer_, ?> collector,
+            Object resultContainer, A a) {
+        return collector.accumulator().apply((ResultContainer_) resultContainer, a);
+    }
+
     @Override
     public String toString() {
         return "GroupBridge()";
@@ -18,19 +18,19 @@ package org.optaplanner.core.impl.score.stream.bavet.uni;
 
 import java.util.List;
 
-import org.optaplanner.core.impl.score.stream.bavet.bi.BavetGroupBiTuple;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupBridgeTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupTuple;
 
-public final class BavetGroupBridgeUniTuple<A, NewA, ResultContainer_, NewB> extends BavetAbstractUniTuple<A> {
+public final class BavetGroupBridgeUniTuple<A> extends BavetAbstractUniTuple<A> implements BavetGroupBridgeTuple {
 
-    private final BavetGroupBridgeUniNode<A, NewA, ResultContainer_, NewB> node;
+    private final BavetGroupBridgeUniNode<A> node;
     private final BavetAbstractUniTuple<A> parentTuple;
 
-    private Runnable undoAccumulator;
-    private BavetGroupBiTuple<NewA, ResultContainer_, NewB> childTuple;
+    private Runnable[] undoAccumulators;
+    private BavetGroupTuple childTuple;
 
-    public BavetGroupBridgeUniTuple(BavetGroupBridgeUniNode<A, NewA, ResultContainer_, NewB> node,
-            BavetAbstractUniTuple<A> parentTuple) {
+    public BavetGroupBridgeUniTuple(BavetGroupBridgeUniNode<A> node, BavetAbstractUniTuple<A> parentTuple) {
         this.node = node;
         this.parentTuple = parentTuple;
     }
@@ -45,7 +45,7 @@ public final class BavetGroupBridgeUniTuple<A, NewA, ResultContainer_, NewB> ext
     // ************************************************************************
 
     @Override
-    public BavetGroupBridgeUniNode<A, NewA, ResultContainer_, NewB> getNode() {
+    public BavetGroupBridgeUniNode<A> getNode() {
         return node;
     }
 
@@ -59,19 +59,19 @@ public final class BavetGroupBridgeUniTuple<A, NewA, ResultContainer_, NewB> ext
         return parentTuple.getFactA();
     }
 
-    public Runnable getUndoAccumulator() {
-        return undoAccumulator;
+    public Runnable[] getUndoAccumulators() {
+        return undoAccumulators;
     }
 
-    public void setUndoAccumulator(Runnable undoAccumulator) {
-        this.undoAccumulator = undoAccumulator;
+    public void setUndoAccumulators(Runnable[] undoAccumulators) {
+        this.undoAccumulators = undoAccumulators;
     }
 
-    public BavetGroupBiTuple<NewA, ResultContainer_, NewB> getChildTuple() {
+    public BavetGroupTuple getChildTuple() {
         return childTuple;
     }
 
-    public void setChildTuple(BavetGroupBiTuple<NewA, ResultContainer_, NewB> childTuple) {
+    public void setChildTuple(BavetGroupTuple childTuple) {
         this.childTuple = childTuple;
     }
 
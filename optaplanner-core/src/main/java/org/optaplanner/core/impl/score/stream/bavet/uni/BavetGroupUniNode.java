@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet.uni;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintSession;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetGroupNode;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetTupleState;
+
+public final class BavetGroupUniNode<A> extends BavetAbstractUniNode<A> implements BavetGroupNode {
+
+    /**
+     * The first facts of each tuple are the group keys, the other facts are the collector results.
+     */
+    private final int groupKeyCount;
+    private final List<Function<?, ?>> finisherList;
+
+    private final List<BavetAbstractUniNode<A>> childNodeList = new ArrayList<>();
+
+    public BavetGroupUniNode(BavetConstraintSession session, int nodeIndex,
+            int groupKeyCount, List<Function<?, ?>> finisherList) {
+        super(session, nodeIndex);
+        this.groupKeyCount = groupKeyCount;
+        this.finisherList = finisherList;
+    }
+
+    @Override
+    public void addChildNode(BavetAbstractUniNode<A> childNode) {
+        childNodeList.add(childNode);
+    }
+
+    @Override
+    public List<BavetAbstractUniNode<A>> getChildNodeList() {
+        return childNodeList;
+    }
+
+    // ************************************************************************
+    // Equality for node sharing
+    // ************************************************************************
+
+    // TODO
+
+    // ************************************************************************
+    // Runtime
+    // ************************************************************************
+
+    @Override
+    public BavetGroupUniTuple<A> createTuple(BavetAbstractUniTuple<A> parentTuple) {
+        throw new IllegalStateException("The Grouped node (" + getClass().getSimpleName()
+                + ") can't have a parentTuple (" + parentTuple + ");");
+    }
+
+    @Override
+    public BavetGroupUniTuple<A> createTuple(Object groupKey, Object[] resultContainers) {
+        return new BavetGroupUniTuple<>(this, groupKey, resultContainers);
+    }
+
+    @Override
+    public void refresh(BavetAbstractTuple uncastTuple) {
+        BavetGroupUniTuple<A> tuple = (BavetGroupUniTuple<A>) uncastTuple;
+        List<BavetAbstractTuple> childTupleList = tuple.getChildTupleList();
+        for (BavetAbstractTuple childTuple : childTupleList) {
+            session.transitionTuple(childTuple, BavetTupleState.DYING);
+        }
+        childTupleList.clear();
+        if (tuple.isActive()) {
+            tuple.setFactA((A) extractFact(tuple, 0));
+            for (BavetAbstractUniNode<A> childNode : childNodeList) {
+                BavetAbstractUniTuple<A> childTuple = childNode.createTuple(tuple);
+                childTupleList.add(childTuple);
+                session.transitionTuple(childTuple, BavetTupleState.CREATING);
+            }
+        }
+    }
+
+    private Object extractFact(BavetGroupUniTuple<A> tuple, int factIndex) {
+        if (factIndex < groupKeyCount) {
+            Object groupKey = tuple.getGroupKey();
+            return (groupKeyCount == 1) ? groupKey : ((List<?>) groupKey).get(factIndex);
+        }
+        int collectorIndex = factIndex - groupKeyCount;
+        return finish(finisherList.get(collectorIndex), tuple.getResultContainers()[collectorIndex]);
+    }
+
+    private static <ResultContainer_> Object finish(Function<ResultContainer_, ?> finisher, Object resultContainer) {
+        return finisher.apply((ResultContainer_) resultContainer);
+    }
+
+    @Override
+    public String toString() {
+        return "Group() with " + childNodeList.size() + " children";
+    }
+
+    // ************************************************************************
+    // Getters/setters
+    // ************************************************************************
+
+}
@@ -17,12 +17,13 @@
 package org.optaplanner.core.impl.score.stream.bavet.uni;
 
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.score.stream.bavet.BavetConstraintFactory;
+import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeConstraintStream;
-import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinConstraintStream;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNodeBuildPolicy;
 import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndexFactory;
@@ -66,29 +67,48 @@ public final class BavetJoinBridgeUniConstraintStream<Solution_, A>
     // Node creation
     // ************************************************************************
 
+    @Override
+    public BavetAbstractUniNode<A> createNodeChain(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            Score<?> constraintWeight, BavetAbstractUniNode<A> parentNode) {
+        if (!childStreamList.isEmpty()) {
+            throw new IllegalStateException("Impossible state: the stream (" + this
+                    + ") has an non-empty childStreamList (" + childStreamList + ") but it's a join bridge.");
+        }
+        // The join bridge node is created by the join stream once both parent nodes are known,
+        // so an equivalent join node (with its join bridge nodes) can be shared instead.
+        Map<BavetJoinConstraintStream<Solution_>, BavetAbstractNode> parentNodeMap = isLeftBridge
+                ? buildPolicy.getJoinConstraintStreamToLeftParentNodeMap()
+                : buildPolicy.getJoinConstraintStreamToRightParentNodeMap();
+        Map<BavetJoinConstraintStream<Solution_>, BavetAbstractNode> otherParentNodeMap = isLeftBridge
+                ? buildPolicy.getJoinConstraintStreamToRightParentNodeMap()
+                : buildPolicy.getJoinConstraintStreamToLeftParentNodeMap();
+        parentNodeMap.put(joinStream, parentNode);
+        BavetAbstractNode otherParentNode = otherParentNodeMap.get(joinStream);
+        if (otherParentNode != null) {
+            BavetAbstractNode leftParentNode = isLeftBridge ? parentNode : otherParentNode;
+            BavetAbstractNode rightParentNode = isLeftBridge ? otherParentNode : parentNode;
+            joinStream.createNodeChain(buildPolicy, constraintWeight, leftParentNode, rightParentNode);
+        }
+        return parentNode;
+    }
+
+    public BavetJoinBridgeUniNode<A> createBridgeNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
+            BavetAbstractUniNode<A> parentNode) {
+        BavetJoinBridgeUniNode<A> node = createNode(buildPolicy, null, parentNode);
+        return (BavetJoinBridgeUniNode<A>) processNode(buildPolicy, parentNode, node);
+    }
+
     @Override
     protected BavetJoinBridgeUniNode<A> createNode(BavetNodeBuildPolicy<Solution_> buildPolicy,
             Score<?> constraintWeight, BavetAbstractUniNode<A> parentNode) {
         return new BavetJoinBridgeUniNode<>(buildPolicy.getSession(), buildPolicy.nextNodeIndex(), parentNode, mapping,
-                indexFactory.buildIndex(isLeftBridge));
+                buildPolicy.buildIndex(indexFactory, isLeftBridge));
     }
 
     @Override
     protected void createChildNodeChains(BavetNodeBuildPolicy<Solution_> buildPolicy, Score<?> constraintWeight,
-            BavetAbstractUniNode<A> uncastedNode) {
-        if (!childStreamList.isEmpty()) {
-            throw new IllegalStateException("Impossible state: the stream (" + this
-                    + ") has an non-empty childStreamList (" + childStreamList + ") but it's a join bridge.");
-        }
-        BavetJoinBridgeUniNode<A> node = (BavetJoinBridgeUniNode<A>) uncastedNode;
-        BavetJoinBridgeNode otherBridgeNode = buildPolicy.getJoinConstraintStreamToJoinBridgeNodeMap().get(joinStream);
-        if (otherBridgeNode == null) {
-            buildPolicy.getJoinConstraintStreamToJoinBridgeNodeMap().put(joinStream, node);
-        } else {
-            BavetJoinBridgeNode leftNode = isLeftBridge ? node : otherBridgeNode;
-            BavetJoinBridgeNode rightNode = isLeftBridge ? otherBridgeNode : node;
-            joinStream.createNodeChain(buildPolicy, constraintWeight, leftNode, rightNode);
-        }
+            BavetAbstractUniNode<A> node) {
+        throw new IllegalStateException("Impossible state: this code is never called.");
     }
 
     @Override
@@ -100,4 +120,8 @@ public final class BavetJoinBridgeUniConstraintStream<Solution_, A>
     // Getters/setters
     // ************************************************************************
 
+    public BavetIndexFactory getIndexFactory() {
+        return indexFactory;
+    }
+
 }
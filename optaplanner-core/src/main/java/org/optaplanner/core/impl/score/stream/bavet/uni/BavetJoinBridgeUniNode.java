@@ -80,6 +80,7 @@ public final class BavetJoinBridgeUniNode<A> extends BavetAbstractUniNode<A>
     // Getters/setters
     // ************************************************************************
 
+    @Override
     public BavetIndex<BavetJoinBridgeUniTuple<A>> getIndex() {
         return index;
     }
@@ -21,6 +21,7 @@ import java.util.List;
 
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetAbstractTuple;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetJoinBridgeTuple;
+import org.optaplanner.core.impl.score.stream.bavet.common.index.BavetIndexKey;
 
 public final class BavetJoinBridgeUniTuple<A> extends BavetAbstractUniTuple<A>
         implements BavetJoinBridgeTuple {
@@ -29,7 +30,7 @@ public final class BavetJoinBridgeUniTuple<A> extends BavetAbstractUniTuple<A>
     private final BavetJoinBridgeUniNode<A> node;
     private final List<BavetAbstractTuple> childTupleList = new ArrayList<>();
 
-    private Object[] indexProperties;
+    private BavetIndexKey indexKey = null;
 
     public BavetJoinBridgeUniTuple(BavetJoinBridgeUniNode<A> node,
             BavetAbstractUniTuple<A> parentTuple) {
@@ -62,13 +63,13 @@ public final class BavetJoinBridgeUniTuple<A> extends BavetAbstractUniTuple<A>
     }
 
     @Override
-    public Object[] getIndexProperties() {
-        return indexProperties;
+    public BavetIndexKey getIndexKey() {
+        return indexKey;
     }
 
     @Override
-    public void setIndexProperties(Object[] indexProperties) {
-        this.indexProperties = indexProperties;
+    public void setIndexKey(BavetIndexKey indexKey) {
+        this.indexKey = indexKey;
     }
 
 }
@@ -21,13 +21,16 @@ import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.stream.uni.UniConstraintStream;
 import org.optaplanner.core.impl.score.inliner.BigDecimalWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.IntReversibleWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.IntWeightedScoreImpacter;
+import org.optaplanner.core.impl.score.inliner.LongReversibleWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.LongWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.ScoreInliner;
 import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
@@ -111,8 +114,48 @@ public final class BavetScoringUniConstraintStream<Solution_, A> extends BavetAb
             Score<?> constraintWeight, BavetAbstractUniNode<A> parentNode) {
         ScoreInliner scoreInliner = buildPolicy.getSession().getScoreInliner();
         WeightedScoreImpacter weightedScoreImpacter = scoreInliner.buildWeightedScoreImpacter(constraintWeight);
-        BiFunction<A, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter;
-        if (weightedScoreImpacter instanceof IntWeightedScoreImpacter) {
+        BiFunction<A, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter = null;
+        ToLongFunction<A> primitiveScoreImpacter = null;
+        LongConsumer primitiveUndoScoreImpacter = null;
+        // Constraint matching needs a match score per match, so it can't use the allocation free primitive path
+        boolean constraintMatchEnabled = buildPolicy.getSession().isConstraintMatchEnabled();
+        if (!constraintMatchEnabled && weightedScoreImpacter instanceof IntReversibleWeightedScoreImpacter
+                && (intMatchWeigher != null || noMatchWeigher)) {
+            IntReversibleWeightedScoreImpacter castedWeightedScoreImpacter =
+                    (IntReversibleWeightedScoreImpacter) weightedScoreImpacter;
+            if (intMatchWeigher != null) {
+                primitiveScoreImpacter = (A a) -> {
+                    int matchWeight = intMatchWeigher.applyAsInt(a);
+                    constraint.assertCorrectImpact(matchWeight);
+                    castedWeightedScoreImpacter.impactScore(matchWeight);
+                    return matchWeight;
+                };
+            } else {
+                primitiveScoreImpacter = (A a) -> {
+                    castedWeightedScoreImpacter.impactScore(1);
+                    return 1L;
+                };
+            }
+            primitiveUndoScoreImpacter = matchWeight -> castedWeightedScoreImpacter.impactScore(-(int) matchWeight);
+        } else if (!constraintMatchEnabled && weightedScoreImpacter instanceof LongReversibleWeightedScoreImpacter
+                && (longMatchWeigher != null || noMatchWeigher)) {
+            LongReversibleWeightedScoreImpacter castedWeightedScoreImpacter =
+                    (LongReversibleWeightedScoreImpacter) weightedScoreImpacter;
+            if (longMatchWeigher != null) {
+                primitiveScoreImpacter = (A a) -> {
+                    long matchWeight = longMatchWeigher.applyAsLong(a);
+                    constraint.assertCorrectImpact(matchWeight);
+                    castedWeightedScoreImpacter.impactScore(matchWeight);
+                    return matchWeight;
+                };
+            } else {
+                primitiveScoreImpacter = (A a) -> {
+                    castedWeightedScoreImpacter.impactScore(1L);
+                    return 1L;
+                };
+            }
+            primitiveUndoScoreImpacter = matchWeight -> castedWeightedScoreImpacter.impactScore(-matchWeight);
+        } else if (weightedScoreImpacter instanceof IntWeightedScoreImpacter) {
             IntWeightedScoreImpacter castedWeightedScoreImpacter = (IntWeightedScoreImpacter) weightedScoreImpacter;
             if (intMatchWeigher != null) {
                 scoreImpacter = (A a, Consumer<Score<?>> matchScoreConsumer) -> {
@@ -169,7 +212,7 @@ public final class BavetScoringUniConstraintStream<Solution_, A> extends BavetAb
         }
         BavetScoringUniNode<A> node = new BavetScoringUniNode<>(buildPolicy.getSession(), buildPolicy.nextNodeIndex(),
                 parentNode, constraint.getConstraintPackage(), constraint.getConstraintName(), constraintWeight,
-                scoreImpacter);
+                scoreImpacter, primitiveScoreImpacter, primitiveUndoScoreImpacter);
         buildPolicy.addScoringNode(node);
         return node;
     }
@@ -17,11 +17,11 @@
 package org.optaplanner.core.impl.score.stream.bavet.uni;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
 
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
@@ -37,22 +37,37 @@ public final class BavetScoringUniNode<A> extends BavetAbstractUniNode<A> implem
     private final String constraintPackage;
     private final String constraintName;
     private final Score<?> constraintWeight;
+    /** Null if the primitive scoring path is used. */
     private final BiFunction<A, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter;
+    /**
+     * Null unless the primitive scoring path is used.
+     * Impacts the score without allocation and returns the matchWeight, which the tuple keeps as its undo record.
+     */
+    private final ToLongFunction<A> primitiveScoreImpacter;
+    /** Null unless the primitive scoring path is used. Undoes the impact of a matchWeight. */
+    private final LongConsumer primitiveUndoScoreImpacter;
 
     private final boolean constraintMatchEnabled;
-    private final Set<BavetScoringUniTuple<A>> tupleSet;
+    /** Always null if {@link BavetConstraintSession#isConstraintMatchEnabled()} is false. */
+    private final DefaultConstraintMatchTotal constraintMatchTotal;
 
     public BavetScoringUniNode(BavetConstraintSession session, int nodeIndex, BavetAbstractUniNode<A> parentNode,
             String constraintPackage, String constraintName, Score<?> constraintWeight,
-            BiFunction<A, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter) {
+            BiFunction<A, Consumer<Score<?>>, UndoScoreImpacter> scoreImpacter,
+            ToLongFunction<A> primitiveScoreImpacter, LongConsumer primitiveUndoScoreImpacter) {
         super(session, nodeIndex);
         this.parentNode = parentNode;
         this.constraintPackage = constraintPackage;
         this.constraintName = constraintName;
         this.constraintWeight = constraintWeight;
         this.scoreImpacter = scoreImpacter;
+        this.primitiveScoreImpacter = primitiveScoreImpacter;
+        this.primitiveUndoScoreImpacter = primitiveUndoScoreImpacter;
         this.constraintMatchEnabled = session.isConstraintMatchEnabled();
-        tupleSet = constraintMatchEnabled ? new HashSet<>() : null;
+        constraintMatchTotal = constraintMatchEnabled
+                ? new DefaultConstraintMatchTotal(constraintPackage, constraintName, constraintWeight,
+                        session.getZeroScore())
+                : null;
     }
 
     // ************************************************************************
@@ -79,27 +94,29 @@ public final class BavetScoringUniNode<A> extends BavetAbstractUniNode<A> implem
     public void refresh(BavetAbstractTuple uncastTuple) {
         BavetScoringUniTuple<A> tuple = (BavetScoringUniTuple<A>) uncastTuple;
         A a = tuple.getFactA();
+        if (primitiveScoreImpacter != null) {
+            long oldMatchWeight = tuple.getMatchWeight();
+            if (oldMatchWeight != 0L) {
+                primitiveUndoScoreImpacter.accept(oldMatchWeight);
+            }
+            tuple.setMatchWeight(tuple.isActive() ? primitiveScoreImpacter.applyAsLong(a) : 0L);
+            return;
+        }
         UndoScoreImpacter oldUndoScoreImpacter = tuple.getUndoScoreImpacter();
         if (oldUndoScoreImpacter != null) {
             oldUndoScoreImpacter.undoScoreImpact();
             if (constraintMatchEnabled) {
+                session.removeConstraintMatch(constraintMatchTotal, tuple.getConstraintMatch());
                 tuple.setMatchScore(null);
-                boolean removed = tupleSet.remove(tuple);
-                if (!removed) {
-                    throw new IllegalStateException("Impossible state: The node with constraintId ("
-                            + getConstraintId() + ") could not remove the tuple (" + tuple + ") from the tupleSet.");
-                }
+                tuple.setConstraintMatch(null);
             }
         }
         if (tuple.isActive()) {
             UndoScoreImpacter undoScoreImpacter = scoreImpacter.apply(a, tuple::setMatchScore);
             tuple.setUndoScoreImpacter(undoScoreImpacter);
             if (constraintMatchEnabled) {
-                boolean added = tupleSet.add(tuple);
-                if (!added) {
-                    throw new IllegalStateException("Impossible state: The node with constraintId ("
-                            + getConstraintId() + ") could not add the tuple (" + tuple + ") to the tupleSet.");
-                }
+                tuple.setConstraintMatch(session.addConstraintMatch(constraintMatchTotal,
+                        Collections.singletonList(a), tuple.getMatchScore()));
             }
         } else {
             tuple.setUndoScoreImpacter(null);
@@ -107,13 +124,7 @@ public final class BavetScoringUniNode<A> extends BavetAbstractUniNode<A> implem
     }
 
     @Override
-    public <Score_ extends Score<Score_>> ConstraintMatchTotal<Score_> buildConstraintMatchTotal(Score_ zeroScore) {
-        DefaultConstraintMatchTotal<Score_> constraintMatchTotal = new DefaultConstraintMatchTotal(constraintPackage,
-                constraintName, constraintWeight, zeroScore);
-        for (BavetScoringUniTuple<A> tuple : tupleSet) {
-            constraintMatchTotal.addConstraintMatch(
-                    Collections.singletonList(tuple.getFactA()), (Score_) tuple.getMatchScore());
-        }
+    public <Score_ extends Score<Score_>> ConstraintMatchTotal<Score_> getConstraintMatchTotal() {
         return constraintMatchTotal;
     }
 
@@ -20,4 +20,16 @@ public abstract class AbstractJoiner {
 
     public abstract JoinerType[] getJoinerTypes();
 
+    /**
+     * @param index {@code 0 <= index < getJoinerTypes().length}
+     * @return never null, the mapping function of the left side of the joinerType at that index
+     */
+    public abstract Object getLeftMapping(int index);
+
+    /**
+     * @param index {@code 0 <= index < getJoinerTypes().length}
+     * @return never null, the mapping function of the right side of the joinerType at that index
+     */
+    public abstract Object getRightMapping(int index);
+
 }
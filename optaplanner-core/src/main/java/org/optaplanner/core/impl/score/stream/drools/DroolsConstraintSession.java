@@ -16,6 +16,7 @@
 
 package org.optaplanner.core.impl.score.stream.drools;
 
+import java.util.List;
 import java.util.Map;
 
 import org.kie.api.runtime.KieSession;
@@ -24,9 +25,11 @@ import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
 import org.optaplanner.core.api.score.constraint.Indictment;
+import org.optaplanner.core.api.score.stream.ConstraintStreamImplType;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.score.holder.AbstractScoreHolder;
 import org.optaplanner.core.impl.score.stream.ConstraintSession;
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfile;
 
 public class DroolsConstraintSession<Solution_, Score_ extends Score<Score_>>
         implements ConstraintSession<Solution_, Score_> {
@@ -85,6 +88,18 @@ public class DroolsConstraintSession<Solution_, Score_ extends Score<Score_>>
         return scoreHolder.getIndictmentMap();
     }
 
+    @Override
+    public boolean isProfilingEnabled() {
+        return false;
+    }
+
+    @Override
+    public List<ConstraintStreamNodeProfile> getNodeProfileList() {
+        throw new UnsupportedOperationException("The constraintStreamImplType (" + ConstraintStreamImplType.DROOLS
+                + ") does not support profiling.\n"
+                + "Maybe use the constraintStreamImplType (" + ConstraintStreamImplType.BAVET + ") instead.");
+    }
+
     @Override
     public void close() {
         kieSession.dispose();
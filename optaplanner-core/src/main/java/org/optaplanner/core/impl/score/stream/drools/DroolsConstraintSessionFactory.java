@@ -105,7 +105,9 @@ public final class DroolsConstraintSessionFactory<Solution_, Score_ extends Scor
     }
 
     @Override
-    public ConstraintSession<Solution_, Score_> buildSession(boolean constraintMatchEnabled, Solution_ workingSolution) {
+    public ConstraintSession<Solution_, Score_> buildSession(boolean constraintMatchEnabled, boolean profilingEnabled,
+            Solution_ workingSolution) {
+        // Profiling is not supported, so profilingEnabled is ignored (see DroolsConstraintSession.isProfilingEnabled())
         ScoreDefinition<Score_> scoreDefinition = solutionDescriptor.getScoreDefinition();
         AbstractScoreHolder<Score_> scoreHolder = scoreDefinition.buildScoreHolder(constraintMatchEnabled);
         // Determine which rules to enable based on the fact that their constraints carry weight.
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.solver.Solver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers the intermediate best solutions of 1 {@link DefaultSolverJob} to its {@code bestSolutionConsumer}
+ * on a consumer {@link Thread}, so a slow consumer doesn't slow down the solver {@link Thread}.
+ * <p>
+ * It holds at most 1 best solution that is waiting to be consumed:
+ * a newer best solution replaces it (skip ahead).
+ * Consecutive consumptions start at least a throttling delay apart.
+ * No extra planning clone is made: the best solution events already carry a planning clone.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <ProblemId_> the ID type of a submitted problem, such as {@link Long} or {@link UUID}.
+ */
+final class BestSolutionConsumerSupport<Solution_, ProblemId_> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BestSolutionConsumerSupport.class);
+
+    private final ProblemId_ problemId;
+    private final Solver<Solution_> solver;
+    private final Consumer<? super Solution_> bestSolutionConsumer;
+    private final long throttlingDelayMillis;
+    private final ExecutorService consumerExecutor;
+
+    private final Object lock = new Object();
+    // Guarded by the lock
+    private Solution_ waitingBestSolution = null;
+    private boolean consumptionScheduled = false;
+    private boolean flushing = false;
+    private long nextConsumptionTimeMillis = 0L;
+    private Throwable consumptionThrowable = null;
+
+    /**
+     * @param problemId never null
+     * @param solver never null, terminated early if the bestSolutionConsumer fails
+     * @param bestSolutionConsumer never null
+     * @param throttlingDelayMillis at least 0
+     */
+    public BestSolutionConsumerSupport(ProblemId_ problemId, Solver<Solution_> solver,
+            Consumer<? super Solution_> bestSolutionConsumer, long throttlingDelayMillis) {
+        this.problemId = problemId;
+        this.solver = solver;
+        this.bestSolutionConsumer = bestSolutionConsumer;
+        this.throttlingDelayMillis = throttlingDelayMillis;
+        consumerExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * Called on the solver {@link Thread}. Never blocks on the consumer.
+     *
+     * @param bestSolution never null, never changed afterwards
+     */
+    public void consumeIntermediateBestSolution(Solution_ bestSolution) {
+        synchronized (lock) {
+            if (consumptionThrowable != null) {
+                // The solver is terminating early
+                return;
+            }
+            if (waitingBestSolution != null) {
+                LOGGER.trace("Skipped a best solution of problemId ({}) because a newer one replaced it.", problemId);
+            }
+            waitingBestSolution = bestSolution;
+            if (consumptionScheduled) {
+                return;
+            }
+            consumptionScheduled = true;
+        }
+        consumerExecutor.execute(this::consumeWaitingBestSolution);
+    }
+
+    private void consumeWaitingBestSolution() {
+        Solution_ bestSolution;
+        synchronized (lock) {
+            long waitMillis = nextConsumptionTimeMillis - System.currentTimeMillis();
+            while (!flushing && waitMillis > 0L) {
+                try {
+                    lock.wait(waitMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    consumptionScheduled = false;
+                    return;
+                }
+                waitMillis = nextConsumptionTimeMillis - System.currentTimeMillis();
+            }
+            bestSolution = waitingBestSolution;
+            waitingBestSolution = null;
+            consumptionScheduled = false;
+            nextConsumptionTimeMillis = System.currentTimeMillis() + throttlingDelayMillis;
+        }
+        try {
+            bestSolutionConsumer.accept(bestSolution);
+        } catch (Throwable throwable) {
+            // Any Exception or even Error that happens here (on the consumer thread) must be stored
+            // in order to be propagated to the solver thread.
+            synchronized (lock) {
+                consumptionThrowable = throwable;
+            }
+            solver.terminateEarly();
+        }
+    }
+
+    /**
+     * Called on the solver {@link Thread} after solving.
+     * Consumes the waiting best solution, if any, without waiting for the throttling delay
+     * and returns after the last consumption has ended.
+     *
+     * @throws IllegalStateException if the {@code bestSolutionConsumer} failed
+     */
+    public void close() {
+        shutdown();
+        synchronized (lock) {
+            if (consumptionThrowable != null) {
+                throw new IllegalStateException("The bestSolutionConsumer failed for problemId (" + problemId + ").",
+                        consumptionThrowable);
+            }
+        }
+    }
+
+    /**
+     * Like {@link #close()}, but never throws an exception, so it's safe to call more than once.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            flushing = true;
+            lock.notifyAll();
+        }
+        consumerExecutor.shutdown();
+        try {
+            while (!consumerExecutor.awaitTermination(1L, TimeUnit.SECONDS)) {
+                LOGGER.trace("Still waiting on the bestSolutionConsumer of problemId ({}).", problemId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while waiting on the bestSolutionConsumer of problemId ({}).", problemId, e);
+            consumerExecutor.shutdownNow();
+        }
+    }
+
+}
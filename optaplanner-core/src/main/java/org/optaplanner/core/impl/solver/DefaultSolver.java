@@ -17,7 +17,6 @@
 package org.optaplanner.core.impl.solver;
 
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
@@ -53,6 +52,7 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
     protected final SolverScope<Solution_> solverScope;
 
     private final String moveThreadCountDescription;
+    private boolean problemFactChangeBatching = false;
 
     // ************************************************************************
     // Constructors and simple getters/setters
@@ -67,9 +67,18 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
         this.randomFactory = randomFactory;
         this.basicPlumbingTermination = basicPlumbingTermination;
         this.solverScope = solverScope;
+        solverScope.setBasicPlumbingTermination(basicPlumbingTermination);
         this.moveThreadCountDescription = moveThreadCountDescription;
     }
 
+    /**
+     * @param problemFactChangeBatching true to calculate the score once after all queued problem fact changes,
+     *        instead of after each one
+     */
+    public void setProblemFactChangeBatching(boolean problemFactChangeBatching) {
+        this.problemFactChangeBatching = problemFactChangeBatching;
+    }
+
     public EnvironmentMode getEnvironmentMode() {
         return environmentMode;
     }
@@ -158,11 +167,16 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
         solverScope.setBestSolution(problem);
         outerSolvingStarted(solverScope);
         boolean restartSolver = true;
-        while (restartSolver) {
-            solvingStarted(solverScope);
-            runPhases(solverScope);
-            solvingEnded(solverScope);
-            restartSolver = checkProblemFactChanges();
+        try {
+            while (restartSolver) {
+                solvingStarted(solverScope);
+                runPhases(solverScope);
+                solvingEnded(solverScope);
+                restartSolver = checkProblemFactChanges();
+            }
+        } finally {
+            // The move threads outlive the phases and restarts, but not the solve
+            solverScope.closeMoveThreadPool();
         }
         outerSolvingEnded(solverScope);
         return solverScope.getBestSolution();
@@ -217,16 +231,22 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
         if (!restartSolver) {
             return false;
         } else {
-            BlockingQueue<ProblemFactChange<Solution_>> problemFactChangeQueue = basicPlumbingTermination
-                    .startProblemFactChangesProcessing();
+            basicPlumbingTermination.startProblemFactChangesProcessing();
             solverScope.setWorkingSolutionFromBestSolution();
             Score score = null;
             int stepIndex = 0;
-            ProblemFactChange<Solution_> problemFactChange = problemFactChangeQueue.poll();
-            while (problemFactChange != null) {
-                score = doProblemFactChange(problemFactChange, stepIndex);
-                stepIndex++;
-                problemFactChange = problemFactChangeQueue.poll();
+            // Also do the changes that are added in the meantime
+            List<ProblemFactChange<Solution_>> problemFactChangeList =
+                    basicPlumbingTermination.pollProblemFactChanges();
+            while (!problemFactChangeList.isEmpty()) {
+                for (ProblemFactChange<Solution_> problemFactChange : problemFactChangeList) {
+                    score = doProblemFactChange(problemFactChange, stepIndex);
+                    stepIndex++;
+                }
+                problemFactChangeList = basicPlumbingTermination.pollProblemFactChanges();
+            }
+            if (problemFactChangeBatching) {
+                score = solverScope.calculateScore();
             }
             // All PFCs are processed, fail fast if any of the new facts have null planning IDs.
             InnerScoreDirector<Solution_, ?> scoreDirector = solverScope.getScoreDirector();
@@ -242,6 +262,11 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
 
     private Score doProblemFactChange(ProblemFactChange<Solution_> problemFactChange, int stepIndex) {
         problemFactChange.doChange(solverScope.getScoreDirector());
+        if (problemFactChangeBatching) {
+            // The score is calculated once, after the last change
+            logger.debug("    Step index ({}), real-time problem fact change done.", stepIndex);
+            return null;
+        }
         Score score = solverScope.calculateScore();
         logger.debug("    Step index ({}), new score ({}) for real-time problem fact change.", stepIndex, score);
         return score;
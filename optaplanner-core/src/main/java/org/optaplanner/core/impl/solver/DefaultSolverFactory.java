@@ -88,8 +88,11 @@ public final class DefaultSolverFactory<Solution_> implements SolverFactory<Solu
         BestSolutionRecaller<Solution_> bestSolutionRecaller =
                 BestSolutionRecallerFactory.create().buildBestSolutionRecaller(environmentMode_);
         HeuristicConfigPolicy<Solution_> configPolicy = new HeuristicConfigPolicy<>(environmentMode_,
-                moveThreadCount_, solverConfig.getMoveThreadBufferSize(), solverConfig.getThreadFactoryClass(),
-                scoreDirectorFactory);
+                moveThreadCount_, solverConfig.getMoveThreadBufferSize(), solverConfig.getMoveThreadBatchSize(),
+                solverConfig.getThreadFactoryClass(), scoreDirectorFactory);
+        // With AUTO, the move threads measure how many of them are worth it
+        configPolicy.setMoveThreadCountAdaptive(moveThreadCount_ != null
+                && SolverConfig.MOVE_THREAD_COUNT_AUTO.equals(solverConfig.getMoveThreadCount()));
         TerminationConfig terminationConfig_ = solverConfig.getTerminationConfig() == null
                 ? new TerminationConfig()
                 : solverConfig.getTerminationConfig();
@@ -97,9 +100,11 @@ public final class DefaultSolverFactory<Solution_> implements SolverFactory<Solu
         Termination<Solution_> termination = TerminationFactory.<Solution_> create(terminationConfig_)
                 .buildTermination(configPolicy, basicPlumbingTermination);
         List<Phase<Solution_>> phaseList = buildPhaseList(configPolicy, bestSolutionRecaller, termination);
-        return new DefaultSolver<>(environmentMode_, randomFactory, bestSolutionRecaller, basicPlumbingTermination,
-                termination, phaseList, solverScope,
+        DefaultSolver<Solution_> solver = new DefaultSolver<>(environmentMode_, randomFactory, bestSolutionRecaller,
+                basicPlumbingTermination, termination, phaseList, solverScope,
                 moveThreadCount_ == null ? SolverConfig.MOVE_THREAD_COUNT_NONE : Integer.toString(moveThreadCount_));
+        solver.setProblemFactChangeBatching(defaultIfNull(solverConfig.getProblemFactChangeBatching(), false));
+        return solver;
     }
 
     /**
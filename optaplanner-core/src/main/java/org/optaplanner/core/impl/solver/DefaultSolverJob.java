@@ -47,6 +47,7 @@ public final class DefaultSolverJob<Solution_, ProblemId_> implements SolverJob<
     private final DefaultSolver<Solution_> solver;
     private final ProblemId_ problemId;
     private final Function<? super ProblemId_, ? extends Solution_> problemFinder;
+    private final BestSolutionConsumerSupport<Solution_, ProblemId_> bestSolutionConsumerSupport;
     private final Consumer<? super Solution_> finalBestSolutionConsumer;
     private final BiConsumer<? super ProblemId_, ? super Throwable> exceptionHandler;
 
@@ -59,8 +60,10 @@ public final class DefaultSolverJob<Solution_, ProblemId_> implements SolverJob<
             DefaultSolverManager<Solution_, ProblemId_> solverManager,
             Solver<Solution_> solver, ProblemId_ problemId,
             Function<? super ProblemId_, ? extends Solution_> problemFinder,
+            Consumer<? super Solution_> bestSolutionConsumer,
             Consumer<? super Solution_> finalBestSolutionConsumer,
-            BiConsumer<? super ProblemId_, ? super Throwable> exceptionHandler) {
+            BiConsumer<? super ProblemId_, ? super Throwable> exceptionHandler,
+            long throttlingDelayMillis) {
         this.solverManager = solverManager;
         this.problemId = problemId;
         if (!(solver instanceof DefaultSolver)) {
@@ -69,6 +72,14 @@ public final class DefaultSolverJob<Solution_, ProblemId_> implements SolverJob<
         }
         this.solver = (DefaultSolver<Solution_>) solver;
         this.problemFinder = problemFinder;
+        if (bestSolutionConsumer != null) {
+            bestSolutionConsumerSupport = new BestSolutionConsumerSupport<>(problemId, solver, bestSolutionConsumer,
+                    throttlingDelayMillis);
+            solver.addEventListener(
+                    event -> bestSolutionConsumerSupport.consumeIntermediateBestSolution(event.getNewBestSolution()));
+        } else {
+            bestSolutionConsumerSupport = null;
+        }
         this.finalBestSolutionConsumer = finalBestSolutionConsumer;
         this.exceptionHandler = exceptionHandler;
         solverStatusReference = new AtomicReference<>(SolverStatus.SOLVING_SCHEDULED);
@@ -99,6 +110,10 @@ public final class DefaultSolverJob<Solution_, ProblemId_> implements SolverJob<
         try {
             Solution_ problem = problemFinder.apply(problemId);
             final Solution_ finalBestSolution = solver.solve(problem);
+            if (bestSolutionConsumerSupport != null) {
+                // Also delivers the final best solution to the bestSolutionConsumer, if it was skipped or throttled
+                bestSolutionConsumerSupport.close();
+            }
             if (finalBestSolutionConsumer != null) {
                 // TODO consumption should happen on different thread than solver thread
                 finalBestSolutionConsumer.accept(finalBestSolution);
@@ -113,6 +128,9 @@ public final class DefaultSolverJob<Solution_, ProblemId_> implements SolverJob<
     }
 
     private void solvingTerminated() {
+        if (bestSolutionConsumerSupport != null) {
+            bestSolutionConsumerSupport.shutdown();
+        }
         solverStatusReference.set(SolverStatus.NOT_SOLVING);
         solverManager.unregisterSolverJob(problemId);
         terminatedLatch.countDown();
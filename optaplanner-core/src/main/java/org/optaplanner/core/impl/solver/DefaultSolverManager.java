@@ -47,6 +47,7 @@ public final class DefaultSolverManager<Solution_, ProblemId_> implements Solver
     private final BiConsumer<ProblemId_, Throwable> defaultExceptionHandler;
     private final SolverFactory<Solution_> solverFactory;
     private final ExecutorService solverThreadPool;
+    private final long throttlingDelayMillis;
     private final ConcurrentMap<Object, DefaultSolverJob<Solution_, ProblemId_>> problemIdToSolverJobMap;
 
     public DefaultSolverManager(SolverFactory<Solution_> solverFactory,
@@ -57,6 +58,7 @@ public final class DefaultSolverManager<Solution_, ProblemId_> implements Solver
         validateSolverFactory();
         int parallelSolverCount = solverManagerConfig.resolveParallelSolverCount();
         solverThreadPool = Executors.newFixedThreadPool(parallelSolverCount);
+        throttlingDelayMillis = solverManagerConfig.resolveThrottlingDelayMillis();
         problemIdToSolverJobMap = new ConcurrentHashMap<>(parallelSolverCount * 10);
     }
 
@@ -103,10 +105,6 @@ public final class DefaultSolverManager<Solution_, ProblemId_> implements Solver
             Consumer<? super Solution_> finalBestSolutionConsumer,
             BiConsumer<? super ProblemId_, ? super Throwable> exceptionHandler) {
         Solver<Solution_> solver = solverFactory.buildSolver();
-        // TODO consumption should happen on different thread than solver thread, doing skipAhead and throttling
-        if (bestSolutionConsumer != null) {
-            solver.addEventListener(event -> bestSolutionConsumer.accept(event.getNewBestSolution()));
-        }
         BiConsumer<? super ProblemId_, ? super Throwable> finalExceptionHandler = (exceptionHandler != null)
                 ? exceptionHandler
                 : defaultExceptionHandler;
@@ -116,8 +114,8 @@ public final class DefaultSolverManager<Solution_, ProblemId_> implements Solver
                         // TODO Future features: automatically restart solving by calling reloadProblem()
                         throw new IllegalStateException("The problemId (" + problemId + ") is already solving.");
                     } else {
-                        return new DefaultSolverJob<>(this, solver, problemId, problemFinder, finalBestSolutionConsumer,
-                                finalExceptionHandler);
+                        return new DefaultSolverJob<>(this, solver, problemId, problemFinder, bestSolutionConsumer,
+                                finalBestSolutionConsumer, finalExceptionHandler, throttlingDelayMillis);
                     }
                 });
         Future<Solution_> future = solverThreadPool.submit(solverJob);
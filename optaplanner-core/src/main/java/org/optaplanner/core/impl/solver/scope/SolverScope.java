@@ -19,14 +19,17 @@ package org.optaplanner.core.impl.solver.scope;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadPool;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.termination.BasicPlumbingTermination;
 import org.optaplanner.core.impl.solver.termination.Termination;
 import org.optaplanner.core.impl.solver.thread.ChildThreadType;
 
@@ -42,6 +45,14 @@ public class SolverScope<Solution_> {
      * Used for capping CPU power usage in multithreaded scenarios.
      */
     protected Semaphore runnableThreadSemaphore = null;
+    /**
+     * Shared by all multithreaded phases and kept across restarts.
+     */
+    protected MoveThreadPool<Solution_> moveThreadPool = null;
+    /**
+     * Null in a child thread solver scope: only the solver thread applies problem fact changes.
+     */
+    protected BasicPlumbingTermination<Solution_> basicPlumbingTermination = null;
 
     protected volatile Long startingSystemTimeMillis;
     protected volatile Long endingSystemTimeMillis;
@@ -85,6 +96,42 @@ public class SolverScope<Solution_> {
         this.runnableThreadSemaphore = runnableThreadSemaphore;
     }
 
+    /**
+     * Creates the {@link MoveThreadPool} the first time it's needed.
+     *
+     * @param moveThreadCount at least 1
+     * @param threadFactory never null
+     * @return never null
+     */
+    public MoveThreadPool<Solution_> getMoveThreadPool(int moveThreadCount, ThreadFactory threadFactory) {
+        if (moveThreadPool == null) {
+            moveThreadPool = new MoveThreadPool<>(moveThreadCount, threadFactory);
+        } else if (moveThreadPool.getMoveThreadCount() != moveThreadCount) {
+            throw new IllegalStateException("Impossible state: the moveThreadPool's moveThreadCount ("
+                    + moveThreadPool.getMoveThreadCount() + ") differs from the moveThreadCount ("
+                    + moveThreadCount + ").");
+        }
+        return moveThreadPool;
+    }
+
+    public void closeMoveThreadPool() {
+        if (moveThreadPool != null) {
+            moveThreadPool.close();
+            moveThreadPool = null;
+        }
+    }
+
+    /**
+     * @return sometimes null, the source of the problem fact changes
+     */
+    public BasicPlumbingTermination<Solution_> getBasicPlumbingTermination() {
+        return basicPlumbingTermination;
+    }
+
+    public void setBasicPlumbingTermination(BasicPlumbingTermination<Solution_> basicPlumbingTermination) {
+        this.basicPlumbingTermination = basicPlumbingTermination;
+    }
+
     public Long getStartingSystemTimeMillis() {
         return startingSystemTimeMillis;
     }
@@ -16,11 +16,16 @@
 
 package org.optaplanner.core.impl.solver.termination;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
+import org.optaplanner.core.api.solver.CoalescingProblemFactChange;
 import org.optaplanner.core.api.solver.ProblemFactChange;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 import org.optaplanner.core.impl.solver.scope.SolverScope;
@@ -38,6 +43,7 @@ public class BasicPlumbingTermination<Solution_> extends AbstractTermination<Sol
     protected BlockingQueue<ProblemFactChange<Solution_>> problemFactChangeQueue = new LinkedBlockingQueue<>();
 
     protected boolean problemFactChangesBeingProcessed = false;
+    protected boolean liveProblemFactChangesEnabled = false;
 
     public BasicPlumbingTermination(boolean daemon) {
         this.daemon = daemon;
@@ -127,10 +133,82 @@ public class BasicPlumbingTermination<Solution_> extends AbstractTermination<Sol
         return problemFactChangeQueue;
     }
 
+    /**
+     * Removes every queued change and merges the {@link CoalescingProblemFactChange}s with an equal coalescing key.
+     * Call it between {@link #startProblemFactChangesProcessing()} and {@link #endProblemFactChangesProcessing()}.
+     *
+     * @return never null, empty if no change is queued, in the order to do them
+     */
+    public List<ProblemFactChange<Solution_>> pollProblemFactChanges() {
+        List<ProblemFactChange<Solution_>> problemFactChangeList = new ArrayList<>(problemFactChangeQueue.size());
+        problemFactChangeQueue.drainTo(problemFactChangeList);
+        return coalesce(problemFactChangeList);
+    }
+
+    private static <Solution_> List<ProblemFactChange<Solution_>> coalesce(
+            List<ProblemFactChange<Solution_>> problemFactChangeList) {
+        Map<Object, Integer> keyToIndexMap = null;
+        int coalescedCount = 0;
+        for (int i = 0; i < problemFactChangeList.size(); i++) {
+            ProblemFactChange<Solution_> problemFactChange = problemFactChangeList.get(i);
+            if (!(problemFactChange instanceof CoalescingProblemFactChange)) {
+                continue;
+            }
+            CoalescingProblemFactChange<Solution_> laterChange =
+                    (CoalescingProblemFactChange<Solution_>) problemFactChange;
+            Object key = Objects.requireNonNull(laterChange.getCoalescingKey(),
+                    () -> "The coalescingKey of the problemFactChange (" + laterChange + ") must not be null.");
+            if (keyToIndexMap == null) {
+                keyToIndexMap = new HashMap<>();
+            }
+            Integer earlierIndex = keyToIndexMap.putIfAbsent(key, i);
+            if (earlierIndex != null) {
+                CoalescingProblemFactChange<Solution_> earlierChange =
+                        (CoalescingProblemFactChange<Solution_>) problemFactChangeList.get(earlierIndex);
+                problemFactChangeList.set(earlierIndex, earlierChange.coalesce(laterChange));
+                problemFactChangeList.set(i, null);
+                coalescedCount++;
+            }
+        }
+        if (coalescedCount == 0) {
+            return problemFactChangeList;
+        }
+        List<ProblemFactChange<Solution_>> coalescedList =
+                new ArrayList<>(problemFactChangeList.size() - coalescedCount);
+        for (ProblemFactChange<Solution_> problemFactChange : problemFactChangeList) {
+            if (problemFactChange != null) {
+                coalescedList.add(problemFactChange);
+            }
+        }
+        return coalescedList;
+    }
+
     public synchronized void endProblemFactChangesProcessing() {
         problemFactChangesBeingProcessed = false;
     }
 
+    /**
+     * This method is thread-safe.
+     * <p>
+     * While enabled, a pending {@link ProblemFactChange} doesn't terminate the solver,
+     * because the running phase applies it between its steps
+     * with {@link #startProblemFactChangesProcessing()} and {@link #endProblemFactChangesProcessing()}.
+     *
+     * @param liveProblemFactChangesEnabled true if the running phase applies the problem fact changes itself
+     */
+    public synchronized void setLiveProblemFactChangesEnabled(boolean liveProblemFactChangesEnabled) {
+        this.liveProblemFactChangesEnabled = liveProblemFactChangesEnabled;
+    }
+
+    /**
+     * This method is thread-safe.
+     *
+     * @return true if the problemFactChangeQueue is not empty
+     */
+    public synchronized boolean isProblemFactChangePending() {
+        return !problemFactChangeQueue.isEmpty();
+    }
+
     public synchronized boolean isEveryProblemFactChangeProcessed() {
         return problemFactChangeQueue.isEmpty() && !problemFactChangesBeingProcessed;
     }
@@ -151,7 +229,7 @@ public class BasicPlumbingTermination<Solution_> extends AbstractTermination<Sol
             logger.info("The solver thread got interrupted, so this solver is terminating early.");
             terminatedEarly = true;
         }
-        return terminatedEarly || !problemFactChangeQueue.isEmpty();
+        return terminatedEarly || (!liveProblemFactChangesEnabled && !problemFactChangeQueue.isEmpty());
     }
 
     @Override
@@ -100,7 +100,7 @@ public class PhaseToSolverTerminationBridge<Solution_> extends AbstractTerminati
     @Override
     public Termination<Solution_> createChildThreadTermination(SolverScope<Solution_> solverScope,
             ChildThreadType childThreadType) {
-        if (childThreadType == ChildThreadType.PART_THREAD) {
+        if (childThreadType == ChildThreadType.PART_THREAD || childThreadType == ChildThreadType.ISLAND_THREAD) {
             // Remove of the bridge (which is nested if there's a phase termination), PhaseConfig will add it again
             return solverTermination.createChildThreadTermination(solverScope, childThreadType);
         } else {
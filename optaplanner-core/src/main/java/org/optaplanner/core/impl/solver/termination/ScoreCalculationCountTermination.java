@@ -79,8 +79,8 @@ public class ScoreCalculationCountTermination<Solution_> extends AbstractTermina
     @Override
     public ScoreCalculationCountTermination<Solution_> createChildThreadTermination(SolverScope<Solution_> solverScope,
             ChildThreadType childThreadType) {
-        if (childThreadType == ChildThreadType.PART_THREAD) {
-            // The ScoreDirector.calculationCount of partitions is maxed, not summed.
+        if (childThreadType == ChildThreadType.PART_THREAD || childThreadType == ChildThreadType.ISLAND_THREAD) {
+            // The ScoreDirector.calculationCount of partitions and islands is maxed, not summed.
             return new ScoreCalculationCountTermination<>(scoreCalculationCountLimit);
         } else {
             throw new IllegalStateException("The childThreadType (" + childThreadType + ") is not implemented.");
@@ -16,6 +16,7 @@
 
 package org.optaplanner.core.impl.solver.thread;
 
+import org.optaplanner.core.impl.islandsearch.IslandSearchPhase;
 import org.optaplanner.core.impl.partitionedsearch.PartitionedSearchPhase;
 
 public enum ChildThreadType {
@@ -23,6 +24,10 @@ public enum ChildThreadType {
      * Used by {@link PartitionedSearchPhase}.
      */
     PART_THREAD,
+    /**
+     * Used by {@link IslandSearchPhase}.
+     */
+    ISLAND_THREAD,
     /**
      * Used by multithreaded incremental solving.
      */
@@ -69,7 +69,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void filter_entity() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 0, 1, 0);
         TestdataLavishValue value1 = new TestdataLavishValue("MyValue 1", solution.getFirstValueGroup());
         solution.getValueList().add(value1);
@@ -122,7 +121,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void filter_consecutive() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(5, 5);
         TestdataLavishEntity entity1 = solution.getEntityList().get(0);
         TestdataLavishEntity entity2 = solution.getEntityList().get(1);
@@ -159,7 +157,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void ifExists_unknownClass() {
-        assumeDrools();
         assertThatThrownBy(() -> buildScoreDirector(factory -> {
             return factory.from(TestdataLavishEntity.class)
                     .join(TestdataLavishEntityGroup.class, equal(TestdataLavishEntity::getEntityGroup, identity()))
@@ -177,7 +174,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void ifExists_0Joiner0Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 1, 1);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -207,7 +203,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void ifExists_0Join1Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 2, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -245,7 +240,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void ifExists_1Join0Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -283,7 +277,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void ifExists_1Join1Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -319,7 +312,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void ifNotExists_unknownClass() {
-        assumeDrools();
         assertThatThrownBy(() -> buildScoreDirector(factory -> {
             return factory.from(TestdataLavishEntity.class)
                     .join(TestdataLavishEntityGroup.class, equal(TestdataLavishEntity::getEntityGroup, identity()))
@@ -337,7 +329,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void ifNotExists_0Joiner0Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 1, 1);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -367,7 +358,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void ifNotExists_0Join1Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 2, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -405,7 +395,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void ifNotExists_1Join0Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -439,7 +428,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void ifNotExists_1Join1Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -480,7 +468,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_0Mapping1Collector() {
-        assumeDrools();
         /*
          * E1 has G1 and V1
          * E2 has G2 and V2
@@ -515,7 +502,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_0Mapping2Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 2, 3);
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
             return factory.fromUniquePair(TestdataLavishEntity.class)
@@ -542,7 +528,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_0Mapping3Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 2, 3);
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
             return factory.fromUniquePair(TestdataLavishEntity.class)
@@ -579,7 +564,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_0Mapping4Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 2, 3);
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
             return factory.fromUniquePair(TestdataLavishEntity.class)
@@ -617,7 +601,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_1Mapping0Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 2, 2, 3);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -642,7 +625,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_1Mapping1Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 2, 2, 3);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -677,7 +659,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_1Mapping2Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 2, 3);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -711,7 +692,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_1Mapping3Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 2, 3);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -753,7 +733,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_2Mapping0Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 2, 2, 3);
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
             return factory.from(TestdataLavishEntity.class)
@@ -789,7 +768,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_2Mapping1Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 2, 2, 3);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -827,7 +805,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_2Mapping2Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 2, 2, 3);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -865,7 +842,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_3Mapping0Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 2, 2, 3);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -904,7 +880,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_3Mapping1Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 2, 2, 3);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -941,7 +916,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void groupBy_4Mapping0Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 2, 2, 3);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -1151,7 +1125,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void penalize_Int() {
-        assumeDrools();
         TestdataSolution solution = new TestdataSolution();
         TestdataValue v1 = new TestdataValue("v1");
         solution.setValueList(Arrays.asList(v1));
@@ -1179,7 +1152,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void penalize_Long() {
-        assumeDrools();
         TestdataSimpleLongScoreSolution solution = new TestdataSimpleLongScoreSolution();
         TestdataValue v1 = new TestdataValue("v1");
         solution.setValueList(Arrays.asList(v1));
@@ -1208,7 +1180,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void penalize_BigDecimal() {
-        assumeDrools();
         TestdataSimpleBigDecimalScoreSolution solution = new TestdataSimpleBigDecimalScoreSolution();
         TestdataValue v1 = new TestdataValue("v1");
         solution.setValueList(Arrays.asList(v1));
@@ -1239,7 +1210,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void penalize_negative() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 1, 2);
 
         String constraintName = "myConstraint";
@@ -1256,7 +1226,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void reward_Int() {
-        assumeDrools();
         TestdataSolution solution = new TestdataSolution();
         TestdataValue v1 = new TestdataValue("v1");
         solution.setValueList(Arrays.asList(v1));
@@ -1284,7 +1253,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void reward_Long() {
-        assumeDrools();
         TestdataSimpleLongScoreSolution solution = new TestdataSimpleLongScoreSolution();
         TestdataValue v1 = new TestdataValue("v1");
         solution.setValueList(Arrays.asList(v1));
@@ -1313,7 +1281,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void reward_BigDecimal() {
-        assumeDrools();
         TestdataSimpleBigDecimalScoreSolution solution = new TestdataSimpleBigDecimalScoreSolution();
         TestdataValue v1 = new TestdataValue("v1");
         solution.setValueList(Arrays.asList(v1));
@@ -1344,7 +1311,6 @@ public class QuadConstraintStreamTest extends AbstractConstraintStreamTest imple
     @Override
     @TestTemplate
     public void reward_negative() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 1, 2);
 
         String constraintName = "myConstraint";
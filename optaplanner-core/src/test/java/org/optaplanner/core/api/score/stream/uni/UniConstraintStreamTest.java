@@ -26,6 +26,8 @@ import static org.optaplanner.core.api.score.stream.ConstraintCollectors.min;
 import static org.optaplanner.core.api.score.stream.ConstraintCollectors.toSet;
 import static org.optaplanner.core.api.score.stream.Joiners.equal;
 import static org.optaplanner.core.api.score.stream.Joiners.filtering;
+import static org.optaplanner.core.api.score.stream.Joiners.lessThan;
+import static org.optaplanner.core.api.score.stream.Joiners.overlapping;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -311,6 +313,103 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
                 assertMatch(entity3, entity3));
     }
 
+    @TestTemplate
+    public void join_2Comparison() {
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
+        TestdataLavishEntity entity1 = new TestdataLavishEntity("MyEntity 1", solution.getFirstEntityGroup(),
+                solution.getFirstValue());
+        entity1.setIntegerProperty(2);
+        entity1.setLongProperty(2L);
+        solution.getEntityList().add(entity1);
+        TestdataLavishEntity entity2 = new TestdataLavishEntity("MyEntity 2", solution.getFirstEntityGroup(),
+                solution.getFirstValue());
+        entity2.setIntegerProperty(3);
+        entity2.setLongProperty(1L);
+        solution.getEntityList().add(entity2);
+        TestdataLavishEntity entity3 = new TestdataLavishEntity("MyEntity 3", solution.getFirstEntityGroup(),
+                solution.getFirstValue());
+        entity3.setIntegerProperty(4);
+        entity3.setLongProperty(3L);
+        solution.getEntityList().add(entity3);
+
+        InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
+            return factory.from(TestdataLavishEntity.class)
+                    .join(TestdataLavishEntity.class,
+                            lessThan(TestdataLavishEntity::getIntegerProperty),
+                            lessThan(TestdataLavishEntity::getLongProperty))
+                    .penalize(TEST_CONSTRAINT_NAME, SimpleScore.ONE);
+        });
+
+        // From scratch
+        scoreDirector.setWorkingSolution(solution);
+        assertScore(scoreDirector,
+                assertMatch(solution.getFirstEntity(), entity1),
+                assertMatch(solution.getFirstEntity(), entity3),
+                assertMatch(entity1, entity3),
+                assertMatch(entity2, entity3));
+
+        // Incremental
+        scoreDirector.beforeProblemPropertyChanged(entity2);
+        entity2.setLongProperty(4L);
+        scoreDirector.afterProblemPropertyChanged(entity2);
+        assertScore(scoreDirector,
+                assertMatch(solution.getFirstEntity(), entity1),
+                assertMatch(solution.getFirstEntity(), entity2),
+                assertMatch(solution.getFirstEntity(), entity3),
+                assertMatch(entity1, entity2),
+                assertMatch(entity1, entity3));
+    }
+
+    @TestTemplate
+    public void join_overlapping() {
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
+        TestdataLavishEntity entity1 = new TestdataLavishEntity("MyEntity 1", solution.getFirstEntityGroup(),
+                solution.getFirstValue());
+        entity1.setIntegerProperty(1);
+        entity1.setLongProperty(3L);
+        solution.getEntityList().add(entity1);
+        TestdataLavishEntity entity2 = new TestdataLavishEntity("MyEntity 2", solution.getFirstEntityGroup(),
+                solution.getFirstValue());
+        entity2.setIntegerProperty(2);
+        entity2.setLongProperty(4L);
+        solution.getEntityList().add(entity2);
+        TestdataLavishEntity entity3 = new TestdataLavishEntity("MyEntity 3", solution.getFirstEntityGroup(),
+                solution.getFirstValue());
+        entity3.setIntegerProperty(3);
+        entity3.setLongProperty(5L);
+        solution.getEntityList().add(entity3);
+
+        InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
+            return factory.from(TestdataLavishEntity.class)
+                    .join(TestdataLavishEntity.class,
+                            overlapping(entity -> entity.getIntegerProperty().longValue(),
+                                    TestdataLavishEntity::getLongProperty))
+                    .penalize(TEST_CONSTRAINT_NAME, SimpleScore.ONE);
+        });
+
+        // From scratch
+        scoreDirector.setWorkingSolution(solution);
+        assertScore(scoreDirector,
+                assertMatch(entity1, entity1),
+                assertMatch(entity1, entity2),
+                assertMatch(entity2, entity1),
+                assertMatch(entity2, entity2),
+                assertMatch(entity2, entity3),
+                assertMatch(entity3, entity2),
+                assertMatch(entity3, entity3));
+
+        // Incremental
+        scoreDirector.beforeProblemPropertyChanged(entity3);
+        entity3.setIntegerProperty(4);
+        scoreDirector.afterProblemPropertyChanged(entity3);
+        assertScore(scoreDirector,
+                assertMatch(entity1, entity1),
+                assertMatch(entity1, entity2),
+                assertMatch(entity2, entity1),
+                assertMatch(entity2, entity2),
+                assertMatch(entity3, entity3));
+    }
+
     // ************************************************************************
     // If (not) exists
     // ************************************************************************
@@ -318,7 +417,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void ifExists_unknownClass() {
-        assumeDrools();
         assertThatThrownBy(() -> buildScoreDirector(factory -> {
             return factory.from(TestdataLavishValueGroup.class)
                     .ifExists(Integer.class)
@@ -331,7 +429,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void ifExists_0Joiner0Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 1, 1);
         TestdataLavishValueGroup valueGroup = new TestdataLavishValueGroup("MyValueGroup");
         solution.getValueGroupList().add(valueGroup);
@@ -362,7 +459,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void ifExists_0Join1Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -398,7 +494,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void ifExists_1Join0Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -433,7 +528,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void ifExists_1Join1Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -468,7 +562,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
 
     @TestTemplate
     public void ifExistsOther_1Join0Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -502,7 +595,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void ifNotExists_unknownClass() {
-        assumeDrools();
         assertThatThrownBy(() -> buildScoreDirector(factory -> {
             return factory.from(TestdataLavishValueGroup.class)
                     .ifNotExists(Integer.class)
@@ -515,7 +607,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void ifNotExists_0Joiner0Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 1, 1);
         TestdataLavishValueGroup valueGroup = new TestdataLavishValueGroup("MyValueGroup");
         solution.getValueGroupList().add(valueGroup);
@@ -542,7 +633,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void ifNotExists_0Join1Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -574,7 +664,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void ifNotExists_1Join0Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -606,7 +695,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void ifNotExists_1Join1Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -641,7 +729,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
 
     @TestTemplate
     public void ifNotExistsOther_1Join0Filter() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 1);
         TestdataLavishEntityGroup entityGroup = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup);
@@ -746,7 +833,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
 
     @TestTemplate
     public void groupBy_1Mapping0Collect_filtered() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 7);
         TestdataLavishEntityGroup entityGroup1 = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup1);
@@ -771,7 +857,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
 
     @TestTemplate
     public void groupBy_1Mapping1Collect_filtered() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 7);
         TestdataLavishEntityGroup entityGroup1 = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup1);
@@ -798,7 +883,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
 
     @TestTemplate
     public void groupBy_joinedAndFiltered() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 7);
         TestdataLavishEntityGroup entityGroup1 = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup1);
@@ -827,7 +911,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_1Mapping0Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 7);
         TestdataLavishEntityGroup entityGroup1 = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup1);
@@ -863,7 +946,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_1Mapping1Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 2, 3);
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
             return factory.from(TestdataLavishEntity.class)
@@ -891,7 +973,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_1Mapping2Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 2, 3);
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
             return factory.from(TestdataLavishEntity.class)
@@ -923,7 +1004,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_1Mapping3Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 2, 3);
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
             return factory.from(TestdataLavishEntity.class)
@@ -956,7 +1036,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_0Mapping1Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 7);
         TestdataLavishEntityGroup entityGroup1 = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup1);
@@ -967,9 +1046,12 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
         TestdataLavishEntity entity3 = new TestdataLavishEntity("MyEntity 3", solution.getFirstEntityGroup(),
                 solution.getFirstValue());
         solution.getEntityList().add(entity3);
-        // Insert the same entity twice, make sure it doesn't matter.
-        // This will exercise code in Drools that removes duplicates.
-        solution.getEntityList().add(entity3);
+        if (constraintStreamImplType == ConstraintStreamImplType.DROOLS) {
+            // Insert the same entity twice, make sure it doesn't matter.
+            // This will exercise code in Drools that removes duplicates.
+            // Bavet fails fast on a duplicate insert instead, see insertDuplicateFact().
+            solution.getEntityList().add(entity3);
+        }
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
             return factory.from(TestdataLavishEntity.class)
@@ -991,7 +1073,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_0Mapping2Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 2, 3);
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
             return factory.from(TestdataLavishEntity.class)
@@ -1016,7 +1097,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_0Mapping3Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 2, 3);
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
             return factory.from(TestdataLavishEntity.class)
@@ -1049,7 +1129,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_0Mapping4Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 2, 3);
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
             return factory.from(TestdataLavishEntity.class)
@@ -1121,7 +1200,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_2Mapping0Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 7);
         TestdataLavishEntityGroup entityGroup1 = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup1);
@@ -1178,7 +1256,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_2Mapping1Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 1, 7);
         TestdataLavishEntityGroup entityGroup1 = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup1);
@@ -1216,7 +1293,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_2Mapping2Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(1, 1, 1, 7);
         TestdataLavishEntityGroup entityGroup1 = new TestdataLavishEntityGroup("MyEntityGroup");
         solution.getEntityGroupList().add(entityGroup1);
@@ -1254,7 +1330,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_3Mapping0Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 3, 2, 5);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -1298,7 +1373,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_3Mapping1Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 3, 2, 5);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -1342,7 +1416,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
     @Override
     @TestTemplate
     public void groupBy_4Mapping0Collector() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 3, 2, 5);
 
         InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
@@ -1765,6 +1838,22 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
         assertThat(oneWeightMonitorCount.get()).isEqualTo(1);
     }
 
+    @TestTemplate
+    public void insertDuplicateFact() {
+        // Unlike Drools, Bavet doesn't remove a fact that is inserted twice
+        assumeBavet();
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 1, 7);
+        solution.getEntityList().add(solution.getFirstEntity());
+
+        InnerScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector(factory -> {
+            return factory.from(TestdataLavishEntity.class)
+                    .groupBy(count())
+                    .penalize(TEST_CONSTRAINT_NAME, SimpleScore.ONE, (count) -> count);
+        });
+
+        assertThatIllegalStateException().isThrownBy(() -> scoreDirector.setWorkingSolution(solution));
+    }
+
     @TestTemplate
     public void nodeSharing() {
         assumeBavet();
@@ -1830,7 +1919,6 @@ public class UniConstraintStreamTest extends AbstractConstraintStreamTest implem
 
     @TestTemplate
     public void reuseGroupedStream() {
-        assumeDrools();
         TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 3, 2);
         TestdataLavishEntity entity1 = solution.getEntityList().get(0);
         TestdataLavishEntityGroup entityGroup1 = solution.getFirstEntityGroup();
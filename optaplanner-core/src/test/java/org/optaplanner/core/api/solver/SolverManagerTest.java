@@ -24,6 +24,7 @@ import static org.optaplanner.core.api.solver.SolverStatus.SOLVING_ACTIVE;
 import static org.optaplanner.core.api.solver.SolverStatus.SOLVING_SCHEDULED;
 import static org.optaplanner.core.impl.testdata.util.PlannerAssert.assertSolutionInitialized;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -194,6 +195,50 @@ public class SolverManagerTest {
         solverManager.close();
     }
 
+    @Test
+    @Timeout(60)
+    public void exceptionInBestSolutionConsumer() {
+        SolverConfig solverConfig = PlannerTestUtils.buildSolverConfig(TestdataSolution.class, TestdataEntity.class)
+                .withPhases(new ConstructionHeuristicPhaseConfig());
+        SolverManager<TestdataSolution, Long> solverManager = SolverManager.create(
+                solverConfig, new SolverManagerConfig().withParallelSolverCount("1"));
+
+        AtomicInteger exceptionCount = new AtomicInteger();
+        SolverJob<TestdataSolution, Long> solverJob1 = solverManager.solveAndListen(1L,
+                problemId -> PlannerTestUtils.generateTestdataSolution("s1"),
+                bestSolution -> {
+                    throw new IllegalStateException("exceptionInBestSolutionConsumer");
+                }, (problemId, throwable) -> exceptionCount.incrementAndGet());
+        assertThatThrownBy(solverJob1::getFinalBestSolution)
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("exceptionInBestSolutionConsumer");
+        assertThat(exceptionCount.get()).isEqualTo(1);
+        assertThat(solverManager.getSolverStatus(1L)).isEqualTo(NOT_SOLVING);
+        assertThat(solverJob1.getSolverStatus()).isEqualTo(NOT_SOLVING);
+        solverManager.close();
+    }
+
+    @Test
+    @Timeout(60)
+    public void throttlingDelay() throws ExecutionException, InterruptedException {
+        SolverConfig solverConfig = PlannerTestUtils.buildSolverConfig(TestdataSolution.class, TestdataEntity.class)
+                .withPhases(new ConstructionHeuristicPhaseConfig());
+        // Far longer than the timeout, so the solver job must not wait for it
+        SolverManager<TestdataSolution, Long> solverManager = SolverManager.create(solverConfig,
+                new SolverManagerConfig().withParallelSolverCount("1").withThrottlingDelay(Duration.ofHours(1L)));
+
+        List<TestdataSolution> consumedBestSolutions = Collections.synchronizedList(new ArrayList<>());
+        SolverJob<TestdataSolution, Long> solverJob1 = solverManager.solveAndListen(1L,
+                problemId -> PlannerTestUtils.generateTestdataSolution("s1", 10),
+                consumedBestSolutions::add);
+        TestdataSolution finalBestSolution = solverJob1.getFinalBestSolution();
+        assertSolutionInitialized(finalBestSolution);
+        // The first best solution is consumed immediately, the others are throttled until the final one is flushed
+        assertThat(consumedBestSolutions).hasSizeBetween(1, 2);
+        assertSolutionInitialized(consumedBestSolutions.get(consumedBestSolutions.size() - 1));
+        solverManager.close();
+    }
+
     @Test
     @Timeout(60)
     public void solveGenerics() throws ExecutionException, InterruptedException {
@@ -214,7 +259,6 @@ public class SolverManagerTest {
         solverManager.close();
     }
 
-    @Disabled("Skip ahead not yet supported")
     @Test
     @Timeout(60)
     public void skipAhead() throws ExecutionException, InterruptedException {
@@ -261,18 +305,15 @@ public class SolverManagerTest {
         SolverJob<TestdataSolution, Long> solverJob1 = solverManager.solveAndListen(1L,
                 problemId -> PlannerTestUtils.generateTestdataSolution("s1", 4),
                 bestSolution -> {
+                    boolean isFirstReceivedSolution = bestSolutionCount.incrementAndGet() == 1;
                     if (bestSolution.getEntityList().get(1).getValue() == null) {
-                        // The problem itself causes a best solution event. TODO Do we really want that behavior?
-                        return;
-                    }
-                    bestSolutionCount.incrementAndGet();
-                    if (bestSolution.getEntityList().get(2).getValue() == null) {
+                        // Blocks the consumer thread, while the solver thread continues
                         try {
                             latch.await();
                         } catch (InterruptedException e) {
                             fail("Latch failed.");
                         }
-                    } else if (bestSolution.getEntityList().get(3).getValue() == null) {
+                    } else if (bestSolution.getEntityList().get(2).getValue() == null && !isFirstReceivedSolution) {
                         fail("No skip ahead occurred: both e2 and e3 are null in a best solution event.");
                     }
                 },
@@ -468,9 +509,12 @@ public class SolverManagerTest {
 
     private void assertConsumedSolutions(Map<Integer, List<TestdataSolution>> consumedSolutions) {
         for (List<TestdataSolution> consumedSolution : consumedSolutions.values()) {
-            assertThat(consumedSolution).hasSize(2);
-            assertConsumedFirstBestSolution(consumedSolution.get(0));
-            assertConsumedFinalBestSolution(consumedSolution.get(1));
+            // The first best solution is skipped if the second one arrives before it's consumed
+            assertThat(consumedSolution).hasSizeBetween(1, 2);
+            if (consumedSolution.size() == 2) {
+                assertConsumedFirstBestSolution(consumedSolution.get(0));
+            }
+            assertConsumedFinalBestSolution(consumedSolution.get(consumedSolution.size() - 1));
         }
     }
 
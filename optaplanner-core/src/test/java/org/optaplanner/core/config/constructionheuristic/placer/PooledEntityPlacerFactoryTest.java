@@ -61,6 +61,6 @@ public class PooledEntityPlacerFactoryTest {
             buildHeuristicConfigPolicy(SolutionDescriptor<TestdataSolution> solutionDescriptor) {
         InnerScoreDirectorFactory<TestdataSolution, SimpleScore> scoreDirectorFactory = mock(InnerScoreDirectorFactory.class);
         when(scoreDirectorFactory.getSolutionDescriptor()).thenReturn(solutionDescriptor);
-        return new HeuristicConfigPolicy<>(EnvironmentMode.REPRODUCIBLE, null, null, null, scoreDirectorFactory);
+        return new HeuristicConfigPolicy<>(EnvironmentMode.REPRODUCIBLE, null, null, null, null, scoreDirectorFactory);
     }
 }
@@ -25,6 +25,7 @@ import java.util.stream.IntStream;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
 import org.optaplanner.core.config.solver.testutil.MockThreadFactory;
 import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
 import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
@@ -58,6 +59,21 @@ public class SolverConfigMultiThreadedTest {
         assertThat(solution.getScore().isSolutionInitialized()).isTrue();
     }
 
+    @Test
+    @Timeout(5)
+    public void solvingWithSpeculativeStepsFinishes() {
+        SolverConfig solverConfig = PlannerTestUtils.buildSolverConfig(TestdataSolution.class,
+                TestdataEntity.class);
+        solverConfig.setMoveThreadCount("2");
+        ((LocalSearchPhaseConfig) solverConfig.getPhaseConfigList().get(1)).setSpeculativeStepCountLimit(3);
+
+        TestdataSolution solution = createTestSolution(10, 5);
+
+        solution = PlannerTestUtils.solve(solverConfig, solution);
+        assertThat(solution).isNotNull();
+        assertThat(solution.getScore().isSolutionInitialized()).isTrue();
+    }
+
     private TestdataSolution createTestSolution(int entityCount, int valueCount) {
         TestdataSolution testdataSolution = new TestdataSolution();
 
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.common.nearby;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class KdTreeTest {
+
+    @Test
+    void findNearest() {
+        KdTree kdTree = new KdTree(new double[][] {
+                { 0.0, 0.0 },
+                { 10.0, 0.0 },
+                { 1.0, 1.0 },
+                { 0.0, 10.0 },
+                { 2.0, 0.0 },
+                { 9.0, 9.0 } });
+        assertThat(sorted(kdTree.findNearest(new double[] { 0.0, 0.0 }, 3))).containsExactly(0, 2, 4);
+        assertThat(sorted(kdTree.findNearest(new double[] { 10.0, 10.0 }, 1))).containsExactly(5);
+        assertThat(sorted(kdTree.findNearest(new double[] { 10.0, 10.0 }, 3))).containsExactly(1, 3, 5);
+        assertThat(kdTree.findNearest(new double[] { 0.0, 0.0 }, 0)).isEmpty();
+        assertThat(sorted(kdTree.findNearest(new double[] { 0.0, 0.0 }, 6))).containsExactly(0, 1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void findNearestWithSameDistance() {
+        KdTree kdTree = new KdTree(new double[][] {
+                { 1.0 },
+                { -1.0 },
+                { 1.0 },
+                { 0.0 },
+                { -1.0 } });
+        // Points at the same distance are ordered by their index
+        assertThat(sorted(kdTree.findNearest(new double[] { 0.0 }, 2))).containsExactly(0, 3);
+        assertThat(sorted(kdTree.findNearest(new double[] { 0.0 }, 4))).containsExactly(0, 1, 2, 3);
+    }
+
+    private static int[] sorted(int[] indexes) {
+        Arrays.sort(indexes);
+        return indexes;
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.common.nearby;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.optaplanner.core.api.domain.common.DomainAccessType;
+import org.optaplanner.core.impl.testdata.domain.TestdataObject;
+
+class NearbyDistanceMatrixCacheTest {
+
+    @Test
+    void storeAndLoad(@TempDir File directory) {
+        final CacheTestdataObject a = new CacheTestdataObject("a", 0, new double[] { 0.0, 4.0, 2.0, 6.0 });
+        final CacheTestdataObject b = new CacheTestdataObject("b", 1, new double[] { 4.0, 0.0, 5.0, 10.0 });
+        final CacheTestdataObject c = new CacheTestdataObject("c", 2, new double[] { 2.0, 5.0, 0.0, 7.0 });
+        final CacheTestdataObject d = new CacheTestdataObject("d", 3, new double[] { 6.0, 10.0, 7.0, 0.0 });
+        List<CacheTestdataObject> entityList = Arrays.asList(a, b, c, d);
+        NearbyDistanceMeter<CacheTestdataObject, CacheTestdataObject> meter =
+                (origin, destination) -> origin.distances[destination.index];
+        NearbyDistanceMatrixCache cache = new NearbyDistanceMatrixCache(directory);
+        String fingerprint = NearbyDistanceMatrixCache.fingerprint(meter, entityList, entityList, 3,
+                DomainAccessType.REFLECTION);
+
+        NearbyDistanceMatrix<CacheTestdataObject, CacheTestdataObject> storedMatrix =
+                new NearbyDistanceMatrix<>(meter, 4, origin -> entityList.iterator(), origin -> 3);
+        assertThat(cache.load(storedMatrix, fingerprint, entityList, entityList, 3)).isFalse();
+        entityList.forEach(storedMatrix::addAllDestinations);
+        cache.store(storedMatrix, fingerprint, entityList, entityList, 3);
+
+        NearbyDistanceMeter<CacheTestdataObject, CacheTestdataObject> failingMeter = (origin, destination) -> {
+            throw new IllegalStateException("The distances should be loaded from the cache.");
+        };
+        NearbyDistanceMatrix<CacheTestdataObject, CacheTestdataObject> loadedMatrix =
+                new NearbyDistanceMatrix<>(failingMeter, 4, origin -> entityList.iterator(), origin -> 3);
+        assertThat(cache.load(loadedMatrix, fingerprint, entityList, entityList, 3)).isTrue();
+        assertThat(loadedMatrix.getDestination(a, 0)).isSameAs(a);
+        assertThat(loadedMatrix.getDestination(a, 1)).isSameAs(c);
+        assertThat(loadedMatrix.getDestination(a, 2)).isSameAs(b);
+        assertThat(loadedMatrix.getDestination(b, 1)).isSameAs(a);
+        assertThat(loadedMatrix.getDestination(b, 2)).isSameAs(c);
+        assertThat(loadedMatrix.getDestination(d, 1)).isSameAs(a);
+        assertThat(loadedMatrix.getDestination(d, 2)).isSameAs(c);
+    }
+
+    @Test
+    void loadIgnoresDestinationIndexOutOfBounds(@TempDir File directory) throws IOException {
+        final CacheTestdataObject a = new CacheTestdataObject("a", 0, new double[] { 0.0, 4.0 });
+        final CacheTestdataObject b = new CacheTestdataObject("b", 1, new double[] { 4.0, 0.0 });
+        List<CacheTestdataObject> entityList = Arrays.asList(a, b);
+        NearbyDistanceMeter<CacheTestdataObject, CacheTestdataObject> meter =
+                (origin, destination) -> origin.distances[destination.index];
+        NearbyDistanceMatrixCache cache = new NearbyDistanceMatrixCache(directory);
+        String fingerprint = NearbyDistanceMatrixCache.fingerprint(meter, entityList, entityList, 2,
+                DomainAccessType.REFLECTION);
+        NearbyDistanceMatrix<CacheTestdataObject, CacheTestdataObject> storedMatrix =
+                new NearbyDistanceMatrix<>(meter, 2, origin -> entityList.iterator(), origin -> 2);
+        entityList.forEach(storedMatrix::addAllDestinations);
+        cache.store(storedMatrix, fingerprint, entityList, entityList, 2);
+
+        File[] files = directory.listFiles();
+        assertThat(files).hasSize(1);
+        try (RandomAccessFile file = new RandomAccessFile(files[0], "rw")) {
+            // Overwrite the first destination index after the header
+            file.seek(3 * Integer.BYTES);
+            file.writeInt(entityList.size());
+        }
+        NearbyDistanceMatrix<CacheTestdataObject, CacheTestdataObject> loadedMatrix =
+                new NearbyDistanceMatrix<>(meter, 2, origin -> entityList.iterator(), origin -> 2);
+        assertThat(cache.load(loadedMatrix, fingerprint, entityList, entityList, 2)).isFalse();
+    }
+
+    @Test
+    void storeFailureDeletesTemporaryFile(@TempDir File directory) {
+        final CacheTestdataObject a = new CacheTestdataObject("a", 0, new double[] { 0.0, 4.0 });
+        final CacheTestdataObject b = new CacheTestdataObject("b", 1, new double[] { 4.0, 0.0 });
+        List<CacheTestdataObject> entityList = Arrays.asList(a, b);
+        NearbyDistanceMeter<CacheTestdataObject, CacheTestdataObject> meter =
+                (origin, destination) -> origin.distances[destination.index];
+        NearbyDistanceMatrixCache cache = new NearbyDistanceMatrixCache(directory);
+        String fingerprint = NearbyDistanceMatrixCache.fingerprint(meter, entityList, entityList, 2,
+                DomainAccessType.REFLECTION);
+        NearbyDistanceMatrix<CacheTestdataObject, CacheTestdataObject> storedMatrix =
+                new NearbyDistanceMatrix<>(meter, 2, origin -> entityList.iterator(), origin -> 2);
+        // The destinations of b are missing
+        storedMatrix.addAllDestinations(a);
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> cache.store(storedMatrix, fingerprint, entityList, entityList, 2));
+        assertThat(directory.list()).isEmpty();
+    }
+
+    @Test
+    void storeIgnoresUnwritableDirectory(@TempDir File directory) throws IOException {
+        final CacheTestdataObject a = new CacheTestdataObject("a", 0, new double[] { 0.0, 4.0 });
+        final CacheTestdataObject b = new CacheTestdataObject("b", 1, new double[] { 4.0, 0.0 });
+        List<CacheTestdataObject> entityList = Arrays.asList(a, b);
+        NearbyDistanceMeter<CacheTestdataObject, CacheTestdataObject> meter =
+                (origin, destination) -> origin.distances[destination.index];
+        // A cache directory inside a regular file can't be created, not even by a privileged user
+        File file = new File(directory, "file");
+        assertThat(file.createNewFile()).isTrue();
+        NearbyDistanceMatrixCache cache = new NearbyDistanceMatrixCache(new File(file, "cache"));
+        String fingerprint = NearbyDistanceMatrixCache.fingerprint(meter, entityList, entityList, 2,
+                DomainAccessType.REFLECTION);
+        NearbyDistanceMatrix<CacheTestdataObject, CacheTestdataObject> storedMatrix =
+                new NearbyDistanceMatrix<>(meter, 2, origin -> entityList.iterator(), origin -> 2);
+        entityList.forEach(storedMatrix::addAllDestinations);
+
+        // The cache is only an optimization, so it doesn't fail the solver
+        cache.store(storedMatrix, fingerprint, entityList, entityList, 2);
+        NearbyDistanceMatrix<CacheTestdataObject, CacheTestdataObject> loadedMatrix =
+                new NearbyDistanceMatrix<>(meter, 2, origin -> entityList.iterator(), origin -> 2);
+        assertThat(cache.load(loadedMatrix, fingerprint, entityList, entityList, 2)).isFalse();
+        assertThat(directory.list()).containsExactly("file");
+    }
+
+    @Test
+    void fingerprintDependsOnPlanningIds() {
+        final CacheTestdataObject a = new CacheTestdataObject("a", 0, new double[] {});
+        final CacheTestdataObject b = new CacheTestdataObject("b", 1, new double[] {});
+        final CacheTestdataObject otherB = new CacheTestdataObject("b", 1, new double[] {});
+        final CacheTestdataObject c = new CacheTestdataObject("c", 1, new double[] {});
+        NearbyDistanceMeter<CacheTestdataObject, CacheTestdataObject> meter =
+                (origin, destination) -> origin.distances[destination.index];
+
+        String fingerprint = NearbyDistanceMatrixCache.fingerprint(meter, Arrays.asList(a, b), Arrays.asList(a, b), 2,
+                DomainAccessType.REFLECTION);
+        assertThat(NearbyDistanceMatrixCache.fingerprint(meter, Arrays.asList(a, otherB), Arrays.asList(a, otherB), 2,
+                DomainAccessType.REFLECTION)).isEqualTo(fingerprint);
+        assertThat(NearbyDistanceMatrixCache.fingerprint(meter, Arrays.asList(a, c), Arrays.asList(a, c), 2,
+                DomainAccessType.REFLECTION)).isNotEqualTo(fingerprint);
+        assertThat(NearbyDistanceMatrixCache.fingerprint(meter, Arrays.asList(b, a), Arrays.asList(b, a), 2,
+                DomainAccessType.REFLECTION)).isNotEqualTo(fingerprint);
+        assertThat(NearbyDistanceMatrixCache.fingerprint(meter, Arrays.asList(a, b), Arrays.asList(a, b), 1,
+                DomainAccessType.REFLECTION)).isNotEqualTo(fingerprint);
+    }
+
+    private static class CacheTestdataObject extends TestdataObject {
+        private final int index;
+        private final double[] distances;
+
+        public CacheTestdataObject(String code, int index, double[] distances) {
+            super(code);
+            this.index = index;
+            this.distances = distances;
+        }
+    }
+}
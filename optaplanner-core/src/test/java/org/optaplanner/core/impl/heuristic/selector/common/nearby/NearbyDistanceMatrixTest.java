@@ -18,8 +18,13 @@ package org.optaplanner.core.impl.heuristic.selector.common.nearby;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 import org.optaplanner.core.impl.testdata.domain.TestdataObject;
@@ -96,6 +101,30 @@ class NearbyDistanceMatrixTest {
         assertThat(nearbyDistanceMatrix.getDestination(d, 3)).isSameAs(c);
     }
 
+    @Test
+    void addAllDestinationsInParallel() {
+        final MatrixTestdataObject a = new MatrixTestdataObject("a", 0, new double[] { 0.0, 4.0, 2.0, 6.0 });
+        final MatrixTestdataObject b = new MatrixTestdataObject("b", 1, new double[] { 4.0, 0.0, 5.0, 10.0 });
+        final MatrixTestdataObject c = new MatrixTestdataObject("c", 2, new double[] { 2.0, 5.0, 0.0, 7.0 });
+        final MatrixTestdataObject d = new MatrixTestdataObject("d", 3, new double[] { 6.0, 10.0, 7.0, 0.0 });
+        List<Object> entityList = Arrays.asList(a, b, c, d);
+        NearbyDistanceMeter<MatrixTestdataObject, MatrixTestdataObject> meter = (origin,
+                destination) -> origin.distances[destination.index];
+
+        NearbyDistanceMatrix nearbyDistanceMatrix =
+                new NearbyDistanceMatrix(meter, 4, origin -> entityList.iterator(), origin -> 4);
+        nearbyDistanceMatrix.addAllDestinations(entityList, Executors.defaultThreadFactory(), 3);
+
+        assertThat(nearbyDistanceMatrix.getDestination(a, 1)).isSameAs(c);
+        assertThat(nearbyDistanceMatrix.getDestination(a, 3)).isSameAs(d);
+        assertThat(nearbyDistanceMatrix.getDestination(b, 1)).isSameAs(a);
+        assertThat(nearbyDistanceMatrix.getDestination(b, 2)).isSameAs(c);
+        assertThat(nearbyDistanceMatrix.getDestination(c, 1)).isSameAs(a);
+        assertThat(nearbyDistanceMatrix.getDestination(c, 2)).isSameAs(b);
+        assertThat(nearbyDistanceMatrix.getDestination(d, 2)).isSameAs(c);
+        assertThat(nearbyDistanceMatrix.getDestination(d, 3)).isSameAs(b);
+    }
+
     @Test
     void missingItem_isComputedOnDemand() {
         final MatrixTestdataObject a = new MatrixTestdataObject("a", 0, new double[] { 0.0, 1.0 });
@@ -119,6 +148,118 @@ class NearbyDistanceMatrixTest {
         assertThat(nearbyDistanceMatrix.getDestination(b, 1)).isSameAs(destination2);
     }
 
+    @Test
+    void destinationBeyondSizeMaximum_isComputedOnDemand() {
+        final MatrixTestdataObject a = new MatrixTestdataObject("a", 0, new double[] { 0.0, 4.0, 2.0, 6.0 });
+        final MatrixTestdataObject b = new MatrixTestdataObject("b", 1, new double[] { 4.0, 0.0, 5.0, 10.0 });
+        final MatrixTestdataObject c = new MatrixTestdataObject("c", 2, new double[] { 2.0, 5.0, 0.0, 7.0 });
+        final MatrixTestdataObject d = new MatrixTestdataObject("d", 3, new double[] { 6.0, 10.0, 7.0, 0.0 });
+        List<Object> entityList = Arrays.asList(a, b, c, d);
+        NearbyDistanceMeter<MatrixTestdataObject, MatrixTestdataObject> meter = (origin,
+                destination) -> origin.distances[destination.index];
+
+        // Only keep the 2 nearest destinations
+        NearbyDistanceMatrix nearbyDistanceMatrix =
+                new NearbyDistanceMatrix(meter, 4, origin -> entityList.iterator(), origin -> 2);
+        nearbyDistanceMatrix.addAllDestinations(a);
+        nearbyDistanceMatrix.addAllDestinations(d);
+
+        assertThat(nearbyDistanceMatrix.getDestination(a, 0)).isSameAs(a);
+        assertThat(nearbyDistanceMatrix.getDestination(a, 1)).isSameAs(c);
+        assertThat(nearbyDistanceMatrix.getDestination(a, 2)).isSameAs(b);
+        assertThat(nearbyDistanceMatrix.getDestination(a, 3)).isSameAs(d);
+        assertThat(nearbyDistanceMatrix.getDestination(d, 0)).isSameAs(d);
+        assertThat(nearbyDistanceMatrix.getDestination(d, 1)).isSameAs(a);
+        assertThat(nearbyDistanceMatrix.getDestination(d, 2)).isSameAs(c);
+        assertThat(nearbyDistanceMatrix.getDestination(d, 3)).isSameAs(b);
+    }
+
+    @Test
+    void addAllDestinationsIndexedByCoordinates() {
+        List<TestdataObject> entityList = new ArrayList<>();
+        Map<TestdataObject, double[]> coordinatesMap = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            TestdataObject entity = new TestdataObject("e" + i);
+            entityList.add(entity);
+            coordinatesMap.put(entity, new double[] { i, 0.0 });
+        }
+        TestdataObject origin = entityList.get(0);
+        // Like a road distance: e5 is farther than e1 by coordinates, but nearer by nearby distance
+        TestdataObject shortcut = entityList.get(5);
+        CoordinateNearbyDistanceMeter<TestdataObject, TestdataObject> meter =
+                new CoordinateNearbyDistanceMeter<TestdataObject, TestdataObject>() {
+                    @Override
+                    public double getNearbyDistance(TestdataObject origin, TestdataObject destination) {
+                        double distance = Math.abs(coordinatesMap.get(origin)[0] - coordinatesMap.get(destination)[0]);
+                        if (distance >= 8.0) {
+                            throw new IllegalStateException("The destination (" + destination
+                                    + ") is too far by coordinates to be measured.");
+                        }
+                        return destination == shortcut ? 0.5 : distance;
+                    }
+
+                    @Override
+                    public double[] getOriginCoordinates(TestdataObject origin) {
+                        return coordinatesMap.get(origin);
+                    }
+
+                    @Override
+                    public double[] getDestinationCoordinates(TestdataObject destination) {
+                        return coordinatesMap.get(destination);
+                    }
+                };
+
+        NearbyDistanceMatrix nearbyDistanceMatrix =
+                new NearbyDistanceMatrix(meter, 20, o -> entityList.iterator(), o -> 2);
+        nearbyDistanceMatrix.indexDestinationsByCoordinates(entityList);
+        nearbyDistanceMatrix.addAllDestinations(origin);
+
+        assertThat(nearbyDistanceMatrix.getDestination(origin, 0)).isSameAs(origin);
+        assertThat(nearbyDistanceMatrix.getDestination(origin, 1)).isSameAs(shortcut);
+    }
+
+    @Test
+    void updateAllDestinations() {
+        final TestdataObject a = new TestdataObject("a");
+        final TestdataObject b = new TestdataObject("b");
+        final TestdataObject c = new TestdataObject("c");
+        final TestdataObject d = new TestdataObject("d");
+        Map<TestdataObject, Double> positionMap = new HashMap<>();
+        positionMap.put(a, 0.0);
+        positionMap.put(b, 1.0);
+        positionMap.put(c, 3.0);
+        positionMap.put(d, 2.0);
+        List<Object> entityList = new ArrayList<>(Arrays.asList(a, b, c));
+        NearbyDistanceMeter<TestdataObject, TestdataObject> meter =
+                (origin, destination) -> Math.abs(positionMap.get(origin) - positionMap.get(destination));
+        NearbyDistanceMatrix nearbyDistanceMatrix = new NearbyDistanceMatrix(meter, 3,
+                origin -> entityList.iterator(), origin -> Math.min(2, entityList.size()));
+        entityList.forEach(nearbyDistanceMatrix::addAllDestinations);
+
+        List<Object> previousEntityList = new ArrayList<>(entityList);
+        entityList.add(d);
+        assertThat(nearbyDistanceMatrix.updateAllDestinations(entityList, previousEntityList, entityList,
+                Function.identity())).containsExactly(d);
+        assertThat(nearbyDistanceMatrix.getDestinations(a)).containsExactly(a, b);
+        // The added destination comes after an existing destination with the same distance
+        assertThat(nearbyDistanceMatrix.getDestinations(b)).containsExactly(b, a);
+        assertThat(nearbyDistanceMatrix.getDestinations(c)).containsExactly(c, d);
+        nearbyDistanceMatrix.addAllDestinations(d);
+        assertThat(nearbyDistanceMatrix.getDestinations(d)).containsExactly(d, b);
+
+        previousEntityList = new ArrayList<>(entityList);
+        entityList.remove(b);
+        // The origins that lost a nearest destination are measured again
+        assertThat(nearbyDistanceMatrix.updateAllDestinations(entityList, previousEntityList, entityList,
+                entity -> entity == b ? null : entity)).containsExactly(a, d);
+        assertThat(nearbyDistanceMatrix.getDestinations(b)).isNull();
+        assertThat(nearbyDistanceMatrix.getDestinations(c)).containsExactly(c, d);
+        nearbyDistanceMatrix.addAllDestinations(a);
+        nearbyDistanceMatrix.addAllDestinations(d);
+        assertThat(nearbyDistanceMatrix.getDestinations(a)).containsExactly(a, d);
+        assertThat(nearbyDistanceMatrix.getDestinations(d)).containsExactly(d, c);
+    }
+
     private static class MatrixTestdataObject extends TestdataObject {
         private int index;
         private double[] distances;
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class MoveThreadCountTunerTest {
+
+    private static final long TRIAL_NANOS = TimeUnit.SECONDS.toNanos(1L);
+
+    @Test
+    public void tuneToFastestCount() {
+        MoveThreadCountTuner tuner = new MoveThreadCountTuner("", 4);
+        assertThat(tuner.isTuning()).isTrue();
+        // Warm up
+        assertThat(tuner.getActiveMoveThreadCount()).isEqualTo(4);
+        tuner.stepDecided(TRIAL_NANOS, 1L);
+        assertThat(tuner.getActiveMoveThreadCount()).isEqualTo(4);
+        tuner.stepDecided(TRIAL_NANOS, 300L);
+        assertThat(tuner.getActiveMoveThreadCount()).isEqualTo(2);
+        tuner.stepDecided(TRIAL_NANOS, 400L);
+        assertThat(tuner.getActiveMoveThreadCount()).isEqualTo(1);
+        tuner.stepDecided(TRIAL_NANOS, 200L);
+        assertThat(tuner.getActiveMoveThreadCount()).isEqualTo(0);
+        tuner.stepDecided(TRIAL_NANOS, 100L);
+        assertThat(tuner.isTuning()).isFalse();
+        assertThat(tuner.getActiveMoveThreadCount()).isEqualTo(2);
+        tuner.stepDecided(TRIAL_NANOS, 1000L);
+        assertThat(tuner.getActiveMoveThreadCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void trialSpansMultipleSteps() {
+        MoveThreadCountTuner tuner = new MoveThreadCountTuner("", 1);
+        tuner.stepDecided(TRIAL_NANOS, 1L);
+        assertThat(tuner.getActiveMoveThreadCount()).isEqualTo(1);
+        long stepNanos = TimeUnit.MILLISECONDS.toNanos(10L);
+        for (int i = 0; i < 10; i++) {
+            tuner.stepDecided(stepNanos, 1L);
+        }
+        // The trial isn't over yet
+        assertThat(tuner.getActiveMoveThreadCount()).isEqualTo(1);
+        tuner.stepDecided(TRIAL_NANOS, 1L);
+        assertThat(tuner.getActiveMoveThreadCount()).isEqualTo(0);
+        tuner.stepDecided(TRIAL_NANOS, 100L);
+        assertThat(tuner.isTuning()).isFalse();
+        assertThat(tuner.getActiveMoveThreadCount()).isEqualTo(0);
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.heuristic.move.DummyMove;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+
+public class MoveThreadOperationQueueTest {
+
+    private final ExecutorService solverExecutor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        solverExecutor.shutdownNow();
+        solverExecutor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void addMoveEvaluationRoundRobin() throws InterruptedException {
+        MoveThreadOperationQueue<TestdataSolution> queue = new MoveThreadOperationQueue<>(2, 1, 4);
+        queue.addMoveEvaluation(0, 0, new DummyMove("a0"));
+        queue.addMoveEvaluation(0, 1, new DummyMove("a1"));
+        queue.addMoveEvaluation(0, 2, new DummyMove("a2"));
+        assertMoveIndex(0, queue.take(0));
+        assertMoveIndex(2, queue.take(0));
+        assertMoveIndex(1, queue.take(1));
+    }
+
+    @Test
+    public void cancelMoveEvaluations() throws InterruptedException {
+        MoveThreadOperationQueue<TestdataSolution> queue = new MoveThreadOperationQueue<>(1, 1, 8);
+        queue.addToEveryMoveThread(new SetupOperation<>(null));
+        assertThat(queue.take(0)).isInstanceOf(SetupOperation.class);
+        queue.markSetupDone(0, 0);
+        queue.addMoveEvaluation(0, 0, new DummyMove("a0"));
+        queue.addMoveEvaluation(0, 1, new DummyMove("a1"));
+        queue.cancelMoveEvaluations(0);
+        queue.addApplyStep(new ApplyStepOperation<>(1, new DummyMove("a0"), SimpleScore.ZERO));
+        queue.addMoveEvaluation(1, 0, new DummyMove("b0"));
+        assertThat(queue.take(0)).isInstanceOf(ApplyStepOperation.class);
+        assertMoveIndex(0, queue.take(0));
+    }
+
+    @Test
+    public void addMoveEvaluationBatched() throws InterruptedException {
+        MoveThreadOperationQueue<TestdataSolution> queue = new MoveThreadOperationQueue<>(2, 2, 4);
+        queue.addMoveEvaluation(0, 0, new DummyMove("a0"));
+        queue.addMoveEvaluation(0, 1, new DummyMove("a1"));
+        queue.addMoveEvaluation(0, 2, new DummyMove("a2"));
+        // The batch with moveIndex 2 isn't full, so it's only added when its result is needed
+        queue.ensureMoveEvaluationAdded(1);
+        queue.ensureMoveEvaluationAdded(2);
+        MoveBatchEvaluationOperation<TestdataSolution> batch0 =
+                (MoveBatchEvaluationOperation<TestdataSolution>) queue.take(0);
+        assertThat(batch0.getFirstMoveIndex()).isEqualTo(0);
+        assertThat(batch0.getMoveList()).hasSize(2);
+        MoveBatchEvaluationOperation<TestdataSolution> batch1 =
+                (MoveBatchEvaluationOperation<TestdataSolution>) queue.take(1);
+        assertThat(batch1.getFirstMoveIndex()).isEqualTo(2);
+        assertThat(batch1.getMoveList()).hasSize(1);
+    }
+
+    @Test
+    public void addApplyStepWaitsUntilSetupIsDone() throws Exception {
+        MoveThreadOperationQueue<TestdataSolution> queue = new MoveThreadOperationQueue<>(1, 1, 8);
+        queue.addToEveryMoveThread(new SetupOperation<>(null));
+        queue.take(0);
+        // The move thread might still be reading the solver thread's score director
+        Future<?> addFuture = solverExecutor.submit(() -> {
+            queue.addApplyStep(new ApplyStepOperation<>(1, new DummyMove("a0"), SimpleScore.ZERO));
+            return null;
+        });
+        Thread.sleep(10L);
+        assertThat(addFuture).isNotDone();
+        queue.markSetupDone(0, 0);
+        addFuture.get(1, TimeUnit.SECONDS);
+        assertThat(queue.take(0)).isInstanceOf(ApplyStepOperation.class);
+    }
+
+    @Test
+    public void addApplyStepAfterSetupDuringPhase() throws Exception {
+        MoveThreadOperationQueue<TestdataSolution> queue = new MoveThreadOperationQueue<>(1, 1, 8);
+        // The move threads restart at step 5, for example after a live problem fact change
+        queue.addToEveryMoveThread(new SetupOperation<>(null, 5));
+        queue.take(0);
+        queue.markSetupDone(0, 5);
+        Future<?> addFuture = solverExecutor.submit(() -> {
+            queue.addApplyStep(new ApplyStepOperation<>(6, new DummyMove("a0"), SimpleScore.ZERO));
+            return null;
+        });
+        addFuture.get(1, TimeUnit.SECONDS);
+        assertThat(((ApplyStepOperation<?, ?>) queue.take(0)).getStepIndex()).isEqualTo(6);
+    }
+
+    @Test
+    public void addApplyStepWaitsUntilPreviousStepIsTaken() throws Exception {
+        MoveThreadOperationQueue<TestdataSolution> queue = new MoveThreadOperationQueue<>(2, 1, 8);
+        queue.addToEveryMoveThread(new SetupOperation<>(null));
+        queue.take(0);
+        queue.markSetupDone(0, 0);
+        queue.take(1);
+        queue.markSetupDone(1, 0);
+        queue.addApplyStep(new ApplyStepOperation<>(1, new DummyMove("a0"), SimpleScore.ZERO));
+        queue.take(0);
+        // Move thread 1 hasn't taken step 1 yet
+        Future<?> addFuture = solverExecutor.submit(() -> {
+            queue.addApplyStep(new ApplyStepOperation<>(2, new DummyMove("b0"), SimpleScore.ZERO));
+            return null;
+        });
+        Thread.sleep(10L);
+        assertThat(addFuture).isNotDone();
+        queue.take(1);
+        addFuture.get(1, TimeUnit.SECONDS);
+        assertThat(((ApplyStepOperation<?, ?>) queue.take(1)).getStepIndex()).isEqualTo(2);
+    }
+
+    private void assertMoveIndex(int moveIndex, MoveThreadOperation<TestdataSolution> operation) {
+        assertThat(((MoveEvaluationOperation<TestdataSolution>) operation).getMoveIndex()).isEqualTo(moveIndex);
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.thread.ChildThreadType;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+
+public class MoveThreadPoolTest {
+
+    @Test
+    public void reuseChildScoreDirectorInSync() {
+        InnerScoreDirector<TestdataSolution, SimpleScore> childScoreDirector = mock(InnerScoreDirector.class);
+        InnerScoreDirector<TestdataSolution, SimpleScore> parentScoreDirector =
+                mockParentScoreDirector(childScoreDirector);
+        MoveThreadPool<TestdataSolution> moveThreadPool = new MoveThreadPool<>(1, Executors.defaultThreadFactory());
+        List<MoveThreadRunner<TestdataSolution, ?>> moveThreadRunnerList =
+                Collections.singletonList(mock(MoveThreadRunner.class));
+        runPhase(moveThreadPool, parentScoreDirector, moveThreadRunnerList, childScoreDirector);
+        runPhase(moveThreadPool, parentScoreDirector, moveThreadRunnerList, childScoreDirector);
+        moveThreadPool.close();
+
+        verify(parentScoreDirector, times(1)).createChildThreadScoreDirector(ChildThreadType.MOVE_THREAD);
+        verify(childScoreDirector, never()).setWorkingSolution(any());
+        verify(childScoreDirector).close();
+    }
+
+    @Test
+    public void resyncChildScoreDirectorAfterChange() {
+        InnerScoreDirector<TestdataSolution, SimpleScore> childScoreDirector = mock(InnerScoreDirector.class);
+        InnerScoreDirector<TestdataSolution, SimpleScore> parentScoreDirector =
+                mockParentScoreDirector(childScoreDirector);
+        TestdataSolution clone = new TestdataSolution("clone");
+        when(parentScoreDirector.cloneWorkingSolution()).thenReturn(clone);
+        MoveThreadPool<TestdataSolution> moveThreadPool = new MoveThreadPool<>(1, Executors.defaultThreadFactory());
+        List<MoveThreadRunner<TestdataSolution, ?>> moveThreadRunnerList =
+                Collections.singletonList(mock(MoveThreadRunner.class));
+        runPhase(moveThreadPool, parentScoreDirector, moveThreadRunnerList, childScoreDirector);
+        // For example, a problem fact change in between phases
+        when(parentScoreDirector.getWorkingSolutionRevision()).thenReturn(8L);
+        runPhase(moveThreadPool, parentScoreDirector, moveThreadRunnerList, childScoreDirector);
+        moveThreadPool.close();
+
+        verify(parentScoreDirector, times(1)).createChildThreadScoreDirector(ChildThreadType.MOVE_THREAD);
+        verify(childScoreDirector).setWorkingSolution(clone);
+        verify(childScoreDirector).close();
+    }
+
+    private InnerScoreDirector<TestdataSolution, SimpleScore> mockParentScoreDirector(
+            InnerScoreDirector<TestdataSolution, SimpleScore> childScoreDirector) {
+        InnerScoreDirector<TestdataSolution, SimpleScore> parentScoreDirector = mock(InnerScoreDirector.class);
+        when(parentScoreDirector.getWorkingSolution()).thenReturn(new TestdataSolution("s1"));
+        when(parentScoreDirector.getWorkingSolutionRevision()).thenReturn(7L);
+        when(parentScoreDirector.createChildThreadScoreDirector(ChildThreadType.MOVE_THREAD))
+                .thenReturn(childScoreDirector);
+        return parentScoreDirector;
+    }
+
+    private void runPhase(MoveThreadPool<TestdataSolution> moveThreadPool,
+            InnerScoreDirector<TestdataSolution, SimpleScore> parentScoreDirector,
+            List<MoveThreadRunner<TestdataSolution, ?>> moveThreadRunnerList,
+            InnerScoreDirector<TestdataSolution, SimpleScore> expectedChildScoreDirector) {
+        moveThreadPool.startMoveThreads(parentScoreDirector, moveThreadRunnerList);
+        // Done by the move thread in reality
+        InnerScoreDirector<TestdataSolution, SimpleScore> childScoreDirector =
+                moveThreadPool.acquireChildScoreDirector(0, parentScoreDirector);
+        assertThat(childScoreDirector).isSameAs(expectedChildScoreDirector);
+        moveThreadPool.releaseChildScoreDirector(0, childScoreDirector);
+        moveThreadPool.awaitMoveThreads(parentScoreDirector, parentScoreDirector.getWorkingSolutionRevision(),
+                "", "Test");
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class SpscRingBufferTest {
+
+    private final ExecutorService producerExecutor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        producerExecutor.shutdownNow();
+        producerExecutor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void capacityIsRoundedUpToPowerOfTwo() {
+        assertThat(new SpscRingBuffer<String>(1).getCapacity()).isEqualTo(1);
+        assertThat(new SpscRingBuffer<String>(4).getCapacity()).isEqualTo(4);
+        assertThat(new SpscRingBuffer<String>(5).getCapacity()).isEqualTo(8);
+    }
+
+    @Test
+    public void offerAndPoll() {
+        SpscRingBuffer<String> buffer = new SpscRingBuffer<>(2);
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(buffer.offer("c")).isFalse();
+        assertThat(buffer.poll()).isEqualTo("a");
+        assertThat(buffer.offer("c")).isTrue();
+        assertThat(buffer.poll()).isEqualTo("b");
+        assertThat(buffer.poll()).isEqualTo("c");
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void takeWaitsForProducer() throws InterruptedException {
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(4);
+        int count = 10_000;
+        producerExecutor.submit(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!buffer.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        for (int i = 0; i < count; i++) {
+            assertThat(buffer.take()).isEqualTo(i);
+        }
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.islandsearch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.optaplanner.core.config.islandsearch.IslandSearchPhaseConfig;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+
+class DefaultIslandSearchPhaseFactoryTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "1, 1",
+            "4, 2"
+    })
+    void resolveIslandCountAuto(int availableCpuCount, int expectedResolvedCpuCount) {
+        DefaultIslandSearchPhaseFactory<TestdataSolution> islandSearchPhaseFactory =
+                spy(new DefaultIslandSearchPhaseFactory<TestdataSolution>(new IslandSearchPhaseConfig()));
+        when(islandSearchPhaseFactory.getAvailableProcessors()).thenReturn(availableCpuCount);
+        assertThat(islandSearchPhaseFactory.resolveIslandCount(IslandSearchPhaseConfig.ISLAND_COUNT_AUTO))
+                .isEqualTo(expectedResolvedCpuCount);
+        assertThat(islandSearchPhaseFactory.resolveIslandCount(null))
+                .isEqualTo(expectedResolvedCpuCount);
+    }
+
+    @Test
+    void resolveIslandCount() {
+        DefaultIslandSearchPhaseFactory<TestdataSolution> islandSearchPhaseFactory =
+                new DefaultIslandSearchPhaseFactory<>(new IslandSearchPhaseConfig());
+        assertThat(islandSearchPhaseFactory.resolveIslandCount("3")).isEqualTo(3);
+        assertThatIllegalArgumentException().isThrownBy(() -> islandSearchPhaseFactory.resolveIslandCount("0"));
+    }
+
+    @Test
+    void resolveMillisecondsBetweenMigrations() {
+        DefaultIslandSearchPhaseFactory<TestdataSolution> islandSearchPhaseFactory =
+                new DefaultIslandSearchPhaseFactory<>(new IslandSearchPhaseConfig());
+        assertThat(islandSearchPhaseFactory.resolveMillisecondsBetweenMigrations(null)).isEqualTo(1000L);
+        assertThat(islandSearchPhaseFactory.resolveMillisecondsBetweenMigrations(50L)).isEqualTo(50L);
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> islandSearchPhaseFactory.resolveMillisecondsBetweenMigrations(0L));
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.islandsearch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.islandsearch.IslandSearchPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchType;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.config.solver.testutil.calculator.TestdataDifferentValuesCalculator;
+import org.optaplanner.core.impl.islandsearch.scope.IslandSearchPhaseScope;
+import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.solver.DefaultSolver;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+import org.optaplanner.core.impl.testdata.util.PlannerTestUtils;
+
+public class DefaultIslandSearchPhaseTest {
+
+    @Test
+    @Timeout(5)
+    public void islandCount() {
+        final int islandCount = 3;
+        SolverFactory<TestdataSolution> solverFactory = createSolverFactory(islandCount,
+                new TerminationConfig().withStepCountLimit(1), null, null);
+        DefaultSolver<TestdataSolution> solver = (DefaultSolver<TestdataSolution>) solverFactory.buildSolver();
+        IslandSearchPhase<TestdataSolution> phase = (IslandSearchPhase<TestdataSolution>) solver.getPhaseList()
+                .get(0);
+        phase.addPhaseLifecycleListener(new PhaseLifecycleListenerAdapter<TestdataSolution>() {
+            @Override
+            public void phaseStarted(AbstractPhaseScope<TestdataSolution> phaseScope) {
+                assertThat(((IslandSearchPhaseScope) phaseScope).getIslandCount()).isEqualTo(islandCount);
+            }
+        });
+        TestdataSolution solution = solver.solve(createSolution(10, 3));
+        assertThat(solution.getEntityList()).allMatch(entity -> entity.getValue() != null);
+    }
+
+    @Test
+    @Timeout(5)
+    public void migrateUntilSolverTerminates() {
+        SolverFactory<TestdataSolution> solverFactory = createSolverFactory(2, null,
+                new TerminationConfig().withMillisecondsSpentLimit(200L), 10L);
+        TestdataSolution solution = solverFactory.buildSolver().solve(createSolution(10, 3));
+        assertThat(solution.getEntityList()).allMatch(entity -> entity.getValue() != null);
+        assertThat(solution.getScore()).isNotNull();
+    }
+
+    @Test
+    @Timeout(5)
+    public void migrateFromIslandThatFellBehind() {
+        // Starting from all entities with the same value, every change move to an unused value improves the score.
+        // Late Acceptance (island 0) takes a step per improving move, but Tabu Search (island 1) evaluates
+        // 1000 moves per step, so island 1 falls behind and migrates to the best solution of island 0.
+        SolverConfig solverConfig = PlannerTestUtils.buildSolverConfig(TestdataSolution.class, TestdataEntity.class)
+                .withEasyScoreCalculatorClass(TestdataDifferentValuesCalculator.class)
+                .withTerminationConfig(new TerminationConfig().withMillisecondsSpentLimit(200L));
+        IslandSearchPhaseConfig islandSearchPhaseConfig = new IslandSearchPhaseConfig()
+                .withIslandCount("2")
+                .withMillisecondsBetweenMigrations(10L);
+        islandSearchPhaseConfig.setPhaseConfigList(Arrays.asList(new LocalSearchPhaseConfig()));
+        solverConfig.setPhaseConfigList(Arrays.asList(islandSearchPhaseConfig));
+        DefaultSolver<TestdataSolution> solver =
+                (DefaultSolver<TestdataSolution>) SolverFactory.<TestdataSolution> create(solverConfig).buildSolver();
+        IslandSearchPhase<TestdataSolution> phase = (IslandSearchPhase<TestdataSolution>) solver.getPhaseList()
+                .get(0);
+        phase.addPhaseLifecycleListener(new PhaseLifecycleListenerAdapter<TestdataSolution>() {
+            @Override
+            public void phaseEnded(AbstractPhaseScope<TestdataSolution> phaseScope) {
+                assertThat(((IslandSearchPhaseScope) phaseScope).getMigrationCount()).isPositive();
+            }
+        });
+        TestdataSolution problem = createSolution(100, 100);
+        problem.getEntityList().forEach(entity -> entity.setValue(problem.getValueList().get(0)));
+        TestdataSolution solution = solver.solve(problem);
+        assertThat(solution.getScore()).isGreaterThan(SimpleScore.of(-99));
+    }
+
+    @Test
+    public void diversifyPhaseConfig() {
+        DefaultIslandSearchPhase<TestdataSolution> phase = new DefaultIslandSearchPhase<>(0, "", null, null, null, 4, 1000L);
+        LocalSearchPhaseConfig localSearchPhaseConfig = new LocalSearchPhaseConfig();
+        assertThat(((LocalSearchPhaseConfig) phase.diversifyPhaseConfig(0, localSearchPhaseConfig))
+                .getLocalSearchType()).isEqualTo(LocalSearchType.LATE_ACCEPTANCE);
+        assertThat(((LocalSearchPhaseConfig) phase.diversifyPhaseConfig(1, localSearchPhaseConfig))
+                .getLocalSearchType()).isEqualTo(LocalSearchType.TABU_SEARCH);
+        assertThat(((LocalSearchPhaseConfig) phase.diversifyPhaseConfig(2, localSearchPhaseConfig))
+                .getLocalSearchType()).isEqualTo(LocalSearchType.GREAT_DELUGE);
+        assertThat(((LocalSearchPhaseConfig) phase.diversifyPhaseConfig(3, localSearchPhaseConfig))
+                .getLocalSearchType()).isEqualTo(LocalSearchType.LATE_ACCEPTANCE);
+        assertThat(localSearchPhaseConfig.getLocalSearchType()).isNull();
+
+        LocalSearchPhaseConfig configuredPhaseConfig = new LocalSearchPhaseConfig()
+                .withLocalSearchType(LocalSearchType.HILL_CLIMBING);
+        assertThat(phase.diversifyPhaseConfig(1, configuredPhaseConfig)).isSameAs(configuredPhaseConfig);
+        PhaseConfig constructionHeuristicPhaseConfig = new ConstructionHeuristicPhaseConfig();
+        assertThat(phase.diversifyPhaseConfig(1, constructionHeuristicPhaseConfig))
+                .isSameAs(constructionHeuristicPhaseConfig);
+    }
+
+    private static SolverFactory<TestdataSolution> createSolverFactory(int islandCount,
+            TerminationConfig localSearchTerminationConfig, TerminationConfig solverTerminationConfig,
+            Long millisecondsBetweenMigrations) {
+        SolverConfig solverConfig = PlannerTestUtils
+                .buildSolverConfig(TestdataSolution.class, TestdataEntity.class);
+        solverConfig.setTerminationConfig(solverTerminationConfig);
+        IslandSearchPhaseConfig islandSearchPhaseConfig = new IslandSearchPhaseConfig()
+                .withIslandCount(Integer.toString(islandCount))
+                .withMillisecondsBetweenMigrations(millisecondsBetweenMigrations);
+        LocalSearchPhaseConfig localSearchPhaseConfig = new LocalSearchPhaseConfig();
+        localSearchPhaseConfig.setTerminationConfig(localSearchTerminationConfig);
+        islandSearchPhaseConfig.setPhaseConfigList(
+                Arrays.asList(new ConstructionHeuristicPhaseConfig(), localSearchPhaseConfig));
+        solverConfig.setPhaseConfigList(Arrays.asList(islandSearchPhaseConfig));
+        return SolverFactory.create(solverConfig);
+    }
+
+    private static TestdataSolution createSolution(int entities, int values) {
+        TestdataSolution solution = new TestdataSolution();
+        solution.setEntityList(IntStream.range(0, entities)
+                .mapToObj(i -> new TestdataEntity(Character.toString((char) (65 + i))))
+                .collect(Collectors.toList()));
+        solution.setValueList(IntStream.range(0, values)
+                .mapToObj(i -> new TestdataValue(Integer.toString(i)))
+                .collect(Collectors.toList()));
+        return solution;
+    }
+
+}
@@ -19,14 +19,25 @@ package org.optaplanner.core.impl.localsearch;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.optaplanner.core.impl.testdata.util.PlannerAssert.assertCode;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.api.solver.SolverFactory;
 import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
 import org.optaplanner.core.config.localsearch.LocalSearchType;
 import org.optaplanner.core.config.solver.SolverConfig;
 import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.config.solver.testutil.calculator.TestdataDifferentValuesCalculator;
+import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.solver.DefaultSolver;
 import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
 import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
 import org.optaplanner.core.impl.testdata.domain.TestdataValue;
@@ -209,4 +220,85 @@ public class DefaultLocalSearchPhaseTest {
         assertThat(solution.getEntityList().size()).isEqualTo(0);
     }
 
+    @Test
+    public void solveWithLiveProblemFactChanges() {
+        solveWithLiveProblemFactChanges(null);
+    }
+
+    @Test
+    @Timeout(5)
+    public void solveWithLiveProblemFactChangesMultiThreaded() {
+        // The move threads restart after the change, at a step index after 0
+        solveWithLiveProblemFactChanges("2");
+    }
+
+    private void solveWithLiveProblemFactChanges(String moveThreadCount) {
+        SolverConfig solverConfig = PlannerTestUtils.buildSolverConfig(
+                TestdataSolution.class, TestdataEntity.class)
+                .withEasyScoreCalculatorClass(TestdataDifferentValuesCalculator.class);
+        solverConfig.setMoveThreadCount(moveThreadCount);
+        LocalSearchPhaseConfig phaseConfig = new LocalSearchPhaseConfig()
+                .withLiveProblemFactChanges(true);
+        phaseConfig.setTerminationConfig(new TerminationConfig().withStepCountLimit(100));
+        solverConfig.setPhaseConfigList(Collections.singletonList(
+                phaseConfig));
+        DefaultSolver<TestdataSolution> solver = (DefaultSolver<TestdataSolution>) SolverFactory
+                .<TestdataSolution> create(solverConfig).buildSolver();
+
+        TestdataSolution solution = new TestdataSolution("s1");
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataValue v3 = new TestdataValue("v3");
+        solution.setValueList(Arrays.asList(v1, v2, v3));
+        solution.setEntityList(Arrays.asList(
+                new TestdataEntity("e1", v1),
+                new TestdataEntity("e2", v2),
+                new TestdataEntity("e3", v1)));
+
+        AtomicInteger changeCount = new AtomicInteger(0);
+        List<SimpleScore> changedScoreList = new ArrayList<>();
+        solver.addPhaseLifecycleListener(new PhaseLifecycleListenerAdapter<TestdataSolution>() {
+            @Override
+            public void stepEnded(AbstractStepScope<TestdataSolution> stepScope) {
+                if (stepScope.getStepIndex() == 4) {
+                    solver.addProblemFactChange(scoreDirector -> {
+                        TestdataSolution workingSolution = scoreDirector.getWorkingSolution();
+                        TestdataValue v4 = new TestdataValue("v4");
+                        List<TestdataValue> valueList = new ArrayList<>(workingSolution.getValueList());
+                        scoreDirector.beforeProblemFactAdded(v4);
+                        valueList.add(v4);
+                        workingSolution.setValueList(valueList);
+                        scoreDirector.afterProblemFactAdded(v4);
+                        // All entities share 1 value, so the changed score is worse than any score before
+                        TestdataValue v1 = valueList.get(0);
+                        for (TestdataEntity entity : workingSolution.getEntityList()) {
+                            scoreDirector.beforeVariableChanged(entity, "value");
+                            entity.setValue(v1);
+                            scoreDirector.afterVariableChanged(entity, "value");
+                        }
+                        changeCount.incrementAndGet();
+                    });
+                }
+            }
+
+            @Override
+            public void problemFactsChanged(AbstractPhaseScope<TestdataSolution> phaseScope) {
+                assertThat(phaseScope.getLastCompletedStepScope().getScore())
+                        .isEqualTo(phaseScope.getBestScore());
+                changedScoreList.add((SimpleScore) phaseScope.getBestScore());
+            }
+        });
+        solution = solver.solve(solution);
+        assertThat(changeCount).hasValue(1);
+        // The phase applied the change between 2 steps, so the solver didn't restart
+        assertThat(solver.getSolverScope().getStartingSolverCount()).isEqualTo(1);
+        assertThat(solution.getValueList()).extracting(TestdataValue::getCode)
+                .containsExactly("v1", "v2", "v3", "v4");
+        // The changed working solution became the best solution, although its score is worse
+        assertThat(changedScoreList).containsExactly(SimpleScore.of(-2));
+        // The steps after the change improved the changed working solution
+        assertThat(solution.getScore()).isEqualTo(SimpleScore.of(0));
+        assertThat(solution.getEntityList()).extracting(TestdataEntity::getValue).doesNotHaveDuplicates();
+    }
+
 }
@@ -210,4 +210,56 @@ public class GreatDelugeAcceptorTest extends AbstractAcceptorTest {
         acceptor.phaseEnded(phaseScope);
     }
 
+    @Test
+    public void problemFactsChanged() {
+        GreatDelugeAcceptor acceptor = new GreatDelugeAcceptor();
+        acceptor.setWaterLevelIncrementScore(SimpleScore.of(100));
+
+        SolverScope<TestdataSolution> solverScope = new SolverScope<>();
+        solverScope.setBestScore(SimpleScore.of(-1000));
+        LocalSearchPhaseScope<TestdataSolution> phaseScope = new LocalSearchPhaseScope<>(solverScope);
+        LocalSearchStepScope<TestdataSolution> lastCompletedStepScope = new LocalSearchStepScope<>(phaseScope, -1);
+        lastCompletedStepScope.setScore(SimpleScore.of(-1000));
+        phaseScope.setLastCompletedStepScope(lastCompletedStepScope);
+        acceptor.phaseStarted(phaseScope);
+
+        // lastCompletedStepScore = -1000
+        // water level -1000
+        LocalSearchStepScope<TestdataSolution> stepScope0 = new LocalSearchStepScope<>(phaseScope);
+        acceptor.stepStarted(stepScope0);
+        LocalSearchMoveScope<TestdataSolution> moveScope0 = buildMoveScope(stepScope0, -500);
+        assertThat(acceptor.isAccepted(moveScope0)).isTrue();
+        stepScope0.setStep(moveScope0.getMove());
+        stepScope0.setScore(moveScope0.getScore());
+        solverScope.setBestScore(moveScope0.getScore());
+        acceptor.stepEnded(stepScope0);
+        phaseScope.setLastCompletedStepScope(stepScope0);
+
+        // The problem fact changes worsen the score
+        stepScope0.setScore(SimpleScore.of(-2000));
+        solverScope.setBestScore(SimpleScore.of(-2000));
+        acceptor.problemFactsChanged(phaseScope);
+
+        // lastCompletedStepScore = -2000
+        // water level -2000 (not the water level of -900 before the changes!)
+        LocalSearchStepScope<TestdataSolution> stepScope1 = new LocalSearchStepScope<>(phaseScope);
+        acceptor.stepStarted(stepScope1);
+        LocalSearchMoveScope<TestdataSolution> moveScope1 = buildMoveScope(stepScope1, -2000);
+        assertThat(acceptor.isAccepted(buildMoveScope(stepScope1, -2001))).isFalse();
+        assertThat(acceptor.isAccepted(moveScope1)).isTrue();
+        stepScope1.setStep(moveScope1.getMove());
+        stepScope1.setScore(moveScope1.getScore());
+        acceptor.stepEnded(stepScope1);
+        phaseScope.setLastCompletedStepScope(stepScope1);
+
+        // lastCompletedStepScore = -2000
+        // water level -1900
+        LocalSearchStepScope<TestdataSolution> stepScope2 = new LocalSearchStepScope<>(phaseScope);
+        acceptor.stepStarted(stepScope2);
+        assertThat(acceptor.isAccepted(buildMoveScope(stepScope2, -2000))).isFalse();
+        assertThat(acceptor.isAccepted(buildMoveScope(stepScope2, -1900))).isTrue();
+
+        acceptor.phaseEnded(phaseScope);
+    }
+
 }
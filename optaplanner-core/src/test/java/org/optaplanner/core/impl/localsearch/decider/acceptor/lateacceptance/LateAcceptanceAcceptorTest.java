@@ -256,6 +256,51 @@ public class LateAcceptanceAcceptorTest extends AbstractAcceptorTest {
         acceptor.phaseEnded(phaseScope);
     }
 
+    @Test
+    public void problemFactsChanged() {
+        LateAcceptanceAcceptor acceptor = new LateAcceptanceAcceptor();
+        acceptor.setLateAcceptanceSize(3);
+        acceptor.setHillClimbingEnabled(false);
+
+        SolverScope<TestdataSolution> solverScope = new SolverScope<>();
+        solverScope.setBestScore(SimpleScore.of(-1000));
+        LocalSearchPhaseScope<TestdataSolution> phaseScope = new LocalSearchPhaseScope<>(solverScope);
+        LocalSearchStepScope<TestdataSolution> lastCompletedStepScope = new LocalSearchStepScope<>(phaseScope, -1);
+        lastCompletedStepScope.setScore(SimpleScore.of(-1000));
+        phaseScope.setLastCompletedStepScope(lastCompletedStepScope);
+        acceptor.phaseStarted(phaseScope);
+
+        // lateScore = -1000
+        LocalSearchStepScope<TestdataSolution> stepScope0 = new LocalSearchStepScope<>(phaseScope);
+        LocalSearchMoveScope<TestdataSolution> moveScope0 = buildMoveScope(stepScope0, -500);
+        assertThat(acceptor.isAccepted(buildMoveScope(stepScope0, -1500))).isFalse();
+        assertThat(acceptor.isAccepted(moveScope0)).isTrue();
+        stepScope0.setStep(moveScope0.getMove());
+        stepScope0.setScore(moveScope0.getScore());
+        solverScope.setBestScore(moveScope0.getScore());
+        acceptor.stepEnded(stepScope0);
+        phaseScope.setLastCompletedStepScope(stepScope0);
+
+        // The problem fact changes worsen the score
+        stepScope0.setScore(SimpleScore.of(-2000));
+        solverScope.setBestScore(SimpleScore.of(-2000));
+        acceptor.problemFactsChanged(phaseScope);
+
+        // lateScore = -2000 (not the late score of -1000 before the changes!)
+        LocalSearchStepScope<TestdataSolution> stepScope1 = new LocalSearchStepScope<>(phaseScope);
+        LocalSearchMoveScope<TestdataSolution> moveScope1 = buildMoveScope(stepScope1, -1500);
+        assertThat(acceptor.isAccepted(buildMoveScope(stepScope1, -2001))).isFalse();
+        assertThat(acceptor.isAccepted(buildMoveScope(stepScope1, -2000))).isTrue();
+        assertThat(acceptor.isAccepted(moveScope1)).isTrue();
+        stepScope1.setStep(moveScope1.getMove());
+        stepScope1.setScore(moveScope1.getScore());
+        solverScope.setBestScore(moveScope1.getScore());
+        acceptor.stepEnded(stepScope1);
+        phaseScope.setLastCompletedStepScope(stepScope1);
+
+        acceptor.phaseEnded(phaseScope);
+    }
+
     @Test
     public void zeroLateAcceptanceSize() {
         LateAcceptanceAcceptor acceptor = new LateAcceptanceAcceptor();
@@ -253,6 +253,45 @@ public class EntityTabuAcceptorTest {
         acceptor.phaseEnded(phaseScope);
     }
 
+    @Test
+    public void problemFactsChanged() {
+        EntityTabuAcceptor acceptor = new EntityTabuAcceptor("");
+        acceptor.setTabuSizeStrategy(new FixedTabuSizeStrategy(2));
+        acceptor.setAspirationEnabled(true);
+
+        TestdataEntity e0 = new TestdataEntity("e0");
+        TestdataEntity e1 = new TestdataEntity("e1");
+
+        SolverScope<TestdataSolution> solverScope = new SolverScope<>();
+        solverScope.setBestScore(SimpleScore.of(0));
+        LocalSearchPhaseScope<TestdataSolution> phaseScope = new LocalSearchPhaseScope<>(solverScope);
+        acceptor.phaseStarted(phaseScope);
+
+        LocalSearchStepScope<TestdataSolution> stepScope0 = new LocalSearchStepScope<>(phaseScope);
+        LocalSearchMoveScope<TestdataSolution> moveScope1 = buildMoveScope(stepScope0, e1);
+        assertThat(acceptor.isAccepted(moveScope1)).isTrue();
+        stepScope0.setStep(moveScope1.getMove());
+        acceptor.stepEnded(stepScope0);
+        phaseScope.setLastCompletedStepScope(stepScope0);
+
+        LocalSearchStepScope<TestdataSolution> stepScope1 = new LocalSearchStepScope<>(phaseScope);
+        LocalSearchMoveScope<TestdataSolution> moveScope0 = buildMoveScope(stepScope1, e0);
+        assertThat(acceptor.isAccepted(buildMoveScope(stepScope1, e1))).isFalse();
+        assertThat(acceptor.isAccepted(moveScope0)).isTrue();
+        stepScope1.setStep(moveScope0.getMove());
+        acceptor.stepEnded(stepScope1);
+        phaseScope.setLastCompletedStepScope(stepScope1);
+
+        // The problem fact changes clear the tabus
+        acceptor.problemFactsChanged(phaseScope);
+
+        LocalSearchStepScope<TestdataSolution> stepScope2 = new LocalSearchStepScope<>(phaseScope);
+        assertThat(acceptor.isAccepted(buildMoveScope(stepScope2, e0))).isTrue();
+        assertThat(acceptor.isAccepted(buildMoveScope(stepScope2, e1))).isTrue();
+
+        acceptor.phaseEnded(phaseScope);
+    }
+
     private <Solution_> LocalSearchMoveScope<Solution_> buildMoveScope(
             LocalSearchStepScope<Solution_> stepScope, TestdataEntity... entities) {
         return buildMoveScope(stepScope, 0, entities);
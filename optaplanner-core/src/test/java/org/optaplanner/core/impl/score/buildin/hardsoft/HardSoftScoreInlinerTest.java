@@ -23,6 +23,7 @@ import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.impl.score.inliner.IntReversibleWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.IntWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
 
@@ -59,4 +60,24 @@ public class HardSoftScoreInlinerTest {
         assertThat(scoreInliner.extractScore(0)).isEqualTo(HardSoftScore.of(-800, -10));
     }
 
+    @Test
+    public void buildIntReversibleWeightedScoreImpacter() {
+        HardSoftScoreInliner scoreInliner = new HardSoftScoreInliner(false);
+        IntReversibleWeightedScoreImpacter hardImpacter =
+                scoreInliner.buildWeightedScoreImpacter(HardSoftScore.ofHard(-90));
+        IntReversibleWeightedScoreImpacter softImpacter =
+                scoreInliner.buildWeightedScoreImpacter(HardSoftScore.ofSoft(-1));
+        IntReversibleWeightedScoreImpacter allLevelsImpacter =
+                scoreInliner.buildWeightedScoreImpacter(HardSoftScore.of(-1000, -3000));
+        hardImpacter.impactScore(1);
+        softImpacter.impactScore(3);
+        allLevelsImpacter.impactScore(2);
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(HardSoftScore.of(-2090, -6003));
+        hardImpacter.impactScore(-1);
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(HardSoftScore.of(-2000, -6003));
+        softImpacter.impactScore(-3);
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(HardSoftScore.of(-2000, -6000));
+        allLevelsImpacter.impactScore(-2);
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(HardSoftScore.ZERO);
+    }
 }
@@ -23,6 +23,7 @@ import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import org.optaplanner.core.impl.score.inliner.LongReversibleWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.LongWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
 
@@ -60,4 +61,24 @@ public class HardSoftLongScoreInlinerTest {
         assertThat(scoreInliner.extractScore(0)).isEqualTo(HardSoftLongScore.of(-800L, -10L));
     }
 
+    @Test
+    public void buildLongReversibleWeightedScoreImpacter() {
+        HardSoftLongScoreInliner scoreInliner = new HardSoftLongScoreInliner(false);
+        LongReversibleWeightedScoreImpacter hardImpacter =
+                scoreInliner.buildWeightedScoreImpacter(HardSoftLongScore.ofHard(-90L));
+        LongReversibleWeightedScoreImpacter softImpacter =
+                scoreInliner.buildWeightedScoreImpacter(HardSoftLongScore.ofSoft(-1L));
+        LongReversibleWeightedScoreImpacter allLevelsImpacter =
+                scoreInliner.buildWeightedScoreImpacter(HardSoftLongScore.of(-1000L, -3000L));
+        hardImpacter.impactScore(1L);
+        softImpacter.impactScore(3L);
+        allLevelsImpacter.impactScore(1L);
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(HardSoftLongScore.of(-1090L, -3003L));
+        hardImpacter.impactScore(-1L);
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(HardSoftLongScore.of(-1000L, -3003L));
+        softImpacter.impactScore(-3L);
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(HardSoftLongScore.of(-1000L, -3000L));
+        allLevelsImpacter.impactScore(-1L);
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(HardSoftLongScore.ZERO);
+    }
 }
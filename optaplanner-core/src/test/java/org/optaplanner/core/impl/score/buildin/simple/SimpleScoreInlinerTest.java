@@ -23,6 +23,7 @@ import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.score.inliner.IntReversibleWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.IntWeightedScoreImpacter;
 import org.optaplanner.core.impl.score.inliner.UndoScoreImpacter;
 
@@ -53,4 +54,16 @@ public class SimpleScoreInlinerTest {
         assertThat(scoreInliner.extractScore(0)).isEqualTo(SimpleScore.of(-810));
     }
 
+    @Test
+    public void buildIntReversibleWeightedScoreImpacter() {
+        SimpleScoreInliner scoreInliner = new SimpleScoreInliner(false);
+        IntReversibleWeightedScoreImpacter impacter = scoreInliner.buildWeightedScoreImpacter(SimpleScore.of(-90));
+        impacter.impactScore(2);
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(SimpleScore.of(-180));
+        impacter.impactScore(Integer.MAX_VALUE);
+        impacter.impactScore(-Integer.MAX_VALUE);
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(SimpleScore.of(-180));
+        impacter.impactScore(-2);
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(SimpleScore.ZERO);
+    }
 }
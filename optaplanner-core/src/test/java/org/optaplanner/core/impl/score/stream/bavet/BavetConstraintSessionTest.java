@@ -0,0 +1,247 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bavet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.optaplanner.core.api.score.stream.Joiners.equal;
+import static org.optaplanner.core.api.score.stream.Joiners.filtering;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.api.score.constraint.ConstraintMatch;
+import org.optaplanner.core.api.score.constraint.Indictment;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintFactory;
+import org.optaplanner.core.impl.score.director.stream.BavetConstraintStreamScoreDirectorFactory;
+import org.optaplanner.core.impl.score.director.stream.ConstraintStreamScoreDirector;
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfile;
+import org.optaplanner.core.impl.score.stream.bi.SingleBiJoiner;
+import org.optaplanner.core.impl.score.stream.common.JoinerType;
+import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishEntity;
+import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishEntityGroup;
+import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishSolution;
+import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishValue;
+
+public class BavetConstraintSessionTest {
+
+    @Test
+    void nodeProfileList() {
+        ConstraintStreamScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector();
+        scoreDirector.overwriteProfilingEnabledPreference(true);
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(); // 3 groups and 7 entities
+        scoreDirector.setWorkingSolution(solution);
+        scoreDirector.calculateScore();
+
+        // From entity, initialized filter, from group, left and right join bridge, join and scoring.
+        List<ConstraintStreamNodeProfile> nodeProfileList = scoreDirector.getNodeProfileList();
+        assertThat(nodeProfileList).hasSize(7);
+        assertThat(nodeProfileList.get(0).getCreatedTupleCount()).isEqualTo(7L);
+        // Every inserted bridge tuple looks up the opposite index once.
+        assertThat(nodeProfileList.get(3).getIndexLookupCount() + nodeProfileList.get(4).getIndexLookupCount())
+                .isEqualTo(7L + 3L);
+        ConstraintStreamNodeProfile scoringNodeProfile = nodeProfileList.get(6);
+        assertThat(scoringNodeProfile.getConstraintId()).endsWith("/Some constraint");
+        assertThat(scoringNodeProfile.getCreatedTupleCount()).isEqualTo(7L);
+
+        TestdataLavishEntity entity = solution.getEntityList().get(0);
+        scoreDirector.beforeVariableChanged(entity, "value");
+        entity.setValue(solution.getValueList().get(1));
+        scoreDirector.afterVariableChanged(entity, "value");
+        scoreDirector.calculateScore();
+        nodeProfileList = scoreDirector.getNodeProfileList();
+        assertThat(nodeProfileList.get(0).getUpdatedTupleCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void nodeProfileListWithoutProfiling() {
+        ConstraintStreamScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector();
+        scoreDirector.setWorkingSolution(TestdataLavishSolution.generateSolution());
+        assertThat(scoreDirector.isProfilingEnabled()).isFalse();
+        assertThatIllegalStateException().isThrownBy(scoreDirector::getNodeProfileList);
+    }
+
+    @Test
+    void indictmentMapIsMaintainedIncrementally() {
+        ConstraintStreamScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector = buildScoreDirector();
+        scoreDirector.overwriteConstraintMatchEnabledPreference(true);
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(); // 3 groups and 7 entities
+        scoreDirector.setWorkingSolution(solution);
+        scoreDirector.calculateScore();
+
+        TestdataLavishEntityGroup group0 = solution.getEntityGroupList().get(0);
+        TestdataLavishEntityGroup group1 = solution.getEntityGroupList().get(1);
+        TestdataLavishEntity entity0 = solution.getEntityList().get(0);
+        Map<Object, Indictment<SimpleScore>> indictmentMap = scoreDirector.getIndictmentMap();
+        assertThat(indictmentMap).hasSize(3 + 7);
+        assertThat(indictmentMap.get(group0).getScore()).isEqualTo(SimpleScore.of(-3));
+        assertThat(indictmentMap.get(group1).getScore()).isEqualTo(SimpleScore.of(-2));
+        assertThat(indictmentMap.get(entity0).getConstraintMatchSet()).hasSize(1);
+
+        scoreDirector.beforeProblemPropertyChanged(entity0);
+        entity0.setEntityGroup(group1);
+        scoreDirector.afterProblemPropertyChanged(entity0);
+        scoreDirector.calculateScore();
+        indictmentMap = scoreDirector.getIndictmentMap();
+        assertThat(indictmentMap).hasSize(3 + 7);
+        assertThat(indictmentMap.get(group0).getScore()).isEqualTo(SimpleScore.of(-2));
+        assertThat(indictmentMap.get(group1).getScore()).isEqualTo(SimpleScore.of(-3));
+        assertThat(indictmentMap.get(entity0).getConstraintMatchSet())
+                .extracting(ConstraintMatch::getJustificationList)
+                .containsExactly(Arrays.asList(entity0, group1));
+
+        scoreDirector.beforeEntityRemoved(entity0);
+        solution.getEntityList().remove(entity0);
+        scoreDirector.afterEntityRemoved(entity0);
+        scoreDirector.calculateScore();
+        indictmentMap = scoreDirector.getIndictmentMap();
+        assertThat(indictmentMap).hasSize(3 + 6)
+                .doesNotContainKey(entity0);
+        assertThat(indictmentMap.get(group1).getScore()).isEqualTo(SimpleScore.of(-2));
+    }
+
+    @Test
+    void scoringUniNodeWithoutConstraintMatching() {
+        // Every entity penalizes its integer property
+        assertScoringWithoutConstraintMatching(constraintFactory -> constraintFactory.from(TestdataLavishEntity.class)
+                .penalize("Some constraint", SimpleScore.ONE, TestdataLavishEntity::getIntegerProperty),
+                -28, -37, -27);
+    }
+
+    @Test
+    void scoringBiNodeWithoutConstraintMatching() {
+        // Every entity joins its own group, so the score matches the uni node
+        assertScoringWithoutConstraintMatching(constraintFactory -> constraintFactory.from(TestdataLavishEntity.class)
+                .join(TestdataLavishEntityGroup.class,
+                        equal(TestdataLavishEntity::getEntityGroup, Function.identity()))
+                .penalize("Some constraint", SimpleScore.ONE, (entity, group) -> entity.getIntegerProperty()),
+                -28, -37, -27);
+    }
+
+    @Test
+    void scoringTriNodeWithoutConstraintMatching() {
+        // Every pair of entities in the same group penalizes the product of their integer properties
+        assertScoringWithoutConstraintMatching(constraintFactory -> constraintFactory.from(TestdataLavishEntity.class)
+                .join(TestdataLavishEntity.class, equal(TestdataLavishEntity::getEntityGroup),
+                        filtering((a, b) -> a.getIntegerProperty() < b.getIntegerProperty()))
+                .join(TestdataLavishEntityGroup.class, equal((a, b) -> a.getEntityGroup(), Function.identity()))
+                .penalize("Some constraint", SimpleScore.ONE,
+                        (a, b, group) -> a.getIntegerProperty() * b.getIntegerProperty()),
+                -67, -126, -56);
+    }
+
+    @Test
+    void scoringQuadNodeWithoutConstraintMatching() {
+        // Every entity has 1 value, so the score matches the tri node
+        assertScoringWithoutConstraintMatching(constraintFactory -> constraintFactory.from(TestdataLavishEntity.class)
+                .join(TestdataLavishEntity.class, equal(TestdataLavishEntity::getEntityGroup),
+                        filtering((a, b) -> a.getIntegerProperty() < b.getIntegerProperty()))
+                .join(TestdataLavishEntityGroup.class, equal((a, b) -> a.getEntityGroup(), Function.identity()))
+                .join(TestdataLavishValue.class, equal((a, b, group) -> a.getValue(), Function.identity()))
+                .penalize("Some constraint", SimpleScore.ONE,
+                        (a, b, group, value) -> a.getIntegerProperty() * b.getIntegerProperty()),
+                -67, -126, -56);
+    }
+
+    // No public Joiners method creates the collection joiner types yet, so these tests build them directly
+
+    @Test
+    void containingJoiner() {
+        // Every entity's singleton group set contains only its own group, so the score matches the bi node
+        assertScoringWithoutConstraintMatching(constraintFactory -> constraintFactory.from(TestdataLavishEntity.class)
+                .join(TestdataLavishEntityGroup.class, new SingleBiJoiner<>(
+                        entity -> Collections.singleton(entity.getEntityGroup()), JoinerType.CONTAINING,
+                        Function.identity()))
+                .penalize("Some constraint", SimpleScore.ONE, (entity, group) -> entity.getIntegerProperty()),
+                -28, -37, -27);
+    }
+
+    @Test
+    void intersectingJoiner() {
+        // The singleton group sets of 2 entities intersect if they share their group, so the score matches the tri node
+        assertScoringWithoutConstraintMatching(constraintFactory -> constraintFactory.from(TestdataLavishEntity.class)
+                .join(TestdataLavishEntity.class, new SingleBiJoiner<>(
+                        a -> Collections.singleton(a.getEntityGroup()), JoinerType.INTERSECTING,
+                        b -> Collections.singleton(b.getEntityGroup())))
+                .filter((a, b) -> a.getIntegerProperty() < b.getIntegerProperty())
+                .penalize("Some constraint", SimpleScore.ONE,
+                        (a, b) -> a.getIntegerProperty() * b.getIntegerProperty()),
+                -67, -126, -56);
+    }
+
+    @Test
+    void disjointJoiner() {
+        // Every entity joins the 2 groups it's not in
+        assertScoringWithoutConstraintMatching(constraintFactory -> constraintFactory.from(TestdataLavishEntity.class)
+                .join(TestdataLavishEntityGroup.class, new SingleBiJoiner<>(
+                        entity -> Collections.singleton(entity.getEntityGroup()), JoinerType.DISJOINT,
+                        Collections::singleton))
+                .penalize("Some constraint", SimpleScore.ONE, (entity, group) -> entity.getIntegerProperty()),
+                -56, -74, -54);
+    }
+
+    /**
+     * Without constraint matching, the scoring node keeps the matchWeight of every tuple to undo its impact.
+     * Inserts the entities, updates the first entity and then retracts it.
+     */
+    private void assertScoringWithoutConstraintMatching(Function<ConstraintFactory, Constraint> constraintFunction,
+            int insertedScore, int updatedScore, int retractedScore) {
+        ConstraintStreamScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector =
+                buildScoreDirector(constraintFunction);
+        assertThat(scoreDirector.isConstraintMatchEnabled()).isFalse();
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(); // 3 groups and 7 entities
+        List<TestdataLavishEntity> entityList = solution.getEntityList();
+        for (int i = 0; i < entityList.size(); i++) {
+            entityList.get(i).setIntegerProperty(i + 1);
+        }
+        scoreDirector.setWorkingSolution(solution);
+        assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.of(insertedScore));
+
+        TestdataLavishEntity entity0 = entityList.get(0);
+        scoreDirector.beforeProblemPropertyChanged(entity0);
+        entity0.setIntegerProperty(10);
+        entity0.setEntityGroup(solution.getEntityGroupList().get(1));
+        scoreDirector.afterProblemPropertyChanged(entity0);
+        assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.of(updatedScore));
+
+        scoreDirector.beforeEntityRemoved(entity0);
+        entityList.remove(entity0);
+        scoreDirector.afterEntityRemoved(entity0);
+        assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.of(retractedScore));
+    }
+
+    private ConstraintStreamScoreDirector<TestdataLavishSolution, SimpleScore> buildScoreDirector() {
+        return buildScoreDirector(constraintFactory -> constraintFactory.from(TestdataLavishEntity.class)
+                .join(TestdataLavishEntityGroup.class, equal(TestdataLavishEntity::getEntityGroup, Function.identity()))
+                .penalize("Some constraint", SimpleScore.ONE));
+    }
+
+    private ConstraintStreamScoreDirector<TestdataLavishSolution, SimpleScore> buildScoreDirector(
+            Function<ConstraintFactory, Constraint> constraintFunction) {
+        BavetConstraintStreamScoreDirectorFactory<TestdataLavishSolution, SimpleScore> scoreDirectorFactory =
+                new BavetConstraintStreamScoreDirectorFactory<>(TestdataLavishSolution.buildSolutionDescriptor(),
+                        constraintFactory -> new Constraint[] { constraintFunction.apply(constraintFactory) });
+        return scoreDirectorFactory.buildScoreDirector(false, false);
+    }
+
+}
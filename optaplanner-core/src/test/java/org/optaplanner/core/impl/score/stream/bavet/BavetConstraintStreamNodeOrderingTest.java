@@ -30,10 +30,13 @@ import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
 import org.optaplanner.core.api.score.stream.Constraint;
 import org.optaplanner.core.api.score.stream.ConstraintCollectors;
 import org.optaplanner.core.api.score.stream.ConstraintFactory;
+import org.optaplanner.core.api.score.stream.bi.BiJoiner;
 import org.optaplanner.core.impl.score.director.stream.BavetConstraintStreamScoreDirectorFactory;
 import org.optaplanner.core.impl.score.director.stream.ConstraintStreamScoreDirector;
 import org.optaplanner.core.impl.score.stream.bavet.bi.BavetGroupBiNode;
 import org.optaplanner.core.impl.score.stream.bavet.bi.BavetGroupBridgeBiNode;
+import org.optaplanner.core.impl.score.stream.bavet.bi.BavetJoinBiNode;
+import org.optaplanner.core.impl.score.stream.bavet.bi.BavetJoinBridgeBiNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetNode;
 import org.optaplanner.core.impl.score.stream.bavet.common.BavetScoringNode;
 import org.optaplanner.core.impl.score.stream.bavet.tri.BavetScoringTriNode;
@@ -42,6 +45,7 @@ import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFilterUniNode;
 import org.optaplanner.core.impl.score.stream.bavet.uni.BavetFromUniNode;
 import org.optaplanner.core.impl.score.stream.bavet.uni.BavetJoinBridgeUniNode;
 import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishEntity;
+import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishEntityGroup;
 import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishSolution;
 import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishValue;
 import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishValueGroup;
@@ -116,10 +120,10 @@ public class BavetConstraintStreamNodeOrderingTest {
     void secondJoin() {
         List<BavetNode> nodeList = session.getNodes();
 
-        BavetFromUniNode<Object> fromNode = (BavetFromUniNode<Object>) nodeList.get(9);
+        BavetFromUniNode<Object> fromNode = (BavetFromUniNode<Object>) nodeList.get(8);
         assertThat(fromNode.getNodeIndex())
-                .as("Second fromNode follows the join (4), group (6), filter (7), left join bridge (8).")
-                .isEqualTo(9);
+                .as("Second fromNode follows the join (4), group (6), filter (7).")
+                .isEqualTo(8);
 
         List<BavetAbstractUniNode<Object>> fromNodeChildNodes = fromNode.getChildNodeList();
         assertThat(fromNodeChildNodes)
@@ -128,8 +132,40 @@ public class BavetConstraintStreamNodeOrderingTest {
 
         BavetJoinBridgeUniNode<Object> rightJoinBridgeNode = (BavetJoinBridgeUniNode<Object>) fromNodeChildNodes.get(0);
         assertThat(rightJoinBridgeNode.getNodeIndex())
-                .as("Right JoinBridge is the eleventh node of the constraint stream.")
+                .as("Right JoinBridge is the eleventh node of the constraint stream, after the left JoinBridge (9).")
                 .isEqualTo(10);
+        assertThat(nodeList.get(9))
+                .as("Left JoinBridge is only created once both join parents exist.")
+                .isInstanceOf(BavetJoinBridgeBiNode.class);
+    }
+
+    @Test
+    void sharedJoin() {
+        BiJoiner<TestdataLavishEntity, TestdataLavishEntityGroup> joiner =
+                equal(TestdataLavishEntity::getEntityGroup, Function.identity());
+        BavetConstraintStreamScoreDirectorFactory<TestdataLavishSolution, SimpleScore> scoreDirectorFactory =
+                new BavetConstraintStreamScoreDirectorFactory<>(TestdataLavishSolution.buildSolutionDescriptor(),
+                        (constraintFactory) -> new Constraint[] {
+                                constraintFactory.from(TestdataLavishEntity.class)
+                                        .join(TestdataLavishEntityGroup.class, joiner)
+                                        .penalize("First constraint", SimpleScore.ONE),
+                                constraintFactory.from(TestdataLavishEntity.class)
+                                        .join(TestdataLavishEntityGroup.class, joiner)
+                                        .penalize("Second constraint", SimpleScore.ONE)
+                        });
+        ConstraintStreamScoreDirector<TestdataLavishSolution, SimpleScore> scoreDirector =
+                scoreDirectorFactory.buildScoreDirector(false, false);
+        scoreDirector.setWorkingSolution(TestdataLavishSolution.generateSolution());
+        BavetConstraintSession<TestdataLavishSolution, SimpleScore> sharedSession =
+                (BavetConstraintSession<TestdataLavishSolution, SimpleScore>) scoreDirector.getSession();
+        List<BavetNode> nodeList = sharedSession.getNodes();
+        assertThat(nodeList)
+                .as("Both constraints share the from nodes, the filter, the join bridges and the join, "
+                        + "but not the scoring nodes.")
+                .hasSize(8);
+        assertThat(nodeList.stream().filter(node -> node instanceof BavetJoinBiNode))
+                .hasSize(1);
+        assertThat(sharedSession.getScoringNodes()).hasSize(2);
     }
 
     @Test
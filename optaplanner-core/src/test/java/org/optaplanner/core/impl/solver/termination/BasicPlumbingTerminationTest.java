@@ -19,9 +19,13 @@ package org.optaplanner.core.impl.solver.termination;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.score.director.ScoreDirector;
+import org.optaplanner.core.api.solver.CoalescingProblemFactChange;
+import org.optaplanner.core.api.solver.ProblemFactChange;
 import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
 
 public class BasicPlumbingTerminationTest {
@@ -59,4 +63,74 @@ public class BasicPlumbingTerminationTest {
         assertThat(basicPlumbingTermination.waitForRestartSolverDecision()).isFalse();
         assertThat(count).hasValue(21);
     }
+
+    @Test
+    public void liveProblemFactChanges() {
+        BasicPlumbingTermination<TestdataSolution> basicPlumbingTermination = new BasicPlumbingTermination<>(false);
+        basicPlumbingTermination.setLiveProblemFactChangesEnabled(true);
+        basicPlumbingTermination.addProblemFactChange(scoreDirector -> {
+        });
+        assertThat(basicPlumbingTermination.isProblemFactChangePending()).isTrue();
+        assertThat(basicPlumbingTermination.isSolverTerminated(null)).isFalse();
+        basicPlumbingTermination.setLiveProblemFactChangesEnabled(false);
+        assertThat(basicPlumbingTermination.isSolverTerminated(null)).isTrue();
+        basicPlumbingTermination.setLiveProblemFactChangesEnabled(true);
+        basicPlumbingTermination.startProblemFactChangesProcessing().clear();
+        assertThat(basicPlumbingTermination.isEveryProblemFactChangeProcessed()).isFalse();
+        basicPlumbingTermination.endProblemFactChangesProcessing();
+        assertThat(basicPlumbingTermination.isProblemFactChangePending()).isFalse();
+        assertThat(basicPlumbingTermination.isEveryProblemFactChangeProcessed()).isTrue();
+    }
+
+    @Test
+    public void pollProblemFactChangesCoalesces() {
+        BasicPlumbingTermination<TestdataSolution> basicPlumbingTermination = new BasicPlumbingTermination<>(false);
+        ProblemFactChange<TestdataSolution> other = scoreDirector -> {
+        };
+        basicPlumbingTermination.addProblemFactChanges(Arrays.asList(
+                new TestdataCoalescingChange("a", "a1"),
+                new TestdataCoalescingChange("b", "b1"),
+                other,
+                new TestdataCoalescingChange("a", "a2"),
+                new TestdataCoalescingChange("a", "a3")));
+        basicPlumbingTermination.startProblemFactChangesProcessing();
+        List<ProblemFactChange<TestdataSolution>> problemFactChangeList =
+                basicPlumbingTermination.pollProblemFactChanges();
+        assertThat(problemFactChangeList).hasSize(3);
+        // The merged change takes the position of the earliest change with the same key
+        assertThat(((TestdataCoalescingChange) problemFactChangeList.get(0)).label).isEqualTo("a1+a2+a3");
+        assertThat(((TestdataCoalescingChange) problemFactChangeList.get(1)).label).isEqualTo("b1");
+        assertThat(problemFactChangeList.get(2)).isSameAs(other);
+        assertThat(basicPlumbingTermination.pollProblemFactChanges()).isEmpty();
+        basicPlumbingTermination.endProblemFactChangesProcessing();
+        assertThat(basicPlumbingTermination.isEveryProblemFactChangeProcessed()).isTrue();
+    }
+
+    private static class TestdataCoalescingChange implements CoalescingProblemFactChange<TestdataSolution> {
+
+        private final String key;
+        private final String label;
+
+        private TestdataCoalescingChange(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        @Override
+        public Object getCoalescingKey() {
+            return key;
+        }
+
+        @Override
+        public CoalescingProblemFactChange<TestdataSolution> coalesce(
+                CoalescingProblemFactChange<TestdataSolution> laterChange) {
+            return new TestdataCoalescingChange(key, label + "+" + ((TestdataCoalescingChange) laterChange).label);
+        }
+
+        @Override
+        public void doChange(ScoreDirector<TestdataSolution> scoreDirector) {
+        }
+
+    }
+
 }
@@ -16,11 +16,12 @@
 
 package org.optaplanner.examples.tsp.domain.solver.nearby;
 
-import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.CoordinateNearbyDistanceMeter;
 import org.optaplanner.examples.tsp.domain.Standstill;
 import org.optaplanner.examples.tsp.domain.Visit;
+import org.optaplanner.examples.tsp.domain.location.Location;
 
-public class VisitNearbyDistanceMeter implements NearbyDistanceMeter<Visit, Standstill> {
+public class VisitNearbyDistanceMeter implements CoordinateNearbyDistanceMeter<Visit, Standstill> {
 
     @Override
     public double getNearbyDistance(Visit origin, Standstill destination) {
@@ -32,4 +33,19 @@ public class VisitNearbyDistanceMeter implements NearbyDistanceMeter<Visit, Stan
         return distance;
     }
 
+    @Override
+    public double[] getOriginCoordinates(Visit origin) {
+        return toCoordinates(origin.getLocation());
+    }
+
+    @Override
+    public double[] getDestinationCoordinates(Standstill destination) {
+        return toCoordinates(destination.getLocation());
+    }
+
+    private static double[] toCoordinates(Location location) {
+        // Air distance, so with road distances the spatial index might miss a destination that is far by air
+        return new double[] { location.getLatitude(), location.getLongitude() };
+    }
+
 }
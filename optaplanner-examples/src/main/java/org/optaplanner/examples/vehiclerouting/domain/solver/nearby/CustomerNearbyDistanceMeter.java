@@ -16,11 +16,12 @@
 
 package org.optaplanner.examples.vehiclerouting.domain.solver.nearby;
 
-import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.CoordinateNearbyDistanceMeter;
 import org.optaplanner.examples.vehiclerouting.domain.Customer;
 import org.optaplanner.examples.vehiclerouting.domain.Standstill;
+import org.optaplanner.examples.vehiclerouting.domain.location.Location;
 
-public class CustomerNearbyDistanceMeter implements NearbyDistanceMeter<Customer, Standstill> {
+public class CustomerNearbyDistanceMeter implements CoordinateNearbyDistanceMeter<Customer, Standstill> {
 
     @Override
     public double getNearbyDistance(Customer origin, Standstill destination) {
@@ -32,4 +33,19 @@ public class CustomerNearbyDistanceMeter implements NearbyDistanceMeter<Customer
         return distance;
     }
 
+    @Override
+    public double[] getOriginCoordinates(Customer origin) {
+        return toCoordinates(origin.getLocation());
+    }
+
+    @Override
+    public double[] getDestinationCoordinates(Standstill destination) {
+        return toCoordinates(destination.getLocation());
+    }
+
+    private static double[] toCoordinates(Location location) {
+        // Air distance, so with road distances the spatial index might miss a destination that is far by air
+        return new double[] { location.getLatitude(), location.getLongitude() };
+    }
+
 }